@@ -0,0 +1,24 @@
+-- Migration v2: normalized lookup keys for case-insensitive name filters.
+--
+-- The reports filter countries by continent, region and name and cities by name and district,
+-- case-insensitively. Comparing LOWER(column) = LOWER(:value) cannot use an index, so each of
+-- those columns gets a generated lower-case key column with an index; the queries compare
+-- key = LOWER(:value) instead. The key columns are maintained by MySQL on every insert and update.
+--
+-- Runs after world.sql when mounted into /docker-entrypoint-initdb.d (files run in name order).
+
+USE `world`;
+
+ALTER TABLE `country`
+  ADD COLUMN `ContinentKey` varchar(20) GENERATED ALWAYS AS (LOWER(`Continent`)) VIRTUAL,
+  ADD COLUMN `NameKey` varchar(52) GENERATED ALWAYS AS (LOWER(`Name`)) VIRTUAL,
+  ADD COLUMN `RegionKey` varchar(26) GENERATED ALWAYS AS (LOWER(`Region`)) VIRTUAL,
+  ADD INDEX `idx_country_continent_key` (`ContinentKey`, `Population`),
+  ADD INDEX `idx_country_region_key` (`RegionKey`, `Population`),
+  ADD INDEX `idx_country_name_key` (`NameKey`);
+
+ALTER TABLE `city`
+  ADD COLUMN `NameKey` varchar(35) GENERATED ALWAYS AS (LOWER(`Name`)) VIRTUAL,
+  ADD COLUMN `DistrictKey` varchar(20) GENERATED ALWAYS AS (LOWER(`District`)) VIRTUAL,
+  ADD INDEX `idx_city_district_key` (`DistrictKey`, `Population`),
+  ADD INDEX `idx_city_name_key` (`NameKey`);
@@ -0,0 +1,17 @@
+-- Migration v3: indexes for the keyset-paginated listings.
+--
+-- The paged endpoints order by (Population, ID) or (Population, Code), both descending, and
+-- continue after the last row of the previous page with
+-- Population < :p OR (Population = :p AND ID < :id). With these indexes each page is a short
+-- backward range scan from that position, however deep the client has paged. Continent,
+-- region and district listings already use the (Key, Population) indexes from v2.
+--
+-- Runs after world_v2_lookup_keys.sql when mounted into /docker-entrypoint-initdb.d.
+
+USE `world`;
+
+ALTER TABLE `country`
+  ADD INDEX `idx_country_population` (`Population`, `Code`);
+
+ALTER TABLE `city`
+  ADD INDEX `idx_city_population` (`Population`, `ID`);
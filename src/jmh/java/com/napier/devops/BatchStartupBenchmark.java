@@ -0,0 +1,111 @@
+package com.napier.devops;
+
+import com.napier.devops.snapshot.WorldSnapshotFile;
+import com.napier.devops.snapshot.WorldSnapshotHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from JVM start to the first report line of {@link Group4Application}, launched in a
+ * new JVM for every invocation, in batch mode ({@code --batch}) and in the default web mode.
+ * <p>
+ * Both serve use case 26 from a snapshot file of the world database written before the
+ * measurement, so no database is involved and only the startup is timed.
+ * </p>
+ *
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="BatchStartupBenchmark -rf json -rff target/jmh-result.json"
+ * }</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BatchStartupBenchmark {
+
+    @Param({"batch", "web"})
+    public String mode;
+
+    private Path directory;
+    private Path snapshot;
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("batch-startup");
+        snapshot = directory.resolve("world.snapshot");
+        try (WorldDatabase database = WorldDatabase.start(true)) {
+            WorldSnapshotFile.write(database.bean(WorldSnapshotHolder.class).current(), snapshot);
+        }
+    }
+
+    /**
+     * Launches the application and waits for the first line of the report.
+     * @return the line
+     * @throws IOException if the application cannot be started
+     */
+    @Benchmark
+    public String firstReportLine() throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                // as when run from the packaged jar, which leaves devtools out
+                "-Dspring.devtools.restart.enabled=false",
+                "-cp", System.getProperty("java.class.path"),
+                Group4Application.class.getName(),
+                "--snapshot=" + snapshot,
+                "--report.batch.use-cases=26",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN"));
+        command.add(mode.equals("batch") ? "--batch" : "--server.port=0");
+        process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .start();
+
+        BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        for (String line = out.readLine(); line != null; line = out.readLine()) {
+            if (line.startsWith("USE CASE")) {
+                return line;
+            }
+        }
+        throw new IllegalStateException("The application exited with " + exitCode() + " before reporting");
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        process.destroy();
+        process.waitFor();
+    }
+
+    private int exitCode() {
+        try {
+            return process.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+}
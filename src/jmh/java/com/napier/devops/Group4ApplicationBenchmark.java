@@ -0,0 +1,131 @@
+package com.napier.devops;
+
+import com.napier.devops.model.CapitalCity;
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.model.CountrySummary;
+import com.napier.devops.model.LanguageStats;
+import com.napier.devops.model.PopulationBreakdown;
+import com.napier.devops.report.ReportOutput;
+import com.napier.devops.service.CapitalCityService;
+import com.napier.devops.service.CityService;
+import com.napier.devops.service.CountryService;
+import com.napier.devops.service.LanguageService;
+import com.napier.devops.service.PopulationBreakdownService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average time of the {@code display*} table formatters of {@link Group4Application}, on the
+ * largest result of each kind in the world database.
+ * <p>
+ * The rows are queried once before the measurement, so only the formatting is timed. The
+ * tables are printed to a stream that discards its input.
+ * </p>
+ *
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="Group4ApplicationBenchmark -rf json -rff target/jmh-result.json"
+ * }</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Group4ApplicationBenchmark {
+
+    private final Group4Application application = new Group4Application();
+    private final PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+
+    private List<CountrySummary> countries;
+    private List<CitySummary> cities;
+    private List<CapitalCity> capitals;
+    private List<PopulationBreakdown> breakdowns;
+    private List<LanguageStats> languages;
+    private Long population;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        try (WorldDatabase database = WorldDatabase.start(false)) {
+            countries = database.bean(CountryService.class).getAllCountriesWorld();
+            cities = database.bean(CityService.class).getAllCitiesInTheWorld();
+            capitals = database.bean(CapitalCityService.class).getAllCapitalCitiesByPopulation();
+            breakdowns = database.bean(PopulationBreakdownService.class).getAllByCountry();
+            languages = database.bean(LanguageService.class).getLanguageStatistics();
+        }
+        population = countries.stream().mapToLong(CountrySummary::population).sum();
+    }
+
+    /**
+     * Use cases 1-6: the 239 countries of the world.
+     */
+    @Benchmark
+    public void displayCountries() {
+        ReportOutput.runWith(out, () -> application.displayCountries(countries));
+    }
+
+    /**
+     * Use cases 7-16: the 4,079 cities of the world, from a list.
+     */
+    @Benchmark
+    public void displayCities() {
+        ReportOutput.runWith(out, () -> application.displayCities(cities));
+    }
+
+    /**
+     * Use cases 7-9: the 4,079 cities of the world, as they are streamed.
+     */
+    @Benchmark
+    public void displayStreamedCities() {
+        ReportOutput.runWith(out, () -> application.displayCities(action -> {
+            cities.forEach(action);
+            return cities.size();
+        }));
+    }
+
+    /**
+     * Use cases 17-22: the capital cities of the world.
+     */
+    @Benchmark
+    public void displayCapitalCities() {
+        ReportOutput.runWith(out, () -> application.displayCapitalCities(capitals));
+    }
+
+    /**
+     * Use cases 23-25: the population breakdown of every country.
+     */
+    @Benchmark
+    public void displayPopulationBreakdowns() {
+        ReportOutput.runWith(out, () -> application.displayPopulationBreakdowns(breakdowns));
+    }
+
+    /**
+     * Use cases 26-31: a single population figure.
+     */
+    @Benchmark
+    public void displayBasicPopulation() {
+        ReportOutput.runWith(out, () -> application.displayBasicPopulation("the world", population));
+    }
+
+    /**
+     * Use case 32: the language statistics.
+     */
+    @Benchmark
+    public void displayLanguages() {
+        ReportOutput.runWith(out, () -> application.displayLanguages(languages));
+    }
+}
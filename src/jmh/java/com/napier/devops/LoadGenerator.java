@@ -0,0 +1,322 @@
+package com.napier.devops;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.napier.devops.pool.ConnectionPoolStatistics;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drives the REST endpoints with a fixed number of concurrent clients and reports the
+ * throughput and latency percentiles of every endpoint, with the peak occupancy and the
+ * connection wait of the database connection pool ({@code /api/pool}) during the run.
+ * <p>
+ * Each client sends its next request as soon as the previous one is answered, cycling through
+ * the paths. With several concurrency levels the runs follow each other against the same
+ * server, so the step where the throughput stops growing and the pool starts queueing shows
+ * how many connections, and Tomcat threads, the load needs.
+ * </p>
+ * <p>
+ * Without {@code --url} the application is started in this JVM over an embedded H2 database
+ * holding the full world database (see {@link WorldDatabase}); any other {@code --name=value}
+ * is passed to it as a property. With {@code --url} a running application is driven instead,
+ * e.g. one over a local MySQL.
+ * </p>
+ *
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec@load -Dload.args="--concurrency=4,16,64 --spring.datasource.hikari.maximum-pool-size=4"
+ * mvn -Pbenchmark test-compile exec:exec@load -Dload.args="--url=http://localhost:8080 --duration=60"
+ * }</pre>
+ *
+ * <table>
+ *     <caption>Options</caption>
+ *     <tr><td>{@code --url}</td><td>the application to drive; default an embedded one</td></tr>
+ *     <tr><td>{@code --concurrency}</td><td>comma-separated numbers of clients, one run each; default 1,8,32</td></tr>
+ *     <tr><td>{@code --duration}</td><td>seconds measured per run; default 20</td></tr>
+ *     <tr><td>{@code --warmup}</td><td>seconds of load before each measurement; default 5</td></tr>
+ *     <tr><td>{@code --paths}</td><td>comma-separated paths and queries; default the capital city reports</td></tr>
+ * </table>
+ */
+public final class LoadGenerator {
+
+    private static final List<String> DEFAULT_PATHS = List.of(
+            "/api/capitals/world",
+            "/api/capitals/continent?continent=Asia",
+            "/api/capitals/region?region=Caribbean",
+            "/api/capitals/world/top?limit=10",
+            "/api/capitals/top?continent=Europe&limit=10",
+            "/api/capitals/region/top?region=Eastern%20Asia&limit=5");
+
+    private static final Duration POOL_SAMPLE_INTERVAL = Duration.ofMillis(200);
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final URI base;
+    private final List<String> paths;
+    private final HttpClient client;
+    private final ObjectMapper json = new ObjectMapper();
+
+    private LoadGenerator(URI base, List<String> paths) {
+        this.base = base;
+        this.paths = paths;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * @param args the options, see the class comment
+     * @throws InterruptedException if interrupted during a run
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> properties = new ArrayList<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, not " + arg);
+            }
+            String name = arg.substring(2, equals);
+            if (List.of("url", "concurrency", "duration", "warmup", "paths").contains(name)) {
+                options.put(name, arg.substring(equals + 1));
+            } else {
+                properties.add(arg.substring(2));
+            }
+        }
+        int[] concurrency = Arrays.stream(options.getOrDefault("concurrency", "1,8,32").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "20")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+        List<String> paths = options.containsKey("paths")
+                ? List.of(options.get("paths").split(","))
+                : DEFAULT_PATHS;
+
+        WorldDatabase database = null;
+        URI base;
+        if (options.containsKey("url")) {
+            if (!properties.isEmpty()) {
+                throw new IllegalArgumentException("Properties " + properties + " only apply to the embedded application");
+            }
+            base = URI.create(options.get("url"));
+        } else {
+            // started from a main method, devtools would restart the application in a new class loader
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            database = WorldDatabase.serve(properties.toArray(String[]::new));
+            base = URI.create("http://localhost:" + database.port());
+        }
+        try {
+            LoadGenerator generator = new LoadGenerator(base, paths);
+            for (int clients : concurrency) {
+                generator.run(clients, warmup);
+                generator.run(clients, duration).print(System.out);
+            }
+        } finally {
+            if (database != null) {
+                database.close();
+            }
+        }
+    }
+
+    /**
+     * Loads the application with closed-loop clients for a while.
+     * @param clients  the number of clients sending requests at once
+     * @param duration how long to keep sending
+     * @return the latencies and the pool occupancy observed
+     */
+    private Run run(int clients, Duration duration) throws InterruptedException {
+        Run run = new Run(clients, paths);
+        AtomicBoolean stop = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(clients);
+        ConnectionPoolStatistics poolBefore = pool();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            Latencies[] latencies = run.client(i);
+            int first = i % paths.size();
+            Thread.ofPlatform().name("load-" + i).start(() -> {
+                try {
+                    for (int next = first; !stop.get(); next = (next + 1) % paths.size()) {
+                        latencies[next].add(send(paths.get(next)));
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long deadline = start + duration.toNanos();
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(Math.min(POOL_SAMPLE_INTERVAL.toMillis(),
+                    Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()))));
+            run.sample(pool());
+        }
+        stop.set(true);
+        done.await();
+        run.finish(System.nanoTime() - start, poolBefore, pool());
+        return run;
+    }
+
+    /**
+     * @return the latency in nanoseconds, negative if the request failed
+     */
+    private long send(String path) {
+        HttpRequest request = HttpRequest.newBuilder(base.resolve(path)).timeout(Duration.ofSeconds(30)).build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            long elapsed = System.nanoTime() - start;
+            return response.statusCode() == 200 ? elapsed : -elapsed;
+        } catch (IOException e) {
+            return -(System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @return the pool statistics, or null if the application has no pool or does not serve them
+     */
+    private ConnectionPoolStatistics pool() {
+        try {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(base.resolve("/api/pool")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 ? json.readValue(response.body(), ConnectionPoolStatistics.class) : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * The latencies of one path seen by one client; each client owns its own, so recording
+     * needs no locking.
+     */
+    private static final class Latencies {
+
+        private long[] nanos = new long[1024];
+        private int count;
+        private int failures;
+
+        void add(long latency) {
+            if (latency < 0) {
+                failures++;
+                return;
+            }
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+        }
+    }
+
+    /**
+     * The results of one run.
+     */
+    private static final class Run {
+
+        private final int clients;
+        private final List<String> paths;
+        private final List<Latencies[]> latencies = new ArrayList<>();
+        private int peakActive;
+        private int peakPending;
+        private ConnectionPoolStatistics poolAfter;
+        private long timeouts;
+        private long elapsedNanos;
+
+        Run(int clients, List<String> paths) {
+            this.clients = clients;
+            this.paths = paths;
+        }
+
+        Latencies[] client(int client) {
+            Latencies[] perPath = new Latencies[paths.size()];
+            Arrays.setAll(perPath, i -> new Latencies());
+            latencies.add(perPath);
+            return perPath;
+        }
+
+        void sample(ConnectionPoolStatistics pool) {
+            if (pool != null) {
+                peakActive = Math.max(peakActive, pool.active());
+                peakPending = Math.max(peakPending, pool.pending());
+            }
+        }
+
+        void finish(long elapsedNanos, ConnectionPoolStatistics before, ConnectionPoolStatistics after) {
+            this.elapsedNanos = elapsedNanos;
+            this.poolAfter = after;
+            if (before != null && after != null) {
+                timeouts = after.timeouts() - before.timeouts();
+            }
+        }
+
+        void print(PrintStream out) {
+            double seconds = elapsedNanos / 1e9;
+            out.printf("%n%d clients, %.1f s%n", clients, seconds);
+            out.printf("%-55s %9s %7s %9s %9s %9s %9s %9s%n",
+                    "path", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+            long[] all = new long[0];
+            int allFailures = 0;
+            for (int p = 0; p < paths.size(); p++) {
+                long[] merged = new long[0];
+                int failures = 0;
+                for (Latencies[] client : latencies) {
+                    merged = concat(merged, client[p].nanos, client[p].count);
+                    failures += client[p].failures;
+                }
+                print(out, paths.get(p), merged, failures, seconds);
+                all = concat(all, merged, merged.length);
+                allFailures += failures;
+            }
+            print(out, "all", all, allFailures, seconds);
+            if (poolAfter != null) {
+                out.printf("pool %s: peak %d of %d connections active, peak %d threads waiting, "
+                                + "wait p99 %.1f ms (max %.1f ms), %d timeouts%n",
+                        poolAfter.pool(), peakActive, poolAfter.maximum(), peakPending,
+                        poolAfter.acquireP99Millis(), poolAfter.acquireMaxMillis(), timeouts);
+            }
+        }
+
+        private static void print(PrintStream out, String label, long[] nanos, int failures, double seconds) {
+            Arrays.sort(nanos);
+            out.printf("%-55s %9d %7d %9.1f", label, nanos.length + failures, failures, nanos.length / seconds);
+            for (double percentile : PERCENTILES) {
+                out.printf(" %9.1f", millis(nanos, percentile));
+            }
+            out.printf(" %9.1f%n", millis(nanos, 1.0));
+        }
+
+        private static double millis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+
+        private static long[] concat(long[] a, long[] b, int bCount) {
+            long[] result = Arrays.copyOf(a, a.length + bCount);
+            System.arraycopy(b, 0, result, a.length, bCount);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.napier.devops;
+
+import com.napier.devops.snapshot.WorldSnapshotHolder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The application context of the benchmarks: the real services and repositories over an
+ * embedded H2 database holding the full world database.
+ * <p>
+ * The schema is created by Hibernate as in the tests ({@code test} profile), then the rows of
+ * {@code db/world-db/world.sql} are inserted into it. Run the benchmarks from the project
+ * directory, or point {@code -Dworld.sql=...} at the dump.
+ * </p>
+ * <p>
+ * For synthetic-scale runs the country and city rows can be copied several times over. Every
+ * copy of a country gets a new code, and its cities get new ids and point at the copy, so
+ * each copy is one more world of the same shape.
+ * </p>
+ */
+public final class WorldDatabase implements AutoCloseable {
+
+    private static final String DUMP = System.getProperty("world.sql", "db/world-db/world.sql");
+
+    // the test database, left open until the context closes it rather than at JVM exit
+    private static final String URL = "jdbc:h2:mem:world;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL;"
+            + "CASE_INSENSITIVE_IDENTIFIERS=TRUE";
+
+    // parents before children, whatever order the dump lists them in
+    private static final List<String> TABLES = List.of("country", "city", "countrylanguage");
+
+    // larger than any city id of the dump, so the ids of the copies never collide
+    private static final int CITY_ID_STRIDE = 100_000;
+
+    private final ConfigurableApplicationContext context;
+
+    private WorldDatabase(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Starts the application context and loads the world database into it.
+     * @param snapshot whether the reports are answered from the in-memory world snapshot
+     *                 ({@code world.snapshot.enabled}) rather than by the database
+     * @return the started database
+     */
+    public static WorldDatabase start(boolean snapshot) {
+        return start(snapshot, 1);
+    }
+
+    /**
+     * Starts the application context and loads the world database into it, copied several times over.
+     * @param snapshot whether the reports are answered from the in-memory world snapshot
+     *                 ({@code world.snapshot.enabled}) rather than by the database
+     * @param scale    number of copies of the country and city rows; 1 loads the dump as it is
+     * @return the started database
+     */
+    public static WorldDatabase start(boolean snapshot, int scale) {
+        if (scale < 1) {
+            throw new IllegalArgumentException("The scale must be at least 1, not " + scale);
+        }
+        return start(WebApplicationType.NONE, snapshot, scale);
+    }
+
+    /**
+     * Starts the application context with its web server on a free port, and loads the world
+     * database into it.
+     * @param properties further properties, e.g. {@code spring.threads.virtual.enabled=true}
+     * @return the started database
+     */
+    public static WorldDatabase serve(String... properties) {
+        return start(WebApplicationType.SERVLET, false, 1, properties);
+    }
+
+    private static WorldDatabase start(WebApplicationType web, boolean snapshot, int scale, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--world.snapshot.enabled=" + snapshot,
+                "--spring.datasource.url=" + URL,
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=ERROR",
+                "--server.port=0"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TestApplication.class)
+                .web(web)
+                .profiles("test")
+                .run(args.toArray(String[]::new));
+        try {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            Map<String, List<String>> columns = load(jdbc, Path.of(DUMP));
+            for (int copy = 1; copy < scale; copy++) {
+                copy(jdbc, columns, copy);
+            }
+            if (snapshot) {
+                context.getBean(WorldSnapshotHolder.class).reload();
+            }
+        } catch (RuntimeException e) {
+            context.close();
+            throw e;
+        }
+        return new WorldDatabase(context);
+    }
+
+    /**
+     * @param type the bean type
+     * @param <T>  the bean type
+     * @return the single bean of that type
+     */
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * @return the port the web server listens on, when started by {@link #serve(String...)}
+     */
+    public int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    /**
+     * Inserts the rows of a MySQL dump. Each {@code INSERT} is rewritten with the column list of
+     * its {@code CREATE TABLE}, because the tables created by Hibernate order their columns
+     * differently and add generated ones.
+     * @return the columns of every table of the dump
+     */
+    private static Map<String, List<String>> load(JdbcTemplate jdbc, Path dump) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(dump, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + dump.toAbsolutePath(), e);
+        }
+
+        Map<String, List<String>> columns = new LinkedHashMap<>();
+        Map<String, List<String>> inserts = new LinkedHashMap<>();
+        String table = null;
+        for (String line : lines) {
+            if (line.startsWith("CREATE TABLE `")) {
+                table = quoted(line);
+                columns.put(table, new ArrayList<>());
+            } else if (table != null && line.startsWith("  `")) {
+                columns.get(table).add(quoted(line));
+            } else if (line.startsWith(")")) {
+                table = null;
+            } else if (line.startsWith("INSERT INTO `")) {
+                String into = quoted(line);
+                String values = line.substring(line.indexOf(" VALUES "), line.lastIndexOf(';'));
+                inserts.computeIfAbsent(into, k -> new ArrayList<>()).add("INSERT INTO " + into
+                        + " (" + String.join(", ", columns.get(into)) + ")" + values.replace("\\'", "''"));
+            }
+        }
+
+        for (String name : TABLES) {
+            List<String> statements = inserts.get(name);
+            if (statements == null) {
+                throw new IllegalArgumentException(dump + " has no rows for table " + name);
+            }
+            jdbc.batchUpdate(statements.toArray(String[]::new));
+        }
+        return columns;
+    }
+
+    /**
+     * Inserts one more copy of the loaded countries and cities, with new codes and ids.
+     */
+    private static void copy(JdbcTemplate jdbc, Map<String, List<String>> columns, int copy) {
+        String suffix = "'~" + copy + "'";
+        jdbc.update(copySql("country", columns.get("country"), Map.of(
+                "Code", "CONCAT(Code, " + suffix + ")",
+                "Capital", "Capital + " + copy * CITY_ID_STRIDE), "Code NOT LIKE '%~%'"));
+        jdbc.update(copySql("city", columns.get("city"), Map.of(
+                "ID", "ID + " + copy * CITY_ID_STRIDE,
+                "CountryCode", "CONCAT(CountryCode, " + suffix + ")"), "ID < " + CITY_ID_STRIDE));
+    }
+
+    private static String copySql(String table, List<String> columns, Map<String, String> replaced, String original) {
+        List<String> values = columns.stream().map(column -> replaced.getOrDefault(column, column)).toList();
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") SELECT "
+                + String.join(", ", values) + " FROM " + table + " WHERE " + original;
+    }
+
+    private static String quoted(String line) {
+        int start = line.indexOf('`') + 1;
+        return line.substring(start, line.indexOf('`', start));
+    }
+}
@@ -0,0 +1,150 @@
+package com.napier.devops.controller;
+
+import com.napier.devops.WorldDatabase;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency percentiles of the REST endpoints under a burst of dashboard traffic,
+ * with requests served on Tomcat's platform threads or on virtual threads
+ * ({@code spring.threads.virtual.enabled}).
+ * <p>
+ * 48 clients call {@code /api/capitals/world/top}, a query that waits {@code roundTripMillis}
+ * per statement as it would for a remote MySQL, through a pool of 10 connections; 16 more call
+ * {@code /api/cache}, which needs no database. Tomcat is held to 32 threads, so on platform
+ * threads the database callers take every thread and the others queue behind them. Compare
+ * the {@code p0.99} of {@code cacheStatistics} between the two modes; the database callers are
+ * bounded by the pool either way. Scale the clients with {@code -tg <capitals>,<cacheStatistics>}.
+ * </p>
+ * <p>
+ * The clients run in the same JVM as the server, so give the benchmark several cores: virtual
+ * threads are not time-sliced, and on a single core their one carrier thread competes with
+ * every client thread, so requests wait for a carrier rather than for the database.
+ * </p>
+ *
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="VirtualThreadsBenchmark -rf json -rff target/jmh-result.json"
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class VirtualThreadsBenchmark {
+
+    private static final int TOMCAT_THREADS = 32;
+    private static final int POOL_SIZE = 10;
+
+    /**
+     * Whether requests are served on virtual threads.
+     */
+    @Param({"false", "true"})
+    public boolean virtual;
+
+    /**
+     * Simulated network round trip of every SQL statement.
+     */
+    @Param({"20"})
+    public long roundTripMillis;
+
+    private WorldDatabase database;
+    private HttpClient client;
+    private HttpRequest capitals;
+    private HttpRequest cacheStatistics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RoundTrip.millis = 0;
+        database = WorldDatabase.serve(
+                "spring.threads.virtual.enabled=" + virtual,
+                "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector=" + RoundTrip.class.getName());
+        RoundTrip.millis = roundTripMillis;
+
+        URI base = URI.create("http://localhost:" + database.port());
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        capitals = HttpRequest.newBuilder(base.resolve("/api/capitals/world/top?limit=10")).build();
+        cacheStatistics = HttpRequest.newBuilder(base.resolve("/api/cache")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    /**
+     * A report that needs the database.
+     * @return the response body
+     */
+    @Benchmark
+    @Group("dashboard")
+    @GroupThreads(48)
+    public String capitals() throws IOException, InterruptedException {
+        return send(capitals);
+    }
+
+    /**
+     * A request that needs no database.
+     * @return the response body
+     */
+    @Benchmark
+    @Group("dashboard")
+    @GroupThreads(16)
+    public String cacheStatistics() throws IOException, InterruptedException {
+        return send(cacheStatistics);
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            // a 503 is answered quickly and would flatter the throughput
+            throw new IllegalStateException(request.uri() + " answered " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    /**
+     * Holds every statement for {@link #millis} before it runs, as the round trip to a remote
+     * database would, while the statement's connection stays checked out.
+     */
+    public static class RoundTrip implements StatementInspector {
+
+        static volatile long millis;
+
+        @Override
+        public String inspect(String sql) {
+            if (millis > 0) {
+                try {
+                    Thread.sleep(millis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return sql;
+        }
+    }
+}
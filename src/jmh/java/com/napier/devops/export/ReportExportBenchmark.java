@@ -0,0 +1,124 @@
+package com.napier.devops.export;
+
+import com.napier.devops.model.CitySummary;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares writing a report shaped like use case 7 (all cities in the world) as the
+ * fixed-width text of the log files with writing it as CSV and in the columnar format.
+ * <p>
+ * Each invocation writes every row to a buffered stream that counts and discards its input.
+ * The {@code bytes} counter is reported in bytes per second; divide it by the operations per
+ * second for the size of the report in each format.
+ * </p>
+ *
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="ReportExportBenchmark -rf json -rff target/jmh-result.json"
+ * }</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportExportBenchmark {
+
+    /**
+     * Number of rows in the report; the world database has 4,079 cities.
+     */
+    @Param({"4079"})
+    public int rows;
+
+    private List<CitySummary> cities;
+
+    /**
+     * Bytes written per second, reported next to the operations per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cities = new ArrayList<>(rows);
+        // shaped like the world data: 232 countries and about 1,400 districts, largest city first
+        for (int i = 0; i < rows; i++) {
+            cities.add(new CitySummary(i, "City " + i, "C" + (i % 232), "District " + (i % 1367), 10_500_000 - i * 2_500));
+        }
+    }
+
+    /**
+     * The {@code printf} rows of {@code Group4Application.displayCities}.
+     */
+    @Benchmark
+    public void text(Bytes bytes) {
+        CountingOutputStream counter = new CountingOutputStream();
+        PrintStream out = new PrintStream(new BufferedOutputStream(counter, 64 * 1024), false);
+        out.printf("%-30s %-15s %-20s %15s\n", "Name", "Country", "District", "Population");
+        out.println("-".repeat(85));
+        for (CitySummary city : cities) {
+            out.printf("%-30s %-15s %-20s %,15d\n", city.name(), city.countryCode(), city.district(), city.population());
+        }
+        out.flush();
+        bytes.bytes += counter.count;
+    }
+
+    /**
+     * {@link CsvTableWriter}.
+     */
+    @Benchmark
+    public void csv(Bytes bytes) {
+        bytes.bytes += write(ReportFormat.CSV);
+    }
+
+    /**
+     * {@link ColumnarTableWriter}.
+     */
+    @Benchmark
+    public void columnar(Bytes bytes) {
+        bytes.bytes += write(ReportFormat.COLUMNAR);
+    }
+
+    private long write(ReportFormat format) {
+        CountingOutputStream counter = new CountingOutputStream();
+        try (TableWriter<CitySummary> writer = format.writer(ReportTables.CITIES, counter)) {
+            for (CitySummary city : cities) {
+                writer.row(city);
+            }
+        }
+        return counter.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
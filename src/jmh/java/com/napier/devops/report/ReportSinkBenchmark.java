@@ -0,0 +1,145 @@
+package com.napier.devops.report;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+
+/**
+ * Compares the per-byte dual stream the reports used to be written through with {@link ReportSink}.
+ * <p>
+ * Each invocation writes one report shaped like use case 7 (all cities in the world, one
+ * {@code printf} row per city) to a log file, echoing it to a console stream that discards
+ * its input. The {@code bytes} counter is reported in bytes per second.
+ * </p>
+ *
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="ReportSinkBenchmark -rf json -rff target/jmh-result.json"
+ * }</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportSinkBenchmark {
+
+    /**
+     * Number of rows in the report; the world database has 4,079 cities.
+     */
+    @Param({"4079"})
+    public int rows;
+
+    /**
+     * Whether the report is echoed to the console as well as the file.
+     */
+    @Param({"true", "false"})
+    public boolean echo;
+
+    private File file;
+    private PrintStream console;
+    private long reportBytes;
+
+    /**
+     * Bytes written per second, reported next to the operations per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("report-sink", ".log").toFile();
+        file.deleteOnExit();
+        console = new PrintStream(OutputStream.nullOutputStream());
+
+        CountingOutputStream counter = new CountingOutputStream();
+        PrintStream out = new PrintStream(counter);
+        render(out);
+        out.flush();
+        reportBytes = counter.count;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * The dual stream previously used by {@code Group4Application.runUseCase}: only
+     * {@code write(int)} is overridden, over an unbuffered file stream.
+     */
+    @Benchmark
+    public void legacyPerByteTee(Bytes bytes) throws IOException {
+        try (PrintStream fileOut = new PrintStream(new FileOutputStream(file))) {
+            PrintStream dual = echo
+                    ? new PrintStream(new OutputStream() {
+                        @Override
+                        public void write(int b) {
+                            console.write(b);
+                            fileOut.write(b);
+                        }
+                    })
+                    : fileOut;
+            render(dual);
+            dual.flush();
+        }
+        bytes.bytes += reportBytes;
+    }
+
+    /**
+     * The buffered, bulk-writing {@link ReportSink}.
+     */
+    @Benchmark
+    public void reportSink(Bytes bytes) throws IOException {
+        try (ReportSink sink = ReportSink.open(file, echo ? console : null)) {
+            PrintStream out = sink.printStream();
+            render(out);
+            out.flush();
+        }
+        bytes.bytes += reportBytes;
+    }
+
+    private void render(PrintStream out) {
+        out.println("Report generated on: 2025-01-01 00:00:00\n");
+        out.println("All cities in the world organized by largest population to smallest:");
+        out.printf("%-35s %-20s %-20s %15s%n", "Name", "Country", "District", "Population");
+        out.println("-".repeat(95));
+        for (int i = 0; i < rows; i++) {
+            out.printf("%-35s %-20s %-20s %,15d%n", "City " + i, "Country " + (i % 239), "District " + (i % 1367),
+                    10_500_000 - i * 2_500);
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
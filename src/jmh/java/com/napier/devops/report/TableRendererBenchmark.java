@@ -0,0 +1,118 @@
+package com.napier.devops.report;
+
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.model.PopulationBreakdown;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares printing the rows of the city and population breakdown reports with
+ * {@link PrintStream#printf}, as the display methods did, with printing them through a
+ * {@link TableRenderer}.
+ * <p>
+ * Each operation is one row, so the score is in rows per second. Run with the GC profiler
+ * for the allocations: {@code gc.alloc.rate.norm} is then in bytes per row.
+ * </p>
+ *
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="TableRendererBenchmark -prof gc -rf json -rff target/jmh-result.json"
+ * }</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TableRendererBenchmark {
+
+    /**
+     * Number of rows per invocation; the world database has 4,079 cities.
+     */
+    static final int ROWS = 4079;
+
+    private static final String CITY = "%-30s %-15s %-20s %,15d\n";
+    private static final String BREAKDOWN = "%-12s %-30s %,15d %,20d (%.2f%%) %,20d (%.2f%%)\n";
+
+    private final List<CitySummary> cities = new ArrayList<>(ROWS);
+    private final List<PopulationBreakdown> breakdowns = new ArrayList<>(ROWS);
+    private PrintStream out;
+    private TableRenderer cityRow;
+    private TableRenderer breakdownRow;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            cities.add(new CitySummary(i, "City " + i, "C" + (i % 232), "District " + (i % 1367), 10_500_000 - i * 2_500));
+            long total = 1_300_000_000L - i * 300_000L;
+            long inCities = total / (2 + i % 5);
+            breakdowns.add(new PopulationBreakdown("Country", "Country " + i, total, inCities, total - inCities,
+                    inCities * 100.0 / total, (total - inCities) * 100.0 / total));
+        }
+        out = new PrintStream(new BufferedOutputStream(OutputStream.nullOutputStream(), 64 * 1024), false, StandardCharsets.UTF_8);
+        cityRow = TableLayout.of(CITY).renderer(out);
+        breakdownRow = TableLayout.of(BREAKDOWN).renderer(out);
+    }
+
+    /**
+     * The {@code printf} rows of {@code Group4Application.displayCities}.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void cityPrintf() {
+        for (CitySummary city : cities) {
+            out.printf(CITY, city.name(), city.countryCode(), city.district(), city.population());
+        }
+    }
+
+    /**
+     * The same rows through a {@link TableRenderer}.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void cityRenderer() {
+        for (CitySummary city : cities) {
+            cityRow.text(city.name()).text(city.countryCode()).text(city.district()).number(city.population()).end();
+        }
+    }
+
+    /**
+     * The {@code printf} rows of {@code Group4Application.displayPopulationBreakdowns}.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void breakdownPrintf() {
+        for (PopulationBreakdown b : breakdowns) {
+            out.printf(BREAKDOWN, b.type(), b.name(), b.totalPopulation(), b.populationInCities(),
+                    b.inCitiesPercentage(), b.populationNotInCities(), b.notInCitiesPercentage());
+        }
+    }
+
+    /**
+     * The same rows through a {@link TableRenderer}.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void breakdownRenderer() {
+        for (PopulationBreakdown b : breakdowns) {
+            breakdownRow.text(b.type()).text(b.name()).number(b.totalPopulation()).number(b.populationInCities())
+                    .decimal(b.inCitiesPercentage()).number(b.populationNotInCities())
+                    .decimal(b.notInCitiesPercentage()).end();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.napier.devops.repository;
+
+import com.napier.devops.WorldDatabase;
+import com.napier.devops.model.CapitalCity;
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.model.CountrySummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average time of use cases 1, 7 and 17 on each way of reading them:
+ * <ul>
+ *     <li>{@code session}: a persistence context per query in auto-commit mode, as the report
+ *     queries ran before they were read-only;</li>
+ *     <li>{@code readOnly}: a read-only Spring transaction, as the reporting repositories run
+ *     them now (no flush, read-only session and JDBC connection);</li>
+ *     <li>{@code stateless}: a Hibernate {@link StatelessSession}, which has no persistence
+ *     context at all.</li>
+ * </ul>
+ * Add {@code -prof gc} to compare the allocations per query.
+ *
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="ReadOnlyReportingBenchmark -prof gc -rf json -rff target/jmh-result.json"
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadOnlyReportingBenchmark {
+
+    private static final String USE_CASE_1 = "SELECT new com.napier.devops.model.CountrySummary("
+            + "c.code, c.name, c.continent, c.region, c.population) FROM Country c ORDER BY c.population DESC";
+    private static final String USE_CASE_7 = "SELECT new com.napier.devops.model.CitySummary("
+            + "c.id, c.name, c.countryCode, c.district, c.population) FROM City c ORDER BY c.population DESC";
+    private static final String USE_CASE_17 = "SELECT new com.napier.devops.model.CapitalCity("
+            + "city.name, country.name, city.population) FROM Country country "
+            + "JOIN City city ON city.id = country.capital ORDER BY city.population DESC";
+
+    /**
+     * How the query is run: {@code session}, {@code readOnly} or {@code stateless}.
+     */
+    @Param({"session", "readOnly", "stateless"})
+    public String path;
+
+    private WorldDatabase database;
+    private EntityManagerFactory entityManagerFactory;
+    private SessionFactory sessionFactory;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = WorldDatabase.start(false);
+        entityManagerFactory = database.bean(EntityManagerFactory.class);
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        readOnly = new TransactionTemplate(database.bean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    /**
+     * Use case 1: all countries in the world.
+     */
+    @Benchmark
+    public List<CountrySummary> useCase1() {
+        return query(USE_CASE_1, CountrySummary.class);
+    }
+
+    /**
+     * Use case 7: all cities in the world.
+     */
+    @Benchmark
+    public List<CitySummary> useCase7() {
+        return query(USE_CASE_7, CitySummary.class);
+    }
+
+    /**
+     * Use case 17: all capital cities in the world.
+     */
+    @Benchmark
+    public List<CapitalCity> useCase17() {
+        return query(USE_CASE_17, CapitalCity.class);
+    }
+
+    private <T> List<T> query(String jpql, Class<T> type) {
+        switch (path) {
+            case "readOnly":
+                return readOnly.execute(status -> EntityManagerFactoryUtils
+                        .getTransactionalEntityManager(entityManagerFactory)
+                        .createQuery(jpql, type)
+                        .getResultList());
+            case "stateless":
+                try (StatelessSession session = sessionFactory.openStatelessSession()) {
+                    return session.createSelectionQuery(jpql, type).getResultList();
+                }
+            default:
+                EntityManager entityManager = entityManagerFactory.createEntityManager();
+                try {
+                    return entityManager.createQuery(jpql, type).getResultList();
+                } finally {
+                    entityManager.close();
+                }
+        }
+    }
+}
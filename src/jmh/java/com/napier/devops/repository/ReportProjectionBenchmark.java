@@ -0,0 +1,143 @@
+package com.napier.devops.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.napier.devops.WorldDatabase;
+import com.napier.devops.model.City;
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.model.Country;
+import com.napier.devops.model.CountrySummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average time of the all-countries and all-cities report queries (use cases 1 and 7) when
+ * they load managed {@link Country} and {@link City} entities, as they used to, against the
+ * {@link CountrySummary} and {@link CitySummary} projections the repositories now return; and
+ * of serializing either result to JSON, as the REST endpoints do.
+ * <p>
+ * Every query runs in a fresh persistence context, closed afterwards, as a request would.
+ * {@code scale} copies the countries and cities that many times to show how the gap grows
+ * with the result; add {@code -prof gc} to compare the allocations per query.
+ * </p>
+ *
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="ReportProjectionBenchmark -prof gc -rf json -rff target/jmh-result.json"
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportProjectionBenchmark {
+
+    private static final String COUNTRY_ENTITIES = "SELECT c FROM Country c ORDER BY c.population DESC";
+    private static final String COUNTRY_SUMMARIES = "SELECT new com.napier.devops.model.CountrySummary("
+            + "c.code, c.name, c.continent, c.region, c.population) FROM Country c ORDER BY c.population DESC";
+    private static final String CITY_ENTITIES = "SELECT c FROM City c ORDER BY c.population DESC";
+    private static final String CITY_SUMMARIES = "SELECT new com.napier.devops.model.CitySummary("
+            + "c.id, c.name, c.countryCode, c.district, c.population) FROM City c ORDER BY c.population DESC";
+
+    /**
+     * Number of copies of the world database: 1 is the world database itself (239 countries,
+     * 4,079 cities), 25 about 100,000 cities.
+     */
+    @Param({"1", "25"})
+    public int scale;
+
+    private WorldDatabase database;
+    private EntityManagerFactory entityManagerFactory;
+    private ObjectMapper objectMapper;
+
+    private List<City> cityEntities;
+    private List<CitySummary> citySummaries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = WorldDatabase.start(false, scale);
+        entityManagerFactory = database.bean(EntityManagerFactory.class);
+        objectMapper = database.bean(ObjectMapper.class);
+        cityEntities = query(CITY_ENTITIES, City.class);
+        citySummaries = query(CITY_SUMMARIES, CitySummary.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    /**
+     * Use case 1, loading every column of every country as a managed entity.
+     */
+    @Benchmark
+    public List<Country> countryEntities() {
+        return query(COUNTRY_ENTITIES, Country.class);
+    }
+
+    /**
+     * Use case 1, reading only the report columns into records.
+     */
+    @Benchmark
+    public List<CountrySummary> countrySummaries() {
+        return query(COUNTRY_SUMMARIES, CountrySummary.class);
+    }
+
+    /**
+     * Use case 7, loading every city as a managed entity.
+     */
+    @Benchmark
+    public List<City> cityEntities() {
+        return query(CITY_ENTITIES, City.class);
+    }
+
+    /**
+     * Use case 7, reading only the report columns into records.
+     */
+    @Benchmark
+    public List<CitySummary> citySummaries() {
+        return query(CITY_SUMMARIES, CitySummary.class);
+    }
+
+    /**
+     * Use case 7 as JSON, from entities.
+     */
+    @Benchmark
+    public byte[] cityEntitiesJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cityEntities);
+    }
+
+    /**
+     * Use case 7 as JSON, from records.
+     */
+    @Benchmark
+    public byte[] citySummariesJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(citySummaries);
+    }
+
+    private <T> List<T> query(String jpql, Class<T> type) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery(jpql, type).getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
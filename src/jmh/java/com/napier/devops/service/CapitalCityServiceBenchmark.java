@@ -0,0 +1,104 @@
+package com.napier.devops.service;
+
+import com.napier.devops.WorldDatabase;
+import com.napier.devops.model.CapitalCity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average time of every {@link CapitalCityService} query against the full world database.
+ *
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="CapitalCityServiceBenchmark -rf json -rff target/jmh-result.json"
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CapitalCityServiceBenchmark {
+
+    /**
+     * Whether the queries are answered from the in-memory world snapshot or by the database.
+     */
+    @Param({"false", "true"})
+    public boolean snapshot;
+
+    private WorldDatabase database;
+    private CapitalCityService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = WorldDatabase.start(snapshot);
+        service = database.bean(CapitalCityService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    /**
+     * Use case 17: all capital cities in the world.
+     */
+    @Benchmark
+    public List<CapitalCity> getAllCapitalCitiesByPopulation() {
+        return service.getAllCapitalCitiesByPopulation();
+    }
+
+    /**
+     * Use case 18: all capital cities in a continent.
+     */
+    @Benchmark
+    public List<CapitalCity> getCapitalCitiesInContinentByPopulation() {
+        return service.getCapitalCitiesInContinentByPopulation("Asia");
+    }
+
+    /**
+     * Use case 19: all capital cities in a region.
+     */
+    @Benchmark
+    public List<CapitalCity> getCapitalCitiesInRegionByPopulation() {
+        return service.getCapitalCitiesInRegionByPopulation("Caribbean");
+    }
+
+    /**
+     * Use case 20: top N capital cities in the world.
+     */
+    @Benchmark
+    public List<CapitalCity> getTopCapitalCitiesWorld() {
+        return service.getTopCapitalCitiesWorld(10);
+    }
+
+    /**
+     * Use case 21: top N capital cities in a continent.
+     */
+    @Benchmark
+    public List<CapitalCity> getTopCapitalCitiesInContinent() {
+        return service.getTopCapitalCitiesInContinent("Asia", 10);
+    }
+
+    /**
+     * Use case 22: top N capital cities in a region.
+     */
+    @Benchmark
+    public List<CapitalCity> getTopCapitalCitiesInRegion() {
+        return service.getTopCapitalCitiesInRegion("Caribbean", 10);
+    }
+}
@@ -0,0 +1,161 @@
+package com.napier.devops.service;
+
+import com.napier.devops.WorldDatabase;
+import com.napier.devops.model.CitySummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average time of every {@link CityService} query against the full world database.
+ *
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="CityServiceBenchmark -rf json -rff target/jmh-result.json"
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CityServiceBenchmark {
+
+    /**
+     * Whether the queries are answered from the in-memory world snapshot or by the database.
+     */
+    @Param({"false", "true"})
+    public boolean snapshot;
+
+    private WorldDatabase database;
+    private CityService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = WorldDatabase.start(snapshot);
+        service = database.bean(CityService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    /**
+     * Use case 7: all cities in the world, as a list.
+     */
+    @Benchmark
+    public List<CitySummary> getAllCitiesInTheWorld() {
+        return service.getAllCitiesInTheWorld();
+    }
+
+    /**
+     * Use case 8: all cities in a continent, as a list.
+     */
+    @Benchmark
+    public List<CitySummary> getAllCitiesInAContinent() {
+        return service.getAllCitiesInAContinent("Asia");
+    }
+
+    /**
+     * Use case 9: all cities in a region, as a list.
+     */
+    @Benchmark
+    public List<CitySummary> getAllCitiesInARegion() {
+        return service.getAllCitiesInARegion("Eastern Asia");
+    }
+
+    /**
+     * Use case 7: all cities in the world, streamed.
+     */
+    @Benchmark
+    public long forEachCityInTheWorld(Blackhole blackhole) {
+        return service.forEachCityInTheWorld(blackhole::consume);
+    }
+
+    /**
+     * Use case 8: all cities in a continent, streamed.
+     */
+    @Benchmark
+    public long forEachCityInAContinent(Blackhole blackhole) {
+        return service.forEachCityInAContinent("Asia", blackhole::consume);
+    }
+
+    /**
+     * Use case 9: all cities in a region, streamed.
+     */
+    @Benchmark
+    public long forEachCityInARegion(Blackhole blackhole) {
+        return service.forEachCityInARegion("Eastern Asia", blackhole::consume);
+    }
+
+    /**
+     * Use case 10: all cities in a country.
+     */
+    @Benchmark
+    public List<CitySummary> getAllCitiesInACountry() {
+        return service.getAllCitiesInACountry("Japan");
+    }
+
+    /**
+     * Use case 11: all cities in a district.
+     */
+    @Benchmark
+    public List<CitySummary> getAllCitiesInADistrict() {
+        return service.getAllCitiesInADistrict("Shanghai");
+    }
+
+    /**
+     * Use case 12: top N cities in the world.
+     */
+    @Benchmark
+    public List<CitySummary> getTopNCitiesInTheWorld() {
+        return service.getTopNCitiesInTheWorld(10);
+    }
+
+    /**
+     * Use case 13: top N cities in a continent.
+     */
+    @Benchmark
+    public List<CitySummary> getTopNCitiesInAContinent() {
+        return service.getTopNCitiesInAContinent("Asia", 10);
+    }
+
+    /**
+     * Use case 14: top N cities in a region.
+     */
+    @Benchmark
+    public List<CitySummary> getTopNCitiesInARegion() {
+        return service.getTopNCitiesInARegion("Eastern Asia", 10);
+    }
+
+    /**
+     * Use case 15: top N cities in a country.
+     */
+    @Benchmark
+    public List<CitySummary> getTopNCitiesInACountry() {
+        return service.getTopNCitiesInACountry("Japan", 10);
+    }
+
+    /**
+     * Use case 16: top N cities in a district.
+     */
+    @Benchmark
+    public List<CitySummary> getTopNCitiesInADistrict() {
+        return service.getTopNCitiesInADistrict("Shanghai", 10);
+    }
+}
@@ -0,0 +1,104 @@
+package com.napier.devops.service;
+
+import com.napier.devops.WorldDatabase;
+import com.napier.devops.model.CountrySummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average time of every {@link CountryService} query against the full world database.
+ *
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="CountryServiceBenchmark -rf json -rff target/jmh-result.json"
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CountryServiceBenchmark {
+
+    /**
+     * Whether the queries are answered from the in-memory world snapshot or by the database.
+     */
+    @Param({"false", "true"})
+    public boolean snapshot;
+
+    private WorldDatabase database;
+    private CountryService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = WorldDatabase.start(snapshot);
+        service = database.bean(CountryService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    /**
+     * Use case 1: all countries in the world.
+     */
+    @Benchmark
+    public List<CountrySummary> getAllCountriesWorld() {
+        return service.getAllCountriesWorld();
+    }
+
+    /**
+     * Use case 2: all countries in a continent.
+     */
+    @Benchmark
+    public List<CountrySummary> getAllCountriesInContinent() {
+        return service.getAllCountriesInContinent("Asia");
+    }
+
+    /**
+     * Use case 3: all countries in a region.
+     */
+    @Benchmark
+    public List<CountrySummary> getCountriesInRegionByPopulation() {
+        return service.getCountriesInRegionByPopulation("Western Europe");
+    }
+
+    /**
+     * Use case 4: top N countries in the world.
+     */
+    @Benchmark
+    public List<CountrySummary> getTopCountriesInWorld() {
+        return service.getTopCountriesInWorld(10);
+    }
+
+    /**
+     * Use case 5: top N countries in a continent.
+     */
+    @Benchmark
+    public List<CountrySummary> getTopCountriesInContinent() {
+        return service.getTopCountriesInContinent("Asia", 10);
+    }
+
+    /**
+     * Use case 6: top N countries in a region.
+     */
+    @Benchmark
+    public List<CountrySummary> getTopCountriesInRegion() {
+        return service.getTopCountriesInRegion("Western Europe", 10);
+    }
+}
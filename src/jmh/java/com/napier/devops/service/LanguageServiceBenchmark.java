@@ -0,0 +1,91 @@
+package com.napier.devops.service;
+
+import com.napier.devops.WorldDatabase;
+import com.napier.devops.model.LanguageStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average time of every {@link LanguageService} query against the full world database.
+ *
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="LanguageServiceBenchmark -rf json -rff target/jmh-result.json"
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LanguageServiceBenchmark {
+
+    private static final List<String> LANGUAGES = List.of("French", "German", "Italian", "Portuguese", "Russian",
+            "Japanese", "Korean", "Bengali", "Turkish", "Polish", "Dutch", "Swedish");
+
+    /**
+     * Whether the queries are answered from the in-memory world snapshot or by the database.
+     */
+    @Param({"false", "true"})
+    public boolean snapshot;
+
+    private WorldDatabase database;
+    private LanguageService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = WorldDatabase.start(snapshot);
+        service = database.bean(LanguageService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    /**
+     * Use case 32: speakers of the five most spoken languages.
+     */
+    @Benchmark
+    public List<LanguageStats> getLanguageStatistics() {
+        return service.getLanguageStatistics();
+    }
+
+    /**
+     * Speakers of a dashboard's set of languages.
+     */
+    @Benchmark
+    public List<LanguageStats> getLanguageStatisticsOfLanguages() {
+        return service.getLanguageStatistics(LANGUAGES);
+    }
+
+    /**
+     * The ten most spoken languages in the world.
+     */
+    @Benchmark
+    public List<LanguageStats> getTopLanguagesInWorld() {
+        return service.getTopLanguagesInWorld(10);
+    }
+
+    /**
+     * The ten most spoken languages in Europe.
+     */
+    @Benchmark
+    public List<LanguageStats> getTopLanguagesInContinent() {
+        return service.getTopLanguagesInContinent("Europe", 10);
+    }
+}
@@ -0,0 +1,80 @@
+package com.napier.devops.service;
+
+import com.napier.devops.WorldDatabase;
+import com.napier.devops.model.PopulationBreakdown;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average time of every {@link PopulationBreakdownService} query against the full world database.
+ *
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="PopulationBreakdownServiceBenchmark -rf json -rff target/jmh-result.json"
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PopulationBreakdownServiceBenchmark {
+
+    /**
+     * Whether the queries are answered from the in-memory world snapshot or by the database.
+     */
+    @Param({"false", "true"})
+    public boolean snapshot;
+
+    private WorldDatabase database;
+    private PopulationBreakdownService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = WorldDatabase.start(snapshot);
+        service = database.bean(PopulationBreakdownService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    /**
+     * Use case 23: population in and outside cities by continent.
+     */
+    @Benchmark
+    public List<PopulationBreakdown> getAllByContinent() {
+        return service.getAllByContinent();
+    }
+
+    /**
+     * Use case 24: population in and outside cities by region.
+     */
+    @Benchmark
+    public List<PopulationBreakdown> getAllByRegion() {
+        return service.getAllByRegion();
+    }
+
+    /**
+     * Use case 25: population in and outside cities by country.
+     */
+    @Benchmark
+    public List<PopulationBreakdown> getAllByCountry() {
+        return service.getAllByCountry();
+    }
+}
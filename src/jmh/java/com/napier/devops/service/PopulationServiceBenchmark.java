@@ -0,0 +1,120 @@
+package com.napier.devops.service;
+
+import com.napier.devops.WorldDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average time of every {@link PopulationService} query against the full world database.
+ *
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="PopulationServiceBenchmark -rf json -rff target/jmh-result.json"
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PopulationServiceBenchmark {
+
+    /**
+     * Whether the queries are answered from the in-memory world snapshot or by the database.
+     */
+    @Param({"false", "true"})
+    public boolean snapshot;
+
+    private WorldDatabase database;
+    private PopulationService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = WorldDatabase.start(snapshot);
+        service = database.bean(PopulationService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    /**
+     * Use case 26: population of the world.
+     */
+    @Benchmark
+    public Long getWorldPopulation() {
+        return service.getWorldPopulation();
+    }
+
+    /**
+     * Use case 27: population of a continent.
+     */
+    @Benchmark
+    public Long getContinentPopulation() {
+        return service.getContinentPopulation("Asia");
+    }
+
+    /**
+     * Use case 28: population of a region.
+     */
+    @Benchmark
+    public Long getRegionPopulation() {
+        return service.getRegionPopulation("Caribbean");
+    }
+
+    /**
+     * Use case 29: population of a country.
+     */
+    @Benchmark
+    public Long getCountryPopulation() {
+        return service.getCountryPopulation("Italy");
+    }
+
+    /**
+     * Use case 30: population of a district.
+     */
+    @Benchmark
+    public Long getDistrictPopulation() {
+        return service.getDistrictPopulation("Shanghai");
+    }
+
+    /**
+     * Use case 31: population of a city.
+     */
+    @Benchmark
+    public Long getCityPopulation() {
+        return service.getCityPopulation("London");
+    }
+
+    /**
+     * Population of a district within a country.
+     */
+    @Benchmark
+    public Long getDistrictPopulationWithinCountry() {
+        return service.getPopulationWithin(com.napier.devops.snapshot.Scope.Level.DISTRICT, "Punjab",
+                com.napier.devops.snapshot.Scope.Level.COUNTRY, "Pakistan");
+    }
+
+    /**
+     * Population of a city within a region.
+     */
+    @Benchmark
+    public Long getCityPopulationWithinRegion() {
+        return service.getPopulationWithin(com.napier.devops.snapshot.Scope.Level.CITY, "Hyderabad",
+                com.napier.devops.snapshot.Scope.Level.REGION, "Southern and Central Asia");
+    }
+}
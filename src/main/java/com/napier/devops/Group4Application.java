@@ -3,24 +3,63 @@ package com.napier.devops;
 import com.napier.devops.controller.CapitalController;
 import com.napier.devops.controller.PopulationController;
 import com.napier.devops.model.CapitalCity;
-import com.napier.devops.model.Country;
+import com.napier.devops.model.CountrySummary;
 import com.napier.devops.model.PopulationBreakdown;
 import com.napier.devops.controller.CityController;
-import com.napier.devops.model.City;
+import com.napier.devops.model.CitySummary;
 import com.napier.devops.controller.LanguageController;
+import com.napier.devops.export.ReportFormat;
+import com.napier.devops.export.ReportTables;
+import com.napier.devops.export.TableWriter;
 import com.napier.devops.model.LanguageStats;
+import com.napier.devops.report.BatchReportRunner;
+import com.napier.devops.report.ReportOutput;
+import com.napier.devops.report.ReportOutputCache;
+import com.napier.devops.report.TableLayout;
+import com.napier.devops.report.TableRenderer;
+import com.napier.devops.report.UseCaseDependencies;
+import com.napier.devops.report.WorldDataPartitions;
+import com.napier.devops.report.WorldDataVersion;
 import com.napier.devops.service.CapitalCityService;
 import com.napier.devops.service.CountryService;
 import com.napier.devops.service.PopulationBreakdownService;
+import com.napier.devops.snapshot.WorldSnapshot;
+import com.napier.devops.snapshot.WorldSnapshotFile;
+import com.napier.devops.snapshot.WorldSnapshotHolder;
 import com.napier.devops.util.AppParameters;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.ExitCodeGenerator;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-
+import org.springframework.boot.info.BuildProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.env.PropertySource;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
 
 /**
  * The main entry point for the World Population Reporting System.
@@ -33,58 +72,168 @@ import java.util.Scanner;
  * @version 1.0
  */
 @SpringBootApplication
-public class Group4Application implements CommandLineRunner {
+public class Group4Application implements CommandLineRunner, ExitCodeGenerator {
+
+    /**
+     * Auto-configurations left out by {@code --snapshot=<file>}.
+     */
+    static final String DATABASE_AUTO_CONFIGURATIONS = String.join(",",
+            "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+            "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration",
+            "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration");
+
+    /**
+     * Profile of the batch launch mode, also enabled by {@code --batch}.
+     */
+    static final String BATCH_PROFILE = "batch";
+
+    /**
+     * Row layouts of the report tables, parsed once.
+     */
+    private static final TableLayout CAPITAL_CITY_ROW = TableLayout.of("%-30s %-30s %,15d%n");
+    private static final TableLayout COUNTRY_ROW = TableLayout.of("%-4s %-40s %-15s %-20s %,15d\n");
+    private static final TableLayout POPULATION_BREAKDOWN_ROW =
+            TableLayout.of("%-12s %-30s %,15d %,20d (%.2f%%) %,20d (%.2f%%)\n");
+    private static final TableLayout CITY_ROW = TableLayout.of("%-30s %-15s %-20s %,15d\n");
+    private static final TableLayout LANGUAGE_ROW = TableLayout.of("%-20s %,20d %24.2f%%%n");
 
     private boolean running = true;
 
+    /**
+     * Exit code of the batch: {@code 1} if any report failed, otherwise {@code 0}.
+     */
+    private int exitCode;
+
     /**
      * Service for managing and retrieving country-related data.
      */
     @Autowired
+    @Lazy
     private CountryService countryService;
 
     /**
      * Service for managing and retrieving population breakdown data.
      */
     @Autowired
+    @Lazy
     private PopulationBreakdownService populationBreakdownService;
 
     /**
      * Service for managing and retrieving capital city data.
      */
     @Autowired
+    @Lazy
     private CapitalCityService capitalCityService;
 
     /**
      * Controller for managing and retrieving city-related data.
      */
     @Autowired
+    @Lazy
     private CityController cityController;
 
     /**
      * Controller for managing and retrieving population data.
      */
     @Autowired
+    @Lazy
     private PopulationController populationController;
 
     /**
      * Application parameters.
      */
     @Autowired
+    @Lazy
     private AppParameters appParameters;
 
     /**
      * Controller for managing and retrieving capital city data.
      */
     @Autowired
+    @Lazy
     private CapitalController capitalController;
 
     /**
      * Controller for managing and retrieving language data.
      */
     @Autowired
+    @Lazy
     private LanguageController languageController;
 
+    /**
+     * Maximum number of reports generated at once in containerized mode.
+     */
+    @Value("${report.batch.threads:4}")
+    private int batchThreads;
+
+    /**
+     * Whether containerized mode echoes every report to the console as well as its log file.
+     */
+    @Value("${report.batch.console-echo:true}")
+    private boolean batchConsoleEcho;
+
+    /**
+     * Comma-separated numbers of the use cases to generate in containerized mode; empty means all.
+     */
+    @Value("${report.batch.use-cases:}")
+    private String batchUseCases;
+
+    /**
+     * Format of the reports of containerized mode, unless {@code use_case_<n>.format} sets another.
+     */
+    @Value("${report.batch.format:text}")
+    private String batchFormat;
+
+    /**
+     * Whether containerized mode copies unchanged reports from the report output cache.
+     */
+    @Value("${report.cache.enabled:false}")
+    private boolean reportCacheEnabled;
+
+    /**
+     * Directory of the report output cache.
+     */
+    @Value("${report.cache.directory:output/.cache}")
+    private Path reportCacheDirectory;
+
+    /**
+     * How long a cached report nobody asks for is kept.
+     */
+    @Value("${report.cache.max-age:P7D}")
+    private Duration reportCacheMaxAge;
+
+    /**
+     * Version of the world data, for the keys of the report output cache.
+     */
+    @Autowired
+    @Lazy
+    private WorldDataVersion worldDataVersion;
+
+    /**
+     * The environment, holding the use case parameters.
+     */
+    @Autowired
+    private ConfigurableEnvironment environment;
+
+    /**
+     * File to export the world snapshot to, set by {@code --export-snapshot=<file>}.
+     */
+    @Value("${export-snapshot:}")
+    private String exportSnapshot;
+
+    /**
+     * Holder of the world snapshot, present when the snapshot is enabled.
+     */
+    @Autowired
+    private ObjectProvider<WorldSnapshotHolder> snapshots;
+
+    /**
+     * Version and time of the build, from {@code META-INF/build-info.properties}, for the keys
+     * of the report output cache.
+     */
+    @Autowired
+    private ObjectProvider<BuildProperties> buildProperties;
 
     /**
      * Executes a use case and writes its output to both the console and a log file.
@@ -107,47 +256,21 @@ public class Group4Application implements CommandLineRunner {
      *                 <ul>
      *                   <li>If the output directory "output" does not exist, it will attempt to create it.</li>
      *                   <li>Prints the current date and time at the beginning of the report.</li>
-     *                   <li>Redirects {@link System#out} to a dual stream that prints to both console and file.</li>
-     *                   <li>Restores {@link System#out} after execution is complete.</li>
+     *                   <li>Points {@link ReportOutput#current()} at a dual stream that prints to both console and file,
+     *                       for the current thread only; {@link System#out} itself is never replaced.</li>
      *                   <li>Catches and logs any exceptions during file writing without terminating the program.</li>
      *                 </ul>
      */
     public static void runUseCase(String fileName, Runnable action) {
-        java.io.File dir = new java.io.File("output");
-        if (!dir.exists() && !dir.mkdirs()) {
-            System.err.println("Warning: could not create output directory " + dir.getAbsolutePath());
-        }
-
-        try (java.io.PrintStream fileOut = new java.io.PrintStream(new java.io.FileOutputStream("output/" + fileName))) {
-            java.io.PrintStream console = System.out;
-
-            java.io.PrintStream dual = new java.io.PrintStream(new java.io.OutputStream() {
-                @Override
-                public void write(int b) {
-                    console.write(b);
-                    fileOut.write(b);
-                }
-            });
-
-            System.setOut(dual);
-
-            // Add a timestamp at the start of the report
-            java.time.LocalDateTime now = java.time.LocalDateTime.now();
-            java.time.format.DateTimeFormatter formatter = java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-            System.out.println("Report generated on: " + now.format(formatter) + "\n");
-
-            // Execute the use case action
-            action.run();
-
-            // Restore original System.out
-            System.setOut(console);
-
-        } catch (Exception e) {
-            System.err.println("Error writing output for " + fileName + ": " + e.getMessage());
-            e.printStackTrace(System.err);
-        }
+        BatchReportRunner.write(new File("output"), new BatchReportRunner.Report(fileName, action), System.out);
     }
 
+    /**
+     * @return the stream the report currently being generated on this thread prints to
+     */
+    private static PrintStream out() {
+        return ReportOutput.current();
+    }
 
     /**
      * The main method that starts the Spring Boot application.
@@ -155,7 +278,42 @@ public class Group4Application implements CommandLineRunner {
      * @param args command-line arguments
      */
     public static void main(String[] args) {
-        SpringApplication.run(Group4Application.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(Group4Application.class, withLaunchArguments(args));
+        if (context.getEnvironment().acceptsProfiles(Profiles.of(BATCH_PROFILE))) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    /**
+     * Adds the properties the launch options stand for:
+     * <ul>
+     *   <li>{@code --batch} generates the reports and exits with a status code, without a web
+     *       server and creating only the beans the selected use cases need ({@code batch} profile);</li>
+     *   <li>{@code --snapshot=<file>} answers every report from a snapshot file, and starts
+     *       without a datasource, JPA or repositories;</li>
+     *   <li>{@code --export-snapshot=<file>} loads the snapshot from the database, writes it to
+     *       the file and exits.</li>
+     * </ul>
+     *
+     * @param args command-line arguments
+     * @return the arguments followed by the properties they imply, each once
+     */
+    static String[] withLaunchArguments(String[] args) {
+        List<String> expanded = new ArrayList<>(Arrays.asList(args));
+        for (String arg : args) {
+            if (arg.equals("--batch")) {
+                expanded.add("--spring.profiles.include=" + BATCH_PROFILE);
+            } else if (arg.startsWith("--snapshot=")) {
+                expanded.add("--world.snapshot.enabled=true");
+                expanded.add("--world.snapshot.file=" + arg.substring("--snapshot=".length()));
+                expanded.add("--spring.autoconfigure.exclude=" + DATABASE_AUTO_CONFIGURATIONS);
+            } else if (arg.startsWith("--export-snapshot=")) {
+                expanded.add("--world.snapshot.enabled=true");
+                expanded.add("--spring.main.web-application-type=none");
+            }
+        }
+        // the devtools restarter calls main again with the expanded arguments
+        return new LinkedHashSet<>(expanded).toArray(new String[0]);
     }
 
     /**
@@ -167,6 +325,11 @@ public class Group4Application implements CommandLineRunner {
      */
     @Override
     public void run(String... args) throws Exception {
+        if (StringUtils.hasText(exportSnapshot)) {
+            exportSnapshot(Path.of(exportSnapshot));
+            return;
+        }
+
         boolean interactiveMenu = Arrays.asList(args).contains("--interactive")
                 || Boolean.parseBoolean(System.getenv().getOrDefault("INTERACTIVE_MENU", "false"));
 
@@ -183,167 +346,322 @@ public class Group4Application implements CommandLineRunner {
         } else {
             System.out.println("Running in containerized mode - automatically executing all use cases...");
 
+            List<BatchReportRunner.Report> reports = inFormats(selectUseCases(batchReports(), batchUseCases),
+                    batchFormat, environment);
+            ReportOutputCache cache = reportCacheEnabled ? new ReportOutputCache(reportCacheDirectory, reportCacheMaxAge) : null;
+            BuildProperties build = cache != null ? buildProperties.getIfAvailable() : null;
+            if (cache != null && build == null) {
+                System.out.println("Report cache skipped, the build version is unknown");
+                cache = null;
+            }
+            if (cache != null) {
+                try {
+                    reports = cachedAs(reports, worldDataVersion.partitions(),
+                            build.getVersion() + "@" + build.getTime(), environment);
+                } catch (RuntimeException e) {
+                    System.out.println("Report cache skipped, the data version is unknown: " + e.getMessage());
+                    cache = null;
+                }
+            }
+
+            BatchReportRunner.Summary summary = new BatchReportRunner(new File("output"), batchThreads, batchConsoleEcho, cache)
+                    .run(reports, System.out);
+
+            exitCode = summary.failures() == 0 ? 0 : 1;
+            if (cache != null) {
+                cache.prune();
+            }
+
+            if (summary.failures() == 0) {
+                System.out.println("\nAll use cases executed successfully!");
+            } else {
+                System.out.println("\n" + summary.failures() + " of " + summary.results().size()
+                        + " use cases failed: " + summary.results().stream()
+                        .filter(result -> result.error() != null)
+                        .map(BatchReportRunner.Result::fileName)
+                        .collect(Collectors.joining(", ")));
+            }
+        }
+    }
+
+    /**
+     * @return the exit code of the batch, used when the {@code batch} profile exits the application
+     */
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    /**
+     * Keeps the reports of the selected use cases.
+     *
+     * @param reports  every report, in use-case order
+     * @param useCases comma-separated use case numbers, e.g. {@code 1,7,26}; blank selects every report
+     * @return the selected reports, in use-case order
+     * @throws IllegalArgumentException if a use case is not a number or has no report
+     */
+    static List<BatchReportRunner.Report> selectUseCases(List<BatchReportRunner.Report> reports, String useCases) {
+        if (!StringUtils.hasText(useCases)) {
+            return reports;
+        }
+        Set<String> fileNames = new HashSet<>();
+        for (String useCase : StringUtils.commaDelimitedListToStringArray(useCases)) {
+            String fileName = "usecase" + useCase.trim() + ".log";
+            if (reports.stream().noneMatch(report -> report.fileName().equals(fileName))) {
+                throw new IllegalArgumentException("Unknown use case: " + useCase.trim());
+            }
+            fileNames.add(fileName);
+        }
+        return reports.stream().filter(report -> fileNames.contains(report.fileName())).toList();
+    }
+
+    /**
+     * Sets the format of every report: {@code use_case_<n>.format} if set, else the default.
+     *
+     * @param reports       the reports
+     * @param defaultFormat the format of the reports that do not set one, e.g. {@code csv}; blank means text
+     * @param environment   the environment holding the parameters
+     * @return the reports, each in its format
+     * @throws IllegalArgumentException if a format is unknown
+     */
+    static List<BatchReportRunner.Report> inFormats(List<BatchReportRunner.Report> reports, String defaultFormat,
+                                                    ConfigurableEnvironment environment) {
+        ReportFormat fallback = StringUtils.hasText(defaultFormat) ? ReportFormat.of(defaultFormat) : ReportFormat.TEXT;
+        return reports.stream()
+                .map(report -> {
+                    String format = environment.getProperty(
+                            report.fileName().replaceFirst("^usecase(\\d+)\\.log$", "use_case_$1.format"));
+                    return report.in(StringUtils.hasText(format) ? ReportFormat.of(format) : fallback);
+                })
+                .toList();
+    }
+
+    /**
+     * Gives every report its key in the report output cache, from the use case, its parameters
+     * ({@code use_case_<n>.*}) and the version of only the data it reads
+     * ({@link UseCaseDependencies}), so a change elsewhere leaves the key as it was. The build
+     * and whether the data is read from the snapshot or the database are part of every key.
+     *
+     * @param reports     the reports
+     * @param partitions  the versions of the world data
+     * @param build       version of the application build
+     * @param environment the environment holding the parameters and {@code world.snapshot.enabled}
+     * @return the reports, each with its cache key
+     */
+    static List<BatchReportRunner.Report> cachedAs(List<BatchReportRunner.Report> reports, WorldDataPartitions partitions,
+                                                   String build, ConfigurableEnvironment environment) {
+        String source = environment.getProperty("world.snapshot.enabled", Boolean.class, false) ? "snapshot" : "database";
+        return reports.stream()
+                .map(report -> {
+                    Map<String, String> parameters = useCaseParameters(environment, report.fileName());
+                    UseCaseDependencies.Reads reads = UseCaseDependencies.of(report.fileName());
+                    String dataVersion = partitions.version(reads, reads.scopeValue(parameters));
+                    return report.cachedAs(ReportOutputCache.key(build, source, dataVersion, report.outputFileName(), parameters));
+                })
+                .toList();
+    }
+
+    /**
+     * @param environment the environment holding the parameters
+     * @param fileName    the use case's log file, e.g. {@code usecase2.log}
+     * @return the resolved {@code use_case_<n>.*} properties of the use case, by name
+     */
+    static Map<String, String> useCaseParameters(ConfigurableEnvironment environment, String fileName) {
+        String prefix = fileName.replaceFirst("^usecase(\\d+)\\.log$", "use_case_$1.");
+        Map<String, String> parameters = new TreeMap<>();
+        for (PropertySource<?> source : environment.getPropertySources()) {
+            if (source instanceof EnumerablePropertySource<?> enumerable) {
+                for (String name : enumerable.getPropertyNames()) {
+                    if (name.startsWith(prefix)) {
+                        parameters.put(name, environment.getProperty(name));
+                    }
+                }
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Loads the world snapshot from the database and writes it to a snapshot file, which
+     * {@code --snapshot=<file>} can then serve the reports from.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    void exportSnapshot(Path file) throws IOException {
+        WorldSnapshot snapshot = snapshots.getObject().current();
+        WorldSnapshotFile.write(snapshot, file);
+        System.out.printf("Exported %d countries, %d cities and %d country languages to %s%n",
+                snapshot.countryCount(), snapshot.cityCount(), snapshot.languageCount(), file.toAbsolutePath());
+    }
+
+    /**
+     * Builds the reports generated in containerized mode, one per use case, using the
+     * parameters from {@code parameters.properties}.
+     *
+     * @return the reports in use-case order
+     */
+    List<BatchReportRunner.Report> batchReports() {
+        return List.of(
             // === COUNTRY REPORTS ===
-            runUseCase("usecase1.log", () -> {
-                System.out.println("\n=== USE CASE 1: All countries in the world ===");
+            new BatchReportRunner.Report("usecase1.log", () -> {
+                out().println("\n=== USE CASE 1: All countries in the world ===");
                 displayAllCountriesWorld();
-            });
+            }),
 
-            runUseCase("usecase2.log", () -> {
-                System.out.println("\n=== USE CASE 2: All countries in a continent (Asia) ===");
+            new BatchReportRunner.Report("usecase2.log", () -> {
+                out().println("\n=== USE CASE 2: All countries in a continent (Asia) ===");
                 displayAllCountriesInContinent(appParameters.getUseCase2Continent());
-            });
+            }),
 
-            runUseCase("usecase3.log", () -> {
-                System.out.println("\n=== USE CASE 3: All countries in a region (Western Europe) ===");
+            new BatchReportRunner.Report("usecase3.log", () -> {
+                out().println("\n=== USE CASE 3: All countries in a region (Western Europe) ===");
                 displayAllCountriesInRegion(appParameters.getUseCase3Region());
-            });
+            }),
 
-            runUseCase("usecase4.log", () -> {
-                System.out.println("\n=== USE CASE 4: Top " + appParameters.getUseCase4Limit() + " populated countries in the world ===");
+            new BatchReportRunner.Report("usecase4.log", () -> {
+                out().println("\n=== USE CASE 4: Top " + appParameters.getUseCase4Limit() + " populated countries in the world ===");
                 displayTopCountriesInWorld(appParameters.getUseCase4Limit());
-            });
+            }),
 
-            runUseCase("usecase5.log", () -> {
-                System.out.println("\n=== USE CASE 5: Top " + appParameters.getUseCase5Limit() + " populated countries in a continent (Asia) ===");
+            new BatchReportRunner.Report("usecase5.log", () -> {
+                out().println("\n=== USE CASE 5: Top " + appParameters.getUseCase5Limit() + " populated countries in a continent (Asia) ===");
                 displayTopCountriesInContinent(appParameters.getUseCase5Continent(), appParameters.getUseCase5Limit());
-            });
+            }),
 
-            runUseCase("usecase6.log", () -> {
-                System.out.println("\n=== USE CASE 6: Top " + appParameters.getUseCase6Limit() + " populated countries in a region (Eastern Asia) ===");
+            new BatchReportRunner.Report("usecase6.log", () -> {
+                out().println("\n=== USE CASE 6: Top " + appParameters.getUseCase6Limit() + " populated countries in a region (Eastern Asia) ===");
                 displayTopCountriesInRegion(appParameters.getUseCase6Region(), appParameters.getUseCase6Limit());
-            });
+            }),
 
 
             // === CITY REPORTS (7–16) ===
-            runUseCase("usecase7.log", () -> {
-                System.out.println("\nUSE CASE 7: All cities in the world ordered by population");
-                displayCities(cityController.getAllCitiesInTheWorld());
-            });
-            runUseCase("usecase8.log", () -> {
-                System.out.println("\nUSE CASE 8: All cities in a given continent (" + appParameters.getUseCase8Continent() + ")");
-                displayCities(cityController.getAllCitiesInAContinent(appParameters.getUseCase8Continent()));
-            });
-            runUseCase("usecase9.log", () -> {
-                System.out.println("\nUSE CASE 9: All cities in region " + appParameters.getUseCase9Region());
-                displayCities(cityController.getAllCitiesInARegion(appParameters.getUseCase9Region()));
-            });
-            runUseCase("usecase10.log", () -> {
-                System.out.println("\nUSE CASE 10: All cities in country " + appParameters.getUseCase10Country());
+            new BatchReportRunner.Report("usecase7.log", () -> {
+                out().println("\nUSE CASE 7: All cities in the world ordered by population");
+                displayCities(cityController::forEachCityInTheWorld);
+            }),
+            new BatchReportRunner.Report("usecase8.log", () -> {
+                out().println("\nUSE CASE 8: All cities in a given continent (" + appParameters.getUseCase8Continent() + ")");
+                displayCities(action -> cityController.forEachCityInAContinent(appParameters.getUseCase8Continent(), action));
+            }),
+            new BatchReportRunner.Report("usecase9.log", () -> {
+                out().println("\nUSE CASE 9: All cities in region " + appParameters.getUseCase9Region());
+                displayCities(action -> cityController.forEachCityInARegion(appParameters.getUseCase9Region(), action));
+            }),
+            new BatchReportRunner.Report("usecase10.log", () -> {
+                out().println("\nUSE CASE 10: All cities in country " + appParameters.getUseCase10Country());
                 displayCities(cityController.getAllCitiesInACountry(appParameters.getUseCase10Country()));
-            });
-            runUseCase("usecase11.log", () -> {
-                System.out.println("\nUSE CASE 11: All cities in district " + appParameters.getUseCase11District());
+            }),
+            new BatchReportRunner.Report("usecase11.log", () -> {
+                out().println("\nUSE CASE 11: All cities in district " + appParameters.getUseCase11District());
                 displayCities(cityController.getAllCitiesInADistrict(appParameters.getUseCase11District()));
-            });
-            runUseCase("usecase12.log", () -> {
-                System.out.println("\nUSE CASE 12: Top " + appParameters.getUseCase12Limit() + " most populated cities in the world");
+            }),
+            new BatchReportRunner.Report("usecase12.log", () -> {
+                out().println("\nUSE CASE 12: Top " + appParameters.getUseCase12Limit() + " most populated cities in the world");
                 displayCities(cityController.getTopNCitiesInTheWorld(appParameters.getUseCase12Limit()));
-            });
-            runUseCase("usecase13.log", () -> {
-                System.out.println("\nUSE CASE 13: Top " + appParameters.getUseCase13Limit() + " cities in continent " + appParameters.getUseCase13Continent());
+            }),
+            new BatchReportRunner.Report("usecase13.log", () -> {
+                out().println("\nUSE CASE 13: Top " + appParameters.getUseCase13Limit() + " cities in continent " + appParameters.getUseCase13Continent());
                 displayCities(cityController.getTopNCitiesInAContinent(appParameters.getUseCase13Continent(), appParameters.getUseCase13Limit()));
-            });
-            runUseCase("usecase14.log", () -> {
-                System.out.println("\nUSE CASE 14: Top " + appParameters.getUseCase14Limit() + " cities in region " + appParameters.getUseCase14Region());
+            }),
+            new BatchReportRunner.Report("usecase14.log", () -> {
+                out().println("\nUSE CASE 14: Top " + appParameters.getUseCase14Limit() + " cities in region " + appParameters.getUseCase14Region());
                 displayCities(cityController.getTopNCitiesInARegion(appParameters.getUseCase14Region(), appParameters.getUseCase14Limit()));
-            });
-            runUseCase("usecase15.log", () -> {
-                System.out.println("\nUSE CASE 15: Top " + appParameters.getUseCase15Limit() + " cities in country " + appParameters.getUseCase15Country());
+            }),
+            new BatchReportRunner.Report("usecase15.log", () -> {
+                out().println("\nUSE CASE 15: Top " + appParameters.getUseCase15Limit() + " cities in country " + appParameters.getUseCase15Country());
                 displayCities(cityController.getTopNCitiesInACountry(appParameters.getUseCase15Country(), appParameters.getUseCase15Limit()));
-            });
-            runUseCase("usecase16.log", () -> {
-                System.out.println("\nUSE CASE 16: Top " + appParameters.getUseCase16Limit() + " cities in district " + appParameters.getUseCase16District());
+            }),
+            new BatchReportRunner.Report("usecase16.log", () -> {
+                out().println("\nUSE CASE 16: Top " + appParameters.getUseCase16Limit() + " cities in district " + appParameters.getUseCase16District());
                 displayCities(cityController.getTopNCitiesInADistrict(appParameters.getUseCase16District(), appParameters.getUseCase16Limit()));
-            });
+            }),
 
             // === CAPITAL CITIES REPORTS (17-22)===
-            runUseCase("usecase17.log", () -> {
-                System.out.println("\nUSE CASE 17: All capital cities in the world by population");
+            new BatchReportRunner.Report("usecase17.log", () -> {
+                out().println("\nUSE CASE 17: All capital cities in the world by population");
                 displayAllCapitalCitiesWorld();
-            });
-            runUseCase("usecase18.log", () -> {
-                System.out.println("\nUSE CASE 18: All capital cities in a continent by population");
+            }),
+            new BatchReportRunner.Report("usecase18.log", () -> {
+                out().println("\nUSE CASE 18: All capital cities in a continent by population");
                 displayCapitalCities(
                         capitalController.getCapitalCitiesInContinent(appParameters.getUseCase18Continent()).getBody()
                 );
-            });
-            runUseCase("usecase19.log", () -> {
-                System.out.println("\nUSE CASE 19: All capital cities in a region by population");
+            }),
+            new BatchReportRunner.Report("usecase19.log", () -> {
+                out().println("\nUSE CASE 19: All capital cities in a region by population");
                 displayAllCapitalCitiesRegion(appParameters.getUseCase19Region());
-            });
+            }),
             // USE CASE 20
-            runUseCase("usecase20.log", () -> {
-                System.out.println("\nUSE CASE 20: Top N capital cities in the world by population");
+            new BatchReportRunner.Report("usecase20.log", () -> {
+                out().println("\nUSE CASE 20: Top N capital cities in the world by population");
                 displayTopCapitalCitiesWorld(appParameters.getUseCase20Limit());
-            });
+            }),
             // USE CASE 21
-            runUseCase("usecase21.log", () -> {
-                System.out.println("\nUSE CASE 21: Top N capital cities in a continent by population");
+            new BatchReportRunner.Report("usecase21.log", () -> {
+                out().println("\nUSE CASE 21: Top N capital cities in a continent by population");
                 displayTopCapitalCitiesContinent(
                         appParameters.getUseCase21Continent(),
                         appParameters.getUseCase21Limit()
                 );
-            });
+            }),
             // USE CASE 22
-            runUseCase("usecase22.log", () -> {
-                System.out.println("\nUSE CASE 22: Top N capital cities in a region by population");
+            new BatchReportRunner.Report("usecase22.log", () -> {
+                out().println("\nUSE CASE 22: Top N capital cities in a region by population");
                 displayTopCapitalCitiesRegion(
                         appParameters.getUseCase22Region(),
                         appParameters.getUseCase22Limit()
                 );
-            });
+            }),
 
             // === POPULATION BREAKDOWNS ===
-            runUseCase("usecase23.log", () -> {
-                System.out.println("\n=== USE CASE 23: Population breakdowns by continent ===");
+            new BatchReportRunner.Report("usecase23.log", () -> {
+                out().println("\n=== USE CASE 23: Population breakdowns by continent ===");
                 displayPopulationBreakdownsByContinentAll();
-            });
+            }),
 
-            runUseCase("usecase24.log", () -> {
-                System.out.println("\n=== USE CASE 24: Population breakdowns by region ===");
+            new BatchReportRunner.Report("usecase24.log", () -> {
+                out().println("\n=== USE CASE 24: Population breakdowns by region ===");
                 displayPopulationBreakdownsByRegionAll();
-            });
+            }),
 
-            runUseCase("usecase25.log", () -> {
-                System.out.println("\n=== USE CASE 25: Population breakdowns by country ===");
+            new BatchReportRunner.Report("usecase25.log", () -> {
+                out().println("\n=== USE CASE 25: Population breakdowns by country ===");
                 displayPopulationBreakdownsByCountryAll();
-            });
+            }),
 
             // === POPULATION REPORTS (26–31) ===
-            runUseCase("usecase26.log", () -> {
-                System.out.println("\nUSE CASE 26: The population of the world.");
+            new BatchReportRunner.Report("usecase26.log", () -> {
+                out().println("\nUSE CASE 26: The population of the world.");
                 displayBasicPopulation("the world", populationController.getWorldPopulation());
-            });
-            runUseCase("usecase27.log", () -> {
-                System.out.println("\nUSE CASE 27: The population of a continent.");
+            }),
+            new BatchReportRunner.Report("usecase27.log", () -> {
+                out().println("\nUSE CASE 27: The population of a continent.");
                 displayBasicPopulation(appParameters.getUseCase27Continent(),populationController.getContinentPopulation(appParameters.getUseCase27Continent()));
-            });
-            runUseCase("usecase28.log", () -> {
-                System.out.println("\nUSE CASE 28: The population of a region.");
+            }),
+            new BatchReportRunner.Report("usecase28.log", () -> {
+                out().println("\nUSE CASE 28: The population of a region.");
                 displayBasicPopulation(appParameters.getUseCase28Region(),populationController.getRegionPopulation(appParameters.getUseCase28Region()));
-            });
-            runUseCase("usecase29.log", () -> {
-                System.out.println("\nUSE CASE 29: The population of a country.");
+            }),
+            new BatchReportRunner.Report("usecase29.log", () -> {
+                out().println("\nUSE CASE 29: The population of a country.");
                 displayBasicPopulation(appParameters.getUseCase29Country(),populationController.getCountryPopulation(appParameters.getUseCase29Country()));
-            });
-            runUseCase("usecase30.log", () -> {
-                System.out.println("\nUSE CASE 30: The population of a district.");
+            }),
+            new BatchReportRunner.Report("usecase30.log", () -> {
+                out().println("\nUSE CASE 30: The population of a district.");
                 displayBasicPopulation(appParameters.getUseCase30District(),populationController.getDistrictPopulation(appParameters.getUseCase30District()));
-            });
-            runUseCase("usecase31.log", () -> {
-                System.out.println("\nUSE CASE 31: The population of a city.");
+            }),
+            new BatchReportRunner.Report("usecase31.log", () -> {
+                out().println("\nUSE CASE 31: The population of a city.");
                 displayBasicPopulation(appParameters.getUseCase31City(),populationController.getCityPopulation(appParameters.getUseCase31City()));
-            });
+            }),
 
             // === LANGUAGE REPORTS (32) ===
-            runUseCase("usecase32.log", () -> {
-                System.out.println("\nUSE CASE 32: Languages report (Chinese, English, Hindi, Spanish, Arabic)");
+            new BatchReportRunner.Report("usecase32.log", () -> {
+                out().println("\nUSE CASE 32: Languages report (Chinese, English, Hindi, Spanish, Arabic)");
                 displayLanguageStatistics();
-            });
-
-            System.out.println("\nAll use cases executed successfully!");
-        }
+            })
+        );
     }
 
     /**
@@ -450,17 +768,17 @@ public class Group4Application implements CommandLineRunner {
                 runUseCase("interactive-usecase6.log", () -> displayTopCountriesInRegion(region6, n6));
                 break;
             case 7:
-                runUseCase("interactive-usecase7.log", () -> displayCities(cityController.getAllCitiesInTheWorld()));
+                runUseCase("interactive-usecase7.log", () -> displayCities(cityController::forEachCityInTheWorld));
                 break;
             case 8:
                 System.out.print("Enter continent name: ");
                 String continent8 = scanner.nextLine();
-                runUseCase("interactive-usecase8.log", () -> displayCities(cityController.getAllCitiesInAContinent(continent8)));
+                runUseCase("interactive-usecase8.log", () -> displayCities(action -> cityController.forEachCityInAContinent(continent8, action)));
                 break;
             case 9:
                 System.out.print("Enter region name: ");
                 String region9 = scanner.nextLine();
-                runUseCase("interactive-usecase9.log", () -> displayCities(cityController.getAllCitiesInARegion(region9)));
+                runUseCase("interactive-usecase9.log", () -> displayCities(action -> cityController.forEachCityInARegion(region9, action)));
                 break;
             case 10:
                 System.out.print("Enter country name: ");
@@ -568,8 +886,8 @@ public class Group4Application implements CommandLineRunner {
      * Displays all countries in the world ordered by population (largest to smallest).
      */
     private void displayAllCountriesWorld() {
-        System.out.println("\n=== ALL COUNTRIES IN THE WORLD (BY POPULATION) ===");
-        List<Country> countries = countryService.getAllCountriesWorld();
+        out().println("\n=== ALL COUNTRIES IN THE WORLD (BY POPULATION) ===");
+        List<CountrySummary> countries = countryService.getAllCountriesWorld();
         displayCountries(countries);
     }
 
@@ -579,8 +897,8 @@ public class Group4Application implements CommandLineRunner {
      * @param continent the continent to display the countries of
      */
     private void displayAllCountriesInContinent(String continent) {
-        System.out.printf("\n=== ALL COUNTRIES IN %s (BY POPULATION) ===\n", continent.toUpperCase());
-        List<Country> countries = countryService.getAllCountriesInContinent(continent);
+        out().printf("\n=== ALL COUNTRIES IN %s (BY POPULATION) ===\n", continent.toUpperCase());
+        List<CountrySummary> countries = countryService.getAllCountriesInContinent(continent);
         displayCountries(countries);
     }
 
@@ -590,8 +908,8 @@ public class Group4Application implements CommandLineRunner {
      * @param region the region to display the countries of
      */
     private void displayAllCountriesInRegion(String region) {
-        System.out.printf("\n=== ALL COUNTRIES IN %s (BY POPULATION) ===\n", region.toUpperCase());
-        List<Country> countries = countryService.getCountriesInRegionByPopulation(region);
+        out().printf("\n=== ALL COUNTRIES IN %s (BY POPULATION) ===\n", region.toUpperCase());
+        List<CountrySummary> countries = countryService.getCountriesInRegionByPopulation(region);
         displayCountries(countries);
     }
 
@@ -601,8 +919,8 @@ public class Group4Application implements CommandLineRunner {
      * @param n the number of countries to display
      */
     private void displayTopCountriesInWorld(int n) {
-        System.out.printf("\n=== TOP %d COUNTRIES IN THE WORLD (BY POPULATION) ===\n", n);
-        List<Country> countries = countryService.getTopCountriesInWorld(n);
+        out().printf("\n=== TOP %d COUNTRIES IN THE WORLD (BY POPULATION) ===\n", n);
+        List<CountrySummary> countries = countryService.getTopCountriesInWorld(n);
         displayCountries(countries);
     }
 
@@ -613,8 +931,8 @@ public class Group4Application implements CommandLineRunner {
      * @param n the number of countries to display
      */
     private void displayTopCountriesInContinent(String continent, int n) {
-        System.out.printf("\n=== TOP %d COUNTRIES IN %s (BY POPULATION) ===\n", n, continent.toUpperCase());
-        List<Country> countries = countryService.getTopCountriesInContinent(continent, n);
+        out().printf("\n=== TOP %d COUNTRIES IN %s (BY POPULATION) ===\n", n, continent.toUpperCase());
+        List<CountrySummary> countries = countryService.getTopCountriesInContinent(continent, n);
         displayCountries(countries);
     }
 
@@ -625,8 +943,8 @@ public class Group4Application implements CommandLineRunner {
      * @param n the number of countries to display
      */
     private void displayTopCountriesInRegion(String region, int n) {
-        System.out.printf("\n=== TOP %d COUNTRIES IN %s (BY POPULATION) ===\n", n, region.toUpperCase());
-        List<Country> countries = countryService.getTopCountriesInRegion(region, n);
+        out().printf("\n=== TOP %d COUNTRIES IN %s (BY POPULATION) ===\n", n, region.toUpperCase());
+        List<CountrySummary> countries = countryService.getTopCountriesInRegion(region, n);
         displayCountries(countries);
     }
 
@@ -634,7 +952,7 @@ public class Group4Application implements CommandLineRunner {
      * USE CASE 17: List All Capital Cities in the World by Population
      */
     private void displayAllCapitalCitiesWorld() {
-        System.out.println("\n=== ALL CAPITAL CITIES IN THE WORLD (BY POPULATION) ===");
+        out().println("\n=== ALL CAPITAL CITIES IN THE WORLD (BY POPULATION) ===");
         List<CapitalCity> capitalCities = capitalCityService.getAllCapitalCitiesByPopulation();
         displayCapitalCities(capitalCities);
     }
@@ -644,7 +962,7 @@ public class Group4Application implements CommandLineRunner {
      * @param continent the continent to display the capital cities of
      */
     private void displayAllCapitalCitiesContinent(String continent) {
-        System.out.println("\n=== ALL CAPITAL CITIES IN " + continent.toUpperCase() + " (BY POPULATION) ===");
+        out().println("\n=== ALL CAPITAL CITIES IN " + continent.toUpperCase() + " (BY POPULATION) ===");
         List<CapitalCity> capitalCities = capitalCityService.getCapitalCitiesInContinentByPopulation(continent);
         displayCapitalCities(capitalCities);
     }
@@ -654,7 +972,7 @@ public class Group4Application implements CommandLineRunner {
      * @param region the region to display the capital cities of
      */
     private void displayAllCapitalCitiesRegion(String region) {
-        System.out.println("\n=== ALL CAPITAL CITIES IN " + region.toUpperCase() + " (BY POPULATION) ===");
+        out().println("\n=== ALL CAPITAL CITIES IN " + region.toUpperCase() + " (BY POPULATION) ===");
         displayCapitalCities(capitalCityService.getCapitalCitiesInRegionByPopulation(region));
     }
 
@@ -663,7 +981,7 @@ public class Group4Application implements CommandLineRunner {
      * @param limit the number of capital cities to display
      */
     private void displayTopCapitalCitiesWorld(int limit) {
-        System.out.println("\n=== TOP " + limit + " CAPITAL CITIES IN THE WORLD (BY POPULATION) ===");
+        out().println("\n=== TOP " + limit + " CAPITAL CITIES IN THE WORLD (BY POPULATION) ===");
         displayCapitalCities(capitalCityService.getTopCapitalCitiesWorld(limit));
     }
 
@@ -673,7 +991,7 @@ public class Group4Application implements CommandLineRunner {
      * @param limit the number of capital cities to display
      */
     private void displayTopCapitalCitiesContinent(String continent, int limit) {
-        System.out.println("\n=== TOP " + limit + " CAPITAL CITIES IN " + continent.toUpperCase() + " (BY POPULATION) ===");
+        out().println("\n=== TOP " + limit + " CAPITAL CITIES IN " + continent.toUpperCase() + " (BY POPULATION) ===");
         displayCapitalCities(capitalCityService.getTopCapitalCitiesInContinent(continent, limit));
     }
 
@@ -683,7 +1001,7 @@ public class Group4Application implements CommandLineRunner {
      * @param limit the number of capital cities to display
      */
     private void displayTopCapitalCitiesRegion(String region, int limit) {
-        System.out.println("\n=== TOP " + limit + " CAPITAL CITIES IN " + region.toUpperCase() + " (BY POPULATION) ===");
+        out().println("\n=== TOP " + limit + " CAPITAL CITIES IN " + region.toUpperCase() + " (BY POPULATION) ===");
         displayCapitalCities(capitalCityService.getTopCapitalCitiesInRegion(region, limit));
     }
 
@@ -703,9 +1021,9 @@ public class Group4Application implements CommandLineRunner {
             List<CapitalCity> capitals = capitalCityService.getTopCapitalCitiesInContinent(continent, limit);
             displayCapitalCities(capitals);
         } catch (NumberFormatException e) {
-            System.out.println("INVALID INPUT - N must be a valid number.");
+            out().println("INVALID INPUT - N must be a valid number.");
         } catch (IllegalArgumentException e) {
-            System.out.println("ERROR: " + e.getMessage());
+            out().println("ERROR: " + e.getMessage());
         }
     }
 
@@ -714,43 +1032,51 @@ public class Group4Application implements CommandLineRunner {
      * @param capitals a list of {@link CapitalCity} objects to display
      */
     void displayCapitalCities(List<CapitalCity> capitals) {
+        if (ReportOutput.export(ReportTables.CAPITAL_CITIES, capitals != null ? capitals : List.of())) {
+            return;
+        }
         if (capitals == null || capitals.isEmpty()) {
-            System.out.println("No capital cities found for the selected criteria.");
+            out().println("No capital cities found for the selected criteria.");
             return;
         }
 
-        System.out.printf("%-30s %-30s %15s%n", "Capital City", "Country", "Population");
-        System.out.println("-".repeat(80));
+        out().printf("%-30s %-30s %15s%n", "Capital City", "Country", "Population");
+        out().println("-".repeat(80));
 
+        TableRenderer row = CAPITAL_CITY_ROW.renderer(out());
         for (CapitalCity capitalCity : capitals) {
-            System.out.printf("%-30s %-30s %,15d%n",
-                    capitalCity.getCityName(),
-                    capitalCity.getCountryName(),
-                    capitalCity.getPopulation() != null ? capitalCity.getPopulation() : 0);
+            row.text(capitalCity.getCityName())
+                    .text(capitalCity.getCountryName())
+                    .number(capitalCity.getPopulation() != null ? capitalCity.getPopulation() : 0)
+                    .end();
         }
     }
 
     /**
      * Helper method to display a list of countries in a formatted table.
      *
-     * @param countries a list of {@link Country} objects to display
+     * @param countries a list of {@link CountrySummary} rows to display
      */
-    void displayCountries(List<Country> countries) {
+    void displayCountries(List<CountrySummary> countries) {
+        if (ReportOutput.export(ReportTables.COUNTRIES, countries)) {
+            return;
+        }
         if (countries.isEmpty()) {
-            System.out.println("No countries found.");
+            out().println("No countries found.");
             return;
         }
 
-        System.out.printf("%-4s %-40s %-15s %-20s %15s\n", "Code", "Name", "Continent", "Region", "Population");
-        System.out.println("-".repeat(95));
-
-        for (Country country : countries) {
-            System.out.printf("%-4s %-40s %-15s %-20s %,15d\n",
-                    country.getCode(),
-                    country.getName(),
-                    country.getContinent(),
-                    country.getRegion(),
-                    country.getPopulation() != null ? country.getPopulation() : 0L);
+        out().printf("%-4s %-40s %-15s %-20s %15s\n", "Code", "Name", "Continent", "Region", "Population");
+        out().println("-".repeat(95));
+
+        TableRenderer row = COUNTRY_ROW.renderer(out());
+        for (CountrySummary country : countries) {
+            row.text(country.code())
+                    .text(country.name())
+                    .text(country.continent())
+                    .text(country.region())
+                    .number(country.population())
+                    .end();
         }
     }
 
@@ -760,23 +1086,27 @@ public class Group4Application implements CommandLineRunner {
      * @param breakdowns list of {@link PopulationBreakdown} to display; may be null or empty
      */
     void displayPopulationBreakdowns(List<PopulationBreakdown> breakdowns) {
+        if (ReportOutput.export(ReportTables.POPULATION_BREAKDOWNS, breakdowns != null ? breakdowns : List.of())) {
+            return;
+        }
         if (breakdowns == null || breakdowns.isEmpty()) {
-            System.out.println("No population breakdowns found.");
+            out().println("No population breakdowns found.");
             return;
         }
 
-        System.out.printf("%-12s %-30s %15s %20s %20s\n", "Type", "Name", "Total Population", "Population in Cities", "Population not in Cities");
-        System.out.println("-".repeat(105));
+        out().printf("%-12s %-30s %15s %20s %20s\n", "Type", "Name", "Total Population", "Population in Cities", "Population not in Cities");
+        out().println("-".repeat(105));
 
+        TableRenderer row = POPULATION_BREAKDOWN_ROW.renderer(out());
         for (PopulationBreakdown b : breakdowns) {
-            System.out.printf("%-12s %-30s %,15d %,20d (%.2f%%) %,20d (%.2f%%)\n",
-                    b.type(),
-                    b.name(),
-                    b.totalPopulation() != null ? b.totalPopulation() : 0L,
-                    b.populationInCities() != null ? b.populationInCities() : 0L,
-                    b.inCitiesPercentage() != null ? b.inCitiesPercentage() : 0.0,
-                    b.populationNotInCities() != null ? b.populationNotInCities() : 0L,
-                    b.notInCitiesPercentage() != null ? b.notInCitiesPercentage() : 0.0);
+            row.text(b.type())
+                    .text(b.name())
+                    .number(b.totalPopulation() != null ? b.totalPopulation() : 0L)
+                    .number(b.populationInCities() != null ? b.populationInCities() : 0L)
+                    .decimal(b.inCitiesPercentage() != null ? b.inCitiesPercentage() : 0.0)
+                    .number(b.populationNotInCities() != null ? b.populationNotInCities() : 0L)
+                    .decimal(b.notInCitiesPercentage() != null ? b.notInCitiesPercentage() : 0.0)
+                    .end();
         }
     }
 
@@ -784,7 +1114,7 @@ public class Group4Application implements CommandLineRunner {
      * Use Case 23: Display population breakdowns for all continents
      */
     private void displayPopulationBreakdownsByContinentAll() {
-        System.out.println("\n=== POPULATION BREAKDOWNS BY CONTINENT ===");
+        out().println("\n=== POPULATION BREAKDOWNS BY CONTINENT ===");
         List<PopulationBreakdown> breakdowns = populationBreakdownService.getAllByContinent();
         displayPopulationBreakdowns(breakdowns);
     }
@@ -793,7 +1123,7 @@ public class Group4Application implements CommandLineRunner {
      * Use Case 24: Display population breakdowns for all regions
      */
     private void displayPopulationBreakdownsByRegionAll() {
-        System.out.println("\n=== POPULATION BREAKDOWNS BY REGION ===");
+        out().println("\n=== POPULATION BREAKDOWNS BY REGION ===");
         List<PopulationBreakdown> breakdowns = populationBreakdownService.getAllByRegion();
         displayPopulationBreakdowns(breakdowns);
     }
@@ -802,7 +1132,7 @@ public class Group4Application implements CommandLineRunner {
      * Use Case 25: Display population breakdowns for all countries
      */
     private void displayPopulationBreakdownsByCountryAll() {
-        System.out.println("\n=== POPULATION BREAKDOWNS BY COUNTRY ===");
+        out().println("\n=== POPULATION BREAKDOWNS BY COUNTRY ===");
         List<PopulationBreakdown> breakdowns = populationBreakdownService.getAllByCountry();
         displayPopulationBreakdowns(breakdowns);
     }
@@ -812,37 +1142,78 @@ public class Group4Application implements CommandLineRunner {
      * Displays a formatted list of cities to the console.
      * Prints a table header and each city's name, country, district, and population.
      *
-     * @param cities List of City objects to display.
+     * @param cities List of CitySummary rows to display.
      */
-    void displayCities(List<City> cities) {
+    void displayCities(List<CitySummary> cities) {
+        if (ReportOutput.export(ReportTables.CITIES, cities)) {
+            return;
+        }
         // If there are no cities in the list, show a message and exit early.
         if (cities.isEmpty()) {
-            System.out.println("No city found.");
+            out().println("No city found.");
             return;
         }
 
-        // Print table headers with formatted column spacing.
-        // %-30s = left-align string in a 30-character field, etc.
-        System.out.printf("%-30s %-15s %-20s %15s\n", "Name", "Country", "District", "Population");
-        System.out.println("-".repeat(85));
+        TableRenderer row = printCityHeader();
 
         // Loop through each city in the list and print its details in the same column format.
-        for (City city : cities) {
-            System.out.printf("%-30s %-15s %-20s %,15d\n",
-                    city.getName(),
-                    city.getCountryCode(),
-                    city.getDistrict(),
-                    city.getPopulation() != null ? city.getPopulation() : 0L);
+        for (CitySummary city : cities) {
+            printCityRow(row, city);
         }
     }
 
+    /**
+     * Displays a formatted table of cities as they are streamed from the database.
+     * Each city is printed as soon as it is read, so the whole result is never held in memory.
+     *
+     * @param source streams the cities to the given action and returns how many there were,
+     *               e.g. {@code cityController::forEachCityInTheWorld}
+     */
+    void displayCities(ToLongFunction<Consumer<CitySummary>> source) {
+        try (TableWriter<CitySummary> table = ReportOutput.table(ReportTables.CITIES)) {
+            if (table != null) {
+                source.applyAsLong(table::row);
+                return;
+            }
+        }
+        TableRenderer[] row = {null};
+        long count = source.applyAsLong(city -> {
+            if (row[0] == null) {
+                row[0] = printCityHeader();
+            }
+            printCityRow(row[0], city);
+        });
+        if (count == 0) {
+            out().println("No city found.");
+        }
+    }
+
+    private TableRenderer printCityHeader() {
+        // Print table headers with formatted column spacing.
+        // %-30s = left-align string in a 30-character field, etc.
+        out().printf("%-30s %-15s %-20s %15s\n", "Name", "Country", "District", "Population");
+        out().println("-".repeat(85));
+        return CITY_ROW.renderer(out());
+    }
+
+    private static void printCityRow(TableRenderer row, CitySummary city) {
+        row.text(city.name())
+                .text(city.countryCode())
+                .text(city.district())
+                .number(city.population())
+                .end();
+    }
+
     /**
      * Basic Population Number Display
      * @param option the option to display the population of
      * @param population the population to display
      */
     void displayBasicPopulation(String option, Long population) {
-        System.out.println("\nThe population of " + option + " : " + population);
+        if (ReportOutput.export(ReportTables.POPULATIONS, List.of(new ReportTables.Population(option, population)))) {
+            return;
+        }
+        out().println("\nThe population of " + option + " : " + population);
     }
 
     /**
@@ -851,7 +1222,7 @@ public class Group4Application implements CommandLineRunner {
      * total speakers and percentage of world population.
      */
     private void displayLanguageStatistics() {
-        System.out.println("\n=== LANGUAGE STATISTICS REPORT ===");
+        out().println("\n=== LANGUAGE STATISTICS REPORT ===");
         List<LanguageStats> languageStats = languageController.getLanguageStatisticsList();
         displayLanguages(languageStats);
     }
@@ -862,19 +1233,23 @@ public class Group4Application implements CommandLineRunner {
      * @param languageStats a list of {@link LanguageStats} objects to display
      */
     void displayLanguages(List<LanguageStats> languageStats) {
+        if (ReportOutput.export(ReportTables.LANGUAGES, languageStats != null ? languageStats : List.of())) {
+            return;
+        }
         if (languageStats == null || languageStats.isEmpty()) {
-            System.out.println("No language statistics found.");
+            out().println("No language statistics found.");
             return;
         }
 
-        System.out.printf("%-20s %20s %25s%n", "Language", "Speakers", "Percentage of World");
-        System.out.println("-".repeat(70));
+        out().printf("%-20s %20s %25s%n", "Language", "Speakers", "Percentage of World");
+        out().println("-".repeat(70));
 
+        TableRenderer row = LANGUAGE_ROW.renderer(out());
         for (LanguageStats stats : languageStats) {
-            System.out.printf("%-20s %,20d %24.2f%%%n",
-                    stats.getLanguage() != null ? stats.getLanguage() : "Unknown",
-                    stats.getSpeakers() != null ? stats.getSpeakers() : 0L,
-                    stats.getPercentageOfWorldPopulation() != null ? stats.getPercentageOfWorldPopulation() : 0.0);
+            row.text(stats.getLanguage() != null ? stats.getLanguage() : "Unknown")
+                    .number(stats.getSpeakers() != null ? stats.getSpeakers() : 0L)
+                    .decimal(stats.getPercentageOfWorldPopulation() != null ? stats.getPercentageOfWorldPopulation() : 0.0)
+                    .end();
         }
     }
 }
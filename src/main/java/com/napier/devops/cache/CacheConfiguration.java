@@ -0,0 +1,33 @@
+package com.napier.devops.cache;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the report result caches.
+ * <p>
+ * The cache manager itself is Spring Boot's Caffeine cache manager, configured with
+ * {@code spring.cache.cache-names} and {@code spring.cache.caffeine.spec} (size bound, TTL and
+ * statistics). Caffeine evicts with W-TinyLFU, which keeps the frequently requested parameter
+ * combinations and drops one-off ones. Set {@code spring.cache.type=none} to turn caching off.
+ * </p>
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    /**
+     * Name of the {@link ReportKeyGenerator} bean, for {@code @CacheConfig(keyGenerator = ...)}.
+     */
+    public static final String REPORT_KEY_GENERATOR = "reportKeyGenerator";
+
+    /**
+     * @return the key generator used by the report caches
+     */
+    @Bean(REPORT_KEY_GENERATOR)
+    public KeyGenerator reportKeyGenerator() {
+        return new ReportKeyGenerator();
+    }
+}
@@ -0,0 +1,25 @@
+package com.napier.devops.cache;
+
+/**
+ * Counters of one report cache.
+ *
+ * @param name               the cache name
+ * @param size               approximate number of entries
+ * @param hits               lookups answered from the cache
+ * @param misses             lookups that had to run the query
+ * @param hitRate            hits divided by lookups (1.0 when there were no lookups)
+ * @param loads              queries run to fill the cache
+ * @param averageLoadMillis  average time taken by those queries
+ * @param evictions          entries removed for size or age
+ */
+public record CacheStatistics(
+        String name,
+        long size,
+        long hits,
+        long misses,
+        double hitRate,
+        long loads,
+        double averageLoadMillis,
+        long evictions
+) {
+}
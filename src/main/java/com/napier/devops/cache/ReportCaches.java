@@ -0,0 +1,117 @@
+package com.napier.devops.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.napier.devops.snapshot.WorldDataChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statistics and invalidation for the report result caches.
+ */
+@Component
+public class ReportCaches {
+
+    /**
+     * Cache of {@code CountryService} results.
+     */
+    public static final String COUNTRIES = "countries";
+
+    /**
+     * Cache of {@code CityService} results.
+     */
+    public static final String CITIES = "cities";
+
+    /**
+     * Cache of {@code CapitalCityService} results.
+     */
+    public static final String CAPITAL_CITIES = "capitalCities";
+
+    /**
+     * Cache of {@code PopulationService} results.
+     */
+    public static final String POPULATION = "population";
+
+    /**
+     * Cache of {@code LanguageService} results.
+     */
+    public static final String LANGUAGES = "languages";
+
+    /**
+     * Cache of {@code PopulationBreakdownService} results.
+     */
+    public static final String BREAKDOWNS = "breakdowns";
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Constructor for ReportCaches
+     * @param cacheManager the cache manager holding the report caches
+     */
+    public ReportCaches(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * @return the counters of every cache that records statistics, by name
+     */
+    public List<CacheStatistics> statistics() {
+        List<CacheStatistics> result = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                CacheStats stats = cache.getNativeCache().stats();
+                result.add(new CacheStatistics(
+                        name,
+                        cache.getNativeCache().estimatedSize(),
+                        stats.hitCount(),
+                        stats.missCount(),
+                        stats.hitRate(),
+                        stats.loadCount(),
+                        stats.averageLoadPenalty() / 1_000_000.0,
+                        stats.evictionCount()));
+            }
+        }
+        result.sort((a, b) -> a.name().compareTo(b.name()));
+        return result;
+    }
+
+    /**
+     * Empties one cache.
+     * @param name the cache name
+     * @return {@code false} if there is no cache with that name
+     */
+    public boolean clear(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null || !cacheManager.getCacheNames().contains(name)) {
+            return false;
+        }
+        cache.clear();
+        return true;
+    }
+
+    /**
+     * Empties every cache.
+     */
+    public void clearAll() {
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    /**
+     * Drops every cached result when the world data changes.
+     * @param event the change
+     */
+    @EventListener
+    public void onWorldDataChanged(WorldDataChangedEvent event) {
+        clearAll();
+    }
+}
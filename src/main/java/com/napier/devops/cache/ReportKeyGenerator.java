@@ -0,0 +1,27 @@
+package com.napier.devops.cache;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+
+/**
+ * Cache key made of the method name and its normalized parameters.
+ * <p>
+ * Name lookups ignore case and surrounding whitespace, so string parameters are trimmed and
+ * lower-cased: "Asia", " asia" and "ASIA" share one cache entry.
+ * </p>
+ */
+public class ReportKeyGenerator implements KeyGenerator {
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        Object[] key = new Object[params.length + 1];
+        key[0] = method.getName();
+        for (int i = 0; i < params.length; i++) {
+            key[i + 1] = params[i] instanceof String value ? value.trim().toLowerCase(Locale.ROOT) : params[i];
+        }
+        return new SimpleKey(key);
+    }
+}
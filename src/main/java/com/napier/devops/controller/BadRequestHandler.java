@@ -0,0 +1,27 @@
+package com.napier.devops.controller;
+
+import com.napier.devops.util.BadRequestException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Answers requests with invalid parameters, such as a page size out of range or a page
+ * token that was not issued by this service, with 400 Bad Request instead of 500.
+ * <p>
+ * Only a {@link BadRequestException} is answered with its message; any other exception is
+ * left to the default handling, which does not show it to the client.
+ * </p>
+ */
+@RestControllerAdvice
+public class BadRequestHandler {
+
+    /**
+     * @param e the rejected argument
+     * @return 400 Bad Request with the reason as the body
+     */
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<String> handleBadRequest(BadRequestException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
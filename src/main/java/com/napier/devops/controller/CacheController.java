@@ -0,0 +1,59 @@
+package com.napier.devops.controller;
+
+import com.napier.devops.cache.CacheStatistics;
+import com.napier.devops.cache.ReportCaches;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller exposing the report cache statistics and invalidation
+ */
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final ReportCaches reportCaches;
+
+    /**
+     * Constructor for CacheController
+     * @param reportCaches the report caches
+     */
+    public CacheController(ReportCaches reportCaches) {
+        this.reportCaches = reportCaches;
+    }
+
+    /**
+     * Hit, miss, load-time and eviction counters of every report cache
+     * @return the counters, one entry per cache
+     */
+    @GetMapping
+    public ResponseEntity<List<CacheStatistics>> getStatistics() {
+        return ResponseEntity.ok(reportCaches.statistics());
+    }
+
+    /**
+     * Empty every report cache
+     * @return 204 No Content
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> clearAll() {
+        reportCaches.clearAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Empty one report cache
+     * @param name the cache name
+     * @return 204 No Content, or 404 if there is no cache with that name
+     */
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Void> clear(@PathVariable String name) {
+        return reportCaches.clear(name) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
@@ -1,6 +1,8 @@
 package com.napier.devops.controller;
 
 import com.napier.devops.model.CapitalCity;
+import com.napier.devops.paging.Keyset;
+import com.napier.devops.paging.KeysetPage;
 import com.napier.devops.service.CapitalCityService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -101,6 +103,47 @@ public class CapitalController {
             @RequestParam(defaultValue = "10") int limit) {
         return ResponseEntity.ok(capitalCityService.getTopCapitalCitiesInRegion(region, limit));
     }
-}
 
+    /**
+     * USE CASE 17: All capital cities in the world by population, one page at a time: GET /api/capitals/world/page?size=100&amp;token=...
+     * @param size the number of rows per page
+     * @param token the {@code next} token of the previous page; omit for the first page
+     * @return the page and the token of the next one, or 400 Bad Request for an invalid size or token
+     */
+    @GetMapping("/world/page")
+    public ResponseEntity<KeysetPage<CapitalCity>> getCapitalCitiesWorldPage(
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String token) {
+        return ResponseEntity.ok(capitalCityService.getCapitalCitiesWorldPage(Keyset.fromToken(token), size));
+    }
+
+    /**
+     * USE CASE 18: All capital cities in a continent by population, one page at a time: GET /api/capitals/continent/page?size=100&amp;token=...
+     * @param continent the continent to get the capital cities from
+     * @param size the number of rows per page
+     * @param token the {@code next} token of the previous page; omit for the first page
+     * @return the page and the token of the next one, or 400 Bad Request for an invalid size or token
+     */
+    @GetMapping("/continent/page")
+    public ResponseEntity<KeysetPage<CapitalCity>> getCapitalCitiesInContinentPage(
+            @RequestParam String continent,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String token) {
+        return ResponseEntity.ok(capitalCityService.getCapitalCitiesInContinentPage(continent, Keyset.fromToken(token), size));
+    }
 
+    /**
+     * USE CASE 19: All capital cities in a region by population, one page at a time: GET /api/capitals/region/page?size=100&amp;token=...
+     * @param region the region to get the capital cities from
+     * @param size the number of rows per page
+     * @param token the {@code next} token of the previous page; omit for the first page
+     * @return the page and the token of the next one, or 400 Bad Request for an invalid size or token
+     */
+    @GetMapping("/region/page")
+    public ResponseEntity<KeysetPage<CapitalCity>> getCapitalCitiesInRegionPage(
+            @RequestParam String region,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String token) {
+        return ResponseEntity.ok(capitalCityService.getCapitalCitiesInRegionPage(region, Keyset.fromToken(token), size));
+    }
+}
@@ -1,25 +1,128 @@
 package com.napier.devops.controller;
 
-import com.napier.devops.model.City;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.napier.devops.export.ReportFormat;
+import com.napier.devops.export.ReportTableHttpMessageConverter;
+import com.napier.devops.export.ReportTables;
+import com.napier.devops.export.TableWriter;
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.paging.Keyset;
+import com.napier.devops.paging.KeysetPage;
 import com.napier.devops.service.CityService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Controller;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 
 /**
  * Controller for city related endpoints
+ * <p>
+ * The all-cities reports (use cases 7-9) are streamed as newline-delimited JSON, one city per
+ * line, straight from the database cursor: the response is sent in chunks as the rows are
+ * read, so the first cities arrive before the query has finished and the server never holds
+ * the whole result. Asked for CSV or the columnar format, they are streamed in that format
+ * the same way.
+ * </p>
  */
-@Controller
+@RestController
+@RequestMapping("/api/cities")
 public class CityController {
 
     @Autowired
     CityService cityService;
 
+    /**
+     * Number of rows written to a newline-delimited JSON stream between flushes
+     */
+    static final int NDJSON_FLUSH_ROWS = 500;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    /**
+     * USE CASE 7: GET /api/cities/world, as newline-delimited JSON
+     * @return every city in the world, largest population first, one per line
+     */
+    @GetMapping(value = "/world", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCitiesInTheWorld() {
+        return ndjson(cityService::forEachCityInTheWorld);
+    }
+
+    /**
+     * USE CASE 8: GET /api/cities/continent?continent=Asia, as newline-delimited JSON
+     * @param continent the continent to get the cities from
+     * @return every city in the continent, largest population first, one per line
+     */
+    @GetMapping(value = "/continent", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCitiesInAContinent(@RequestParam String continent) {
+        return ndjson(action -> cityService.forEachCityInAContinent(continent, action));
+    }
+
+    /**
+     * USE CASE 9: GET /api/cities/region?region=Caribbean, as newline-delimited JSON
+     * @param region the region to get the cities from
+     * @return every city in the region, largest population first, one per line
+     */
+    @GetMapping(value = "/region", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCitiesInARegion(@RequestParam String region) {
+        return ndjson(action -> cityService.forEachCityInARegion(region, action));
+    }
+
+    /**
+     * USE CASE 7: GET /api/cities/world, as CSV or in the columnar format
+     * @param accept the {@code Accept} header, choosing the format
+     * @return every city in the world, largest population first
+     */
+    @GetMapping(value = "/world", produces = {ReportFormat.CSV_VALUE, ReportFormat.COLUMNAR_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportCitiesInTheWorld(@RequestHeader(HttpHeaders.ACCEPT) String accept) {
+        return table(accept, cityService::forEachCityInTheWorld);
+    }
+
+    /**
+     * USE CASE 8: GET /api/cities/continent?continent=Asia, as CSV or in the columnar format
+     * @param continent the continent to get the cities from
+     * @param accept the {@code Accept} header, choosing the format
+     * @return every city in the continent, largest population first
+     */
+    @GetMapping(value = "/continent", produces = {ReportFormat.CSV_VALUE, ReportFormat.COLUMNAR_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportCitiesInAContinent(@RequestParam String continent,
+                                                                          @RequestHeader(HttpHeaders.ACCEPT) String accept) {
+        return table(accept, action -> cityService.forEachCityInAContinent(continent, action));
+    }
+
+    /**
+     * USE CASE 9: GET /api/cities/region?region=Caribbean, as CSV or in the columnar format
+     * @param region the region to get the cities from
+     * @param accept the {@code Accept} header, choosing the format
+     * @return every city in the region, largest population first
+     */
+    @GetMapping(value = "/region", produces = {ReportFormat.CSV_VALUE, ReportFormat.COLUMNAR_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportCitiesInARegion(@RequestParam String region,
+                                                                       @RequestHeader(HttpHeaders.ACCEPT) String accept) {
+        return table(accept, action -> cityService.forEachCityInARegion(region, action));
+    }
+
     /**
      * Get all cities in the world
      * @return a list of all cities in the world
      */
-    public List<City> getAllCitiesInTheWorld() {
+    public List<CitySummary> getAllCitiesInTheWorld() {
         return cityService.getAllCitiesInTheWorld();
     }
 
@@ -28,7 +131,7 @@ public class CityController {
      * @param continent the continent to get the cities from
      * @return a list of all cities in a continent
      */
-    public List<City> getAllCitiesInAContinent(String continent) {
+    public List<CitySummary> getAllCitiesInAContinent(String continent) {
         return cityService.getAllCitiesInAContinent(continent);
     }
 
@@ -37,16 +140,46 @@ public class CityController {
      * @param region the region to get the cities from
      * @return a list of all cities in a region
      */
-    public List<City> getAllCitiesInARegion(String region) {
+    public List<CitySummary> getAllCitiesInARegion(String region) {
         return cityService.getAllCitiesInARegion(region);
     }
 
+    /**
+     * Stream all cities in the world to an action
+     * @param action the action to run for each city, largest population first
+     * @return the number of cities
+     */
+    public long forEachCityInTheWorld(Consumer<CitySummary> action) {
+        return cityService.forEachCityInTheWorld(action);
+    }
+
+    /**
+     * Stream all cities in a continent to an action
+     * @param continent the continent to get the cities from
+     * @param action the action to run for each city, largest population first
+     * @return the number of cities
+     */
+    public long forEachCityInAContinent(String continent, Consumer<CitySummary> action) {
+        return cityService.forEachCityInAContinent(continent, action);
+    }
+
+    /**
+     * Stream all cities in a region to an action
+     * @param region the region to get the cities from
+     * @param action the action to run for each city, largest population first
+     * @return the number of cities
+     */
+    public long forEachCityInARegion(String region, Consumer<CitySummary> action) {
+        return cityService.forEachCityInARegion(region, action);
+    }
+
     /**
      * Get all cities in a country
      * @param country the country to get the cities from
      * @return a list of all cities in a country
      */
-    public List<City> getAllCitiesInACountry(String country) {
+    @GetMapping("/country")
+    public List<CitySummary> getAllCitiesInACountry(@RequestParam String country) {
         return cityService.getAllCitiesInACountry(country);
     }
 
@@ -55,7 +188,8 @@ public class CityController {
      * @param district the district to get the cities from
      * @return a list of all cities in a district
      */
-    public List<City> getAllCitiesInADistrict(String district) {
+    @GetMapping("/district")
+    public List<CitySummary> getAllCitiesInADistrict(@RequestParam String district) {
         return cityService.getAllCitiesInADistrict(district);
     }
 
@@ -64,7 +198,8 @@ public class CityController {
      * @param topN the number of cities to return
      * @return a list of top N cities in the world
      */
-    public List<City> getTopNCitiesInTheWorld(int topN) {
+    @GetMapping("/world/top")
+    public List<CitySummary> getTopNCitiesInTheWorld(@RequestParam(name = "limit", defaultValue = "10") int topN) {
         return cityService.getTopNCitiesInTheWorld(topN);
     }
 
@@ -74,7 +209,9 @@ public class CityController {
      * @param topN the number of cities to return
      * @return a list of top N cities in a continent
      */
-    public List<City> getTopNCitiesInAContinent(String continent, int topN) {
+    @GetMapping("/continent/top")
+    public List<CitySummary> getTopNCitiesInAContinent(@RequestParam String continent,
+                                          @RequestParam(name = "limit", defaultValue = "10") int topN) {
         return cityService.getTopNCitiesInAContinent(continent, topN);
     }
 
@@ -84,7 +221,9 @@ public class CityController {
      * @param topN the number of cities to return
      * @return a list of top N cities in a region
      */
-    public List<City> getTopNCitiesInARegion(String region, int topN) {
+    @GetMapping("/region/top")
+    public List<CitySummary> getTopNCitiesInARegion(@RequestParam String region,
+                                          @RequestParam(name = "limit", defaultValue = "10") int topN) {
         return cityService.getTopNCitiesInARegion(region, topN);
     }
 
@@ -94,7 +233,9 @@ public class CityController {
      * @param topN the number of cities to return
      * @return a list of top N cities in a country
      */
-    public List<City> getTopNCitiesInACountry(String country, int topN) {
+    @GetMapping("/country/top")
+    public List<CitySummary> getTopNCitiesInACountry(@RequestParam String country,
+                                          @RequestParam(name = "limit", defaultValue = "10") int topN) {
         return cityService.getTopNCitiesInACountry(country, topN);
     }
 
@@ -104,7 +245,127 @@ public class CityController {
      * @param topN the number of cities to return
      * @return a list of top N cities in a district
      */
-    public List<City> getTopNCitiesInADistrict(String district, int topN) {
+    @GetMapping("/district/top")
+    public List<CitySummary> getTopNCitiesInADistrict(@RequestParam String district,
+                                          @RequestParam(name = "limit", defaultValue = "10") int topN) {
         return cityService.getTopNCitiesInADistrict(district, topN);
     }
+
+    /**
+     * USE CASE 7: All cities in the world by population, one page at a time: GET /api/cities/world/page?size=100&amp;token=...
+     * @param size the number of rows per page
+     * @param token the {@code next} token of the previous page; omit for the first page
+     * @return the page and the token of the next one, or 400 Bad Request for an invalid size or token
+     */
+    @GetMapping("/world/page")
+    public ResponseEntity<KeysetPage<CitySummary>> getCitiesInTheWorldPage(
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String token) {
+        return ResponseEntity.ok(cityService.getCitiesInTheWorldPage(Keyset.fromToken(token), size));
+    }
+
+    /**
+     * USE CASE 8: All cities in a continent by population, one page at a time: GET /api/cities/continent/page?size=100&amp;token=...
+     * @param continent the continent to get the cities from
+     * @param size the number of rows per page
+     * @param token the {@code next} token of the previous page; omit for the first page
+     * @return the page and the token of the next one, or 400 Bad Request for an invalid size or token
+     */
+    @GetMapping("/continent/page")
+    public ResponseEntity<KeysetPage<CitySummary>> getCitiesInAContinentPage(
+            @RequestParam String continent,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String token) {
+        return ResponseEntity.ok(cityService.getCitiesInAContinentPage(continent, Keyset.fromToken(token), size));
+    }
+
+    /**
+     * USE CASE 9: All cities in a region by population, one page at a time: GET /api/cities/region/page?size=100&amp;token=...
+     * @param region the region to get the cities from
+     * @param size the number of rows per page
+     * @param token the {@code next} token of the previous page; omit for the first page
+     * @return the page and the token of the next one, or 400 Bad Request for an invalid size or token
+     */
+    @GetMapping("/region/page")
+    public ResponseEntity<KeysetPage<CitySummary>> getCitiesInARegionPage(
+            @RequestParam String region,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String token) {
+        return ResponseEntity.ok(cityService.getCitiesInARegionPage(region, Keyset.fromToken(token), size));
+    }
+
+    /**
+     * USE CASE 10: All cities in a country by population, one page at a time: GET /api/cities/country/page?size=100&amp;token=...
+     * @param country the country to get the cities from
+     * @param size the number of rows per page
+     * @param token the {@code next} token of the previous page; omit for the first page
+     * @return the page and the token of the next one, or 400 Bad Request for an invalid size or token
+     */
+    @GetMapping("/country/page")
+    public ResponseEntity<KeysetPage<CitySummary>> getCitiesInACountryPage(
+            @RequestParam String country,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String token) {
+        return ResponseEntity.ok(cityService.getCitiesInACountryPage(country, Keyset.fromToken(token), size));
+    }
+
+    /**
+     * USE CASE 11: All cities in a district by population, one page at a time: GET /api/cities/district/page?size=100&amp;token=...
+     * @param district the district to get the cities from
+     * @param size the number of rows per page
+     * @param token the {@code next} token of the previous page; omit for the first page
+     * @return the page and the token of the next one, or 400 Bad Request for an invalid size or token
+     */
+    @GetMapping("/district/page")
+    public ResponseEntity<KeysetPage<CitySummary>> getCitiesInADistrictPage(
+            @RequestParam String district,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String token) {
+        return ResponseEntity.ok(cityService.getCitiesInADistrictPage(district, Keyset.fromToken(token), size));
+    }
+
+    /**
+     * Writes the cities of a source as newline-delimited JSON while the source reads them,
+     * flushing every {@value #NDJSON_FLUSH_ROWS} rows rather than after each one
+     */
+    private ResponseEntity<StreamingResponseBody> ndjson(ToLongFunction<Consumer<CitySummary>> source) {
+        ObjectWriter writer = objectMapper.writerFor(CitySummary.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                long[] rows = {0};
+                source.applyAsLong(city -> {
+                    try {
+                        writer.writeValue(generator, city);
+                        generator.writeRaw('\n');
+                        if (++rows[0] % NDJSON_FLUSH_ROWS == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        // the client has gone away; stop reading the cursor
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                // closing the generator flushes the last rows
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Writes the cities of a source as a table, in the format the client accepts, while the source reads them
+     */
+    private ResponseEntity<StreamingResponseBody> table(String accept, ToLongFunction<Consumer<CitySummary>> source) {
+        ReportFormat format = ReportTableHttpMessageConverter.negotiate(accept);
+        StreamingResponseBody body = out -> {
+            try (TableWriter<CitySummary> writer = format.writer(ReportTables.CITIES, out)) {
+                source.applyAsLong(writer::row);
+            }
+        };
+        MediaType contentType = format == ReportFormat.CSV
+                ? new MediaType(ReportTableHttpMessageConverter.TEXT_CSV, StandardCharsets.UTF_8)
+                : ReportTableHttpMessageConverter.COLUMNAR;
+        return ResponseEntity.ok().contentType(contentType).body(body);
+    }
 }
@@ -1,7 +1,9 @@
 package com.napier.devops.controller;
 
 
-import com.napier.devops.model.Country;
+import com.napier.devops.model.CountrySummary;
+import com.napier.devops.paging.Keyset;
+import com.napier.devops.paging.KeysetPage;
 import com.napier.devops.service.CountryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
@@ -24,7 +26,7 @@ public class CountryController {
      * Get all countries in the world
      * @return a list of all countries in the world
      */
-    public List<Country> getAllCountriesWorld() {
+    public List<CountrySummary> getAllCountriesWorld() {
         return countryService.getAllCountriesWorld();
     }
 
@@ -34,7 +36,7 @@ public class CountryController {
      * @return a list of all countries in a region ordered by population
      */
     @GetMapping("/region")
-    public ResponseEntity<List<Country>> getCountriesInRegion(@RequestParam String region) {
+    public ResponseEntity<List<CountrySummary>> getCountriesInRegion(@RequestParam String region) {
         return ResponseEntity.ok(countryService.getCountriesInRegionByPopulation(region));
     }
 
@@ -44,7 +46,7 @@ public class CountryController {
      * @return a list of top N countries in the world
      */
     @GetMapping("/world/top")
-    public ResponseEntity<List<Country>> getTopCountriesWorld(@RequestParam(defaultValue = "10") int limit) {
+    public ResponseEntity<List<CountrySummary>> getTopCountriesWorld(@RequestParam(defaultValue = "10") int limit) {
         return ResponseEntity.ok(countryService.getTopCountriesInWorld(limit));
     }
 
@@ -55,7 +57,7 @@ public class CountryController {
      * @return a list of top N countries in a continent
      */
     @GetMapping("/continent/top")
-    public ResponseEntity<List<Country>> getTopCountriesContinent(
+    public ResponseEntity<List<CountrySummary>> getTopCountriesContinent(
             @RequestParam String continent,
             @RequestParam(defaultValue = "10") int limit) {
         return ResponseEntity.ok(countryService.getTopCountriesInContinent(continent, limit));
@@ -68,9 +70,52 @@ public class CountryController {
      * @return a list of top N countries in a region
      */
     @GetMapping("/region/top")
-    public ResponseEntity<List<Country>> getTopCountriesRegion(
+    public ResponseEntity<List<CountrySummary>> getTopCountriesRegion(
             @RequestParam String region,
             @RequestParam(defaultValue = "10") int limit) {
         return ResponseEntity.ok(countryService.getTopCountriesInRegion(region, limit));
     }
-}
\ No newline at end of file
+
+    /**
+     * USE CASE 1: All countries in the world by population, one page at a time: GET /api/countries/world/page?size=100&amp;token=...
+     * @param size the number of rows per page
+     * @param token the {@code next} token of the previous page; omit for the first page
+     * @return the page and the token of the next one, or 400 Bad Request for an invalid size or token
+     */
+    @GetMapping("/api/countries/world/page")
+    public ResponseEntity<KeysetPage<CountrySummary>> getCountriesWorldPage(
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String token) {
+        return ResponseEntity.ok(countryService.getCountriesInWorldPage(Keyset.fromToken(token), size));
+    }
+
+    /**
+     * USE CASE 2: All countries in a continent by population, one page at a time: GET /api/countries/continent/page?size=100&amp;token=...
+     * @param continent the continent to get the countries from
+     * @param size the number of rows per page
+     * @param token the {@code next} token of the previous page; omit for the first page
+     * @return the page and the token of the next one, or 400 Bad Request for an invalid size or token
+     */
+    @GetMapping("/api/countries/continent/page")
+    public ResponseEntity<KeysetPage<CountrySummary>> getCountriesInContinentPage(
+            @RequestParam String continent,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String token) {
+        return ResponseEntity.ok(countryService.getCountriesInContinentPage(continent, Keyset.fromToken(token), size));
+    }
+
+    /**
+     * USE CASE 3: All countries in a region by population, one page at a time: GET /api/countries/region/page?size=100&amp;token=...
+     * @param region the region to get the countries from
+     * @param size the number of rows per page
+     * @param token the {@code next} token of the previous page; omit for the first page
+     * @return the page and the token of the next one, or 400 Bad Request for an invalid size or token
+     */
+    @GetMapping("/api/countries/region/page")
+    public ResponseEntity<KeysetPage<CountrySummary>> getCountriesInRegionPage(
+            @RequestParam String region,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String token) {
+        return ResponseEntity.ok(countryService.getCountriesInRegionPage(region, Keyset.fromToken(token), size));
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 
@@ -19,14 +20,45 @@ public class LanguageController {
     private LanguageService languageService;
 
     /**
-     * USE CASE 32: Get language statistics for Chinese, English, Hindi, Spanish, and Arabic.
+     * USE CASE 32: Get language statistics for Chinese, English, Hindi, Spanish, and Arabic,
+     * or for the languages given, e.g. {@code /languages?language=French,German}.
      * Returns languages ordered by number of speakers (descending).
      *
+     * @param languages the languages to report on; use case 32's languages when absent
      * @return ResponseEntity containing list of LanguageStats
      */
     @GetMapping("/languages")
-    public ResponseEntity<List<LanguageStats>> getLanguageStatistics() {
-        return ResponseEntity.ok(languageService.getLanguageStatistics());
+    public ResponseEntity<List<LanguageStats>> getLanguageStatistics(
+            @RequestParam(name = "language", required = false) List<String> languages) {
+        if (languages == null || languages.isEmpty()) {
+            return ResponseEntity.ok(languageService.getLanguageStatistics());
+        }
+        return ResponseEntity.ok(languageService.getLanguageStatistics(languages));
+    }
+
+    /**
+     * Get the most spoken languages in the world.
+     *
+     * @param limit the number of languages to return
+     * @return ResponseEntity containing list of LanguageStats
+     */
+    @GetMapping("/languages/world/top")
+    public ResponseEntity<List<LanguageStats>> getTopLanguagesWorld(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(languageService.getTopLanguagesInWorld(limit));
+    }
+
+    /**
+     * Get the most spoken languages in a continent.
+     *
+     * @param continent the continent to get the languages from
+     * @param limit the number of languages to return
+     * @return ResponseEntity containing list of LanguageStats
+     */
+    @GetMapping("/languages/continent/top")
+    public ResponseEntity<List<LanguageStats>> getTopLanguagesContinent(
+            @RequestParam String continent,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(languageService.getTopLanguagesInContinent(continent, limit));
     }
 
     /**
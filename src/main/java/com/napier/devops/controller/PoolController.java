@@ -0,0 +1,35 @@
+package com.napier.devops.controller;
+
+import com.napier.devops.pool.ConnectionPoolStatistics;
+import com.napier.devops.pool.ConnectionPools;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller exposing the database connection pool statistics
+ */
+@RestController
+@RequestMapping("/api/pool")
+public class PoolController {
+
+    private final ConnectionPools connectionPools;
+
+    /**
+     * Constructor for PoolController
+     * @param connectionPools the connection pool statistics
+     */
+    public PoolController(ConnectionPools connectionPools) {
+        this.connectionPools = connectionPools;
+    }
+
+    /**
+     * Active, idle and waiting counts and connection wait times of the pool
+     * @return the statistics, or 404 if the reports are not served from a pooled database
+     */
+    @GetMapping
+    public ResponseEntity<ConnectionPoolStatistics> getStatistics() {
+        return ResponseEntity.of(connectionPools.statistics());
+    }
+}
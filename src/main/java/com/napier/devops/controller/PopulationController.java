@@ -1,6 +1,7 @@
 package com.napier.devops.controller;
 
 import com.napier.devops.service.PopulationService;
+import com.napier.devops.snapshot.Scope;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 
@@ -65,4 +66,16 @@ public class PopulationController {
     public Long getCityPopulation(String city) {
         return populationService.getCityPopulation(city);
     }
+
+    /**
+     * Get the population of a scope within a wider one, e.g. of a district within a country
+     * @param level the level of the scope to get the population of
+     * @param name the name of the scope to get the population of
+     * @param withinLevel the level of the wider scope
+     * @param within the name of the wider scope
+     * @return the population of the scope within the wider one
+     */
+    public Long getPopulationWithin(Scope.Level level, String name, Scope.Level withinLevel, String within) {
+        return populationService.getPopulationWithin(level, name, withinLevel, within);
+    }
 }
@@ -0,0 +1,41 @@
+package com.napier.devops.controller;
+
+import com.napier.devops.report.ReportSpec;
+import com.napier.devops.service.ReportBatchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller running many reports in one request
+ */
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    private final ReportBatchService reportBatchService;
+
+    /**
+     * Constructor for ReportController
+     * @param reportBatchService the service running the batches
+     */
+    public ReportController(ReportBatchService reportBatchService) {
+        this.reportBatchService = reportBatchService;
+    }
+
+    /**
+     * POST /api/reports/batch with a body such as
+     * {@code [{"useCase": 20, "limit": 10}, {"useCase": 4, "limit": 10}, {"useCase": 32}]}
+     * @param specs the use cases to run, with their parameters
+     * @return one result per spec, in request order, each with its timing or error;
+     *         400 if the batch is empty or too large
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ReportBatchService.Batch> runBatch(@RequestBody List<ReportSpec> specs) {
+        return ResponseEntity.ok(reportBatchService.run(specs));
+    }
+}
@@ -0,0 +1,39 @@
+package com.napier.devops.controller;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Answers requests that could not get a database connection with 503 Service Unavailable
+ * instead of 500.
+ * <p>
+ * The connection pool is what bounds the queries running at once, however many requests
+ * there are; with virtual threads every request gets a thread, so under a burst many more of
+ * them wait for a connection and the ones that wait longer than
+ * {@code spring.datasource.hikari.connection-timeout} end up here.
+ * </p>
+ */
+@RestControllerAdvice
+public class ServiceUnavailableHandler {
+
+    /**
+     * Seconds a client is asked to wait before retrying.
+     */
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    /**
+     * @param e the failure to get a connection, or to open a transaction on one
+     * @return 503 Service Unavailable with a {@code Retry-After} header
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<String> handleUnavailable(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body("The database is busy or unavailable; try again shortly");
+    }
+}
@@ -0,0 +1,15 @@
+package com.napier.devops.export;
+
+import java.util.function.Function;
+
+/**
+ * One column of a {@link ReportTable}.
+ *
+ * @param name  the name of the column, e.g. {@code population}
+ * @param type  the type of its values
+ * @param value reads the value from a row: a {@link String} for {@link ColumnType#STRING}, a
+ *              {@link Number} for the numeric types, or {@code null} if the row has none
+ * @param <T>   the type of the rows
+ */
+public record Column<T>(String name, ColumnType type, Function<? super T, ?> value) {
+}
@@ -0,0 +1,49 @@
+package com.napier.devops.export;
+
+/**
+ * The type of the values of a {@link Column}.
+ */
+public enum ColumnType {
+
+    /**
+     * Text, e.g. a name or a code.
+     */
+    STRING(0),
+
+    /**
+     * A whole number, e.g. a population.
+     */
+    LONG(1),
+
+    /**
+     * A floating-point number, e.g. a percentage.
+     */
+    DOUBLE(2);
+
+    private final int code;
+
+    ColumnType(int code) {
+        this.code = code;
+    }
+
+    /**
+     * @return the code of the type in the columnar format
+     */
+    int code() {
+        return code;
+    }
+
+    /**
+     * @param code the code of a type in the columnar format
+     * @return the type
+     * @throws IllegalArgumentException if no type has that code
+     */
+    static ColumnType ofCode(int code) {
+        for (ColumnType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown column type " + code);
+    }
+}
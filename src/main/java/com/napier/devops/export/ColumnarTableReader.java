@@ -0,0 +1,167 @@
+package com.napier.devops.export;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a table written by {@link ColumnarTableWriter}, one row at a time, decoding a block of
+ * rows at a time.
+ */
+public final class ColumnarTableReader implements AutoCloseable {
+
+    private final DataInputStream in;
+    private final List<String> names = new ArrayList<>();
+    private final List<ColumnType> types = new ArrayList<>();
+    private final List<List<String>> dictionaries = new ArrayList<>();
+    private Object[][] block = new Object[0][];
+    private int blockRows;
+    private int next;
+    private boolean ended;
+
+    /**
+     * Constructor for ColumnarTableReader; reads the header.
+     * @param in the stream to read, closed with the reader
+     * @throws IOException if the stream cannot be read or is not in the columnar format
+     */
+    public ColumnarTableReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        byte[] magic = new byte[ColumnarTableWriter.MAGIC.length];
+        this.in.readFully(magic);
+        if (!Arrays.equals(magic, ColumnarTableWriter.MAGIC)) {
+            throw new IOException("Not a columnar report");
+        }
+        int version = this.in.readUnsignedByte();
+        if (version != ColumnarTableWriter.VERSION) {
+            throw new IOException("Unsupported columnar report version " + version);
+        }
+        int columns = (int) varint();
+        for (int i = 0; i < columns; i++) {
+            names.add(string());
+            types.add(ColumnType.ofCode(this.in.readUnsignedByte()));
+            dictionaries.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * @return the names of the columns, in order
+     */
+    public List<String> names() {
+        return List.copyOf(names);
+    }
+
+    /**
+     * @return the types of the columns, in order
+     */
+    public List<ColumnType> types() {
+        return List.copyOf(types);
+    }
+
+    /**
+     * @return the values of the next row, a {@link String}, {@link Long}, {@link Double} or
+     *         {@code null} per column, or {@code null} after the last row
+     * @throws IOException if the stream cannot be read or is cut short
+     */
+    public Object[] next() throws IOException {
+        if (next == blockRows) {
+            if (ended || !readBlock()) {
+                return null;
+            }
+        }
+        Object[] row = new Object[names.size()];
+        for (int column = 0; column < row.length; column++) {
+            row[column] = block[column][next];
+        }
+        next++;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private boolean readBlock() throws IOException {
+        int rows = (int) varint();
+        if (rows == 0) {
+            ended = true;
+            return false;
+        }
+        if (rows > ColumnarTableWriter.BLOCK_ROWS) {
+            throw new IOException("Corrupt columnar report: a block of " + rows + " rows");
+        }
+        block = new Object[names.size()][rows];
+        for (int column = 0; column < names.size(); column++) {
+            boolean[] nulls = new boolean[rows];
+            if (in.readUnsignedByte() == 1) {
+                for (int first = 0; first < rows; first += 8) {
+                    int bits = in.readUnsignedByte();
+                    for (int bit = 0; bit < 8 && first + bit < rows; bit++) {
+                        nulls[first + bit] = (bits & 1 << bit) != 0;
+                    }
+                }
+            }
+            long previous = 0;
+            for (int row = 0; row < rows; row++) {
+                if (nulls[row]) {
+                    continue;
+                }
+                switch (types.get(column)) {
+                    case STRING -> block[column][row] = dictionaryString(column);
+                    case LONG -> {
+                        long zigzag = varint();
+                        previous += (zigzag >>> 1) ^ -(zigzag & 1);
+                        block[column][row] = previous;
+                    }
+                    case DOUBLE -> block[column][row] = in.readDouble();
+                }
+            }
+        }
+        blockRows = rows;
+        next = 0;
+        return true;
+    }
+
+    private String dictionaryString(int column) throws IOException {
+        List<String> dictionary = dictionaries.get(column);
+        long index = varint();
+        if (index > 0) {
+            if (index > dictionary.size()) {
+                throw new IOException("Corrupt columnar report: string " + index + " of " + dictionary.size());
+            }
+            return dictionary.get((int) index - 1);
+        }
+        String value = string();
+        if (dictionary.size() < ColumnarTableWriter.DICTIONARY_SIZE) {
+            dictionary.add(value);
+        }
+        return value;
+    }
+
+    private String string() throws IOException {
+        byte[] utf8 = new byte[(int) varint()];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private long varint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Columnar report cut short");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt columnar report: varint too long");
+    }
+}
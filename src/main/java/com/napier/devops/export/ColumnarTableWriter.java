@@ -0,0 +1,224 @@
+package com.napier.devops.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a table in the columnar binary format: typed columns, stored a block of rows at a time
+ * so a table of any length is written with a bounded buffer. Read it with {@link ColumnarTableReader}.
+ * <pre>
+ * header   4 bytes magic "WCOL", 1 byte version
+ *          varint column count, then per column: varint length and UTF-8 bytes of its name, 1 byte type
+ * blocks   varint row count (1 to {@value #BLOCK_ROWS}), then per column:
+ *            1 byte 0 if no row is null, or 1 followed by a bitmap of the null rows, lowest bit first
+ *            the values of the rows that are not null:
+ *              STRING  varint 0, varint length and UTF-8 bytes of a new value, or varint 1 + its
+ *                      index among the values already seen in the column; the first
+ *                      {@value #DICTIONARY_SIZE} distinct values of a column are indexed
+ *              LONG    zigzag varint of the difference from the previous value of the block
+ *              DOUBLE  8 bytes IEEE 754, big-endian
+ * end      varint 0
+ * </pre>
+ * <p>
+ * The reports repeat a few codes, continents, regions and districts over thousands of rows
+ * and are sorted by population, so most strings take one or two bytes and most numbers two or three.
+ * </p>
+ *
+ * @param <T> the type of the rows
+ */
+public final class ColumnarTableWriter<T> implements TableWriter<T> {
+
+    /**
+     * First bytes of the format.
+     */
+    static final byte[] MAGIC = {'W', 'C', 'O', 'L'};
+
+    /**
+     * Version of the format.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Largest number of rows in a block.
+     */
+    static final int BLOCK_ROWS = 4096;
+
+    /**
+     * Largest number of values indexed per string column.
+     */
+    static final int DICTIONARY_SIZE = 65_536;
+
+    private final List<Column<T>> columns;
+    private final OutputStream out;
+    private final Bytes[] values;
+    private final boolean[][] nulls;
+    private final long[] previous;
+    private final List<Map<String, Integer>> dictionaries;
+    private final Bytes block = new Bytes(BLOCK_ROWS * 8);
+    private int rows;
+
+    /**
+     * Constructor for ColumnarTableWriter; the header is written with the first block.
+     * @param table the table
+     * @param out   the stream to write to
+     */
+    public ColumnarTableWriter(ReportTable<T> table, OutputStream out) {
+        this.columns = table.columns();
+        this.out = out;
+        this.values = new Bytes[columns.size()];
+        this.nulls = new boolean[columns.size()][BLOCK_ROWS];
+        this.previous = new long[columns.size()];
+        this.dictionaries = columns.stream().<Map<String, Integer>>map(column -> new HashMap<>()).toList();
+        Arrays.setAll(values, i -> new Bytes(BLOCK_ROWS * 2));
+
+        block.write(MAGIC, 0, MAGIC.length);
+        block.put(VERSION);
+        block.varint(columns.size());
+        for (Column<T> column : columns) {
+            block.string(column.name());
+            block.put(column.type().code());
+        }
+    }
+
+    @Override
+    public void row(T row) {
+        for (int i = 0; i < columns.size(); i++) {
+            Column<T> column = columns.get(i);
+            Object value = column.value().apply(row);
+            nulls[i][rows] = value == null;
+            if (value == null) {
+                continue;
+            }
+            switch (column.type()) {
+                case STRING -> string(i, value.toString());
+                case LONG -> {
+                    long number = ((Number) value).longValue();
+                    long delta = number - previous[i];
+                    values[i].varint((delta << 1) ^ (delta >> 63));
+                    previous[i] = number;
+                }
+                case DOUBLE -> values[i].longBigEndian(Double.doubleToLongBits(((Number) value).doubleValue()));
+            }
+        }
+        if (++rows == BLOCK_ROWS) {
+            writeBlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (rows > 0) {
+            writeBlock();
+        }
+        block.varint(0);
+        try {
+            block.writeTo(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void string(int column, String value) {
+        Map<String, Integer> dictionary = dictionaries.get(column);
+        Integer index = dictionary.get(value);
+        if (index != null) {
+            values[column].varint(index + 1L);
+            return;
+        }
+        values[column].varint(0);
+        values[column].string(value);
+        if (dictionary.size() < DICTIONARY_SIZE) {
+            dictionary.put(value, dictionary.size());
+        }
+    }
+
+    private void writeBlock() {
+        block.varint(rows);
+        for (int i = 0; i < columns.size(); i++) {
+            boolean[] columnNulls = nulls[i];
+            boolean anyNull = false;
+            for (int row = 0; row < rows && !anyNull; row++) {
+                anyNull = columnNulls[row];
+            }
+            block.put(anyNull ? 1 : 0);
+            if (anyNull) {
+                for (int first = 0; first < rows; first += 8) {
+                    int bits = 0;
+                    for (int bit = 0; bit < 8 && first + bit < rows; bit++) {
+                        bits |= columnNulls[first + bit] ? 1 << bit : 0;
+                    }
+                    block.put(bits);
+                }
+            }
+            block.write(values[i].bytes, 0, values[i].length);
+            values[i].length = 0;
+            previous[i] = 0;
+        }
+        rows = 0;
+        try {
+            block.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        block.length = 0;
+    }
+
+    /**
+     * A growable byte buffer with the encodings of the format.
+     */
+    private static final class Bytes {
+
+        private byte[] bytes;
+        private int length;
+
+        Bytes(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void put(int b) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, length * 2);
+            }
+            bytes[length++] = (byte) b;
+        }
+
+        void write(byte[] source, int offset, int count) {
+            if (length + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(length * 2, length + count));
+            }
+            System.arraycopy(source, offset, bytes, length, count);
+            length += count;
+        }
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                put((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            put((int) value);
+        }
+
+        void longBigEndian(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                put((int) (value >>> shift));
+            }
+        }
+
+        void string(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length);
+            write(utf8, 0, utf8.length);
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(bytes, 0, length);
+        }
+    }
+}
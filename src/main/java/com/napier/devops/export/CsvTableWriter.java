@@ -0,0 +1,169 @@
+package com.napier.devops.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes a table as comma-separated values (RFC 4180): a header row of the column names, then
+ * one record per row, each ended by CRLF, in UTF-8.
+ * <p>
+ * A field is quoted only when it holds a comma, a double quote or a line break, and its
+ * double quotes are doubled. A missing value is an empty field. Numbers are written
+ * unformatted, e.g. {@code 7980230} and {@code 78.5}.
+ * </p>
+ * <p>
+ * Fields are encoded straight into a byte buffer that is written to the stream when full, so
+ * a row costs no {@code String} formatting and the stream sees large writes only.
+ * </p>
+ *
+ * @param <T> the type of the rows
+ */
+public final class CsvTableWriter<T> implements TableWriter<T> {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final List<Column<T>> columns;
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    /**
+     * Constructor for CsvTableWriter; writes the header row.
+     * @param table the table
+     * @param out   the stream to write to
+     */
+    public CsvTableWriter(ReportTable<T> table, OutputStream out) {
+        this.columns = table.columns();
+        this.out = out;
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                put((byte) ',');
+            }
+            text(columns.get(i).name());
+        }
+        endRecord();
+    }
+
+    @Override
+    public void row(T row) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                put((byte) ',');
+            }
+            Column<T> column = columns.get(i);
+            Object value = column.value().apply(row);
+            if (value == null) {
+                continue;
+            }
+            switch (column.type()) {
+                case STRING -> text(value.toString());
+                case LONG -> number(((Number) value).longValue());
+                case DOUBLE -> ascii(Double.toString(((Number) value).doubleValue()));
+            }
+        }
+        endRecord();
+    }
+
+    @Override
+    public void close() {
+        flushBuffer();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void endRecord() {
+        put((byte) '\r');
+        put((byte) '\n');
+    }
+
+    private void text(String value) {
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (quoted) {
+            put((byte) '"');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                // rare in the world data: encode the rest of the field the slow way
+                String rest = value.substring(i);
+                put(quoted ? rest.replace("\"", "\"\"").getBytes(StandardCharsets.UTF_8) : rest.getBytes(StandardCharsets.UTF_8));
+                break;
+            }
+            if (c == '"') {
+                put((byte) '"');
+            }
+            put((byte) c);
+        }
+        if (quoted) {
+            put((byte) '"');
+        }
+    }
+
+    private void number(long value) {
+        if (value == Long.MIN_VALUE) {
+            ascii(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            put((byte) '-');
+            value = -value;
+        }
+        if (position + 19 > buffer.length) {
+            flushBuffer();
+        }
+        // digits written backwards from the end of the number
+        int end = position + digits(value);
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private void ascii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            put((byte) value.charAt(i));
+        }
+    }
+
+    private void put(byte b) {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = b;
+    }
+
+    private void put(byte[] bytes) {
+        for (byte b : bytes) {
+            put(b);
+        }
+    }
+
+    private void flushBuffer() {
+        try {
+            out.write(buffer, 0, position);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        position = 0;
+    }
+}
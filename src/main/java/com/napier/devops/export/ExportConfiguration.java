@@ -0,0 +1,23 @@
+package com.napier.devops.export;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Serves the report endpoints as CSV or in the columnar format to the clients asking for them.
+ * <p>
+ * The converter is added after the default ones, so a request without an {@code Accept}
+ * header, or accepting anything, is still answered with JSON.
+ * </p>
+ */
+@Configuration
+public class ExportConfiguration implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ReportTableHttpMessageConverter());
+    }
+}
@@ -0,0 +1,96 @@
+package com.napier.devops.export;
+
+import com.napier.devops.util.BadRequestException;
+
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * The formats a report can be written in.
+ */
+public enum ReportFormat {
+
+    /**
+     * The fixed-width text tables of the log files, with a heading; not a {@link TableWriter} format.
+     */
+    TEXT("text/plain", ".log"),
+
+    /**
+     * Comma-separated values as of RFC 4180, with a header row; see {@link CsvTableWriter}.
+     */
+    CSV("text/csv", ".csv"),
+
+    /**
+     * Typed columns in blocks of rows, binary; see {@link ColumnarTableWriter}.
+     */
+    COLUMNAR("application/vnd.world.columns", ".wcol");
+
+    /**
+     * Media type of {@link #CSV}.
+     */
+    public static final String CSV_VALUE = "text/csv";
+
+    /**
+     * Media type of {@link #COLUMNAR}.
+     */
+    public static final String COLUMNAR_VALUE = "application/vnd.world.columns";
+
+    private final String mediaType;
+    private final String extension;
+
+    ReportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    /**
+     * @param name the name of a format, in any case, e.g. {@code csv}
+     * @return the format
+     * @throws BadRequestException if there is no format of that name
+     */
+    public static ReportFormat of(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown report format: " + name + ", expected text, csv or columnar");
+        }
+    }
+
+    /**
+     * @return the media type of the format
+     */
+    public String mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return whether the output is not text, and so is never echoed to the console
+     */
+    public boolean binary() {
+        return this == COLUMNAR;
+    }
+
+    /**
+     * @param logFileName the name of a report's log file, e.g. {@code usecase7.log}
+     * @return the name of the report's file in this format, e.g. {@code usecase7.csv}
+     */
+    public String fileName(String logFileName) {
+        return logFileName.replaceFirst("\\.log$", "") + extension;
+    }
+
+    /**
+     * Starts writing a table in this format.
+     * @param table the table
+     * @param out   the stream to write to
+     * @param <T>   the type of the rows
+     * @return the writer of the rows
+     * @throws IllegalStateException for {@link #TEXT}, which is printed by the reports themselves
+     */
+    public <T> TableWriter<T> writer(ReportTable<T> table, OutputStream out) {
+        return switch (this) {
+            case CSV -> new CsvTableWriter<>(table, out);
+            case COLUMNAR -> new ColumnarTableWriter<>(table, out);
+            case TEXT -> throw new IllegalStateException("Text reports are not written as tables");
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.napier.devops.export;
+
+import java.util.List;
+
+/**
+ * The columns exported for one type of report row.
+ *
+ * @param name    the name of the table, e.g. {@code countries}
+ * @param rowType the class of the rows
+ * @param columns the columns, in order
+ * @param <T>     the type of the rows
+ */
+public record ReportTable<T>(String name, Class<T> rowType, List<Column<T>> columns) {
+
+    /**
+     * Constructor for ReportTable
+     * @param name    the name of the table, e.g. {@code countries}
+     * @param rowType the class of the rows
+     * @param columns the columns, in order
+     */
+    public ReportTable {
+        columns = List.copyOf(columns);
+    }
+}
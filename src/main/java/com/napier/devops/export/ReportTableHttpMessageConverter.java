@@ -0,0 +1,116 @@
+package com.napier.devops.export;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Writes the lists of report rows the REST endpoints return as CSV ({@code Accept: text/csv})
+ * or in the columnar format ({@code Accept: application/vnd.world.columns}), with the columns
+ * of {@link ReportTables}. Responses of any other type, such as the pages of the paged
+ * endpoints, are only served as JSON.
+ */
+public class ReportTableHttpMessageConverter extends AbstractGenericHttpMessageConverter<Collection<?>> {
+
+    /**
+     * Media type of {@link ReportFormat#CSV}.
+     */
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType(ReportFormat.CSV_VALUE);
+
+    /**
+     * Media type of {@link ReportFormat#COLUMNAR}.
+     */
+    public static final MediaType COLUMNAR = MediaType.parseMediaType(ReportFormat.COLUMNAR_VALUE);
+
+    /**
+     * Constructor for ReportTableHttpMessageConverter
+     */
+    public ReportTableHttpMessageConverter() {
+        super(TEXT_CSV, COLUMNAR);
+    }
+
+    /**
+     * @param accept the {@code Accept} header of a request
+     * @return the first of the table formats the request accepts, by quality; CSV if it accepts both equally
+     */
+    public static ReportFormat negotiate(String accept) {
+        ReportFormat best = ReportFormat.CSV;
+        double bestQuality = -1;
+        for (MediaType type : MediaType.parseMediaTypes(accept)) {
+            for (ReportFormat format : new ReportFormat[]{ReportFormat.CSV, ReportFormat.COLUMNAR}) {
+                if (type.includes(MediaType.parseMediaType(format.mediaType())) && type.getQualityValue() > bestQuality) {
+                    best = format;
+                    bestQuality = type.getQualityValue();
+                }
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Collection.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return table(type != null ? type : clazz) != null && canWrite(mediaType);
+    }
+
+    @Override
+    protected void addDefaultHeaders(HttpHeaders headers, Collection<?> rows, MediaType contentType) throws IOException {
+        if (contentType != null && TEXT_CSV.isCompatibleWith(contentType) && contentType.getCharset() == null) {
+            contentType = new MediaType(contentType, StandardCharsets.UTF_8);
+        }
+        super.addDefaultHeaders(headers, rows, contentType);
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected void writeInternal(Collection<?> rows, Type type, HttpOutputMessage outputMessage) throws IOException {
+        ReportTable table = table(type);
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        ReportFormat format = contentType != null && COLUMNAR.isCompatibleWith(contentType) ? ReportFormat.COLUMNAR : ReportFormat.CSV;
+        try (TableWriter writer = format.writer(table, outputMessage.getBody())) {
+            for (Object row : rows) {
+                writer.row(row);
+            }
+        }
+    }
+
+    @Override
+    protected Collection<?> readInternal(Class<? extends Collection<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Report tables are not read", inputMessage);
+    }
+
+    @Override
+    public Collection<?> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Report tables are not read", inputMessage);
+    }
+
+    /**
+     * @return the table of the elements of a collection type, or {@code null} if they are not exported
+     */
+    private static ReportTable<?> table(Type type) {
+        ResolvableType resolved = ResolvableType.forType(type);
+        if (!Collection.class.isAssignableFrom(resolved.toClass())) {
+            return null;
+        }
+        Class<?> element = resolved.asCollection().getGeneric().resolve();
+        return element != null ? ReportTables.of(element) : null;
+    }
+}
@@ -0,0 +1,100 @@
+package com.napier.devops.export;
+
+import com.napier.devops.model.CapitalCity;
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.model.CountrySummary;
+import com.napier.devops.model.LanguageStats;
+import com.napier.devops.model.PopulationBreakdown;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The exported columns of every report type: the columns of the text reports, with the
+ * numbers unformatted.
+ */
+public final class ReportTables {
+
+    /**
+     * The population of one place, the row of the population reports (use cases 26-31).
+     * @param name       the place, e.g. {@code Asia}
+     * @param population its population, or {@code null} if it is not known
+     */
+    public record Population(String name, Long population) {
+    }
+
+    /**
+     * Use cases 1-6.
+     */
+    public static final ReportTable<CountrySummary> COUNTRIES = new ReportTable<>("countries", CountrySummary.class, List.of(
+            new Column<>("code", ColumnType.STRING, CountrySummary::code),
+            new Column<>("name", ColumnType.STRING, CountrySummary::name),
+            new Column<>("continent", ColumnType.STRING, CountrySummary::continent),
+            new Column<>("region", ColumnType.STRING, CountrySummary::region),
+            new Column<>("population", ColumnType.LONG, CountrySummary::population)));
+
+    /**
+     * Use cases 7-16.
+     */
+    public static final ReportTable<CitySummary> CITIES = new ReportTable<>("cities", CitySummary.class, List.of(
+            new Column<>("name", ColumnType.STRING, CitySummary::name),
+            new Column<>("country_code", ColumnType.STRING, CitySummary::countryCode),
+            new Column<>("district", ColumnType.STRING, CitySummary::district),
+            new Column<>("population", ColumnType.LONG, CitySummary::population)));
+
+    /**
+     * Use cases 17-22.
+     */
+    public static final ReportTable<CapitalCity> CAPITAL_CITIES = new ReportTable<>("capital_cities", CapitalCity.class, List.of(
+            new Column<>("name", ColumnType.STRING, CapitalCity::getCityName),
+            new Column<>("country", ColumnType.STRING, CapitalCity::getCountryName),
+            new Column<>("population", ColumnType.LONG, CapitalCity::getPopulation)));
+
+    /**
+     * Use cases 23-25.
+     */
+    public static final ReportTable<PopulationBreakdown> POPULATION_BREAKDOWNS = new ReportTable<>("population_breakdowns",
+            PopulationBreakdown.class, List.of(
+            new Column<>("type", ColumnType.STRING, PopulationBreakdown::type),
+            new Column<>("name", ColumnType.STRING, PopulationBreakdown::name),
+            new Column<>("total_population", ColumnType.LONG, PopulationBreakdown::totalPopulation),
+            new Column<>("population_in_cities", ColumnType.LONG, PopulationBreakdown::populationInCities),
+            new Column<>("in_cities_percentage", ColumnType.DOUBLE, PopulationBreakdown::inCitiesPercentage),
+            new Column<>("population_not_in_cities", ColumnType.LONG, PopulationBreakdown::populationNotInCities),
+            new Column<>("not_in_cities_percentage", ColumnType.DOUBLE, PopulationBreakdown::notInCitiesPercentage)));
+
+    /**
+     * Use cases 26-31.
+     */
+    public static final ReportTable<Population> POPULATIONS = new ReportTable<>("populations", Population.class, List.of(
+            new Column<>("name", ColumnType.STRING, Population::name),
+            new Column<>("population", ColumnType.LONG, Population::population)));
+
+    /**
+     * Use case 32.
+     */
+    public static final ReportTable<LanguageStats> LANGUAGES = new ReportTable<>("languages", LanguageStats.class, List.of(
+            new Column<>("language", ColumnType.STRING, LanguageStats::getLanguage),
+            new Column<>("speakers", ColumnType.LONG, LanguageStats::getSpeakers),
+            new Column<>("percentage_of_world", ColumnType.DOUBLE, LanguageStats::getPercentageOfWorldPopulation)));
+
+    private static final Map<Class<?>, ReportTable<?>> BY_ROW_TYPE = Stream.of(
+                    COUNTRIES, CITIES, CAPITAL_CITIES, POPULATION_BREAKDOWNS, POPULATIONS, LANGUAGES)
+            .collect(Collectors.toUnmodifiableMap(ReportTable::rowType, Function.identity()));
+
+    private ReportTables() {
+    }
+
+    /**
+     * @param rowType the class of the rows
+     * @param <T>     the type of the rows
+     * @return the table of those rows, or {@code null} if they are not exported
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ReportTable<T> of(Class<T> rowType) {
+        return (ReportTable<T>) BY_ROW_TYPE.get(rowType);
+    }
+}
@@ -0,0 +1,27 @@
+package com.napier.devops.export;
+
+/**
+ * Writes the rows of a {@link ReportTable} to a stream as they are produced, e.g. straight from
+ * a database cursor.
+ * <p>
+ * Failures to write are thrown as {@link java.io.UncheckedIOException}, so a writer can be
+ * passed to the {@code forEach} methods of the services, and stop them reading, as a
+ * {@code Consumer}.
+ * </p>
+ *
+ * @param <T> the type of the rows
+ */
+public interface TableWriter<T> extends AutoCloseable {
+
+    /**
+     * Writes one row.
+     * @param row the row
+     */
+    void row(T row);
+
+    /**
+     * Ends the table and flushes what is buffered to the stream, which is left open.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,167 @@
+package com.napier.devops.language;
+
+import com.napier.devops.model.LanguageStats;
+import com.napier.devops.model.SpeakerCount;
+import com.napier.devops.util.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable index of the number of speakers of every language, worldwide and per continent.
+ * <p>
+ * It is built once from the per-continent {@link SpeakerCount} rows, with the languages of each
+ * scope ranked by number of speakers, so any set of languages or any top-K is answered without
+ * touching the {@code countrylanguage} table again. Language and continent names are
+ * case-insensitive. Every share is a percentage of the world population.
+ * </p>
+ */
+public final class SpeakerIndex {
+
+    private final long worldPopulation;
+    private final Ranking world;
+    private final Map<String, Ranking> continents;
+
+    /**
+     * Constructor for SpeakerIndex
+     * @param counts          the number of speakers per language and continent
+     * @param worldPopulation the population of the world, the base of every share
+     */
+    public SpeakerIndex(Collection<SpeakerCount> counts, long worldPopulation) {
+        this.worldPopulation = worldPopulation;
+
+        Map<String, String> names = new HashMap<>();
+        Map<String, Double> worldSpeakers = new LinkedHashMap<>();
+        Map<String, Map<String, Double>> continentSpeakers = new LinkedHashMap<>();
+        for (SpeakerCount count : counts) {
+            if (count.language() == null) {
+                continue;
+            }
+            String language = names.computeIfAbsent(key(count.language()), k -> count.language());
+            worldSpeakers.merge(language, count.speakers(), Double::sum);
+            if (count.continent() != null) {
+                continentSpeakers.computeIfAbsent(key(count.continent()), k -> new LinkedHashMap<>())
+                        .merge(language, count.speakers(), Double::sum);
+            }
+        }
+
+        world = new Ranking(worldSpeakers);
+        continents = new HashMap<>();
+        continentSpeakers.forEach((continent, speakers) -> continents.put(continent, new Ranking(speakers)));
+    }
+
+    /**
+     * @return number of distinct languages in the index
+     */
+    public int languageCount() {
+        return world.languages.length;
+    }
+
+    /**
+     * Number of speakers of each requested language worldwide and their share of the world
+     * population, ordered by number of speakers (largest first). Unknown languages are left out.
+     * @param languages the languages to report on
+     * @return one entry per known language
+     */
+    public List<LanguageStats> statistics(Collection<String> languages) {
+        int[] ranks = languages.stream()
+                .filter(language -> language != null)
+                .mapToInt(world::rank)
+                .filter(rank -> rank >= 0)
+                .distinct()
+                .sorted()
+                .toArray();
+        List<LanguageStats> result = new ArrayList<>(ranks.length);
+        for (int rank : ranks) {
+            result.add(world.stats(rank, worldPopulation));
+        }
+        return result;
+    }
+
+    /**
+     * The most spoken languages in the world.
+     * @param limit the number of languages to return
+     * @return at most {@code limit} languages, largest number of speakers first
+     * @throws BadRequestException when the limit is not positive
+     */
+    public List<LanguageStats> top(int limit) {
+        return top(world, limit);
+    }
+
+    /**
+     * The most spoken languages in a continent, counting only the speakers living there.
+     * @param continent the continent
+     * @param limit     the number of languages to return
+     * @return at most {@code limit} languages, largest number of speakers first; empty for an unknown continent
+     * @throws BadRequestException when the limit is not positive
+     */
+    public List<LanguageStats> top(String continent, int limit) {
+        Ranking ranking = continent == null ? null : continents.get(key(continent));
+        if (ranking == null) {
+            checkLimit(limit);
+            return new ArrayList<>();
+        }
+        return top(ranking, limit);
+    }
+
+    private List<LanguageStats> top(Ranking ranking, int limit) {
+        checkLimit(limit);
+        int size = Math.min(limit, ranking.languages.length);
+        List<LanguageStats> result = new ArrayList<>(size);
+        for (int rank = 0; rank < size; rank++) {
+            result.add(ranking.stats(rank, worldPopulation));
+        }
+        return result;
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new BadRequestException("limit must be greater than zero");
+        }
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The languages of one scope, ranked by number of speakers.
+     */
+    private static final class Ranking {
+
+        private final String[] languages;
+        private final double[] speakers;
+        private final Map<String, Integer> ranks;
+
+        Ranking(Map<String, Double> speakersByLanguage) {
+            List<Map.Entry<String, Double>> entries = new ArrayList<>(speakersByLanguage.entrySet());
+            entries.sort(Map.Entry.<String, Double>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey(Comparator.naturalOrder())));
+            languages = new String[entries.size()];
+            speakers = new double[entries.size()];
+            ranks = new HashMap<>();
+            for (int rank = 0; rank < entries.size(); rank++) {
+                languages[rank] = entries.get(rank).getKey();
+                speakers[rank] = entries.get(rank).getValue();
+                ranks.put(key(languages[rank]), rank);
+            }
+        }
+
+        int rank(String language) {
+            return ranks.getOrDefault(key(language), -1);
+        }
+
+        LanguageStats stats(int rank, long worldPopulation) {
+            Double share = worldPopulation > 0
+                    ? Math.round(speakers[rank] * 100 / worldPopulation * 100) / 100.0
+                    : null;
+            return new LanguageStats(languages[rank], Math.round(speakers[rank]), share);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.napier.devops.language;
+
+import com.napier.devops.cache.ReportCaches;
+import com.napier.devops.model.Country;
+import com.napier.devops.model.CountryLanguage;
+import com.napier.devops.repository.CountryLanguageRepository;
+import com.napier.devops.repository.PopulationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the {@link SpeakerIndex} the language reports are answered from when the snapshot is
+ * disabled.
+ * <p>
+ * The index is built on first use with one aggregate query over {@code countrylanguage} joined
+ * with {@code country}, and dropped whenever a change to a {@link Country} or
+ * {@link CountryLanguage} row commits, so the next report rebuilds it from the new data.
+ * An index whose load overlapped such a commit is used for that one report but not kept.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "world.snapshot.enabled", havingValue = "false", matchIfMissing = true)
+public class SpeakerIndexHolder implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private final CountryLanguageRepository countryLanguageRepository;
+    private final PopulationRepository populationRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ReportCaches reportCaches;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile SpeakerIndex index;
+
+    /**
+     * Constructor for SpeakerIndexHolder
+     * @param countryLanguageRepository the repository the speaker counts are read from
+     * @param populationRepository the repository the world population is read from
+     * @param entityManagerFactory the factory whose sessions are listened to
+     * @param reportCaches the caches holding language results built from the index
+     */
+    public SpeakerIndexHolder(CountryLanguageRepository countryLanguageRepository,
+                              PopulationRepository populationRepository,
+                              EntityManagerFactory entityManagerFactory, ReportCaches reportCaches) {
+        this.countryLanguageRepository = countryLanguageRepository;
+        this.populationRepository = populationRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.reportCaches = reportCaches;
+    }
+
+    /**
+     * Registers this holder with Hibernate.
+     */
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /**
+     * @return the current index, building it first if needed
+     */
+    public SpeakerIndex current() {
+        SpeakerIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    current = load();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Drops the current index, so the next report rebuilds it.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        index = null;
+        reportCaches.clear(ReportCaches.LANGUAGES);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        invalidate();
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        invalidate();
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        invalidate();
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == Country.class || type == CountryLanguage.class;
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // the row never reached the database, so the index is still right
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // the row never reached the database, so the index is still right
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // the row never reached the database, so the index is still right
+    }
+
+    private SpeakerIndex load() {
+        long loadedVersion = version.get();
+        Long worldPopulation = populationRepository.getWorldPopulation();
+        SpeakerIndex loaded = new SpeakerIndex(countryLanguageRepository.getSpeakerCounts(),
+                worldPopulation != null ? worldPopulation : 0L);
+        if (version.get() == loadedVersion) {
+            index = loaded;
+        }
+        return loaded;
+    }
+}
@@ -1,5 +1,6 @@
 package com.napier.devops.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 /**
  * Data Transfer Object (DTO) representing capital city information.
@@ -9,6 +10,13 @@ package com.napier.devops.model;
  */
 public class CapitalCity {
 
+    /**
+     * Id of the capital city, set only by the paged queries, which need it to
+     * continue from the last row of a page
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    protected Long cityId;
+
     /**
      * Name of the capital city
      * Examples: "Washington", "London", "Berlin"
@@ -48,8 +56,24 @@ public class CapitalCity {
         this.population = population;
     }
 
+    /**
+     * Constructor that also sets the city id, for the paged queries.
+     *
+     * @param cityId the id of the capital city
+     * @param cityName the name of the capital city
+     * @param countryName the name of the country
+     * @param population the population of the capital city
+     */
+    public CapitalCity(Long cityId, String cityName, String countryName, Integer population) {
+        this(cityName, countryName, population);
+        this.cityId = cityId;
+    }
+
 
     // Getters och setters
+    public Long getCityId() { return cityId; }
+    public void setCityId(Long cityId) { this.cityId = cityId; }
+
     public String getCityName() { return cityName; }
     public void setCityName(String cityName) { this.cityName = cityName; }
 
@@ -9,7 +9,11 @@ import jakarta.persistence.*;
  * including their location, population, and administrative details.
  */
 @Entity
-@Table(name = "city")
+@Table(name = "city", indexes = {
+        @Index(name = "idx_city_district_key", columnList = "`DistrictKey`, `Population`"),
+        @Index(name = "idx_city_name_key", columnList = "`NameKey`"),
+        @Index(name = "idx_city_population", columnList = "`Population`, `ID`")
+})
 public class City {
 
     /**
@@ -50,6 +54,19 @@ public class City {
     @Column(name = "`Population`")
     protected Integer population;
 
+    /**
+     * Lower-case name and district, maintained by the database as generated columns
+     * (see db/world-db/world_v2_lookup_keys.sql) and indexed, so case-insensitive lookups
+     * compare {@code key = LOWER(TRIM(:value))} and can use an index seek.
+     */
+    @Column(name = "`NameKey`", insertable = false, updatable = false,
+            columnDefinition = "varchar(35) generated always as (lower(`Name`))")
+    protected String nameKey;
+
+    @Column(name = "`DistrictKey`", insertable = false, updatable = false,
+            columnDefinition = "varchar(20) generated always as (lower(`District`))")
+    protected String districtKey;
+
     // Getters and setters
     public Long getId() {
         return id;
@@ -0,0 +1,17 @@
+package com.napier.devops.model;
+
+/**
+ * The columns of a {@link City} shown by the city reports (use cases 7-16).
+ * <p>
+ * The report queries select these columns straight into this record, so their rows never
+ * enter the persistence context and need no dirty-checking snapshot.
+ * </p>
+ *
+ * @param id          the city id
+ * @param name        the city name
+ * @param countryCode the code of the country the city is in
+ * @param district    the district the city is in
+ * @param population  the population of the city
+ */
+public record CitySummary(long id, String name, String countryCode, String district, int population) {
+}
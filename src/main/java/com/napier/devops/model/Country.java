@@ -8,7 +8,12 @@ import jakarta.persistence.*;
  * including geographic, demographic, and political data.
  */
 @Entity
-@Table(name = "country")
+@Table(name = "country", indexes = {
+        @Index(name = "idx_country_continent_key", columnList = "`ContinentKey`, `Population`"),
+        @Index(name = "idx_country_region_key", columnList = "`RegionKey`, `Population`"),
+        @Index(name = "idx_country_name_key", columnList = "`NameKey`"),
+        @Index(name = "idx_country_population", columnList = "`Population`, `Code`")
+})
 public class Country {
 
     /**
@@ -40,6 +45,23 @@ public class Country {
     @Column(name = "`Region`")
     protected String region;
 
+    /**
+     * Lower-case continent, name and region, maintained by the database as generated columns
+     * (see db/world-db/world_v2_lookup_keys.sql) and indexed, so case-insensitive lookups
+     * compare {@code key = LOWER(TRIM(:value))} and can use an index seek.
+     */
+    @Column(name = "`ContinentKey`", insertable = false, updatable = false,
+            columnDefinition = "varchar(20) generated always as (lower(`Continent`))")
+    protected String continentKey;
+
+    @Column(name = "`NameKey`", insertable = false, updatable = false,
+            columnDefinition = "varchar(52) generated always as (lower(`Name`))")
+    protected String nameKey;
+
+    @Column(name = "`RegionKey`", insertable = false, updatable = false,
+            columnDefinition = "varchar(26) generated always as (lower(`Region`))")
+    protected String regionKey;
+
     /**
      * Total surface area in square kilometers
      * Includes land and water areas
@@ -0,0 +1,18 @@
+package com.napier.devops.model;
+
+/**
+ * The columns of a {@link Country} shown by the country reports (use cases 1-6).
+ * <p>
+ * The report queries select these columns straight into this record, so a report reads five
+ * columns per row instead of the fifteen of the {@code country} table, and its rows never
+ * enter the persistence context.
+ * </p>
+ *
+ * @param code       the country code
+ * @param name       the country name
+ * @param continent  the continent the country is in
+ * @param region     the region the country is in
+ * @param population the population of the country
+ */
+public record CountrySummary(String code, String name, String continent, String region, long population) {
+}
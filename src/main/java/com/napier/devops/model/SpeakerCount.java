@@ -0,0 +1,12 @@
+package com.napier.devops.model;
+
+/**
+ * Number of people speaking a language in one continent, as computed from the
+ * {@code countrylanguage} percentages and the country populations.
+ *
+ * @param language  the language
+ * @param continent the continent the speakers live in
+ * @param speakers  the number of speakers, not rounded
+ */
+public record SpeakerCount(String language, String continent, double speakers) {
+}
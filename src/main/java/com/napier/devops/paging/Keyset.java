@@ -0,0 +1,85 @@
+package com.napier.devops.paging;
+
+import com.napier.devops.util.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by population (largest first) and then by id (largest first):
+ * the population and id of the last row of the previous page.
+ * <p>
+ * The next page holds the rows that come after that row, found with
+ * {@code population < :population OR (population = :population AND id < :id)}. That predicate
+ * seeks straight to the position on a {@code (population, id)} index, so every page costs the
+ * same however deep the client has paged, unlike an {@code OFFSET}, which reads and discards
+ * every row before the page.
+ * </p>
+ *
+ * @param population population of the last row of the previous page
+ * @param id         id of that row: a city id, or a country code
+ */
+public record Keyset(long population, String id) {
+
+    /**
+     * The position before the first row, since no population reaches {@link Long#MAX_VALUE}.
+     */
+    public static final Keyset FIRST = new Keyset(Long.MAX_VALUE, "");
+
+    /**
+     * @param token a continuation token from {@link #token()}, or {@code null} for the first page
+     * @return the position the token stands for
+     * @throws BadRequestException if the token was not made by {@link #token()}
+     */
+    public static Keyset fromToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return FIRST;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid page token", e);
+        }
+        int separator = decoded.indexOf(':');
+        if (separator < 1) {
+            throw new BadRequestException("Invalid page token");
+        }
+        try {
+            return new Keyset(Long.parseLong(decoded.substring(0, separator)), decoded.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid page token", e);
+        }
+    }
+
+    /**
+     * @return an opaque, URL-safe continuation token for this position
+     */
+    public String token() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((population + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the population as a city population, which is an {@code int}; the first position
+     *         is paired with {@link #cityId()} so it still comes before every city
+     */
+    public int cityPopulation() {
+        return (int) Math.min(population, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return the id as a city id; the first position is before every city id
+     * @throws BadRequestException if the id is not a number
+     */
+    public long cityId() {
+        if (id.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid page token", e);
+        }
+    }
+}
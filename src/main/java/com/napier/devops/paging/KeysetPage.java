@@ -0,0 +1,51 @@
+package com.napier.devops.paging;
+
+import com.napier.devops.util.BadRequestException;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a listing ordered by population, with the token of the page after it.
+ *
+ * @param items the rows of the page
+ * @param next  the continuation token of the next page, or {@code null} if this is the last page
+ * @param <T>   the row type
+ */
+public record KeysetPage<T>(List<T> items, String next) {
+
+    /**
+     * Largest page size a client may ask for.
+     */
+    public static final int MAX_SIZE = 1000;
+
+    /**
+     * Checks a requested page size.
+     * @param size the page size
+     * @return the page size
+     * @throws BadRequestException if the size is not between 1 and {@value #MAX_SIZE}
+     */
+    public static int checkSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_SIZE);
+        }
+        return size;
+    }
+
+    /**
+     * Builds a page from the rows of a query that fetched one row more than the page size,
+     * so the last page is recognised without another query.
+     * @param rows     up to {@code size + 1} rows, in listing order
+     * @param size     the page size
+     * @param position the position of a row in the listing
+     * @param <T>      the row type
+     * @return the page
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, Keyset> position) {
+        if (rows.size() <= size) {
+            return new KeysetPage<>(List.copyOf(rows), null);
+        }
+        List<T> items = List.copyOf(rows.subList(0, size));
+        return new KeysetPage<>(items, position.apply(items.get(size - 1)).token());
+    }
+}
@@ -0,0 +1,33 @@
+package com.napier.devops.pool;
+
+/**
+ * Occupancy and wait times of the database connection pool.
+ *
+ * @param pool              the pool name, as tagged on the {@code hikaricp.*} metrics
+ * @param active            connections checked out by a query
+ * @param idle              connections open and free
+ * @param pending           threads waiting for a connection
+ * @param total             connections open
+ * @param maximum           the most connections the pool will open
+ * @param acquisitions      connections handed out so far
+ * @param acquireMeanMillis average time a thread waited for a connection
+ * @param acquireP99Millis  99th percentile of that wait, over the recent past
+ * @param acquireMaxMillis  longest wait over the recent past
+ * @param usageMeanMillis   average time a connection stayed checked out
+ * @param timeouts          requests that gave up waiting ({@code connection-timeout})
+ */
+public record ConnectionPoolStatistics(
+        String pool,
+        int active,
+        int idle,
+        int pending,
+        int total,
+        int maximum,
+        long acquisitions,
+        double acquireMeanMillis,
+        double acquireP99Millis,
+        double acquireMaxMillis,
+        double usageMeanMillis,
+        long timeouts
+) {
+}
@@ -0,0 +1,94 @@
+package com.napier.devops.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics of the database connection pool, read from Hikari and from the
+ * {@code hikaricp.connections.*} meters it records into.
+ * <p>
+ * There is no pool when the reports are served from a snapshot file, or when the datasource
+ * is not a Hikari one.
+ * </p>
+ */
+@Component
+public class ConnectionPools {
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    /**
+     * Constructor for ConnectionPools
+     * @param dataSource    the datasource, if there is one
+     * @param meterRegistry the registry holding the pool meters, if metrics are on
+     */
+    public ConnectionPools(ObjectProvider<DataSource> dataSource, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @return the statistics of the pool, or empty if there is no Hikari pool or it has not started
+     */
+    public Optional<ConnectionPoolStatistics> statistics() {
+        HikariDataSource hikari = hikari(dataSource.getIfAvailable());
+        HikariPoolMXBean pool = hikari == null ? null : hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            return Optional.empty();
+        }
+
+        String name = hikari.getPoolName();
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        Timer acquire = registry == null ? null : registry.find("hikaricp.connections.acquire").tag("pool", name).timer();
+        Timer usage = registry == null ? null : registry.find("hikaricp.connections.usage").tag("pool", name).timer();
+        Counter timeouts = registry == null ? null : registry.find("hikaricp.connections.timeout").tag("pool", name).counter();
+
+        return Optional.of(new ConnectionPoolStatistics(
+                name,
+                pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                pool.getThreadsAwaitingConnection(),
+                pool.getTotalConnections(),
+                hikari.getMaximumPoolSize(),
+                acquire == null ? 0 : acquire.count(),
+                acquire == null ? 0 : acquire.mean(TimeUnit.MILLISECONDS),
+                acquire == null ? 0 : percentile(acquire, 0.99),
+                acquire == null ? 0 : acquire.max(TimeUnit.MILLISECONDS),
+                usage == null ? 0 : usage.mean(TimeUnit.MILLISECONDS),
+                timeouts == null ? 0 : (long) timeouts.count()));
+    }
+
+    private static HikariDataSource hikari(DataSource dataSource) {
+        try {
+            return dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class)
+                    : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the percentile published by the timer
+     *         ({@code management.metrics.distribution.percentiles.*}), or NaN if it publishes none
+     */
+    private static double percentile(Timer timer, double percentile) {
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return Double.NaN;
+    }
+}
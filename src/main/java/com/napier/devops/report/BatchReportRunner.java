@@ -0,0 +1,366 @@
+package com.napier.devops.report;
+
+import com.napier.devops.export.ReportFormat;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates a batch of reports concurrently, each into its own log file.
+ * <p>
+ * Every report runs on a bounded pool of worker threads and prints through
+ * {@link ReportOutput#current()}, which points at that report's own sink. The console copy of
+ * each report streams through an {@link EchoBuffer} of {@value #ECHO_BUFFER_SIZE} bytes and is
+ * echoed in the order the reports were submitted, so both the files and the console output are
+ * the same whatever order the reports finish in. A report ahead of its turn on the console
+ * waits once its buffer is full; the pool starts reports in submission order, so the report
+ * being echoed is always running and the batch cannot stall.
+ * </p>
+ * <p>
+ * The time taken by every report is recorded by the {@value #REPORT_TIMER} timer, tagged with
+ * the report name (the log file name without {@code .log}) and its outcome.
+ * </p>
+ * <p>
+ * With a {@link ReportOutputCache}, a report that has a cache key is copied from the cache
+ * when it was generated before for the same key, and stored in it when it is generated.
+ * </p>
+ * <p>
+ * A report in a table format ({@link ReportFormat}) is written to a file of that format's
+ * extension instead of its log file; a binary report is never echoed to the console.
+ * </p>
+ */
+public class BatchReportRunner {
+
+    /**
+     * Name of the timer recording how long each report takes.
+     */
+    public static final String REPORT_TIMER = "report.use.case";
+
+    /**
+     * Start of the first line of a text report, followed by the time it was generated.
+     */
+    static final String GENERATED_ON = "Report generated on: ";
+
+    /**
+     * Size of the buffer holding the console copy of a report until its turn to be echoed.
+     */
+    static final int ECHO_BUFFER_SIZE = 64 * 1024;
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final File outputDirectory;
+    private final int threads;
+    private final boolean consoleEcho;
+    private final ReportOutputCache cache;
+
+    /**
+     * A report to generate.
+     * @param fileName name of the log file of the report, relative to the output directory,
+     *                 which also names the report
+     * @param action   the report logic, printing through {@link ReportOutput#current()}
+     * @param cacheKey the key of the report in the {@link ReportOutputCache}, or {@code null}
+     *                 if it is always generated
+     * @param format   the format the report is written in
+     */
+    public record Report(String fileName, Runnable action, String cacheKey, ReportFormat format) {
+
+        /**
+         * A text report that is always generated.
+         * @param fileName name of the log file to write, relative to the output directory
+         * @param action   the report logic, printing through {@link ReportOutput#current()}
+         */
+        public Report(String fileName, Runnable action) {
+            this(fileName, action, null, ReportFormat.TEXT);
+        }
+
+        /**
+         * @param key the key of the report in the {@link ReportOutputCache}
+         * @return this report, cached under that key
+         */
+        public Report cachedAs(String key) {
+            return new Report(fileName, action, key, format);
+        }
+
+        /**
+         * @param format the format to write the report in
+         * @return this report, written in that format
+         */
+        public Report in(ReportFormat format) {
+            return new Report(fileName, action, cacheKey, format);
+        }
+
+        /**
+         * @return the name of the file written, e.g. {@code usecase7.csv} for a CSV report
+         */
+        public String outputFileName() {
+            return format.fileName(fileName);
+        }
+    }
+
+    /**
+     * The outcome of one report.
+     * @param fileName      name of the file written
+     * @param elapsedMillis time taken to generate the report, or to copy it from the cache
+     * @param error         the failure, or {@code null} if the report was written
+     * @param cached        whether the report was copied from the cache
+     */
+    public record Result(String fileName, long elapsedMillis, Exception error, boolean cached) {
+    }
+
+    /**
+     * The outcome of a whole batch.
+     * @param results       one result per report, in submission order
+     * @param elapsedMillis wall-clock time of the batch
+     */
+    public record Summary(List<Result> results, long elapsedMillis) {
+
+        /**
+         * @return the report that took the longest, or {@code null} for an empty batch
+         */
+        public Result slowest() {
+            Result slowest = null;
+            for (Result result : results) {
+                if (slowest == null || result.elapsedMillis() > slowest.elapsedMillis()) {
+                    slowest = result;
+                }
+            }
+            return slowest;
+        }
+
+        /**
+         * @return number of reports that failed
+         */
+        public long failures() {
+            return results.stream().filter(r -> r.error() != null).count();
+        }
+
+        /**
+         * @return number of reports copied from the cache
+         */
+        public long cached() {
+            return results.stream().filter(Result::cached).count();
+        }
+    }
+
+    /**
+     * Constructor for BatchReportRunner
+     * @param outputDirectory directory the log files are written to
+     * @param threads         maximum number of reports generated at once; values below one mean one
+     */
+    public BatchReportRunner(File outputDirectory, int threads) {
+        this(outputDirectory, threads, true);
+    }
+
+    /**
+     * Constructor for BatchReportRunner
+     * @param outputDirectory directory the log files are written to
+     * @param threads         maximum number of reports generated at once; values below one mean one
+     * @param consoleEcho     whether to echo each report to the console as well as its file;
+     *                        the summary is always printed
+     */
+    public BatchReportRunner(File outputDirectory, int threads, boolean consoleEcho) {
+        this(outputDirectory, threads, consoleEcho, null);
+    }
+
+    /**
+     * Constructor for BatchReportRunner
+     * @param outputDirectory directory the log files are written to
+     * @param threads         maximum number of reports generated at once; values below one mean one
+     * @param consoleEcho     whether to echo each report to the console as well as its file;
+     *                        the summary is always printed
+     * @param cache           the cache of the reports that have a cache key, or {@code null} for none
+     */
+    public BatchReportRunner(File outputDirectory, int threads, boolean consoleEcho, ReportOutputCache cache) {
+        this.outputDirectory = outputDirectory;
+        this.threads = Math.max(1, threads);
+        this.consoleEcho = consoleEcho;
+        this.cache = cache;
+    }
+
+    /**
+     * Generates every report and, if console echo is on, echoes them to the console in submission order.
+     * @param reports the reports to generate
+     * @param console the stream to echo the reports and the summary to
+     * @return the outcome of the batch
+     */
+    public Summary run(List<Report> reports, PrintStream console) {
+        ensureOutputDirectory(outputDirectory);
+        long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, reports.size())),
+                workerThreads());
+        List<Result> results = new ArrayList<>();
+        List<EchoBuffer> echoes = new ArrayList<>();
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (Report report : reports) {
+                EchoBuffer echo = consoleEcho ? new EchoBuffer(ECHO_BUFFER_SIZE) : null;
+                echoes.add(echo);
+                futures.add(executor.submit(() -> {
+                    try {
+                        return cache != null && report.cacheKey() != null
+                                ? writeCached(outputDirectory, report, echo, cache)
+                                : write(outputDirectory, report, echo);
+                    } finally {
+                        if (echo != null) {
+                            echo.close();
+                        }
+                    }
+                }));
+            }
+            boolean echoing = true;
+            for (int i = 0; i < futures.size(); i++) {
+                if (echoing && echoes.get(i) != null) {
+                    try {
+                        echoes.get(i).drainTo(console);
+                        console.flush();
+                    } catch (IOException e) {
+                        // stop echoing, but still collect every result so that none goes uncounted
+                        console.println("Error echoing reports: " + e.getMessage());
+                        echoing = false;
+                        abandon(echoes);
+                    }
+                }
+                results.add(await(futures.get(i), reports.get(i)));
+            }
+        } finally {
+            // lets reports still being written finish without their echo
+            abandon(echoes);
+            executor.shutdown();
+        }
+
+        Summary summary = new Summary(results, (System.nanoTime() - start) / 1_000_000);
+        Result slowest = summary.slowest();
+        console.printf("%nGenerated %d reports in %d ms on %d threads (%d failed%s)%s%n",
+                results.size(), summary.elapsedMillis(), threads, summary.failures(),
+                cache != null ? ", " + summary.cached() + " from cache" : "",
+                slowest != null ? "; slowest: " + slowest.fileName() + " (" + slowest.elapsedMillis() + " ms)" : "");
+        return summary;
+    }
+
+    /**
+     * Generates one report into its log file, echoing it to the given console stream.
+     * Failures are reported on {@link System#err} and returned rather than thrown.
+     * @param outputDirectory directory the log file is written to
+     * @param report          the report to generate
+     * @param console         the stream to echo the report to, or {@code null} for no echo
+     * @return the outcome of the report
+     */
+    public static Result write(File outputDirectory, Report report, OutputStream console) {
+        ensureOutputDirectory(outputDirectory);
+        long start = System.nanoTime();
+        Exception error = null;
+
+        File file = new File(outputDirectory, report.outputFileName());
+        try (ReportSink sink = ReportSink.open(file, report.format().binary() ? null : console)) {
+            PrintStream out = sink.printStream();
+            ReportOutput.runWith(out, report.format(), () -> {
+                // Add a timestamp at the start of the report
+                ReportOutput.current().println(timestamp() + "\n");
+                report.action().run();
+            });
+            out.flush();
+        } catch (Exception e) {
+            error = e;
+            System.err.println("Error writing output for " + report.outputFileName() + ": " + e.getMessage());
+            e.printStackTrace(System.err);
+        }
+        long elapsed = System.nanoTime() - start;
+        record(report, error == null ? "success" : "error", elapsed);
+        return new Result(report.outputFileName(), elapsed / 1_000_000, error, false);
+    }
+
+    /**
+     * Copies one report from the cache into its log file or, if it is not cached, generates
+     * it and stores it in the cache. Failed reports are not stored.
+     */
+    private static Result writeCached(File outputDirectory, Report report, OutputStream console, ReportOutputCache cache) {
+        long start = System.nanoTime();
+        try {
+            File file = new File(outputDirectory, report.outputFileName());
+            if (cache.copyTo(report.cacheKey(), file, report.format().binary() ? null : console, timestamp())) {
+                long elapsed = System.nanoTime() - start;
+                record(report, "cached", elapsed);
+                return new Result(report.outputFileName(), elapsed / 1_000_000, null, true);
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading the cached " + report.outputFileName() + ", generating it: " + e.getMessage());
+        }
+
+        Result result = write(outputDirectory, report, console);
+        if (result.error() == null) {
+            try {
+                cache.store(report.cacheKey(), new File(outputDirectory, report.outputFileName()));
+            } catch (IOException e) {
+                System.err.println("Error caching " + report.outputFileName() + ": " + e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private static String timestamp() {
+        return GENERATED_ON + LocalDateTime.now().format(TIMESTAMP);
+    }
+
+    private static void record(Report report, String outcome, long elapsedNanos) {
+        Timer.builder(REPORT_TIMER)
+                .description("Time taken to generate one report")
+                .tag("report", report.fileName().replaceFirst("\\.log$", ""))
+                .tag("outcome", outcome)
+                .register(Metrics.globalRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static void ensureOutputDirectory(File dir) {
+        if (!dir.exists() && !dir.mkdirs()) {
+            System.err.println("Warning: could not create output directory " + dir.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Waits for a report; one that cannot be waited for counts as failed.
+     */
+    private static Result await(Future<Result> future, Report report) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            // keep the interrupt: every report not yet collected is then counted as failed at once
+            Thread.currentThread().interrupt();
+            return new Result(report.outputFileName(), 0, e, false);
+        } catch (ExecutionException e) {
+            return new Result(report.outputFileName(), 0, e.getCause() instanceof Exception cause ? cause : e, false);
+        }
+    }
+
+    private static void abandon(List<EchoBuffer> echoes) {
+        for (EchoBuffer echo : echoes) {
+            if (echo != null) {
+                echo.abandon();
+            }
+        }
+    }
+
+    private static ThreadFactory workerThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "report-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,118 @@
+package com.napier.devops.report;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+
+/**
+ * The console copy of one report, handed from the worker thread writing the report to the
+ * thread echoing it through a fixed-size ring buffer.
+ * <p>
+ * The worker blocks while the buffer is full, so a report waiting for its turn on the console
+ * holds at most {@code capacity} bytes of it in memory, however long the report is. The
+ * echoing thread drains the buffers one report at a time, in the order the reports were
+ * submitted.
+ * </p>
+ */
+final class EchoBuffer extends OutputStream {
+
+    private final byte[] buffer;
+    private int start;
+    private int size;
+    private boolean closed;
+    private boolean abandoned;
+
+    /**
+     * Constructor for EchoBuffer
+     * @param capacity size of the buffer, in bytes
+     */
+    EchoBuffer(int capacity) {
+        this.buffer = new byte[capacity];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    /**
+     * Adds bytes to the buffer, waiting for room as the echoing thread drains it.
+     * Bytes written after {@link #abandon()} are dropped.
+     */
+    @Override
+    public synchronized void write(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Echo already closed");
+        }
+        while (len > 0) {
+            while (size == buffer.length && !abandoned) {
+                await();
+            }
+            if (abandoned) {
+                return;
+            }
+            int end = (start + size) % buffer.length;
+            int count = Math.min(len, Math.min(buffer.length - size, buffer.length - end));
+            System.arraycopy(b, off, buffer, end, count);
+            size += count;
+            off += count;
+            len -= count;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Marks the end of the report.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    /**
+     * Copies the report to a stream as it is written, until it is closed.
+     * @param console the stream to echo to
+     * @throws IOException if the stream cannot be written, or the thread is interrupted
+     */
+    void drainTo(OutputStream console) throws IOException {
+        byte[] chunk = new byte[buffer.length];
+        while (true) {
+            int count;
+            synchronized (this) {
+                while (size == 0 && !closed) {
+                    await();
+                }
+                if (size == 0) {
+                    return;
+                }
+                count = Math.min(size, buffer.length - start);
+                System.arraycopy(buffer, start, chunk, 0, count);
+                start = (start + count) % buffer.length;
+                size -= count;
+                notifyAll();
+            }
+            // written outside the lock, so the worker can refill the buffer meanwhile
+            console.write(chunk, 0, count);
+        }
+    }
+
+    /**
+     * Stops echoing: drops what is buffered and lets the worker write the rest of the
+     * report without waiting.
+     */
+    synchronized void abandon() {
+        abandoned = true;
+        size = 0;
+        notifyAll();
+    }
+
+    private void await() throws InterruptedIOException {
+        try {
+            wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while echoing a report");
+        }
+    }
+}
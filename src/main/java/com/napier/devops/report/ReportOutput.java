@@ -0,0 +1,113 @@
+package com.napier.devops.report;
+
+import com.napier.devops.export.ReportFormat;
+import com.napier.devops.export.ReportTable;
+import com.napier.devops.export.TableWriter;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * The stream the report currently being generated on this thread writes to.
+ * <p>
+ * Report code prints through {@link #current()} instead of {@link System#out}, so several
+ * reports can be generated at once on different threads, each into its own sink, without
+ * swapping the JVM-wide {@code System.out}. Outside a report, {@link #current()} is
+ * {@code System.out}.
+ * </p>
+ * <p>
+ * A report exported as a table ({@link ReportFormat#CSV} or {@link ReportFormat#COLUMNAR})
+ * writes its rows through {@link #table(ReportTable)} instead; what it prints is discarded, so
+ * the file holds the table only.
+ * </p>
+ */
+public final class ReportOutput {
+
+    private static final ThreadLocal<PrintStream> CURRENT = new ThreadLocal<>();
+
+    private static final ThreadLocal<Export> EXPORT = new ThreadLocal<>();
+
+    private static final PrintStream DISCARD = new PrintStream(OutputStream.nullOutputStream());
+
+    private ReportOutput() {
+    }
+
+    /**
+     * @return the stream of the report running on this thread, or {@link System#out}
+     */
+    public static PrintStream current() {
+        PrintStream stream = CURRENT.get();
+        return stream != null ? stream : System.out;
+    }
+
+    /**
+     * Runs an action with {@link #current()} pointing at the given stream on this thread.
+     * @param stream the stream the action should print to
+     * @param action the report logic
+     */
+    public static void runWith(PrintStream stream, Runnable action) {
+        runWith(stream, ReportFormat.TEXT, action);
+    }
+
+    /**
+     * Runs an action writing a report in the given format to a stream, on this thread.
+     * @param stream the stream the report is written to
+     * @param format the format of the report; for the table formats, {@link #current()}
+     *               discards what is printed and {@link #table(ReportTable)} writes to the stream
+     * @param action the report logic
+     */
+    public static void runWith(PrintStream stream, ReportFormat format, Runnable action) {
+        PrintStream previous = CURRENT.get();
+        Export previousExport = EXPORT.get();
+        CURRENT.set(format == ReportFormat.TEXT ? stream : DISCARD);
+        EXPORT.set(format == ReportFormat.TEXT ? null : new Export(stream, format));
+        try {
+            action.run();
+        } finally {
+            restore(CURRENT, previous);
+            restore(EXPORT, previousExport);
+        }
+    }
+
+    /**
+     * Starts the table of the report running on this thread, if it is exported as a table.
+     * @param table the table the report is made of
+     * @param <T>   the type of the rows
+     * @return the writer of the rows, to close once they are written, or {@code null} if the
+     *         report is text, or there is none
+     */
+    public static <T> TableWriter<T> table(ReportTable<T> table) {
+        Export export = EXPORT.get();
+        return export != null ? export.format().writer(table, export.stream()) : null;
+    }
+
+    /**
+     * Writes all the rows of the report running on this thread, if it is exported as a table.
+     * @param table the table the report is made of
+     * @param rows  the rows
+     * @param <T>   the type of the rows
+     * @return whether the rows were written; if not, the report prints them as text
+     */
+    public static <T> boolean export(ReportTable<T> table, Iterable<? extends T> rows) {
+        try (TableWriter<T> writer = table(table)) {
+            if (writer == null) {
+                return false;
+            }
+            for (T row : rows) {
+                writer.row(row);
+            }
+        }
+        return true;
+    }
+
+    private static <T> void restore(ThreadLocal<T> local, T previous) {
+        if (previous != null) {
+            local.set(previous);
+        } else {
+            local.remove();
+        }
+    }
+
+    private record Export(OutputStream stream, ReportFormat format) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.napier.devops.report;
+
+import com.napier.devops.util.RowDigest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Generated report files kept on disk across runs, addressed by a hash of everything the
+ * report depends on: the build that formats it, where its data is read from, the version of
+ * that data, the report and its parameters.
+ * <p>
+ * A report whose key is found is copied from the cache instead of being queried and
+ * formatted again; a text report's "Report generated on" line is rewritten with the time of
+ * the copy, so it reads as generated by the run that served it. Entries
+ * are never invalidated, only superseded: new data or parameters give a new key, and
+ * {@link #prune()} removes the entries no run has used for {@code maxAge}.
+ * </p>
+ */
+public class ReportOutputCache {
+
+    /**
+     * Version of the report layout; change it when the reports are formatted differently,
+     * so that reports formatted the old way are not served.
+     */
+    static final String FORMAT = "1";
+
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final Duration maxAge;
+
+    /**
+     * Constructor for ReportOutputCache
+     * @param directory directory holding the cached reports, created if missing
+     * @param maxAge    how long an entry is kept after it was last written or served
+     */
+    public ReportOutputCache(Path directory, Duration maxAge) {
+        this.directory = directory;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Computes the key of a report.
+     * @param build       version of the application build that formats the report
+     * @param source      where the report's data is read from, e.g. {@code snapshot} or {@code database}
+     * @param dataVersion fingerprint of the data the report reads
+     * @param fileName    the report's log file name, which names the use case
+     * @param parameters  the report's parameters; their order does not matter
+     * @return the key, a hex SHA-256 digest
+     */
+    public static String key(String build, String source, String dataVersion, String fileName,
+                             Map<String, String> parameters) {
+        RowDigest digest = new RowDigest().add(FORMAT).add(build).add(source).add(dataVersion).add(fileName);
+        for (Map.Entry<String, String> parameter : new TreeMap<>(parameters).entrySet()) {
+            digest.add(parameter.getKey()).add(parameter.getValue());
+        }
+        return digest.hex();
+    }
+
+    /**
+     * Copies a cached report to its log file, echoing it to the console.
+     * @param key       the report's key
+     * @param target    the log file to write
+     * @param console   the stream to echo the report to, or {@code null} for no echo
+     * @param timestamp the "Report generated on" line of this run, put in place of the cached
+     *                  report's first line if that is one too
+     * @return whether the report was cached; if not, nothing is written
+     * @throws IOException if the cached report cannot be copied
+     */
+    public boolean copyTo(String key, File target, OutputStream console, String timestamp) throws IOException {
+        Path entry = entry(key);
+        byte[] body;
+        try {
+            body = restamp(Files.readAllBytes(entry), timestamp);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        Files.write(target.toPath(), body);
+        if (console != null) {
+            console.write(body);
+        }
+        // marks the entry as in use, for prune()
+        Files.setLastModifiedTime(entry, FileTime.from(Instant.now()));
+        return true;
+    }
+
+    /**
+     * Keeps a copy of a report just generated.
+     * @param key    the report's key
+     * @param source the log file the report was written to
+     * @throws IOException if the copy cannot be written
+     */
+    public void store(String key, File source) throws IOException {
+        Files.createDirectories(directory);
+        // written aside then moved, so a report is never served half written
+        Path temporary = Files.createTempFile(directory, key, ".tmp");
+        try {
+            Files.copy(source.toPath(), temporary, StandardCopyOption.REPLACE_EXISTING);
+            try {
+                Files.move(temporary, entry(key), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, entry(key), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Removes the entries that have not been written or served for {@code maxAge}.
+     * @return the number of entries removed
+     * @throws IOException if the directory cannot be read
+     */
+    public int prune() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        FileTime oldest = FileTime.from(Instant.now().minus(maxAge));
+        int removed = 0;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path entry : entries) {
+                if (Files.getLastModifiedTime(entry).compareTo(oldest) < 0 && Files.deleteIfExists(entry)) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * @return the report with its first line replaced by {@code timestamp} when both are timestamp lines
+     */
+    private static byte[] restamp(byte[] report, String timestamp) {
+        byte[] label = BatchReportRunner.GENERATED_ON.getBytes(StandardCharsets.UTF_8);
+        if (timestamp == null || !Arrays.equals(report, 0, Math.min(label.length, report.length), label, 0, label.length)) {
+            return report;
+        }
+        int end = label.length;
+        while (end < report.length && report[end] != '\n') {
+            end++;
+        }
+        byte[] line = timestamp.getBytes(StandardCharsets.UTF_8);
+        byte[] restamped = new byte[line.length + report.length - end];
+        System.arraycopy(line, 0, restamped, 0, line.length);
+        System.arraycopy(report, end, restamped, line.length, report.length - end);
+        return restamped;
+    }
+
+    private Path entry(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+}
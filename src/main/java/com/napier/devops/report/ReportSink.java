@@ -0,0 +1,96 @@
+package com.napier.devops.report;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Where a single report is written: its log file and, optionally, a copy on the console.
+ * <p>
+ * Both channels are buffered and written in bulk, so a report made of thousands of
+ * {@code printf} rows costs a handful of system calls instead of two per character.
+ * Closing the sink flushes and closes the file, and flushes the console without closing it.
+ * </p>
+ */
+public final class ReportSink extends OutputStream {
+
+    /**
+     * Size of the file and console buffers, in bytes.
+     */
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream file;
+    private final OutputStream console;
+
+    private ReportSink(OutputStream file, OutputStream console) {
+        this.file = file;
+        this.console = console;
+    }
+
+    /**
+     * Opens a sink writing to a file, overwriting it if it exists.
+     * @param file    the log file
+     * @param console the stream to echo the report to, or {@code null} for no echo
+     * @return the sink
+     * @throws IOException if the file cannot be opened
+     */
+    public static ReportSink open(File file, OutputStream console) throws IOException {
+        return of(new FileOutputStream(file), console);
+    }
+
+    /**
+     * Creates a sink over existing streams.
+     * @param file    the stream the report is stored in; closed with the sink
+     * @param console the stream to echo the report to, or {@code null} for no echo; flushed but never closed
+     * @return the sink
+     */
+    public static ReportSink of(OutputStream file, OutputStream console) {
+        return new ReportSink(new BufferedOutputStream(file, BUFFER_SIZE),
+                console != null ? new BufferedOutputStream(console, BUFFER_SIZE) : null);
+    }
+
+    /**
+     * @return a print stream over this sink, for use with {@link ReportOutput#runWith(PrintStream, Runnable)}
+     */
+    public PrintStream printStream() {
+        return new PrintStream(this, false);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        file.write(b);
+        if (console != null) {
+            console.write(b);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        file.write(b, off, len);
+        if (console != null) {
+            console.write(b, off, len);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        file.flush();
+        if (console != null) {
+            console.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (console != null) {
+                console.flush();
+            }
+        } finally {
+            file.close();
+        }
+    }
+}
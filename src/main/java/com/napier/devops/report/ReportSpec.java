@@ -0,0 +1,76 @@
+package com.napier.devops.report;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.napier.devops.util.BadRequestException;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * One use case to run, with the parameters it takes; the same parameters as
+ * {@code parameters.properties} holds for the use cases run in containerized mode.
+ * <p>
+ * Parameters the use case does not take are ignored, so two specs for the same use case and
+ * the same relevant parameters are equal once {@link #normalized normalized}.
+ * </p>
+ * @param useCase   the use case number, 1-32
+ * @param continent the continent of use cases 2, 5, 8, 13, 18, 21 and 27
+ * @param region    the region of use cases 3, 6, 9, 14, 19, 22 and 28
+ * @param country   the country of use cases 10, 15 and 29
+ * @param district  the district of use cases 11, 16 and 30
+ * @param city      the city of use case 31
+ * @param limit     the N of the top-N use cases 4-6, 12-16 and 20-22
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReportSpec(int useCase, String continent, String region, String country, String district,
+                         String city, Integer limit) {
+
+    /**
+     * A parameter a use case can take.
+     */
+    public enum Parameter {
+        CONTINENT, REGION, COUNTRY, DISTRICT, CITY, LIMIT
+    }
+
+    /**
+     * @param parameters the parameters the use case takes
+     * @return this spec with every other parameter cleared and the names trimmed
+     * @throws BadRequestException if a parameter the use case takes is missing
+     */
+    public ReportSpec normalized(Set<Parameter> parameters) {
+        return new ReportSpec(useCase,
+                name(parameters, Parameter.CONTINENT, continent),
+                name(parameters, Parameter.REGION, region),
+                name(parameters, Parameter.COUNTRY, country),
+                name(parameters, Parameter.DISTRICT, district),
+                name(parameters, Parameter.CITY, city),
+                limit(parameters));
+    }
+
+    private String name(Set<Parameter> parameters, Parameter parameter, String value) {
+        if (!parameters.contains(parameter)) {
+            return null;
+        }
+        if (value == null || value.isBlank()) {
+            throw new BadRequestException(missing(parameter));
+        }
+        return value.trim();
+    }
+
+    private Integer limit(Set<Parameter> parameters) {
+        if (!parameters.contains(Parameter.LIMIT)) {
+            return null;
+        }
+        if (limit == null) {
+            throw new BadRequestException(missing(Parameter.LIMIT));
+        }
+        if (limit < 0) {
+            throw new BadRequestException("Use case " + useCase + " needs a limit of 0 or more, not " + limit);
+        }
+        return limit;
+    }
+
+    private String missing(Parameter parameter) {
+        return "Use case " + useCase + " needs a " + parameter.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,149 @@
+package com.napier.devops.report;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The layout of one row of a fixed-width text table, parsed once from the {@code printf}
+ * pattern the row was printed with, e.g. {@code "%-30s %-15s %-20s %,15d\n"}.
+ * <p>
+ * A {@link TableRenderer} then prints rows in that layout, byte for byte as
+ * {@link PrintStream#printf} would, without parsing the pattern or boxing the numbers again
+ * for every row. The patterns may hold literal text, {@code %%}, {@code %n} and these
+ * conversions:
+ * </p>
+ * <ul>
+ *   <li>{@code %s}, {@code %Ns}, {@code %-Ns}: a string, right- or left-aligned in N characters;</li>
+ *   <li>{@code %d}, {@code %Nd}, {@code %,Nd}: a whole number, right-aligned, with digit groups for {@code ,};</li>
+ *   <li>{@code %.Pf}, {@code %N.Pf}: a number with P decimals, right-aligned.</li>
+ * </ul>
+ * Layouts are immutable and shared; renderers are not.
+ */
+public final class TableLayout {
+
+    /**
+     * The kind of value of a column.
+     */
+    enum Kind {
+        TEXT, NUMBER, DECIMAL
+    }
+
+    /**
+     * One value of the row.
+     * @param kind      the kind of value
+     * @param width     the minimum width, 0 for none
+     * @param leftAlign whether the value is padded on the right
+     * @param grouped   whether the digits are grouped
+     * @param precision the number of decimals of a {@link Kind#DECIMAL}
+     * @param spec      the conversion as written in the pattern, e.g. {@code %,15d}
+     */
+    record Column(Kind kind, int width, boolean leftAlign, boolean grouped, int precision, String spec) {
+    }
+
+    private final String pattern;
+    private final List<Column> columns;
+    // literals[i] comes before columns[i]; the last one ends the row
+    private final String[] literals;
+
+    private TableLayout(String pattern, List<Column> columns, List<String> literals) {
+        this.pattern = pattern;
+        this.columns = List.copyOf(columns);
+        this.literals = literals.toArray(new String[0]);
+    }
+
+    /**
+     * Parses a row pattern.
+     * @param pattern the {@code printf} pattern of the row
+     * @return the layout
+     * @throws IllegalArgumentException if the pattern holds a conversion other than those above
+     */
+    public static TableLayout of(String pattern) {
+        List<Column> columns = new ArrayList<>();
+        List<String> literals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i++);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            int start = i - 1;
+            boolean leftAlign = false;
+            boolean grouped = false;
+            while (i < pattern.length() && (pattern.charAt(i) == '-' || pattern.charAt(i) == ',')) {
+                leftAlign |= pattern.charAt(i) == '-';
+                grouped |= pattern.charAt(i) == ',';
+                i++;
+            }
+            int width = 0;
+            while (i < pattern.length() && Character.isDigit(pattern.charAt(i))) {
+                width = width * 10 + pattern.charAt(i++) - '0';
+            }
+            int precision = -1;
+            if (i < pattern.length() && pattern.charAt(i) == '.') {
+                precision = 0;
+                i++;
+                while (i < pattern.length() && Character.isDigit(pattern.charAt(i))) {
+                    precision = precision * 10 + pattern.charAt(i++) - '0';
+                }
+            }
+            if (i == pattern.length()) {
+                throw unsupported(pattern, pattern.substring(start));
+            }
+            char conversion = pattern.charAt(i++);
+            String spec = pattern.substring(start, i);
+            boolean plain = !leftAlign && !grouped && width == 0 && precision < 0;
+            if (conversion == '%' && plain) {
+                literal.append('%');
+            } else if (conversion == 'n' && plain) {
+                literal.append(System.lineSeparator());
+            } else if (conversion == 's' && !grouped && precision < 0) {
+                columns.add(new Column(Kind.TEXT, width, leftAlign, false, 0, spec));
+                literals.add(literal.toString());
+                literal.setLength(0);
+            } else if (conversion == 'd' && !leftAlign && precision < 0) {
+                columns.add(new Column(Kind.NUMBER, width, false, grouped, 0, spec));
+                literals.add(literal.toString());
+                literal.setLength(0);
+            } else if (conversion == 'f' && !leftAlign && !grouped && precision >= 0 && precision <= 9) {
+                columns.add(new Column(Kind.DECIMAL, width, false, false, precision, spec));
+                literals.add(literal.toString());
+                literal.setLength(0);
+            } else {
+                throw unsupported(pattern, spec);
+            }
+        }
+        literals.add(literal.toString());
+        return new TableLayout(pattern, columns, literals);
+    }
+
+    /**
+     * Starts printing rows in this layout.
+     * @param out the stream to print to, e.g. {@link ReportOutput#current()}
+     * @return a renderer of rows, for one thread at a time
+     */
+    public TableRenderer renderer(PrintStream out) {
+        return new TableRenderer(this, out);
+    }
+
+    /**
+     * @return the pattern the layout was parsed from
+     */
+    public String pattern() {
+        return pattern;
+    }
+
+    List<Column> columns() {
+        return columns;
+    }
+
+    String literal(int index) {
+        return literals[index];
+    }
+
+    private static IllegalArgumentException unsupported(String pattern, String spec) {
+        return new IllegalArgumentException("Unsupported conversion " + spec + " in row pattern " + pattern);
+    }
+}
@@ -0,0 +1,286 @@
+package com.napier.devops.report;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prints the rows of a {@link TableLayout} to a stream, one value at a time:
+ * <pre>{@code
+ * TableRenderer row = CITY_ROW.renderer(out);
+ * for (CitySummary city : cities) {
+ *     row.text(city.name()).text(city.countryCode()).text(city.district()).number(city.population()).end();
+ * }
+ * }</pre>
+ * Each row is padded, digit-grouped and encoded into buffers the renderer reuses, then written
+ * with a single call, so printing a row allocates nothing once the buffers have grown to the
+ * widest row. The output is the one {@link PrintStream#printf} gives for the layout's pattern in
+ * the default format locale and the stream's charset, including for {@code null} strings.
+ * <p>
+ * A renderer is for one table printed by one thread.
+ * </p>
+ */
+public final class TableRenderer {
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+    };
+
+    private final TableLayout layout;
+    private final List<TableLayout.Column> columns;
+    private final PrintStream out;
+    private final Locale locale;
+    private final char zero;
+    private final char groupingSeparator;
+    private final int groupingSize;
+    private final char decimalSeparator;
+    private final boolean asciiCompatible;
+    private final CharsetEncoder encoder;
+
+    private char[] chars = new char[256];
+    private byte[] bytes = new byte[512];
+    private CharBuffer charBuffer = CharBuffer.wrap(chars);
+    private ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+    private int length;
+    private int column;
+
+    TableRenderer(TableLayout layout, PrintStream out) {
+        this.layout = layout;
+        this.columns = layout.columns();
+        this.out = out;
+        // the locale printf formats with
+        this.locale = Locale.getDefault(Locale.Category.FORMAT);
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        this.zero = symbols.getZeroDigit();
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        if (locale.equals(Locale.US)) {
+            this.groupingSeparator = ',';
+            this.groupingSize = 3;
+        } else {
+            NumberFormat format = NumberFormat.getNumberInstance(locale);
+            int size = format instanceof DecimalFormat decimal ? decimal.getGroupingSize() : 3;
+            boolean used = !(format instanceof DecimalFormat decimal) || decimal.isGroupingUsed();
+            this.groupingSize = size;
+            this.groupingSeparator = used && size > 0 ? symbols.getGroupingSeparator() : '\0';
+        }
+        Charset charset = out.charset();
+        this.asciiCompatible = charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+                || charset.equals(StandardCharsets.ISO_8859_1);
+        // as PrintStream encodes
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Adds the next value of the row, a {@code %s} column.
+     * @param value the value; {@code null} is printed as {@code null}
+     * @return this renderer
+     * @throws IllegalStateException if the next column is not a string
+     */
+    public TableRenderer text(String value) {
+        TableLayout.Column next = next(TableLayout.Kind.TEXT);
+        String text = value != null ? value : "null";
+        int padding = Math.max(0, next.width() - text.length());
+        ensureCapacity(text.length() + padding);
+        if (!next.leftAlign()) {
+            pad(padding);
+        }
+        text.getChars(0, text.length(), chars, length);
+        length += text.length();
+        if (next.leftAlign()) {
+            pad(padding);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the next value of the row, a {@code %d} column.
+     * @param value the value
+     * @return this renderer
+     * @throws IllegalStateException if the next column is not a whole number
+     */
+    public TableRenderer number(long value) {
+        TableLayout.Column next = next(TableLayout.Kind.NUMBER);
+        char separator = next.grouped() ? groupingSeparator : '\0';
+        // digits of a negative magnitude, so that Long.MIN_VALUE needs no special case
+        long negative = value < 0 ? value : -value;
+        int digits = 1;
+        for (long rest = negative / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int separators = separator != '\0' ? (digits - 1) / groupingSize : 0;
+        int size = (value < 0 ? 1 : 0) + digits + separators;
+        int padding = Math.max(0, next.width() - size);
+        ensureCapacity(padding + size);
+        pad(padding);
+        if (value < 0) {
+            chars[length] = '-';
+        }
+        int end = length + size;
+        int position = end;
+        for (int digit = 0; digit < digits; digit++) {
+            if (separators > 0 && digit > 0 && digit % groupingSize == 0) {
+                chars[--position] = separator;
+            }
+            chars[--position] = (char) (zero - (negative % 10));
+            negative /= 10;
+        }
+        length = end;
+        return this;
+    }
+
+    /**
+     * Adds the next value of the row, a {@code %.Pf} column, rounded half up as {@code printf} does.
+     * @param value the value
+     * @return this renderer
+     * @throws IllegalStateException if the next column is not a decimal
+     */
+    public TableRenderer decimal(double value) {
+        TableLayout.Column next = next(TableLayout.Kind.DECIMAL);
+        int precision = next.precision();
+        double scaled = Math.abs(value) * POWERS_OF_TEN[precision];
+        long whole = (long) scaled;
+        double fraction = scaled - whole;
+        // printf rounds the shortest decimal form of the value; far from a tie, rounding the binary value agrees
+        if (!Double.isFinite(value) || Math.abs(value) >= 1e6 || scaled >= 1e9 || Math.abs(fraction - 0.5) < 1e-6) {
+            String formatted = String.format(locale, next.spec(), value);
+            ensureCapacity(formatted.length());
+            formatted.getChars(0, formatted.length(), chars, length);
+            length += formatted.length();
+            return this;
+        }
+        long rounded = fraction > 0.5 ? whole + 1 : whole;
+        long integer = rounded / POWERS_OF_TEN[precision];
+        long decimals = rounded % POWERS_OF_TEN[precision];
+        boolean sign = Double.doubleToRawLongBits(value) < 0;
+        int digits = 1;
+        for (long rest = integer / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int size = (sign ? 1 : 0) + digits + (precision > 0 ? 1 + precision : 0);
+        int padding = Math.max(0, next.width() - size);
+        ensureCapacity(padding + size);
+        pad(padding);
+        if (sign) {
+            chars[length] = '-';
+        }
+        int end = length + size;
+        int position = end;
+        for (int digit = 0; digit < precision; digit++) {
+            chars[--position] = (char) (zero + decimals % 10);
+            decimals /= 10;
+        }
+        if (precision > 0) {
+            chars[--position] = decimalSeparator;
+        }
+        for (int digit = 0; digit < digits; digit++) {
+            chars[--position] = (char) (zero + integer % 10);
+            integer /= 10;
+        }
+        length = end;
+        return this;
+    }
+
+    /**
+     * Ends the row and writes it to the stream.
+     * @throws IllegalStateException if a value of the row is missing
+     */
+    public void end() {
+        if (column != columns.size()) {
+            throw new IllegalStateException("Row of " + layout.pattern() + " ended after " + column + " of "
+                    + columns.size() + " values");
+        }
+        appendLiteral(column);
+        write();
+        length = 0;
+        column = 0;
+    }
+
+    private TableLayout.Column next(TableLayout.Kind kind) {
+        if (column == columns.size()) {
+            throw new IllegalStateException("Row of " + layout.pattern() + " has only " + columns.size() + " values");
+        }
+        TableLayout.Column next = columns.get(column);
+        if (next.kind() != kind) {
+            throw new IllegalStateException("Value " + (column + 1) + " of " + layout.pattern() + " is "
+                    + next.spec() + ", not " + kind.name().toLowerCase(Locale.ROOT));
+        }
+        appendLiteral(column++);
+        return next;
+    }
+
+    private void appendLiteral(int index) {
+        String literal = layout.literal(index);
+        ensureCapacity(literal.length());
+        literal.getChars(0, literal.length(), chars, length);
+        length += literal.length();
+    }
+
+    private void pad(int padding) {
+        for (int i = 0; i < padding; i++) {
+            chars[length++] = ' ';
+        }
+    }
+
+    private void ensureCapacity(int more) {
+        if (length + more > chars.length) {
+            char[] grown = new char[Math.max(chars.length * 2, length + more)];
+            System.arraycopy(chars, 0, grown, 0, length);
+            chars = grown;
+            charBuffer = CharBuffer.wrap(chars);
+        }
+    }
+
+    private void write() {
+        if (asciiCompatible && ascii()) {
+            if (bytes.length < length) {
+                growBytes(length);
+            }
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) chars[i];
+            }
+            out.write(bytes, 0, length);
+            return;
+        }
+        charBuffer.limit(length).position(0);
+        byteBuffer.clear();
+        encoder.reset();
+        CoderResult result = encoder.encode(charBuffer, byteBuffer, true);
+        while (result.isOverflow()) {
+            growBytes(bytes.length * 2);
+            result = encoder.encode(charBuffer, byteBuffer, true);
+        }
+        while (encoder.flush(byteBuffer).isOverflow()) {
+            growBytes(bytes.length * 2);
+        }
+        out.write(bytes, 0, byteBuffer.position());
+    }
+
+    private boolean ascii() {
+        for (int i = 0; i < length; i++) {
+            if (chars[i] >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void growBytes(int size) {
+        byte[] grown = new byte[Math.max(bytes.length * 2, size)];
+        int position = byteBuffer.position();
+        System.arraycopy(bytes, 0, grown, 0, position);
+        bytes = grown;
+        byteBuffer = ByteBuffer.wrap(bytes).position(position);
+    }
+}
@@ -0,0 +1,116 @@
+package com.napier.devops.report;
+
+import com.napier.devops.report.ReportSpec.Parameter;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Map.entry;
+
+/**
+ * The dependency graph of the reports: the tables every use case reads, and the parameter
+ * that narrows them down to part of the world.
+ * <p>
+ * A report only has to be generated again when one of the {@link WorldDataPartitions} it
+ * depends on changes. Keep this table in step with the queries behind each use case: a table
+ * left out here means the report is served stale when only that table changes.
+ * </p>
+ */
+public final class UseCaseDependencies {
+
+    /**
+     * A table of the world database.
+     */
+    public enum Table {
+        COUNTRY, CITY, COUNTRY_LANGUAGE
+    }
+
+    /**
+     * What a use case reads.
+     * @param tables the tables it reads
+     * @param scope  the parameter choosing the part of the world it reads, or {@code null} for all of it
+     */
+    public record Reads(Set<Table> tables, Parameter scope) {
+
+        /**
+         * @param parameters the use case's parameters, e.g. {@code use_case_8.continent=Asia}
+         * @return the value of the scope parameter, or {@code null} for the whole world or if it is not set
+         */
+        public String scopeValue(Map<String, String> parameters) {
+            if (scope == null) {
+                return null;
+            }
+            String suffix = "." + scope.name().toLowerCase(Locale.ROOT);
+            return parameters.entrySet().stream()
+                    .filter(parameter -> parameter.getKey().endsWith(suffix))
+                    .map(Map.Entry::getValue)
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+
+    /**
+     * Every table of the whole world, for reports not in the graph.
+     */
+    static final Reads EVERYTHING = new Reads(EnumSet.allOf(Table.class), null);
+
+    private static final Map<Integer, Reads> USE_CASES = Map.ofEntries(
+            // countries
+            entry(1, reads(null, Table.COUNTRY)),
+            entry(2, reads(Parameter.CONTINENT, Table.COUNTRY)),
+            entry(3, reads(Parameter.REGION, Table.COUNTRY)),
+            entry(4, reads(null, Table.COUNTRY)),
+            entry(5, reads(Parameter.CONTINENT, Table.COUNTRY)),
+            entry(6, reads(Parameter.REGION, Table.COUNTRY)),
+            // cities, joined to their country when filtered by it
+            entry(7, reads(null, Table.CITY)),
+            entry(8, reads(Parameter.CONTINENT, Table.CITY, Table.COUNTRY)),
+            entry(9, reads(Parameter.REGION, Table.CITY, Table.COUNTRY)),
+            entry(10, reads(Parameter.COUNTRY, Table.CITY, Table.COUNTRY)),
+            entry(11, reads(Parameter.DISTRICT, Table.CITY)),
+            entry(12, reads(null, Table.CITY)),
+            entry(13, reads(Parameter.CONTINENT, Table.CITY, Table.COUNTRY)),
+            entry(14, reads(Parameter.REGION, Table.CITY, Table.COUNTRY)),
+            entry(15, reads(Parameter.COUNTRY, Table.CITY, Table.COUNTRY)),
+            entry(16, reads(Parameter.DISTRICT, Table.CITY)),
+            // capital cities
+            entry(17, reads(null, Table.COUNTRY, Table.CITY)),
+            entry(18, reads(Parameter.CONTINENT, Table.COUNTRY, Table.CITY)),
+            entry(19, reads(Parameter.REGION, Table.COUNTRY, Table.CITY)),
+            entry(20, reads(null, Table.COUNTRY, Table.CITY)),
+            entry(21, reads(Parameter.CONTINENT, Table.COUNTRY, Table.CITY)),
+            entry(22, reads(Parameter.REGION, Table.COUNTRY, Table.CITY)),
+            // population breakdowns: country totals against the population living in cities
+            entry(23, reads(null, Table.COUNTRY, Table.CITY)),
+            entry(24, reads(null, Table.COUNTRY, Table.CITY)),
+            entry(25, reads(null, Table.COUNTRY, Table.CITY)),
+            // populations
+            entry(26, reads(null, Table.COUNTRY)),
+            entry(27, reads(Parameter.CONTINENT, Table.COUNTRY)),
+            entry(28, reads(Parameter.REGION, Table.COUNTRY)),
+            entry(29, reads(Parameter.COUNTRY, Table.COUNTRY)),
+            entry(30, reads(Parameter.DISTRICT, Table.CITY)),
+            entry(31, reads(Parameter.CITY, Table.CITY)),
+            // languages, weighted by country population
+            entry(32, reads(null, Table.COUNTRY_LANGUAGE, Table.COUNTRY)));
+
+    private UseCaseDependencies() {
+    }
+
+    /**
+     * @param fileName the report's log file, e.g. {@code usecase8.log}
+     * @return what the use case reads; every table of the whole world if it is not in the graph
+     */
+    public static Reads of(String fileName) {
+        if (!fileName.matches("usecase\\d{1,2}\\.log")) {
+            return EVERYTHING;
+        }
+        return USE_CASES.getOrDefault(Integer.parseInt(fileName.replaceAll("\\D", "")), EVERYTHING);
+    }
+
+    private static Reads reads(Parameter scope, Table... tables) {
+        return new Reads(Set.copyOf(EnumSet.of(tables[0], tables)), scope);
+    }
+}
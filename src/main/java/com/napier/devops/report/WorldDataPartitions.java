@@ -0,0 +1,131 @@
+package com.napier.devops.report;
+
+import com.napier.devops.report.ReportSpec.Parameter;
+import com.napier.devops.report.UseCaseDependencies.Reads;
+import com.napier.devops.report.UseCaseDependencies.Table;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Versions of the world data, one per table and country, and the countries every continent,
+ * region, country, district and city name is found in.
+ * <p>
+ * The version of what a report reads is made of the versions of the partitions in its scope,
+ * so a change to the cities of one country gives a new version to the reports over that
+ * country, its region, its continent or the whole world, and leaves the others as they were.
+ * A country that moves to another continent, or a city to another district, changes the
+ * countries in scope, and so the version, of the reports over the old and the new one.
+ * </p>
+ */
+public final class WorldDataPartitions {
+
+    private final Map<Table, Map<String, String>> versions;
+    private final Map<Parameter, Map<String, Set<String>>> countries;
+    private final String whole;
+
+    private WorldDataPartitions(Map<Table, Map<String, String>> versions,
+                                Map<Parameter, Map<String, Set<String>>> countries, String whole) {
+        this.versions = versions;
+        this.countries = countries;
+        this.whole = whole;
+    }
+
+    /**
+     * @param version the version of all of the data
+     * @return data that is not partitioned: every report has that version
+     */
+    public static WorldDataPartitions whole(String version) {
+        return new WorldDataPartitions(Map.of(), Map.of(), version);
+    }
+
+    /**
+     * @return a builder collecting the partitions and the countries of the names
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param reads      what a report reads
+     * @param scopeValue the value of its scope parameter, e.g. {@code Asia}; ignored for the whole world
+     * @return the version of the partitions the report reads
+     */
+    public String version(Reads reads, String scopeValue) {
+        if (whole != null) {
+            return whole;
+        }
+        Set<String> inScope = reads.scope() == null ? null : countries(reads.scope(), scopeValue);
+        StringBuilder version = new StringBuilder();
+        for (Table table : Table.values()) {
+            if (!reads.tables().contains(table)) {
+                continue;
+            }
+            for (Map.Entry<String, String> partition : versions.getOrDefault(table, Map.of()).entrySet()) {
+                if (inScope == null || inScope.contains(partition.getKey())) {
+                    version.append(table).append('@').append(partition.getKey()).append('=')
+                            .append(partition.getValue()).append(';');
+                }
+            }
+        }
+        return version.toString();
+    }
+
+    private Set<String> countries(Parameter scope, String value) {
+        if (value == null) {
+            return Set.of();
+        }
+        return countries.getOrDefault(scope, Map.of()).getOrDefault(value.toLowerCase(Locale.ROOT), Set.of());
+    }
+
+    /**
+     * Collects the versions of the partitions and where every name is found.
+     */
+    public static final class Builder {
+
+        private final Map<Table, Map<String, String>> versions = new EnumMap<>(Table.class);
+        private final Map<Parameter, Map<String, Set<String>>> countries = new EnumMap<>(Parameter.class);
+
+        private Builder() {
+        }
+
+        /**
+         * @param table       the table
+         * @param countryCode the country code of the partition's rows
+         * @param version     the version of the partition
+         * @return this builder
+         */
+        public Builder partition(Table table, String countryCode, String version) {
+            versions.computeIfAbsent(table, t -> new TreeMap<>()).put(String.valueOf(countryCode), version);
+            return this;
+        }
+
+        /**
+         * Records that a continent, region, country, district or city of that name is found in a country.
+         * @param parameter   the kind of name
+         * @param name        the name, matched regardless of case
+         * @param countryCode the code of the country
+         * @return this builder
+         */
+        public Builder name(Parameter parameter, String name, String countryCode) {
+            if (name != null) {
+                countries.computeIfAbsent(parameter, p -> new HashMap<>())
+                        .computeIfAbsent(name.toLowerCase(Locale.ROOT), n -> new HashSet<>())
+                        .add(String.valueOf(countryCode));
+            }
+            return this;
+        }
+
+        /**
+         * @return the partitions
+         */
+        public WorldDataPartitions build() {
+            return new WorldDataPartitions(versions, countries, null);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.napier.devops.report;
+
+import com.napier.devops.report.ReportSpec.Parameter;
+import com.napier.devops.report.UseCaseDependencies.Table;
+import com.napier.devops.snapshot.WorldSnapshotFileSource;
+import com.napier.devops.util.RowDigest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Versions of the world data the reports read, for the keys of the {@link ReportOutputCache}.
+ * <p>
+ * Over the database, every table is split by country and each partition is versioned by a
+ * {@link RowDigest} of all of its rows, so any change to any column gives its partition a new
+ * version. The tables hold a few thousand rows, which are read in a fraction of the time the
+ * reports take. Over a snapshot file ({@code --snapshot=<file>}) the data is not partitioned:
+ * its version is the file's own checksum.
+ * </p>
+ */
+@Component
+public class WorldDataVersion {
+
+    // ordered by primary key, so the digests do not depend on the order rows were inserted in
+    private static final String COUNTRIES = "SELECT * FROM country ORDER BY Code";
+    private static final String CITIES = "SELECT * FROM city ORDER BY ID";
+    private static final String LANGUAGES = "SELECT * FROM countrylanguage ORDER BY CountryCode, Language";
+
+    private final ObjectProvider<JdbcTemplate> jdbc;
+    private final ObjectProvider<WorldSnapshotFileSource> snapshotFile;
+
+    /**
+     * Constructor for WorldDataVersion
+     * @param jdbc         access to the database, if there is one
+     * @param snapshotFile the snapshot file the reports are answered from, if there is one
+     */
+    public WorldDataVersion(ObjectProvider<JdbcTemplate> jdbc, ObjectProvider<WorldSnapshotFileSource> snapshotFile) {
+        this.jdbc = jdbc;
+        this.snapshotFile = snapshotFile;
+    }
+
+    /**
+     * @return the versions of the current data
+     * @throws IllegalStateException if there is neither a database nor a snapshot file
+     */
+    public WorldDataPartitions partitions() {
+        WorldSnapshotFileSource file = snapshotFile.getIfAvailable();
+        if (file != null) {
+            return WorldDataPartitions.whole("file:" + file.fingerprint());
+        }
+        JdbcTemplate template = jdbc.getIfAvailable();
+        if (template == null) {
+            throw new IllegalStateException("There is no world data to version");
+        }
+
+        WorldDataPartitions.Builder partitions = WorldDataPartitions.builder();
+        digest(template, COUNTRIES, Table.COUNTRY, "Code", partitions, (row, country) -> {
+            partitions.name(Parameter.CONTINENT, row.getString("Continent"), country);
+            partitions.name(Parameter.REGION, row.getString("Region"), country);
+            partitions.name(Parameter.COUNTRY, row.getString("Name"), country);
+        });
+        digest(template, CITIES, Table.CITY, "CountryCode", partitions, (row, country) -> {
+            partitions.name(Parameter.DISTRICT, row.getString("District"), country);
+            partitions.name(Parameter.CITY, row.getString("Name"), country);
+        });
+        digest(template, LANGUAGES, Table.COUNTRY_LANGUAGE, "CountryCode", partitions, (row, country) -> { });
+        return partitions.build();
+    }
+
+    /**
+     * Digests the rows of one table, one digest per country.
+     */
+    private static void digest(JdbcTemplate template, String sql, Table table, String countryColumn,
+                               WorldDataPartitions.Builder partitions, RowNames names) {
+        Map<String, RowDigest> digests = new HashMap<>();
+        template.query(sql, (RowCallbackHandler) row -> {
+            String country = row.getString(countryColumn);
+            RowDigest digest = digests.computeIfAbsent(country, c -> new RowDigest());
+            ResultSetMetaData columns = row.getMetaData();
+            for (int column = 1; column <= columns.getColumnCount(); column++) {
+                digest.add(row.getString(column));
+            }
+            names.record(row, country);
+        });
+        digests.forEach((country, digest) -> partitions.partition(table, country, digest.hex()));
+    }
+
+    /**
+     * Records the names a row is found by.
+     */
+    @FunctionalInterface
+    private interface RowNames {
+        void record(ResultSet row, String countryCode) throws SQLException;
+    }
+}
@@ -6,12 +6,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 /**
  * Repository exposing capital city reporting queries.
  */
+@Transactional(readOnly = true)
 public interface CapitalCityRepository extends JpaRepository<Country, String> {
 
     /**
@@ -43,7 +45,7 @@ public interface CapitalCityRepository extends JpaRepository<Country, String> {
     )
     FROM Country country
     JOIN City city ON city.id = country.capital
-    WHERE LOWER(country.continent) = LOWER(:continent)
+    WHERE country.continentKey = LOWER(TRIM(:continent))
     ORDER BY city.population DESC
 """)
     List<CapitalCity> findCapitalCitiesInContinentByPopulationDesc(@Param("continent") String continent);
@@ -59,7 +61,7 @@ public interface CapitalCityRepository extends JpaRepository<Country, String> {
     )
     FROM Country co
     JOIN City c ON c.id = co.capital
-    WHERE LOWER(co.region) = LOWER(:region)
+    WHERE co.regionKey = LOWER(TRIM(:region))
     ORDER BY c.population DESC
 """)
     List<CapitalCity> findCapitalCitiesInRegionByPopulationDesc(@Param("region") String region);
@@ -93,7 +95,7 @@ public interface CapitalCityRepository extends JpaRepository<Country, String> {
             )
             FROM Country country
             JOIN City city ON city.id = country.capital
-            WHERE LOWER(country.continent) = LOWER(:continent)
+            WHERE country.continentKey = LOWER(TRIM(:continent))
             ORDER BY city.population DESC
             """)
     List<com.napier.devops.model.CapitalCity> findTopCapitalCitiesByContinent(
@@ -112,12 +114,73 @@ public interface CapitalCityRepository extends JpaRepository<Country, String> {
     )
     FROM Country co
     JOIN City c ON c.id = co.capital
-    WHERE LOWER(co.region) = LOWER(:region)
+    WHERE co.regionKey = LOWER(TRIM(:region))
     ORDER BY c.population DESC
 """)
     List<CapitalCity> findTopCapitalCitiesByRegion(
             @Param("region") String region,
             Pageable pageable);
-}
 
+    /**
+     * Keyset page of all capital cities in the world, ordered by population and then city id (both descending)
+     * @param population population of the last capital city of the previous page
+     * @param id id of that city
+     * @param pageable the page size, always page 0
+     * @return the capital cities after that city
+     */
+    @Query("""
+    SELECT new com.napier.devops.model.CapitalCity(
+        c.id, c.name, co.name, c.population
+    )
+    FROM Country co
+    JOIN City c ON c.id = co.capital
+    WHERE c.population < :population OR (c.population = :population AND c.id < :id)
+    ORDER BY c.population DESC, c.id DESC
+""")
+    List<CapitalCity> findCapitalCitiesWorldAfter(@Param("population") int population, @Param("id") long id,
+                                                  Pageable pageable);
 
+    /**
+     * Keyset page of the capital cities in a continent, ordered by population and then city id (both descending)
+     * @param continent the continent to get the capital cities from
+     * @param population population of the last capital city of the previous page
+     * @param id id of that city
+     * @param pageable the page size, always page 0
+     * @return the capital cities after that city
+     */
+    @Query("""
+    SELECT new com.napier.devops.model.CapitalCity(
+        c.id, c.name, co.name, c.population
+    )
+    FROM Country co
+    JOIN City c ON c.id = co.capital
+    WHERE co.continentKey = LOWER(TRIM(:continent))
+    AND (c.population < :population OR (c.population = :population AND c.id < :id))
+    ORDER BY c.population DESC, c.id DESC
+""")
+    List<CapitalCity> findCapitalCitiesInContinentAfter(@Param("continent") String continent,
+                                                        @Param("population") int population, @Param("id") long id,
+                                                        Pageable pageable);
+
+    /**
+     * Keyset page of the capital cities in a region, ordered by population and then city id (both descending)
+     * @param region the region to get the capital cities from
+     * @param population population of the last capital city of the previous page
+     * @param id id of that city
+     * @param pageable the page size, always page 0
+     * @return the capital cities after that city
+     */
+    @Query("""
+    SELECT new com.napier.devops.model.CapitalCity(
+        c.id, c.name, co.name, c.population
+    )
+    FROM Country co
+    JOIN City c ON c.id = co.capital
+    WHERE co.regionKey = LOWER(TRIM(:region))
+    AND (c.population < :population OR (c.population = :population AND c.id < :id))
+    ORDER BY c.population DESC, c.id DESC
+""")
+    List<CapitalCity> findCapitalCitiesInRegionAfter(@Param("region") String region,
+                                                     @Param("population") int population, @Param("id") long id,
+                                                     Pageable pageable);
+}
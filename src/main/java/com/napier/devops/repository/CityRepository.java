@@ -1,63 +1,109 @@
 package com.napier.devops.repository;
 
 import com.napier.devops.model.City;
+import com.napier.devops.model.CitySummary;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * Repository for City entities
+ * <p>
+ * The report queries return {@link CitySummary} rows holding only the report columns.
+ * </p>
  */
+@Transactional(readOnly = true)
 public interface CityRepository extends CrudRepository<City, String> {
 
+    /**
+     * Number of rows fetched from the database per round trip by the streaming queries.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
     /**
      * Requirement 7: All the cities in the world organised by largest population to smallest.
      * @return a list of all cities in the world
      */
-    @Query("SELECT c FROM City c ORDER BY c.population DESC")
-    List<City> getAllCitiesInTheWorld();
+    @Query("SELECT new com.napier.devops.model.CitySummary(c.id, c.name, c.countryCode, c.district, c.population) FROM City c ORDER BY c.population DESC")
+    List<CitySummary> getAllCitiesInTheWorld();
 
     /**
      * Requirement 8: All the cities in a continent organised by largest population to smallest.
      * @param continent the continent to get the cities from
      * @return a list of all cities in a continent
      */
-    @Query("SELECT c FROM City c, Country co WHERE c.countryCode = co.code AND co.continent = :continent ORDER BY c.population DESC")
-    List<City> getAllCitiesInAContinent(@Param("continent") String continent);
+    @Query("SELECT new com.napier.devops.model.CitySummary(c.id, c.name, c.countryCode, c.district, c.population) FROM City c, Country co WHERE c.countryCode = co.code AND co.continentKey = LOWER(TRIM(:continent)) ORDER BY c.population DESC")
+    List<CitySummary> getAllCitiesInAContinent(@Param("continent") String continent);
 
     /**
      * Requirement 9: All the cities in a region organised by largest population to smallest.
      * @param region the region to get the cities from
      * @return a list of all cities in a region
      */
-    @Query("SELECT c FROM City c, Country co WHERE c.countryCode = co.code AND co.region = :region ORDER BY c.population DESC")
-    List<City> getAllCitiesInARegion(@Param("region") String region);
+    @Query("SELECT new com.napier.devops.model.CitySummary(c.id, c.name, c.countryCode, c.district, c.population) FROM City c, Country co WHERE c.countryCode = co.code AND co.regionKey = LOWER(TRIM(:region)) ORDER BY c.population DESC")
+    List<CitySummary> getAllCitiesInARegion(@Param("region") String region);
+
+    /**
+     * Requirement 7, streamed: all the cities in the world organised by largest population to smallest.
+     * The rows are read through a cursor {@value #STREAM_FETCH_SIZE} at a time.
+     * Must be called inside a transaction, and the stream must be closed.
+     * @return a stream of all cities in the world
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT new com.napier.devops.model.CitySummary(c.id, c.name, c.countryCode, c.district, c.population) FROM City c ORDER BY c.population DESC")
+    Stream<CitySummary> streamAllCitiesInTheWorld();
+
+    /**
+     * Requirement 8, streamed: all the cities in a continent organised by largest population to smallest.
+     * Must be called inside a transaction, and the stream must be closed.
+     * @param continent the continent to get the cities from
+     * @return a stream of all cities in a continent
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT new com.napier.devops.model.CitySummary(c.id, c.name, c.countryCode, c.district, c.population) FROM City c, Country co WHERE c.countryCode = co.code AND co.continentKey = LOWER(TRIM(:continent)) ORDER BY c.population DESC")
+    Stream<CitySummary> streamAllCitiesInAContinent(@Param("continent") String continent);
+
+    /**
+     * Requirement 9, streamed: all the cities in a region organised by largest population to smallest.
+     * Must be called inside a transaction, and the stream must be closed.
+     * @param region the region to get the cities from
+     * @return a stream of all cities in a region
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT new com.napier.devops.model.CitySummary(c.id, c.name, c.countryCode, c.district, c.population) FROM City c, Country co WHERE c.countryCode = co.code AND co.regionKey = LOWER(TRIM(:region)) ORDER BY c.population DESC")
+    Stream<CitySummary> streamAllCitiesInARegion(@Param("region") String region);
 
     /**
      * Requirement 10: All the cities in a country organised by largest population to smallest.
      * @param country the country to get the cities from
      * @return a list of all cities in a country
      */
-    @Query("SELECT c FROM City c, Country co WHERE c.countryCode = co.code AND co.name = :country ORDER BY c.population DESC")
-    List<City> getAllCitiesInACountry(@Param("country") String country);
+    @Query("SELECT new com.napier.devops.model.CitySummary(c.id, c.name, c.countryCode, c.district, c.population) FROM City c, Country co WHERE c.countryCode = co.code AND co.nameKey = LOWER(TRIM(:country)) ORDER BY c.population DESC")
+    List<CitySummary> getAllCitiesInACountry(@Param("country") String country);
 
     /**
      * Requirement 11: All the cities in a district organised by largest population to smallest.
      * @param district the district to get the cities from
      * @return a list of all cities in a district
      */
-    @Query("SELECT c FROM City c WHERE c.district = :district ORDER BY c.population DESC")
-    List<City> getAllCitiesInADistrict(@Param("district") String district);
+    @Query("SELECT new com.napier.devops.model.CitySummary(c.id, c.name, c.countryCode, c.district, c.population) FROM City c WHERE c.districtKey = LOWER(TRIM(:district)) ORDER BY c.population DESC")
+    List<CitySummary> getAllCitiesInADistrict(@Param("district") String district);
 
     /**
      * Requirement 12: The top N populated cities in the world where N is provided by the user.
      * @param topN the number of cities to return
      * @return a list of top N cities in the world
      */
-    @Query("SELECT c FROM City c ORDER BY c.population DESC LIMIT :topN")
-    List<City> getTopNCitiesInTheWorld(@Param("topN") int topN);
+    @Query("SELECT new com.napier.devops.model.CitySummary(c.id, c.name, c.countryCode, c.district, c.population) FROM City c ORDER BY c.population DESC LIMIT :topN")
+    List<CitySummary> getTopNCitiesInTheWorld(@Param("topN") int topN);
 
     /**
      * Requirement 13: The top N populated cities in a continent where N is provided by the user.
@@ -65,8 +111,8 @@ public interface CityRepository extends CrudRepository<City, String> {
      * @param topN the number of cities to return
      * @return a list of top N cities in a continent
      */
-    @Query("SELECT c FROM City c, Country co WHERE c.countryCode = co.code AND co.continent = :continent ORDER BY c.population DESC LIMIT :topN")
-    List<City> getTopNCitiesInAContinent(@Param("continent") String continent, @Param("topN") int topN);
+    @Query("SELECT new com.napier.devops.model.CitySummary(c.id, c.name, c.countryCode, c.district, c.population) FROM City c, Country co WHERE c.countryCode = co.code AND co.continentKey = LOWER(TRIM(:continent)) ORDER BY c.population DESC LIMIT :topN")
+    List<CitySummary> getTopNCitiesInAContinent(@Param("continent") String continent, @Param("topN") int topN);
 
     /**
      * Requirement 14: The top N populated cities in a region where N is provided by the user.
@@ -74,8 +120,8 @@ public interface CityRepository extends CrudRepository<City, String> {
      * @param topN the number of cities to return
      * @return a list of top N cities in a region
      */
-    @Query("SELECT c FROM City c, Country co WHERE c.countryCode = co.code AND co.region = :region ORDER BY c.population DESC LIMIT :topN")
-    List<City> getTopNCitiesInARegion(@Param("region") String region, @Param("topN") int topN);
+    @Query("SELECT new com.napier.devops.model.CitySummary(c.id, c.name, c.countryCode, c.district, c.population) FROM City c, Country co WHERE c.countryCode = co.code AND co.regionKey = LOWER(TRIM(:region)) ORDER BY c.population DESC LIMIT :topN")
+    List<CitySummary> getTopNCitiesInARegion(@Param("region") String region, @Param("topN") int topN);
 
     /**
      * Requirement 15: The top N populated cities in a country where N is provided by the user.
@@ -83,8 +129,8 @@ public interface CityRepository extends CrudRepository<City, String> {
      * @param topN the number of cities to return
      * @return a list of top N cities in a country
      */
-    @Query("SELECT c FROM City c, Country co WHERE c.countryCode = co.code AND co.name = :country ORDER BY c.population DESC LIMIT :topN")
-    List<City> getTopNCitiesInACountry(@Param("country") String country, @Param("topN") int topN);
+    @Query("SELECT new com.napier.devops.model.CitySummary(c.id, c.name, c.countryCode, c.district, c.population) FROM City c, Country co WHERE c.countryCode = co.code AND co.nameKey = LOWER(TRIM(:country)) ORDER BY c.population DESC LIMIT :topN")
+    List<CitySummary> getTopNCitiesInACountry(@Param("country") String country, @Param("topN") int topN);
 
     /**
      * Requirement 16: The top N populated cities in a district where N is provided by the user.
@@ -92,6 +138,60 @@ public interface CityRepository extends CrudRepository<City, String> {
      * @param topN the number of cities to return
      * @return a list of top N cities in a district
      */
-    @Query("SELECT c FROM City c WHERE c.district = :district ORDER BY c.population DESC LIMIT :topN")
-    List<City> getTopNCitiesInADistrict(@Param("district") String district, @Param("topN") int topN);
+    @Query("SELECT new com.napier.devops.model.CitySummary(c.id, c.name, c.countryCode, c.district, c.population) FROM City c WHERE c.districtKey = LOWER(TRIM(:district)) ORDER BY c.population DESC LIMIT :topN")
+    List<CitySummary> getTopNCitiesInADistrict(@Param("district") String district, @Param("topN") int topN);
+
+    /**
+     * Requirement 7, paged: all the cities in the world, ordered by population and then id (both descending).
+     * @param population population of the last city of the previous page
+     * @param id id of that city
+     * @param limit the number of cities to return
+     * @return the cities after that city
+     */
+    @Query("SELECT new com.napier.devops.model.CitySummary(c.id, c.name, c.countryCode, c.district, c.population) FROM City c WHERE (c.population < :population OR (c.population = :population AND c.id < :id)) ORDER BY c.population DESC, c.id DESC LIMIT :limit")
+    List<CitySummary> findCitiesInTheWorldAfter(@Param("population") int population, @Param("id") long id, @Param("limit") int limit);
+
+    /**
+     * Requirement 8, paged: the cities in a continent, ordered by population and then id (both descending).
+     * @param continent the continent to get the cities from
+     * @param population population of the last city of the previous page
+     * @param id id of that city
+     * @param limit the number of cities to return
+     * @return the cities after that city
+     */
+    @Query("SELECT new com.napier.devops.model.CitySummary(c.id, c.name, c.countryCode, c.district, c.population) FROM City c, Country co WHERE c.countryCode = co.code AND co.continentKey = LOWER(TRIM(:continent)) AND (c.population < :population OR (c.population = :population AND c.id < :id)) ORDER BY c.population DESC, c.id DESC LIMIT :limit")
+    List<CitySummary> findCitiesInAContinentAfter(@Param("continent") String continent, @Param("population") int population, @Param("id") long id, @Param("limit") int limit);
+
+    /**
+     * Requirement 9, paged: the cities in a region, ordered by population and then id (both descending).
+     * @param region the region to get the cities from
+     * @param population population of the last city of the previous page
+     * @param id id of that city
+     * @param limit the number of cities to return
+     * @return the cities after that city
+     */
+    @Query("SELECT new com.napier.devops.model.CitySummary(c.id, c.name, c.countryCode, c.district, c.population) FROM City c, Country co WHERE c.countryCode = co.code AND co.regionKey = LOWER(TRIM(:region)) AND (c.population < :population OR (c.population = :population AND c.id < :id)) ORDER BY c.population DESC, c.id DESC LIMIT :limit")
+    List<CitySummary> findCitiesInARegionAfter(@Param("region") String region, @Param("population") int population, @Param("id") long id, @Param("limit") int limit);
+
+    /**
+     * Requirement 10, paged: the cities in a country, ordered by population and then id (both descending).
+     * @param country the country to get the cities from
+     * @param population population of the last city of the previous page
+     * @param id id of that city
+     * @param limit the number of cities to return
+     * @return the cities after that city
+     */
+    @Query("SELECT new com.napier.devops.model.CitySummary(c.id, c.name, c.countryCode, c.district, c.population) FROM City c, Country co WHERE c.countryCode = co.code AND co.nameKey = LOWER(TRIM(:country)) AND (c.population < :population OR (c.population = :population AND c.id < :id)) ORDER BY c.population DESC, c.id DESC LIMIT :limit")
+    List<CitySummary> findCitiesInACountryAfter(@Param("country") String country, @Param("population") int population, @Param("id") long id, @Param("limit") int limit);
+
+    /**
+     * Requirement 11, paged: the cities in a district, ordered by population and then id (both descending).
+     * @param district the district to get the cities from
+     * @param population population of the last city of the previous page
+     * @param id id of that city
+     * @param limit the number of cities to return
+     * @return the cities after that city
+     */
+    @Query("SELECT new com.napier.devops.model.CitySummary(c.id, c.name, c.countryCode, c.district, c.population) FROM City c WHERE c.districtKey = LOWER(TRIM(:district)) AND (c.population < :population OR (c.population = :population AND c.id < :id)) ORDER BY c.population DESC, c.id DESC LIMIT :limit")
+    List<CitySummary> findCitiesInADistrictAfter(@Param("district") String district, @Param("population") int population, @Param("id") long id, @Param("limit") int limit);
 }
@@ -1,12 +1,26 @@
 package com.napier.devops.repository;
 
+import com.napier.devops.model.SpeakerCount;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 /**
  * Repository for CountryLanguage entities
  */
-public interface CountryLanguageRepository extends CrudRepository<com.napier.devops.model.CountryLanguage, com.napier.devops.model.CountryLanguageId>, CountryLanguageRepositoryCustom {
+@Transactional(readOnly = true)
+public interface CountryLanguageRepository extends CrudRepository<com.napier.devops.model.CountryLanguage, com.napier.devops.model.CountryLanguageId> {
 
+    /**
+     * Number of speakers of every language in every continent, the source of the
+     * {@link com.napier.devops.language.SpeakerIndex}
+     * @return one row per language and continent where it is spoken
+     */
+    @Query("SELECT new com.napier.devops.model.SpeakerCount(l.language, c.continent, "
+            + "COALESCE(SUM(c.population * l.percentage / 100), 0.0)) "
+            + "FROM CountryLanguage l JOIN Country c ON c.code = l.countryCode "
+            + "GROUP BY l.language, c.continent")
+    List<SpeakerCount> getSpeakerCounts();
 }
@@ -2,32 +2,44 @@ package com.napier.devops.repository;
 
 
 import com.napier.devops.model.Country;
+import com.napier.devops.model.CountrySummary;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 /**
  * Repository for Country entities
+ * <p>
+ * The report queries return {@link CountrySummary} rows holding only the report columns.
+ * </p>
+ * <p>
+ * Like every reporting repository, the queries declared here run in a read-only transaction:
+ * Hibernate never flushes or dirty-checks the session, and the JDBC connection is marked
+ * read-only so the database can skip its write bookkeeping. The inherited save and delete
+ * methods keep their read-write transactions.
+ * </p>
  */
+@Transactional(readOnly = true)
 public interface CountryRepository extends CrudRepository<Country, String> {
 
     /**
      * Use Case 1: Get all countries in the world ordered by population (descending)
      * @return a list of all countries in the world
      */
-    @Query("SELECT c FROM Country c ORDER BY c.population DESC")
-    List<Country> getAllCountriesWorld();
+    @Query("SELECT new com.napier.devops.model.CountrySummary(c.code, c.name, c.continent, c.region, c.population) FROM Country c ORDER BY c.population DESC")
+    List<CountrySummary> getAllCountriesWorld();
 
     /**
      * Use Case 2: All the countries in a continent organised by largest population to smallest.
      * @param continent the continent to get the countries from
      * @return a list of all countries in a continent
      */
-    @Query("SELECT c FROM Country c WHERE c.continent = :continent ORDER BY c.population DESC")
-    List<Country> findByContinentOrderByPopulationDesc(@Param("continent") String continent);
+    @Query("SELECT new com.napier.devops.model.CountrySummary(c.code, c.name, c.continent, c.region, c.population) FROM Country c WHERE c.continentKey = LOWER(TRIM(:continent)) ORDER BY c.population DESC")
+    List<CountrySummary> findByContinentOrderByPopulationDesc(@Param("continent") String continent);
 
     /**
      * USE CASE 3: List All Countries in a Region by Population (Descending)
@@ -35,11 +47,12 @@ public interface CountryRepository extends CrudRepository<Country, String> {
      * @return a list of all countries in a region
      */
     @Query("""
-        SELECT c FROM Country c
-        WHERE LOWER(c.region) = LOWER(:region)
+        SELECT new com.napier.devops.model.CountrySummary(c.code, c.name, c.continent, c.region, c.population)
+        FROM Country c
+        WHERE c.regionKey = LOWER(TRIM(:region))
         ORDER BY c.population DESC
     """)
-    List<Country> findCountriesInRegionByPopulationDesc(@Param("region") String region);
+    List<CountrySummary> findCountriesInRegionByPopulationDesc(@Param("region") String region);
 
     /**
      * USE CASE 4: List Top N Most Populated Countries in the World
@@ -47,10 +60,11 @@ public interface CountryRepository extends CrudRepository<Country, String> {
      * @return a list of top N countries in the world
      */
     @Query("""
-        SELECT c FROM Country c
+        SELECT new com.napier.devops.model.CountrySummary(c.code, c.name, c.continent, c.region, c.population)
+        FROM Country c
         ORDER BY c.population DESC
     """)
-    List<Country> findTopCountriesInWorld(Pageable pageable);
+    List<CountrySummary> findTopCountriesInWorld(Pageable pageable);
 
     /**
      * USE CASE 5: List Top N Most Populated Countries in a Continent
@@ -59,11 +73,12 @@ public interface CountryRepository extends CrudRepository<Country, String> {
      * @return a list of top N countries in a continent
      */
     @Query("""
-        SELECT c FROM Country c
-        WHERE LOWER(c.continent) = LOWER(:continent)
+        SELECT new com.napier.devops.model.CountrySummary(c.code, c.name, c.continent, c.region, c.population)
+        FROM Country c
+        WHERE c.continentKey = LOWER(TRIM(:continent))
         ORDER BY c.population DESC
     """)
-    List<Country> findTopCountriesInContinent(@Param("continent") String continent, Pageable pageable);
+    List<CountrySummary> findTopCountriesInContinent(@Param("continent") String continent, Pageable pageable);
 
     /**
      * USE CASE 6: List Top N Most Populated Countries in a Region
@@ -72,11 +87,64 @@ public interface CountryRepository extends CrudRepository<Country, String> {
      * @return a list of top N countries in a region
      */
     @Query("""
-        SELECT c FROM Country c
-        WHERE LOWER(c.region) = LOWER(:region)
+        SELECT new com.napier.devops.model.CountrySummary(c.code, c.name, c.continent, c.region, c.population)
+        FROM Country c
+        WHERE c.regionKey = LOWER(TRIM(:region))
         ORDER BY c.population DESC
     """)
-    List<Country> findTopCountriesInRegion(@Param("region") String region, Pageable pageable);
+    List<CountrySummary> findTopCountriesInRegion(@Param("region") String region, Pageable pageable);
 
+    /**
+     * Keyset page of all countries in the world, ordered by population and then code (both descending)
+     * @param population population of the last country of the previous page
+     * @param code code of that country
+     * @param pageable the page size, always page 0
+     * @return the countries after that country
+     */
+    @Query("""
+        SELECT new com.napier.devops.model.CountrySummary(c.code, c.name, c.continent, c.region, c.population)
+        FROM Country c
+        WHERE c.population < :population OR (c.population = :population AND c.code < :code)
+        ORDER BY c.population DESC, c.code DESC
+    """)
+    List<CountrySummary> findCountriesInWorldAfter(@Param("population") long population, @Param("code") String code,
+                                            Pageable pageable);
 
-}
\ No newline at end of file
+    /**
+     * Keyset page of the countries in a continent, ordered by population and then code (both descending)
+     * @param continent the continent to get the countries from
+     * @param population population of the last country of the previous page
+     * @param code code of that country
+     * @param pageable the page size, always page 0
+     * @return the countries after that country
+     */
+    @Query("""
+        SELECT new com.napier.devops.model.CountrySummary(c.code, c.name, c.continent, c.region, c.population)
+        FROM Country c
+        WHERE c.continentKey = LOWER(TRIM(:continent))
+        AND (c.population < :population OR (c.population = :population AND c.code < :code))
+        ORDER BY c.population DESC, c.code DESC
+    """)
+    List<CountrySummary> findCountriesInContinentAfter(@Param("continent") String continent,
+                                                @Param("population") long population, @Param("code") String code,
+                                                Pageable pageable);
+
+    /**
+     * Keyset page of the countries in a region, ordered by population and then code (both descending)
+     * @param region the region to get the countries from
+     * @param population population of the last country of the previous page
+     * @param code code of that country
+     * @param pageable the page size, always page 0
+     * @return the countries after that country
+     */
+    @Query("""
+        SELECT new com.napier.devops.model.CountrySummary(c.code, c.name, c.continent, c.region, c.population)
+        FROM Country c
+        WHERE c.regionKey = LOWER(TRIM(:region))
+        AND (c.population < :population OR (c.population = :population AND c.code < :code))
+        ORDER BY c.population DESC, c.code DESC
+    """)
+    List<CountrySummary> findCountriesInRegionAfter(@Param("region") String region,
+                                             @Param("population") long population, @Param("code") String code,
+                                             Pageable pageable);
+}
@@ -3,6 +3,7 @@ package com.napier.devops.repository;
 import com.napier.devops.model.Country;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -14,38 +15,46 @@ import java.util.List;
  * into the {@link com.napier.devops.model.PopulationBreakdown} record.
  * </p>
  */
+@Transactional(readOnly = true)
 public interface PopulationBreakdownRepository extends JpaRepository<Country, String> {
 
-    @Query(value = "SELECT 'continent' AS type, country.continent AS name, "
+    /**
+     * Countries joined to the total population of their cities, one row per country, so that
+     * summing country populations over a continent or region counts each country once.
+     */
+    String CITIES_PER_COUNTRY = "FROM country LEFT JOIN "
+        + "(SELECT CountryCode, SUM(Population) AS Population FROM city GROUP BY CountryCode) cities "
+        + "ON country.Code = cities.CountryCode ";
+
+    @Query(value = "SELECT 'continent' AS type, country.Continent AS name, "
         + "SUM(country.Population) AS totalPopulation, "
-        + "COALESCE(SUM(city.Population),0) AS populationInCities, "
-        + "SUM(country.Population) - COALESCE(SUM(city.Population),0) AS populationNotInCities, "
-        + "ROUND(CASE WHEN SUM(country.Population) > 0 THEN COALESCE(SUM(city.Population),0) / SUM(country.Population) * 100 ELSE 0 END, 2) AS inCitiesPercentage, "
-        + "ROUND(CASE WHEN SUM(country.Population) > 0 THEN (SUM(country.Population) - COALESCE(SUM(city.Population),0)) / SUM(country.Population) * 100 ELSE 0 END, 2) AS notInCitiesPercentage "
-        + "FROM country LEFT JOIN city ON country.code = city.countrycode "
-        + "GROUP BY country.continent "
+        + "COALESCE(SUM(cities.Population),0) AS populationInCities, "
+        + "SUM(country.Population) - COALESCE(SUM(cities.Population),0) AS populationNotInCities, "
+        + "ROUND(CASE WHEN SUM(country.Population) > 0 THEN COALESCE(SUM(cities.Population),0) * 100.0 / SUM(country.Population) ELSE 0 END, 2) AS inCitiesPercentage, "
+        + "ROUND(CASE WHEN SUM(country.Population) > 0 THEN (SUM(country.Population) - COALESCE(SUM(cities.Population),0)) * 100.0 / SUM(country.Population) ELSE 0 END, 2) AS notInCitiesPercentage "
+        + CITIES_PER_COUNTRY
+        + "GROUP BY country.Continent "
         + "ORDER BY totalPopulation DESC", nativeQuery = true)
     List<PopulationBreakdownProjection> getAllByContinent();
 
-    @Query(value = "SELECT 'region' AS type, country.region AS name, "
+    @Query(value = "SELECT 'region' AS type, country.Region AS name, "
         + "SUM(country.Population) AS totalPopulation, "
-        + "COALESCE(SUM(city.Population),0) AS populationInCities, "
-        + "SUM(country.Population) - COALESCE(SUM(city.Population),0) AS populationNotInCities, "
-        + "ROUND(CASE WHEN SUM(country.Population) > 0 THEN COALESCE(SUM(city.Population),0) / SUM(country.Population) * 100 ELSE 0 END, 2) AS inCitiesPercentage, "
-        + "ROUND(CASE WHEN SUM(country.Population) > 0 THEN (SUM(country.Population) - COALESCE(SUM(city.Population),0)) / SUM(country.Population) * 100 ELSE 0 END, 2) AS notInCitiesPercentage "
-        + "FROM country LEFT JOIN city ON country.code = city.countrycode "
-        + "GROUP BY country.region "
+        + "COALESCE(SUM(cities.Population),0) AS populationInCities, "
+        + "SUM(country.Population) - COALESCE(SUM(cities.Population),0) AS populationNotInCities, "
+        + "ROUND(CASE WHEN SUM(country.Population) > 0 THEN COALESCE(SUM(cities.Population),0) * 100.0 / SUM(country.Population) ELSE 0 END, 2) AS inCitiesPercentage, "
+        + "ROUND(CASE WHEN SUM(country.Population) > 0 THEN (SUM(country.Population) - COALESCE(SUM(cities.Population),0)) * 100.0 / SUM(country.Population) ELSE 0 END, 2) AS notInCitiesPercentage "
+        + CITIES_PER_COUNTRY
+        + "GROUP BY country.Region "
         + "ORDER BY totalPopulation DESC", nativeQuery = true)
     List<PopulationBreakdownProjection> getAllByRegion();
 
     @Query(value = "SELECT 'country' AS type, country.Name AS name, "
         + "country.Population AS totalPopulation, "
-        + "COALESCE(SUM(city.Population),0) AS populationInCities, "
-        + "country.Population - COALESCE(SUM(city.Population),0) AS populationNotInCities, "
-        + "ROUND(CASE WHEN country.Population > 0 THEN COALESCE(SUM(city.Population),0) / country.Population * 100 ELSE 0 END, 2) AS inCitiesPercentage, "
-        + "ROUND(CASE WHEN country.Population > 0 THEN (country.Population - COALESCE(SUM(city.Population),0)) / country.Population * 100 ELSE 0 END, 2) AS notInCitiesPercentage "
-        + "FROM country LEFT JOIN city ON country.code = city.countrycode "
-        + "GROUP BY country.Name, country.Population "
+        + "COALESCE(cities.Population,0) AS populationInCities, "
+        + "country.Population - COALESCE(cities.Population,0) AS populationNotInCities, "
+        + "ROUND(CASE WHEN country.Population > 0 THEN COALESCE(cities.Population,0) * 100.0 / country.Population ELSE 0 END, 2) AS inCitiesPercentage, "
+        + "ROUND(CASE WHEN country.Population > 0 THEN (country.Population - COALESCE(cities.Population,0)) * 100.0 / country.Population ELSE 0 END, 2) AS notInCitiesPercentage "
+        + CITIES_PER_COUNTRY
         + "ORDER BY totalPopulation DESC", nativeQuery = true)
     List<PopulationBreakdownProjection> getAllByCountry();
 }
@@ -4,10 +4,12 @@ import com.napier.devops.model.Country;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository for Population entities
  */
+@Transactional(readOnly = true)
 public interface PopulationRepository extends CrudRepository<Country, String> {
 
     /**
@@ -22,7 +24,7 @@ public interface PopulationRepository extends CrudRepository<Country, String> {
      * @param continent the continent to get the population from
      * @return the population of a continent
      */
-    @Query("SELECT SUM(co.population) AS ContinentPopulation FROM Country co WHERE co.continent = :continent")
+    @Query("SELECT SUM(co.population) AS ContinentPopulation FROM Country co WHERE co.continentKey = LOWER(TRIM(:continent))")
     Long getContinentPopulation(@Param("continent") String continent);
 
     /**
@@ -30,7 +32,7 @@ public interface PopulationRepository extends CrudRepository<Country, String> {
      * @param region the region to get the population from
      * @return the population of a region
      */
-    @Query("SELECT SUM(co.population) AS RegionPopulation FROM Country co WHERE co.region = :region")
+    @Query("SELECT SUM(co.population) AS RegionPopulation FROM Country co WHERE co.regionKey = LOWER(TRIM(:region))")
     Long getRegionPopulation(@Param("region") String region);
 
     /**
@@ -38,7 +40,7 @@ public interface PopulationRepository extends CrudRepository<Country, String> {
      * @param name the name of the country
      * @return the population of a country
      */
-    @Query("SELECT co.population AS CountryPopulation FROM Country co WHERE co.name = :name")
+    @Query("SELECT co.population AS CountryPopulation FROM Country co WHERE co.nameKey = LOWER(TRIM(:name))")
     Long getCountryPopulation(@Param("name") String name);
 
     /**
@@ -46,7 +48,7 @@ public interface PopulationRepository extends CrudRepository<Country, String> {
      * @param district the district to get the population from
      * @return the population of a district
      */
-    @Query("SELECT SUM(c.population) AS DistrictPopulation FROM City c WHERE c.district = :district")
+    @Query("SELECT SUM(c.population) AS DistrictPopulation FROM City c WHERE c.districtKey = LOWER(TRIM(:district))")
     Long getDistrictPopulation(@Param("district") String district);
 
     /**
@@ -54,7 +56,53 @@ public interface PopulationRepository extends CrudRepository<Country, String> {
      * @param name the name of the city
      * @return the population of a city
      */
-    @Query(value = "SELECT Population AS CityPopulation FROM city WHERE Name = :name LIMIT 1",nativeQuery = true)
+    @Query("SELECT CAST(c.population AS Long) AS CityPopulation FROM City c WHERE c.nameKey = LOWER(TRIM(:name)) ORDER BY c.id LIMIT 1")
     Long getCityPopulation(@Param("name") String name);
 
+    /**
+     * The population of a region within a continent.
+     * @param region the region to get the population from
+     * @param continent the continent the region is in
+     * @return the population of the countries of the region in the continent
+     */
+    @Query("SELECT SUM(co.population) AS RegionPopulation FROM Country co WHERE co.regionKey = LOWER(TRIM(:region)) AND co.continentKey = LOWER(TRIM(:continent))")
+    Long getRegionPopulationInContinent(@Param("region") String region, @Param("continent") String continent);
+
+    /**
+     * The population of a country within a continent or region.
+     * @param name the name of the country
+     * @param level {@code continent} or {@code region}
+     * @param within the name of the continent or region
+     * @return the population of the country, if it is in the continent or region
+     */
+    @Query("SELECT co.population AS CountryPopulation FROM Country co WHERE co.nameKey = LOWER(TRIM(:name)) AND ("
+            + "(:level = 'continent' AND co.continentKey = LOWER(TRIM(:within))) OR (:level = 'region' AND co.regionKey = LOWER(TRIM(:within)))) "
+            + "ORDER BY co.code LIMIT 1")
+    Long getCountryPopulationWithin(@Param("name") String name, @Param("level") String level, @Param("within") String within);
+
+    /**
+     * The population of a district within a continent, region or country.
+     * @param district the district to get the population from
+     * @param level {@code continent}, {@code region} or {@code country}
+     * @param within the name of the continent, region or country
+     * @return the population of the cities of the district in the continent, region or country
+     */
+    @Query("SELECT SUM(c.population) AS DistrictPopulation FROM City c, Country co WHERE c.countryCode = co.code AND c.districtKey = LOWER(TRIM(:district)) AND ("
+            + "(:level = 'continent' AND co.continentKey = LOWER(TRIM(:within))) OR (:level = 'region' AND co.regionKey = LOWER(TRIM(:within))) "
+            + "OR (:level = 'country' AND co.nameKey = LOWER(TRIM(:within))))")
+    Long getDistrictPopulationWithin(@Param("district") String district, @Param("level") String level, @Param("within") String within);
+
+    /**
+     * The population of a city within a continent, region, country or district.
+     * @param name the name of the city
+     * @param level {@code continent}, {@code region}, {@code country} or {@code district}
+     * @param within the name of the continent, region, country or district
+     * @return the population of the first city of that name in the continent, region, country or district
+     */
+    @Query("SELECT CAST(c.population AS Long) AS CityPopulation FROM City c LEFT JOIN Country co ON co.code = c.countryCode WHERE c.nameKey = LOWER(TRIM(:name)) AND ("
+            + "(:level = 'continent' AND co.continentKey = LOWER(TRIM(:within))) OR (:level = 'region' AND co.regionKey = LOWER(TRIM(:within))) "
+            + "OR (:level = 'country' AND co.nameKey = LOWER(TRIM(:within))) OR (:level = 'district' AND c.districtKey = LOWER(TRIM(:within)))) "
+            + "ORDER BY c.id LIMIT 1")
+    Long getCityPopulationWithin(@Param("name") String name, @Param("level") String level, @Param("within") String within);
+
 }
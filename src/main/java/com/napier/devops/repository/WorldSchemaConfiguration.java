@@ -0,0 +1,50 @@
+package com.napier.devops.repository;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Upgrades the world database with {@link WorldSchemaUpgrade} before the entity manager
+ * factory, and so any repository, is created. Without a datasource, as in snapshot file mode,
+ * there is nothing to upgrade.
+ */
+@Configuration(proxyBeanMethods = false)
+public class WorldSchemaConfiguration {
+
+    /**
+     * Name of the {@link WorldSchemaUpgrade} bean.
+     */
+    public static final String WORLD_SCHEMA_UPGRADE = "worldSchemaUpgrade";
+
+    /**
+     * @param dataSource the world database, if there is one
+     * @param apply      whether to add missing columns and indexes ({@code world.schema.upgrade}),
+     *                   rather than fail startup
+     * @return the upgrade, already run
+     * @throws SQLException if the database cannot be read or altered
+     */
+    @Bean(WORLD_SCHEMA_UPGRADE)
+    public WorldSchemaUpgrade worldSchemaUpgrade(ObjectProvider<DataSource> dataSource,
+                                                 @Value("${world.schema.upgrade:true}") boolean apply) throws SQLException {
+        DataSource database = dataSource.getIfAvailable();
+        WorldSchemaUpgrade upgrade = new WorldSchemaUpgrade(database, apply);
+        if (database != null) {
+            upgrade.upgrade();
+        }
+        return upgrade;
+    }
+
+    /**
+     * @return makes the entity manager factory wait for the upgrade
+     */
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor worldSchemaUpgradeDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor(WORLD_SCHEMA_UPGRADE);
+    }
+}
@@ -0,0 +1,155 @@
+package com.napier.devops.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Brings an existing world database up to the schema the queries expect.
+ * <p>
+ * The migrations under {@code db/world-db} run only when the MySQL volume is first created,
+ * so a database created before a migration was added lacks its columns and indexes. Each
+ * {@link Step} checks the database metadata for its column or index and is applied only if it
+ * is missing, so running the upgrade again changes nothing. Tables that do not exist yet, as
+ * before Hibernate creates the test schema, are left alone.
+ * </p>
+ * <p>
+ * With {@code apply} off, a missing step fails startup with the migration to run instead.
+ * </p>
+ */
+public class WorldSchemaUpgrade {
+
+    private static final Logger log = LoggerFactory.getLogger(WorldSchemaUpgrade.class);
+
+    private static final String LOOKUP_KEYS = "db/world-db/world_v2_lookup_keys.sql";
+    private static final String KEYSET_INDEXES = "db/world-db/world_v3_keyset_indexes.sql";
+
+    /**
+     * The steps, in the order they are applied: every column before the indexes on it.
+     */
+    static final List<Step> STEPS = List.of(
+            Step.column("country", "ContinentKey", "varchar(20) GENERATED ALWAYS AS (LOWER(`Continent`))", LOOKUP_KEYS),
+            Step.column("country", "NameKey", "varchar(52) GENERATED ALWAYS AS (LOWER(`Name`))", LOOKUP_KEYS),
+            Step.column("country", "RegionKey", "varchar(26) GENERATED ALWAYS AS (LOWER(`Region`))", LOOKUP_KEYS),
+            Step.index("country", "idx_country_continent_key", "`ContinentKey`, `Population`", LOOKUP_KEYS),
+            Step.index("country", "idx_country_region_key", "`RegionKey`, `Population`", LOOKUP_KEYS),
+            Step.index("country", "idx_country_name_key", "`NameKey`", LOOKUP_KEYS),
+            Step.column("city", "NameKey", "varchar(35) GENERATED ALWAYS AS (LOWER(`Name`))", LOOKUP_KEYS),
+            Step.column("city", "DistrictKey", "varchar(20) GENERATED ALWAYS AS (LOWER(`District`))", LOOKUP_KEYS),
+            Step.index("city", "idx_city_district_key", "`DistrictKey`, `Population`", LOOKUP_KEYS),
+            Step.index("city", "idx_city_name_key", "`NameKey`", LOOKUP_KEYS),
+            Step.index("country", "idx_country_population", "`Population`, `Code`", KEYSET_INDEXES),
+            Step.index("city", "idx_city_population", "`Population`, `ID`", KEYSET_INDEXES));
+
+    /**
+     * A column or index the queries need.
+     * @param table     the table it belongs to
+     * @param name      the column or index name
+     * @param index     whether it is an index
+     * @param statement the statement adding it, with {@code %s} for the table name
+     * @param migration the script under {@code db/world-db} that adds it to a new database
+     */
+    record Step(String table, String name, boolean index, String statement, String migration) {
+
+        static Step column(String table, String name, String definition, String migration) {
+            return new Step(table, name, false, "ALTER TABLE `%s` ADD COLUMN `" + name + "` " + definition, migration);
+        }
+
+        static Step index(String table, String name, String columns, String migration) {
+            return new Step(table, name, true, "CREATE INDEX `" + name + "` ON `%s` (" + columns + ")", migration);
+        }
+
+        @Override
+        public String toString() {
+            return (index ? "index " : "column ") + table + "." + name;
+        }
+    }
+
+    private final DataSource dataSource;
+    private final boolean apply;
+
+    /**
+     * Constructor for WorldSchemaUpgrade
+     * @param dataSource the world database
+     * @param apply      whether to add what is missing, rather than fail
+     */
+    public WorldSchemaUpgrade(DataSource dataSource, boolean apply) {
+        this.dataSource = dataSource;
+        this.apply = apply;
+    }
+
+    /**
+     * Adds the columns and indexes missing from the database.
+     * @return the steps that were missing, in the order they were applied
+     * @throws SQLException if the database cannot be read or altered
+     * @throws IllegalStateException if steps are missing and {@code apply} is off
+     */
+    public List<Step> upgrade() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metadata = connection.getMetaData();
+            List<Step> missing = new ArrayList<>();
+            List<String> tables = new ArrayList<>();
+            for (Step step : STEPS) {
+                String table = table(connection, metadata, step.table());
+                if (table != null && !exists(connection, metadata, table, step)) {
+                    missing.add(step);
+                    tables.add(table);
+                }
+            }
+            if (missing.isEmpty()) {
+                return missing;
+            }
+            if (!apply) {
+                Set<String> migrations = missing.stream().map(Step::migration).collect(Collectors.toCollection(LinkedHashSet::new));
+                throw new IllegalStateException("The world database lacks " + missing + "; run " + String.join(", ", migrations)
+                        + " on it, or start with world.schema.upgrade=true to add them");
+            }
+            try (Statement statement = connection.createStatement()) {
+                for (int i = 0; i < missing.size(); i++) {
+                    log.info("Adding {} to the world database", missing.get(i));
+                    statement.execute(String.format(missing.get(i).statement(), tables.get(i)));
+                }
+            }
+            return missing;
+        }
+    }
+
+    /**
+     * @return the name the database gives a table, matched case-insensitively, or {@code null} if it has none
+     */
+    private static String table(Connection connection, DatabaseMetaData metadata, String name) throws SQLException {
+        try (ResultSet tables = metadata.getTables(connection.getCatalog(), connection.getSchema(), "%", new String[]{"TABLE"})) {
+            while (tables.next()) {
+                if (tables.getString("TABLE_NAME").equalsIgnoreCase(name)) {
+                    return tables.getString("TABLE_NAME");
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean exists(Connection connection, DatabaseMetaData metadata, String table, Step step) throws SQLException {
+        String column = step.index() ? "INDEX_NAME" : "COLUMN_NAME";
+        try (ResultSet rows = step.index()
+                ? metadata.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, false, false)
+                : metadata.getColumns(connection.getCatalog(), connection.getSchema(), table, "%")) {
+            while (rows.next()) {
+                if (step.name().equalsIgnoreCase(rows.getString(column))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
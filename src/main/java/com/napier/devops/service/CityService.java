@@ -1,72 +1,82 @@
 package com.napier.devops.service;
 
-import com.napier.devops.model.City;
-import com.napier.devops.repository.CityRepository;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Service;
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.paging.Keyset;
+import com.napier.devops.paging.KeysetPage;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service for city related operations
  */
-@Service
-public class CityService {
-
-    @Autowired
-    CityRepository cityRepository;
+public interface CityService {
 
     /**
      * Get all cities in the world
      * @return a list of all cities in the world
      */
-    public List<City> getAllCitiesInTheWorld() {
-        return cityRepository.getAllCitiesInTheWorld();
-    }
+    List<CitySummary> getAllCitiesInTheWorld();
 
     /**
      * Get all cities in a continent
      * @param continent the continent to get the cities from
      * @return a list of all cities in a continent
      */
-    public List<City> getAllCitiesInAContinent(String continent) {
-        return cityRepository.getAllCitiesInAContinent(continent);
-    }
+    List<CitySummary> getAllCitiesInAContinent(String continent);
 
     /**
      * Get all cities in a region
      * @param region the region to get the cities from
      * @return a list of all cities in a region
      */
-    public List<City> getAllCitiesInARegion(String region) {
-        return cityRepository.getAllCitiesInARegion(region);
-    }
+    List<CitySummary> getAllCitiesInARegion(String region);
+
+    /**
+     * Pass every city in the world to an action, largest population first, without
+     * holding them all in memory
+     * @param action the action to run for each city
+     * @return the number of cities
+     */
+    long forEachCityInTheWorld(Consumer<CitySummary> action);
+
+    /**
+     * Pass every city in a continent to an action, largest population first, without
+     * holding them all in memory
+     * @param continent the continent to get the cities from
+     * @param action the action to run for each city
+     * @return the number of cities
+     */
+    long forEachCityInAContinent(String continent, Consumer<CitySummary> action);
+
+    /**
+     * Pass every city in a region to an action, largest population first, without
+     * holding them all in memory
+     * @param region the region to get the cities from
+     * @param action the action to run for each city
+     * @return the number of cities
+     */
+    long forEachCityInARegion(String region, Consumer<CitySummary> action);
 
     /**
      * Get all cities in a country
      * @param country the country to get the cities from
      * @return a list of all cities in a country
      */
-    public List<City> getAllCitiesInACountry(String country) {
-        return cityRepository.getAllCitiesInACountry(country);
-    }
+    List<CitySummary> getAllCitiesInACountry(String country);
 
     /**
      * Get all cities in a district
      * @param district the district to get the cities from
      * @return a list of all cities in a district
      */
-    public List<City> getAllCitiesInADistrict(String district) {
-        return cityRepository.getAllCitiesInADistrict(district);
-    }
+    List<CitySummary> getAllCitiesInADistrict(String district);
 
     /**
      * Get top N cities in the world
      * @param topN the number of cities to return
      * @return a list of top N cities in the world
      */
-    public List<City> getTopNCitiesInTheWorld(int topN) {
-        return cityRepository.getTopNCitiesInTheWorld(topN);
-    }
+    List<CitySummary> getTopNCitiesInTheWorld(int topN);
 
     /**
      * Get top N cities in a continent
@@ -74,9 +84,7 @@ public class CityService {
      * @param topN the number of cities to return
      * @return a list of top N cities in a continent
      */
-    public List<City> getTopNCitiesInAContinent(String continent, int topN) {
-        return cityRepository.getTopNCitiesInAContinent(continent, topN);
-    }
+    List<CitySummary> getTopNCitiesInAContinent(String continent, int topN);
 
     /**
      * Get top N cities in a region
@@ -84,9 +92,7 @@ public class CityService {
      * @param topN the number of cities to return
      * @return a list of top N cities in a region
      */
-    public List<City> getTopNCitiesInARegion(String region, int topN) {
-        return cityRepository.getTopNCitiesInARegion(region, topN);
-    }
+    List<CitySummary> getTopNCitiesInARegion(String region, int topN);
 
     /**
      * Get top N cities in a country
@@ -94,9 +100,7 @@ public class CityService {
      * @param topN the number of cities to return
      * @return a list of top N cities in a country
      */
-    public List<City> getTopNCitiesInACountry(String country, int topN) {
-        return cityRepository.getTopNCitiesInACountry(country, topN);
-    }
+    List<CitySummary> getTopNCitiesInACountry(String country, int topN);
 
     /**
      * Get top N cities in a district
@@ -104,7 +108,49 @@ public class CityService {
      * @param topN the number of cities to return
      * @return a list of top N cities in a district
      */
-    public List<City> getTopNCitiesInADistrict(String district, int topN) {
-        return cityRepository.getTopNCitiesInADistrict(district, topN);
-    }
+    List<CitySummary> getTopNCitiesInADistrict(String district, int topN);
+
+    /**
+     * Get one page of all cities in the world, largest population first
+     * @param after the position of the last row of the previous page, or {@link Keyset#FIRST}
+     * @param size the number of cities per page
+     * @return the page, with the token of the next one
+     */
+    KeysetPage<CitySummary> getCitiesInTheWorldPage(Keyset after, int size);
+
+    /**
+     * Get one page of the cities in a continent, largest population first
+     * @param continent the continent to get the cities from
+     * @param after the position of the last row of the previous page, or {@link Keyset#FIRST}
+     * @param size the number of cities per page
+     * @return the page, with the token of the next one
+     */
+    KeysetPage<CitySummary> getCitiesInAContinentPage(String continent, Keyset after, int size);
+
+    /**
+     * Get one page of the cities in a region, largest population first
+     * @param region the region to get the cities from
+     * @param after the position of the last row of the previous page, or {@link Keyset#FIRST}
+     * @param size the number of cities per page
+     * @return the page, with the token of the next one
+     */
+    KeysetPage<CitySummary> getCitiesInARegionPage(String region, Keyset after, int size);
+
+    /**
+     * Get one page of the cities in a country, largest population first
+     * @param country the country to get the cities from
+     * @param after the position of the last row of the previous page, or {@link Keyset#FIRST}
+     * @param size the number of cities per page
+     * @return the page, with the token of the next one
+     */
+    KeysetPage<CitySummary> getCitiesInACountryPage(String country, Keyset after, int size);
+
+    /**
+     * Get one page of the cities in a district, largest population first
+     * @param district the district to get the cities from
+     * @param after the position of the last row of the previous page, or {@link Keyset#FIRST}
+     * @param size the number of cities per page
+     * @return the page, with the token of the next one
+     */
+    KeysetPage<CitySummary> getCitiesInADistrictPage(String district, Keyset after, int size);
 }
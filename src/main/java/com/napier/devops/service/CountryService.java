@@ -1,59 +1,42 @@
 package com.napier.devops.service;
 
-
-import com.napier.devops.model.Country;
-import com.napier.devops.repository.CountryRepository;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.stereotype.Service;
+import com.napier.devops.model.CountrySummary;
+import com.napier.devops.paging.Keyset;
+import com.napier.devops.paging.KeysetPage;
 
 import java.util.List;
 
 /**
  * Service for country related operations
  */
-@Service
-public class CountryService {
-
-    @Autowired
-    CountryRepository countryRepository;
+public interface CountryService {
 
     /**
      * Get all countries in the world
      * @return a list of all countries in the world
      */
-    public List<Country> getAllCountriesWorld() {
-        return countryRepository.getAllCountriesWorld();
-    }
+    List<CountrySummary> getAllCountriesWorld();
 
     /**
      * Retrieves all countries in a given continent, ordered by population.
      * @param continent The name of the continent.
      * @return A list of countries in the specified continent.
      */
-    public List<Country> getAllCountriesInContinent(String continent) {
-        return countryRepository.findByContinentOrderByPopulationDesc(continent);
-    }
+    List<CountrySummary> getAllCountriesInContinent(String continent);
 
     /**
      * USE CASE 3
      * @param region the region to get the countries from
      * @return a list of all countries in a region ordered by population
      */
-    public List<Country> getCountriesInRegionByPopulation(String region) {
-        return countryRepository.findCountriesInRegionByPopulationDesc(region);
-    }
+    List<CountrySummary> getCountriesInRegionByPopulation(String region);
 
     /**
      * USE CASE 4
      * @param limit the number of countries to return
      * @return a list of top N countries in the world
      */
-    public List<Country> getTopCountriesInWorld(int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return countryRepository.findTopCountriesInWorld(pageable);
-    }
+    List<CountrySummary> getTopCountriesInWorld(int limit);
 
     /**
      * USE CASE 5
@@ -61,10 +44,7 @@ public class CountryService {
      * @param limit the number of countries to return
      * @return a list of top N countries in a continent
      */
-    public List<Country> getTopCountriesInContinent(String continent, int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return countryRepository.findTopCountriesInContinent(continent, pageable);
-    }
+    List<CountrySummary> getTopCountriesInContinent(String continent, int limit);
 
     /**
      * USE CASE 6
@@ -72,8 +52,31 @@ public class CountryService {
      * @param limit the number of countries to return
      * @return a list of top N countries in a region
      */
-    public List<Country> getTopCountriesInRegion(String region, int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return countryRepository.findTopCountriesInRegion(region, pageable);
-    }
-}
\ No newline at end of file
+    List<CountrySummary> getTopCountriesInRegion(String region, int limit);
+
+    /**
+     * Get one page of all countries in the world, largest population first
+     * @param after the position of the last row of the previous page, or {@link Keyset#FIRST}
+     * @param size the number of countries per page
+     * @return the page, with the token of the next one
+     */
+    KeysetPage<CountrySummary> getCountriesInWorldPage(Keyset after, int size);
+
+    /**
+     * Get one page of the countries in a continent, largest population first
+     * @param continent the continent to get the countries from
+     * @param after the position of the last row of the previous page, or {@link Keyset#FIRST}
+     * @param size the number of countries per page
+     * @return the page, with the token of the next one
+     */
+    KeysetPage<CountrySummary> getCountriesInContinentPage(String continent, Keyset after, int size);
+
+    /**
+     * Get one page of the countries in a region, largest population first
+     * @param region the region to get the countries from
+     * @param after the position of the last row of the previous page, or {@link Keyset#FIRST}
+     * @param size the number of countries per page
+     * @return the page, with the token of the next one
+     */
+    KeysetPage<CountrySummary> getCountriesInRegionPage(String region, Keyset after, int size);
+}
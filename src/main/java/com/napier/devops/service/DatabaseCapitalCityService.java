@@ -0,0 +1,113 @@
+package com.napier.devops.service;
+
+import com.napier.devops.cache.CacheConfiguration;
+import com.napier.devops.cache.ReportCaches;
+import com.napier.devops.model.CapitalCity;
+import com.napier.devops.paging.Keyset;
+import com.napier.devops.paging.KeysetPage;
+import com.napier.devops.repository.CapitalCityRepository;
+import com.napier.devops.util.BadRequestException;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * {@link CapitalCityService} answering use cases 17-22 from the database.
+ */
+@Service
+@Timed("report.service")
+@CacheConfig(cacheNames = ReportCaches.CAPITAL_CITIES, keyGenerator = CacheConfiguration.REPORT_KEY_GENERATOR)
+@ConditionalOnProperty(name = "world.snapshot.enabled", havingValue = "false", matchIfMissing = true)
+public class DatabaseCapitalCityService implements CapitalCityService {
+
+    private final CapitalCityRepository capitalCityRepository;
+
+    /**
+     * Constructor for DatabaseCapitalCityService
+     * @param capitalCityRepository the repository to handle capital city data
+     */
+    public DatabaseCapitalCityService(CapitalCityRepository capitalCityRepository) {
+        this.capitalCityRepository = capitalCityRepository;
+    }
+
+    // USE CASE 21: Produce a Report on Top N Capital Cities in a Continent
+    @Override
+    @Cacheable(sync = true)
+    public List<CapitalCity> getTopCapitalCitiesInContinent(String continent, int limit) {
+        if (!StringUtils.hasText(continent)) {
+            throw new BadRequestException("continent must not be blank");
+        }
+        if (limit <= 0) {
+            throw new BadRequestException("limit must be greater than zero");
+        }
+
+        return capitalCityRepository.findTopCapitalCitiesByContinent(
+                continent.trim(),
+                PageRequest.of(0, limit)
+        );
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CapitalCity> getAllCapitalCitiesByPopulation() {
+        return capitalCityRepository.findAllCapitalCitiesByPopulationDesc();
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CapitalCity> getCapitalCitiesInContinentByPopulation(String continent) {
+        return capitalCityRepository.findCapitalCitiesInContinentByPopulationDesc(continent);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CapitalCity> getCapitalCitiesInRegionByPopulation(String region) {
+        return capitalCityRepository.findCapitalCitiesInRegionByPopulationDesc(region);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CapitalCity> getTopCapitalCitiesWorld(int limit) {
+        if (limit <= 0) {
+            throw new BadRequestException("limit must be greater than zero");
+        }
+        return capitalCityRepository.findTopCapitalCitiesWorld(org.springframework.data.domain.PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CapitalCity> getTopCapitalCitiesInRegion(String region, int limit) {
+        if (limit <= 0) {
+            throw new BadRequestException("limit must be greater than zero");
+        }
+        return capitalCityRepository.findTopCapitalCitiesByRegion(
+                region, org.springframework.data.domain.PageRequest.of(0, limit));
+    }
+
+    @Override
+    public KeysetPage<CapitalCity> getCapitalCitiesWorldPage(Keyset after, int size) {
+        KeysetPage.checkSize(size);
+        return KeysetPage.of(capitalCityRepository.findCapitalCitiesWorldAfter(after.cityPopulation(), after.cityId(),
+                PageRequest.of(0, size + 1)), size, capital -> new Keyset(capital.getPopulation(), String.valueOf(capital.getCityId())));
+    }
+
+    @Override
+    public KeysetPage<CapitalCity> getCapitalCitiesInContinentPage(String continent, Keyset after, int size) {
+        KeysetPage.checkSize(size);
+        return KeysetPage.of(capitalCityRepository.findCapitalCitiesInContinentAfter(continent, after.cityPopulation(),
+                after.cityId(), PageRequest.of(0, size + 1)), size, capital -> new Keyset(capital.getPopulation(), String.valueOf(capital.getCityId())));
+    }
+
+    @Override
+    public KeysetPage<CapitalCity> getCapitalCitiesInRegionPage(String region, Keyset after, int size) {
+        KeysetPage.checkSize(size);
+        return KeysetPage.of(capitalCityRepository.findCapitalCitiesInRegionAfter(region, after.cityPopulation(),
+                after.cityId(), PageRequest.of(0, size + 1)), size, capital -> new Keyset(capital.getPopulation(), String.valueOf(capital.getCityId())));
+    }
+}
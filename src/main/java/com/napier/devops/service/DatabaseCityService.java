@@ -0,0 +1,163 @@
+package com.napier.devops.service;
+
+import com.napier.devops.cache.CacheConfiguration;
+import com.napier.devops.cache.ReportCaches;
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.paging.Keyset;
+import com.napier.devops.paging.KeysetPage;
+import com.napier.devops.repository.CityRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * {@link CityService} answering use cases 7-16 from the database.
+ */
+@Service
+@Timed("report.service")
+@CacheConfig(cacheNames = ReportCaches.CITIES, keyGenerator = CacheConfiguration.REPORT_KEY_GENERATOR)
+@ConditionalOnProperty(name = "world.snapshot.enabled", havingValue = "false", matchIfMissing = true)
+public class DatabaseCityService implements CityService {
+
+    private final CityRepository cityRepository;
+
+    /**
+     * Constructor for DatabaseCityService
+     * @param cityRepository the repository to handle city data
+     */
+    public DatabaseCityService(CityRepository cityRepository) {
+        this.cityRepository = cityRepository;
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CitySummary> getAllCitiesInTheWorld() {
+        return cityRepository.getAllCitiesInTheWorld();
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CitySummary> getAllCitiesInAContinent(String continent) {
+        return cityRepository.getAllCitiesInAContinent(continent);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CitySummary> getAllCitiesInARegion(String region) {
+        return cityRepository.getAllCitiesInARegion(region);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long forEachCityInTheWorld(Consumer<CitySummary> action) {
+        return forEach(cityRepository.streamAllCitiesInTheWorld(), action);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long forEachCityInAContinent(String continent, Consumer<CitySummary> action) {
+        return forEach(cityRepository.streamAllCitiesInAContinent(continent), action);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long forEachCityInARegion(String region, Consumer<CitySummary> action) {
+        return forEach(cityRepository.streamAllCitiesInARegion(region), action);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CitySummary> getAllCitiesInACountry(String country) {
+        return cityRepository.getAllCitiesInACountry(country);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CitySummary> getAllCitiesInADistrict(String district) {
+        return cityRepository.getAllCitiesInADistrict(district);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CitySummary> getTopNCitiesInTheWorld(int topN) {
+        return cityRepository.getTopNCitiesInTheWorld(topN);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CitySummary> getTopNCitiesInAContinent(String continent, int topN) {
+        return cityRepository.getTopNCitiesInAContinent(continent, topN);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CitySummary> getTopNCitiesInARegion(String region, int topN) {
+        return cityRepository.getTopNCitiesInARegion(region, topN);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CitySummary> getTopNCitiesInACountry(String country, int topN) {
+        return cityRepository.getTopNCitiesInACountry(country, topN);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CitySummary> getTopNCitiesInADistrict(String district, int topN) {
+        return cityRepository.getTopNCitiesInADistrict(district, topN);
+    }
+
+    /**
+     * Runs the action for each city of a stream, closing the stream at the end
+     */
+    private long forEach(Stream<CitySummary> cities, Consumer<CitySummary> action) {
+        long count = 0;
+        try (cities) {
+            for (CitySummary city : (Iterable<CitySummary>) cities::iterator) {
+                action.accept(city);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public KeysetPage<CitySummary> getCitiesInTheWorldPage(Keyset after, int size) {
+        KeysetPage.checkSize(size);
+        return KeysetPage.of(cityRepository.findCitiesInTheWorldAfter(after.cityPopulation(), after.cityId(), size + 1), size, city -> new Keyset(city.population(), String.valueOf(city.id())));
+    }
+
+    @Override
+    public KeysetPage<CitySummary> getCitiesInAContinentPage(String continent, Keyset after, int size) {
+        KeysetPage.checkSize(size);
+        return KeysetPage.of(cityRepository.findCitiesInAContinentAfter(continent, after.cityPopulation(), after.cityId(),
+                size + 1), size, city -> new Keyset(city.population(), String.valueOf(city.id())));
+    }
+
+    @Override
+    public KeysetPage<CitySummary> getCitiesInARegionPage(String region, Keyset after, int size) {
+        KeysetPage.checkSize(size);
+        return KeysetPage.of(cityRepository.findCitiesInARegionAfter(region, after.cityPopulation(), after.cityId(),
+                size + 1), size, city -> new Keyset(city.population(), String.valueOf(city.id())));
+    }
+
+    @Override
+    public KeysetPage<CitySummary> getCitiesInACountryPage(String country, Keyset after, int size) {
+        KeysetPage.checkSize(size);
+        return KeysetPage.of(cityRepository.findCitiesInACountryAfter(country, after.cityPopulation(), after.cityId(),
+                size + 1), size, city -> new Keyset(city.population(), String.valueOf(city.id())));
+    }
+
+    @Override
+    public KeysetPage<CitySummary> getCitiesInADistrictPage(String district, Keyset after, int size) {
+        KeysetPage.checkSize(size);
+        return KeysetPage.of(cityRepository.findCitiesInADistrictAfter(district, after.cityPopulation(), after.cityId(),
+                size + 1), size, city -> new Keyset(city.population(), String.valueOf(city.id())));
+    }
+}
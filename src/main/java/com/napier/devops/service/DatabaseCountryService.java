@@ -0,0 +1,106 @@
+package com.napier.devops.service;
+
+import com.napier.devops.cache.CacheConfiguration;
+import com.napier.devops.cache.ReportCaches;
+import com.napier.devops.model.CountrySummary;
+import com.napier.devops.paging.Keyset;
+import com.napier.devops.paging.KeysetPage;
+import com.napier.devops.repository.CountryRepository;
+import com.napier.devops.util.BadRequestException;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * {@link CountryService} answering use cases 1-6 from the database.
+ */
+@Service
+@Timed("report.service")
+@CacheConfig(cacheNames = ReportCaches.COUNTRIES, keyGenerator = CacheConfiguration.REPORT_KEY_GENERATOR)
+@ConditionalOnProperty(name = "world.snapshot.enabled", havingValue = "false", matchIfMissing = true)
+public class DatabaseCountryService implements CountryService {
+
+    private final CountryRepository countryRepository;
+
+    /**
+     * Constructor for DatabaseCountryService
+     * @param countryRepository the repository to handle country data
+     */
+    public DatabaseCountryService(CountryRepository countryRepository) {
+        this.countryRepository = countryRepository;
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CountrySummary> getAllCountriesWorld() {
+        return countryRepository.getAllCountriesWorld();
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CountrySummary> getAllCountriesInContinent(String continent) {
+        return countryRepository.findByContinentOrderByPopulationDesc(continent);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CountrySummary> getCountriesInRegionByPopulation(String region) {
+        return countryRepository.findCountriesInRegionByPopulationDesc(region);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CountrySummary> getTopCountriesInWorld(int limit) {
+        if (limit <= 0) {
+            throw new BadRequestException("limit must be greater than zero");
+        }
+        Pageable pageable = PageRequest.of(0, limit);
+        return countryRepository.findTopCountriesInWorld(pageable);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CountrySummary> getTopCountriesInContinent(String continent, int limit) {
+        if (limit <= 0) {
+            throw new BadRequestException("limit must be greater than zero");
+        }
+        Pageable pageable = PageRequest.of(0, limit);
+        return countryRepository.findTopCountriesInContinent(continent, pageable);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<CountrySummary> getTopCountriesInRegion(String region, int limit) {
+        if (limit <= 0) {
+            throw new BadRequestException("limit must be greater than zero");
+        }
+        Pageable pageable = PageRequest.of(0, limit);
+        return countryRepository.findTopCountriesInRegion(region, pageable);
+    }
+
+    @Override
+    public KeysetPage<CountrySummary> getCountriesInWorldPage(Keyset after, int size) {
+        KeysetPage.checkSize(size);
+        return KeysetPage.of(countryRepository.findCountriesInWorldAfter(after.population(), after.id(), PageRequest.of(0, size + 1)), size, country -> new Keyset(country.population(), country.code()));
+    }
+
+    @Override
+    public KeysetPage<CountrySummary> getCountriesInContinentPage(String continent, Keyset after, int size) {
+        KeysetPage.checkSize(size);
+        return KeysetPage.of(countryRepository.findCountriesInContinentAfter(continent, after.population(), after.id(),
+                PageRequest.of(0, size + 1)), size, country -> new Keyset(country.population(), country.code()));
+    }
+
+    @Override
+    public KeysetPage<CountrySummary> getCountriesInRegionPage(String region, Keyset after, int size) {
+        KeysetPage.checkSize(size);
+        return KeysetPage.of(countryRepository.findCountriesInRegionAfter(region, after.population(), after.id(),
+                PageRequest.of(0, size + 1)), size, country -> new Keyset(country.population(), country.code()));
+    }
+}
@@ -0,0 +1,69 @@
+package com.napier.devops.service;
+
+import com.napier.devops.cache.CacheConfiguration;
+import com.napier.devops.cache.ReportCaches;
+import com.napier.devops.language.SpeakerIndex;
+import com.napier.devops.language.SpeakerIndexHolder;
+import com.napier.devops.model.LanguageStats;
+import com.napier.devops.util.BadRequestException;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link LanguageService} answering the language reports from the speaker index built from
+ * the database.
+ * <p>
+ * Only use case 32 is cached; any other set of languages or top-K is answered from the
+ * index directly.
+ * </p>
+ */
+@Service
+@Timed("report.service")
+@CacheConfig(cacheNames = ReportCaches.LANGUAGES, keyGenerator = CacheConfiguration.REPORT_KEY_GENERATOR)
+@ConditionalOnProperty(name = "world.snapshot.enabled", havingValue = "false", matchIfMissing = true)
+public class DatabaseLanguageService implements LanguageService {
+
+    private final SpeakerIndexHolder speakerIndexHolder;
+
+    /**
+     * Constructor for DatabaseLanguageService
+     * @param speakerIndexHolder the holder of the index the reports are read from
+     */
+    public DatabaseLanguageService(SpeakerIndexHolder speakerIndexHolder) {
+        this.speakerIndexHolder = speakerIndexHolder;
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<LanguageStats> getLanguageStatistics() {
+        return speakerIndex().statistics(REPORT_LANGUAGES);
+    }
+
+    @Override
+    public List<LanguageStats> getLanguageStatistics(Collection<String> languages) {
+        return speakerIndex().statistics(languages);
+    }
+
+    @Override
+    public List<LanguageStats> getTopLanguagesInWorld(int limit) {
+        return speakerIndex().top(limit);
+    }
+
+    @Override
+    public List<LanguageStats> getTopLanguagesInContinent(String continent, int limit) {
+        if (continent == null || continent.isBlank()) {
+            throw new BadRequestException("continent must not be blank");
+        }
+        return speakerIndex().top(continent, limit);
+    }
+
+    private SpeakerIndex speakerIndex() {
+        return speakerIndexHolder.current();
+    }
+}
@@ -0,0 +1,74 @@
+package com.napier.devops.service;
+
+import com.napier.devops.cache.CacheConfiguration;
+import com.napier.devops.cache.ReportCaches;
+import com.napier.devops.model.PopulationBreakdown;
+import com.napier.devops.repository.PopulationBreakdownProjection;
+import com.napier.devops.repository.PopulationBreakdownRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * {@link PopulationBreakdownService} answering use cases 23-25 from the database.
+ */
+@Service
+@Timed("report.service")
+@CacheConfig(cacheNames = ReportCaches.BREAKDOWNS, keyGenerator = CacheConfiguration.REPORT_KEY_GENERATOR)
+@ConditionalOnProperty(name = "world.snapshot.enabled", havingValue = "false", matchIfMissing = true)
+public class DatabasePopulationBreakdownService implements PopulationBreakdownService {
+
+    private final PopulationBreakdownRepository repository;
+
+    /**
+     * Constructor for DatabasePopulationBreakdownService
+     * @param repository the repository to handle population breakdown data
+     */
+    @Autowired
+    public DatabasePopulationBreakdownService(PopulationBreakdownRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<PopulationBreakdown> getAllByContinent() {
+           List<PopulationBreakdownProjection> rows = repository.getAllByContinent();
+           return rows.stream().map(this::toRecord).toList();
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<PopulationBreakdown> getAllByRegion() {
+           List<PopulationBreakdownProjection> rows = repository.getAllByRegion();
+           return rows.stream().map(this::toRecord).toList();
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public List<PopulationBreakdown> getAllByCountry() {
+           List<PopulationBreakdownProjection> rows = repository.getAllByCountry();
+           return rows.stream().map(this::toRecord).toList();
+    }
+
+    /**
+     * Convert a PopulationBreakdownProjection to a PopulationBreakdown record
+     * @param p the projection to convert
+     * @return the converted record
+     */
+    private PopulationBreakdown toRecord(PopulationBreakdownProjection p) {
+           return new PopulationBreakdown(
+                 p.getType(),
+                 p.getName(),
+                 p.getTotalPopulation(),
+                 p.getPopulationInCities(),
+                 p.getPopulationNotInCities(),
+                 p.getInCitiesPercentage(),
+                 p.getNotInCitiesPercentage()
+           );
+        }
+}
@@ -0,0 +1,94 @@
+package com.napier.devops.service;
+
+import com.napier.devops.cache.CacheConfiguration;
+import com.napier.devops.cache.ReportCaches;
+import com.napier.devops.repository.PopulationRepository;
+import com.napier.devops.snapshot.Scope;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+/**
+ * {@link PopulationService} answering use cases 26-31 from the database.
+ */
+@Service
+@Timed("report.service")
+@CacheConfig(cacheNames = ReportCaches.POPULATION, keyGenerator = CacheConfiguration.REPORT_KEY_GENERATOR)
+@ConditionalOnProperty(name = "world.snapshot.enabled", havingValue = "false", matchIfMissing = true)
+public class DatabasePopulationService implements PopulationService {
+
+    private final PopulationRepository populationRepository;
+
+    /**
+     * Constructor for DatabasePopulationService
+     * @param populationRepository the repository to handle population data
+     */
+    public DatabasePopulationService(PopulationRepository populationRepository) {
+        this.populationRepository = populationRepository;
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public Long getWorldPopulation() {
+        return populationRepository.getWorldPopulation();
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public Long getContinentPopulation(String continent) {
+        return populationRepository.getContinentPopulation(continent);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public Long getRegionPopulation(String region) {
+        return populationRepository.getRegionPopulation(region);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public Long getCountryPopulation(String country) {
+        return populationRepository.getCountryPopulation(country);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public Long getDistrictPopulation(String district) {
+        return populationRepository.getDistrictPopulation(district);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public Long getCityPopulation(String city) {
+        return populationRepository.getCityPopulation(city);
+    }
+
+    @Override
+    @Cacheable(sync = true)
+    public Long getPopulationWithin(Scope.Level level, String name, Scope.Level withinLevel, String within) {
+        level.requireWithin(withinLevel);
+        if (withinLevel == Scope.Level.WORLD) {
+            return switch (level) {
+                case WORLD -> populationRepository.getWorldPopulation();
+                case CONTINENT -> populationRepository.getContinentPopulation(name);
+                case REGION -> populationRepository.getRegionPopulation(name);
+                case COUNTRY -> populationRepository.getCountryPopulation(name);
+                case DISTRICT -> populationRepository.getDistrictPopulation(name);
+                case CITY -> populationRepository.getCityPopulation(name);
+            };
+        }
+        String in = withinLevel.name().toLowerCase(Locale.ROOT);
+        return switch (level) {
+            case REGION -> populationRepository.getRegionPopulationInContinent(name, within);
+            case COUNTRY -> populationRepository.getCountryPopulationWithin(name, in, within);
+            case DISTRICT -> populationRepository.getDistrictPopulationWithin(name, in, within);
+            case CITY -> populationRepository.getCityPopulationWithin(name, in, within);
+            // the world and continents are only within the world, checked above
+            case WORLD, CONTINENT -> throw new IllegalStateException("A " + level + " within a " + withinLevel);
+        };
+    }
+}
@@ -1,21 +1,24 @@
 package com.napier.devops.service;
 
+import com.napier.devops.language.SpeakerIndex;
 import com.napier.devops.model.LanguageStats;
-import com.napier.devops.repository.CountryLanguageRepository;
-import com.napier.devops.repository.LanguageStatsProjection;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Service for managing and retrieving language-related statistics.
+ * <p>
+ * Every report is read from a {@link SpeakerIndex}, so it takes no database query however
+ * the languages are chosen.
+ * </p>
  */
-@Service
-public class LanguageService {
+public interface LanguageService {
 
-    @Autowired
-    private CountryLanguageRepository countryLanguageRepository;
+    /**
+     * Languages covered by the USE CASE 32 report.
+     */
+    List<String> REPORT_LANGUAGES = List.of("Chinese", "English", "Hindi", "Spanish", "Arabic");
 
     /**
      * USE CASE 32: Retrieves language statistics for Chinese, English, Hindi, Spanish, and Arabic.
@@ -24,15 +27,31 @@ public class LanguageService {
      *
      * @return List of LanguageStats ordered by speakers (descending)
      */
-    public List<LanguageStats> getLanguageStatistics() {
-        List<LanguageStatsProjection> projections = countryLanguageRepository.getLanguageStatistics();
-        return projections.stream()
-                .map(p -> new LanguageStats(
-                        p.getLanguage(),
-                        p.getSpeakers(),
-                        p.getPercentageOfWorldPopulation()
-                ))
-                .toList();
-    }
-}
+    List<LanguageStats> getLanguageStatistics();
+
+    /**
+     * Language statistics for any set of languages, in the same form as use case 32.
+     *
+     * @param languages the languages to report on (case-insensitive); unknown ones are left out
+     * @return List of LanguageStats ordered by speakers (descending)
+     */
+    List<LanguageStats> getLanguageStatistics(Collection<String> languages);
+
+    /**
+     * The most spoken languages in the world.
+     *
+     * @param limit the number of languages to return
+     * @return List of LanguageStats ordered by speakers (descending)
+     */
+    List<LanguageStats> getTopLanguagesInWorld(int limit);
 
+    /**
+     * The most spoken languages in a continent, counting only the speakers living there.
+     * The percentages are still of the world population.
+     *
+     * @param continent the continent to get the languages from
+     * @param limit the number of languages to return
+     * @return List of LanguageStats ordered by speakers (descending)
+     */
+    List<LanguageStats> getTopLanguagesInContinent(String continent, int limit);
+}
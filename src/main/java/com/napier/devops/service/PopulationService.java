@@ -1,69 +1,62 @@
 package com.napier.devops.service;
 
-import com.napier.devops.repository.PopulationRepository;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Service;
+import com.napier.devops.snapshot.Scope;
 
 /**
  * Service for population related operations
  */
-@Service
-public class PopulationService{
-
-@Autowired
-PopulationRepository populationRepository;
+public interface PopulationService {
 
     /**
      * Get the world population
      * @return the world population
      */
-    public Long getWorldPopulation() {
-        return populationRepository.getWorldPopulation();
-    }
+    Long getWorldPopulation();
 
     /**
      * Get the population of a continent
      * @param continent the continent to get the population from
      * @return the population of a continent
      */
-    public Long getContinentPopulation(String continent) {
-        return populationRepository.getContinentPopulation(continent);
-    }
+    Long getContinentPopulation(String continent);
 
     /**
      * Get the population of a region
      * @param region the region to get the population from
      * @return the population of a region
      */
-    public Long getRegionPopulation(String region) {
-        return populationRepository.getRegionPopulation(region);
-    }
+    Long getRegionPopulation(String region);
 
     /**
      * Get the population of a country
      * @param country the country to get the population from
      * @return the population of a country
      */
-    public Long getCountryPopulation(String country) {
-        return populationRepository.getCountryPopulation(country);
-    }
+    Long getCountryPopulation(String country);
 
     /**
      * Get the population of a district
      * @param district the district to get the population from
      * @return the population of a district
      */
-    public Long getDistrictPopulation(String district) {
-        return populationRepository.getDistrictPopulation(district);
-    }
+    Long getDistrictPopulation(String district);
 
     /**
      * Get the population of a city
      * @param city the city to get the population from
      * @return the population of a city
      */
-    public Long getCityPopulation(String city) {
-        return populationRepository.getCityPopulation(city);
-    }
+    Long getCityPopulation(String city);
 
+    /**
+     * Get the population of a continent, region, country, district or city within a wider
+     * scope, e.g. of a district within a country
+     * @param level the level of the scope to get the population of
+     * @param name the name of the scope to get the population of
+     * @param withinLevel the level of the wider scope; {@link Scope.Level#WORLD} for the whole scope
+     * @param within the name of the wider scope
+     * @return the population of the scope within the wider one
+     * @throws IllegalArgumentException if the wider scope is not of a wider level
+     */
+    Long getPopulationWithin(Scope.Level level, String name, Scope.Level withinLevel, String within);
 }
@@ -0,0 +1,259 @@
+package com.napier.devops.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.napier.devops.report.BatchReportRunner;
+import com.napier.devops.report.ReportSpec;
+import com.napier.devops.report.ReportSpec.Parameter;
+import com.napier.devops.util.BadRequestException;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Service running a batch of use cases in one call, so a page showing many reports needs one
+ * request rather than one per report.
+ * <p>
+ * Identical specs are run once and share their result. The distinct specs run in parallel on
+ * a bounded pool shared by every batch (of virtual threads when
+ * {@code spring.threads.virtual.enabled} is set); when the pool and its queue are full, the calling
+ * thread runs the spec itself, which slows the caller down rather than queueing without
+ * bound. A failing use case is reported in its own result and does not fail the batch; only
+ * an invalid parameter is described to the client, any other failure is logged.
+ * </p>
+ * <p>
+ * The time taken by every use case is recorded by the {@value BatchReportRunner#REPORT_TIMER}
+ * timer, like the reports written in containerized mode.
+ * </p>
+ */
+@Service
+public class ReportBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportBatchService.class);
+
+    /**
+     * The error reported for a use case that failed other than on an invalid parameter.
+     */
+    static final String FAILED = "The report could not be generated";
+
+    private final Map<Integer, UseCase> useCases = new HashMap<>();
+    private final ThreadPoolExecutor executor;
+    private final int maxItems;
+
+    /**
+     * A use case the batch can run.
+     * @param parameters the parameters it takes
+     * @param query      the query answering it
+     */
+    private record UseCase(Set<Parameter> parameters, Function<ReportSpec, Object> query) {
+    }
+
+    /**
+     * The outcome of one spec of a batch.
+     * @param spec          the spec as run, keeping only the parameters its use case takes
+     * @param data          the report rows (or population figure), or {@code null} if it failed
+     * @param elapsedMillis time taken to run the use case
+     * @param error         why it failed, or {@code null}
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Result(ReportSpec spec, Object data, long elapsedMillis, String error) {
+    }
+
+    /**
+     * The outcome of a batch.
+     * @param results       one result per spec, in request order; identical specs share a result
+     * @param executed      number of distinct specs that were run
+     * @param elapsedMillis wall-clock time of the batch
+     */
+    public record Batch(List<Result> results, int executed, long elapsedMillis) {
+    }
+
+    /**
+     * Constructor for ReportBatchService
+     * @param countryService            the country reports (use cases 1-6)
+     * @param cityService               the city reports (use cases 7-16)
+     * @param capitalCityService        the capital city reports (use cases 17-22)
+     * @param populationBreakdownService the population breakdowns (use cases 23-25)
+     * @param populationService         the population figures (use cases 26-31)
+     * @param languageService           the language report (use case 32)
+     * @param threads                   maximum number of use cases run at once
+     * @param maxItems                  maximum number of specs in one batch
+     * @param virtualThreads            whether the use cases run on virtual threads, as the
+     *                                  requests do with {@code spring.threads.virtual.enabled}
+     */
+    public ReportBatchService(CountryService countryService, CityService cityService,
+                              CapitalCityService capitalCityService,
+                              PopulationBreakdownService populationBreakdownService,
+                              PopulationService populationService, LanguageService languageService,
+                              @Value("${report.api.batch.threads:4}") int threads,
+                              @Value("${report.api.batch.max-items:100}") int maxItems,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.maxItems = Math.max(1, maxItems);
+        int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(this.maxItems), workerThreads(virtualThreads), new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        register(1, s -> countryService.getAllCountriesWorld());
+        register(2, s -> countryService.getAllCountriesInContinent(s.continent()), Parameter.CONTINENT);
+        register(3, s -> countryService.getCountriesInRegionByPopulation(s.region()), Parameter.REGION);
+        register(4, s -> countryService.getTopCountriesInWorld(s.limit()), Parameter.LIMIT);
+        register(5, s -> countryService.getTopCountriesInContinent(s.continent(), s.limit()),
+                Parameter.CONTINENT, Parameter.LIMIT);
+        register(6, s -> countryService.getTopCountriesInRegion(s.region(), s.limit()),
+                Parameter.REGION, Parameter.LIMIT);
+
+        register(7, s -> cityService.getAllCitiesInTheWorld());
+        register(8, s -> cityService.getAllCitiesInAContinent(s.continent()), Parameter.CONTINENT);
+        register(9, s -> cityService.getAllCitiesInARegion(s.region()), Parameter.REGION);
+        register(10, s -> cityService.getAllCitiesInACountry(s.country()), Parameter.COUNTRY);
+        register(11, s -> cityService.getAllCitiesInADistrict(s.district()), Parameter.DISTRICT);
+        register(12, s -> cityService.getTopNCitiesInTheWorld(s.limit()), Parameter.LIMIT);
+        register(13, s -> cityService.getTopNCitiesInAContinent(s.continent(), s.limit()),
+                Parameter.CONTINENT, Parameter.LIMIT);
+        register(14, s -> cityService.getTopNCitiesInARegion(s.region(), s.limit()),
+                Parameter.REGION, Parameter.LIMIT);
+        register(15, s -> cityService.getTopNCitiesInACountry(s.country(), s.limit()),
+                Parameter.COUNTRY, Parameter.LIMIT);
+        register(16, s -> cityService.getTopNCitiesInADistrict(s.district(), s.limit()),
+                Parameter.DISTRICT, Parameter.LIMIT);
+
+        register(17, s -> capitalCityService.getAllCapitalCitiesByPopulation());
+        register(18, s -> capitalCityService.getCapitalCitiesInContinentByPopulation(s.continent()),
+                Parameter.CONTINENT);
+        register(19, s -> capitalCityService.getCapitalCitiesInRegionByPopulation(s.region()), Parameter.REGION);
+        register(20, s -> capitalCityService.getTopCapitalCitiesWorld(s.limit()), Parameter.LIMIT);
+        register(21, s -> capitalCityService.getTopCapitalCitiesInContinent(s.continent(), s.limit()),
+                Parameter.CONTINENT, Parameter.LIMIT);
+        register(22, s -> capitalCityService.getTopCapitalCitiesInRegion(s.region(), s.limit()),
+                Parameter.REGION, Parameter.LIMIT);
+
+        register(23, s -> populationBreakdownService.getAllByContinent());
+        register(24, s -> populationBreakdownService.getAllByRegion());
+        register(25, s -> populationBreakdownService.getAllByCountry());
+
+        register(26, s -> populationService.getWorldPopulation());
+        register(27, s -> populationService.getContinentPopulation(s.continent()), Parameter.CONTINENT);
+        register(28, s -> populationService.getRegionPopulation(s.region()), Parameter.REGION);
+        register(29, s -> populationService.getCountryPopulation(s.country()), Parameter.COUNTRY);
+        register(30, s -> populationService.getDistrictPopulation(s.district()), Parameter.DISTRICT);
+        register(31, s -> populationService.getCityPopulation(s.city()), Parameter.CITY);
+
+        register(32, s -> languageService.getLanguageStatistics());
+    }
+
+    /**
+     * Runs every spec of a batch and waits for all of them.
+     * @param specs the use cases to run
+     * @return one result per spec, in the order given
+     * @throws BadRequestException if there are no specs or more than the maximum batch size
+     */
+    public Batch run(List<ReportSpec> specs) {
+        if (specs == null || specs.isEmpty()) {
+            throw new BadRequestException("A batch needs at least one report");
+        }
+        if (specs.size() > maxItems) {
+            throw new BadRequestException("A batch holds at most " + maxItems + " reports, not " + specs.size());
+        }
+        long start = System.nanoTime();
+
+        Map<ReportSpec, CompletableFuture<Result>> distinct = new LinkedHashMap<>();
+        List<CompletableFuture<Result>> futures = new ArrayList<>(specs.size());
+        for (ReportSpec spec : specs) {
+            CompletableFuture<Result> future;
+            try {
+                ReportSpec normalized = normalize(spec);
+                future = distinct.computeIfAbsent(normalized,
+                        key -> CompletableFuture.supplyAsync(() -> execute(key), executor));
+            } catch (BadRequestException e) {
+                future = CompletableFuture.completedFuture(new Result(spec, null, 0, e.getMessage()));
+            }
+            futures.add(future);
+        }
+
+        List<Result> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<Result> future : futures) {
+            results.add(future.join());
+        }
+        return new Batch(results, distinct.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Stops the worker threads once the running use cases have finished.
+     */
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private void register(int useCase, Function<ReportSpec, Object> query, Parameter... parameters) {
+        Set<Parameter> taken = EnumSet.noneOf(Parameter.class);
+        taken.addAll(List.of(parameters));
+        useCases.put(useCase, new UseCase(taken, query));
+    }
+
+    private ReportSpec normalize(ReportSpec spec) {
+        if (spec == null) {
+            throw new BadRequestException("Missing report spec");
+        }
+        UseCase useCase = useCases.get(spec.useCase());
+        if (useCase == null) {
+            throw new BadRequestException("No use case " + spec.useCase() + "; use cases are numbered 1-32");
+        }
+        return spec.normalized(useCase.parameters());
+    }
+
+    private Result execute(ReportSpec spec) {
+        long start = System.nanoTime();
+        Object data = null;
+        String error = null;
+        try {
+            data = useCases.get(spec.useCase()).query().apply(spec);
+        } catch (BadRequestException e) {
+            error = e.getMessage();
+        } catch (RuntimeException e) {
+            // the detail may name tables or hosts, so it goes to the log rather than the client
+            log.error("{} failed", spec, e);
+            error = FAILED;
+        }
+        long elapsed = System.nanoTime() - start;
+        Timer.builder(BatchReportRunner.REPORT_TIMER)
+                .description("Time taken to generate one report")
+                .tag("report", "usecase" + spec.useCase())
+                .tag("outcome", error == null ? "success" : "error")
+                .register(Metrics.globalRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        return new Result(spec, data, elapsed / 1_000_000, error);
+    }
+
+    private static ThreadFactory workerThreads(boolean virtual) {
+        if (virtual) {
+            // still at most report.api.batch.threads at once, but none holds a carrier thread while it waits on JDBC
+            return Thread.ofVirtual().name("report-api-", 1).factory();
+        }
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "report-api-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
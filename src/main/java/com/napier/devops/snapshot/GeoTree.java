@@ -0,0 +1,285 @@
+package com.napier.devops.snapshot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The world as a tree of continents, regions, countries, districts and cities, with population
+ * totals held at every node.
+ * <p>
+ * World, continent and region nodes total the populations of their countries; a country node
+ * holds the population of its country row; district nodes total their cities. Every node also
+ * totals the cities below it. Adding, changing or removing a row adjusts only the nodes on its
+ * path to the root, at most five of them.
+ * </p>
+ * <p>
+ * The nodes of every level are indexed by name, so the population of a scope is a hash lookup
+ * and a read, and the population of a scope within a wider one only adds a walk up to the
+ * wider level. Districts and cities of a country without a country row hang from a detached
+ * country node: they count for their own level but for no continent, region or the world.
+ * Names are matched case-insensitively. Not safe for concurrent use; {@link PopulationCube}
+ * guards it with a lock.
+ * </p>
+ */
+final class GeoTree {
+
+    /**
+     * A continent, region, country, district or city and its totals.
+     */
+    static final class Node {
+        private final Scope.Level level;
+        // key of the node among its parent's children: lower-case name, country code or city id
+        private final Object id;
+        private final Map<Object, Node> children = new HashMap<>();
+        private String name;
+        private String key;
+        private Node parent;
+        private long population;
+        private long cityPopulation;
+
+        private Node(Scope.Level level, Object id, String name) {
+            this.level = level;
+            this.id = id;
+            rename(name);
+        }
+
+        private void rename(String name) {
+            this.name = name;
+            this.key = GeoTree.key(name);
+        }
+
+        /**
+         * @return the name of the continent, region, country, district or city
+         */
+        String name() {
+            return name;
+        }
+
+        /**
+         * @return the population of the node: of its country rows down to countries, of its cities below
+         */
+        long population() {
+            return population;
+        }
+
+        /**
+         * @return the population of the cities below the node
+         */
+        long cityPopulation() {
+            return cityPopulation;
+        }
+    }
+
+    private final Node world = new Node(Scope.Level.WORLD, null, null);
+    // every country with a row or cities, detached from the tree while it has no row
+    private final Map<String, Node> countriesByCode = new HashMap<>();
+    private final Map<Long, Node> citiesById = new HashMap<>();
+    // nodes of each level by lower-case name; countries in the order they were added, cities by id
+    private final Map<Scope.Level, Map<String, List<Node>>> byName = new EnumMap<>(Scope.Level.class);
+
+    GeoTree() {
+        for (Scope.Level level : Scope.Level.values()) {
+            byName.put(level, new HashMap<>());
+        }
+    }
+
+    /**
+     * Adds a country, or replaces the country with the same code, moving its cities with it.
+     */
+    void putCountry(String code, String name, String continent, String region, long population) {
+        removeCountry(code);
+        Node country = countriesByCode.computeIfAbsent(code, c -> new Node(Scope.Level.COUNTRY, c, name));
+        country.rename(name);
+        country.population = population;
+        Node regionNode = child(child(world, Scope.Level.CONTINENT, continent), Scope.Level.REGION, region);
+        regionNode.children.put(code, country);
+        country.parent = regionNode;
+        index(country);
+        propagate(regionNode, population, country.cityPopulation);
+    }
+
+    /**
+     * Removes a country row. Its cities stay, and count again if the country is added back.
+     */
+    void removeCountry(String code) {
+        Node country = countriesByCode.get(code);
+        if (country == null || country.parent == null) {
+            return;
+        }
+        Node region = country.parent;
+        propagate(region, -country.population, -country.cityPopulation);
+        region.children.remove(code);
+        country.parent = null;
+        country.population = 0;
+        unindex(country);
+        prune(region);
+        prune(country);
+    }
+
+    /**
+     * Adds a city, or replaces the city with the same id.
+     */
+    void putCity(long id, String name, String countryCode, String district, long population) {
+        removeCity(id);
+        Node country = countriesByCode.computeIfAbsent(countryCode, c -> new Node(Scope.Level.COUNTRY, c, null));
+        Node districtNode = child(country, Scope.Level.DISTRICT, district);
+        Node city = new Node(Scope.Level.CITY, id, name);
+        city.population = population;
+        city.cityPopulation = population;
+        districtNode.children.put(id, city);
+        city.parent = districtNode;
+        citiesById.put(id, city);
+        index(city);
+        propagate(districtNode, population, population);
+    }
+
+    /**
+     * Removes a city.
+     */
+    void removeCity(long id) {
+        Node city = citiesById.remove(id);
+        if (city == null) {
+            return;
+        }
+        Node district = city.parent;
+        propagate(district, -city.population, -city.population);
+        district.children.remove(id);
+        city.parent = null;
+        unindex(city);
+        prune(district);
+    }
+
+    /**
+     * Population of a scope, or of the part of it inside a wider scope: a district within a
+     * country, a city within a continent and so on. Continent, region and district populations
+     * add up every node of that name inside {@code within}; country and city populations are
+     * those of the first country of that name and of the city of that name with the lowest id.
+     * @param scope  the scope to total
+     * @param within the scope to look in; the world for all of {@code scope}
+     * @return the population, or {@code null} when nothing matches (as SQL {@code SUM} would)
+     * @throws IllegalArgumentException if {@code within} is not a wider level than {@code scope}
+     */
+    Long population(Scope scope, Scope within) {
+        scope.level().requireWithin(within.level());
+        if (scope.level() == Scope.Level.WORLD) {
+            return world.children.isEmpty() ? null : world.population;
+        }
+        if (scope.name() == null || within.level() != Scope.Level.WORLD && within.name() == null) {
+            return null;
+        }
+        List<Node> nodes = byName.get(scope.level()).get(key(scope.name()));
+        if (nodes == null) {
+            return null;
+        }
+        String withinKey = key(within.name());
+        Long total = null;
+        for (Node node : nodes) {
+            if (isWithin(node, within.level(), withinKey)) {
+                if (scope.level() == Scope.Level.COUNTRY || scope.level() == Scope.Level.CITY) {
+                    return node.population;
+                }
+                total = (total == null ? 0 : total) + node.population;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @param level a level below the world
+     * @return the nodes of the level grouped by case-insensitive name; countries of the same name
+     *         in the order they were added, cities of the same name by id
+     */
+    Collection<List<Node>> nodesByName(Scope.Level level) {
+        return byName.get(level).values();
+    }
+
+    /**
+     * @return the child of a node with a name, added and indexed if missing
+     */
+    private Node child(Node parent, Scope.Level level, String name) {
+        String key = key(name);
+        Node child = parent.children.get(key);
+        if (child == null) {
+            child = new Node(level, key, name);
+            parent.children.put(key, child);
+            child.parent = parent;
+            index(child);
+        }
+        return child;
+    }
+
+    /**
+     * Adds to the totals of a node and its ancestors. Country nodes and those above them hold
+     * country populations, so population from below a country only reaches its city total.
+     */
+    private static void propagate(Node from, long population, long cityPopulation) {
+        for (Node node = from; node != null; node = node.parent) {
+            if (node.level == Scope.Level.COUNTRY) {
+                population = 0;
+            }
+            node.population += population;
+            node.cityPopulation += cityPopulation;
+        }
+    }
+
+    /**
+     * Removes a node left without rows, then its parent if that is left empty, and so on.
+     */
+    private void prune(Node node) {
+        while (node != world && node.children.isEmpty()) {
+            if (node.level == Scope.Level.COUNTRY) {
+                if (node.parent == null) {
+                    countriesByCode.remove((String) node.id);
+                }
+                return;
+            }
+            Node parent = node.parent;
+            parent.children.remove(node.id);
+            node.parent = null;
+            unindex(node);
+            node = parent;
+        }
+    }
+
+    private void index(Node node) {
+        List<Node> nodes = byName.get(node.level).computeIfAbsent(node.key, k -> new ArrayList<>(1));
+        int position = nodes.size();
+        if (node.level == Scope.Level.CITY) {
+            while (position > 0 && (Long) nodes.get(position - 1).id > (Long) node.id) {
+                position--;
+            }
+        }
+        nodes.add(position, node);
+    }
+
+    private void unindex(Node node) {
+        Map<String, List<Node>> nodes = byName.get(node.level);
+        List<Node> named = nodes.get(node.key);
+        named.remove(node);
+        if (named.isEmpty()) {
+            nodes.remove(node.key);
+        }
+    }
+
+    private static boolean isWithin(Node node, Scope.Level level, String key) {
+        if (level == Scope.Level.WORLD) {
+            return true;
+        }
+        for (Node ancestor = node.parent; ancestor != null; ancestor = ancestor.parent) {
+            if (ancestor.level == level) {
+                return Objects.equals(ancestor.key, key);
+            }
+        }
+        return false;
+    }
+
+    private static String key(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
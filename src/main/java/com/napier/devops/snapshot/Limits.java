@@ -0,0 +1,35 @@
+package com.napier.devops.snapshot;
+
+import com.napier.devops.util.BadRequestException;
+
+/**
+ * Limit validation shared by the snapshot services, matching what the database-backed
+ * services accept so both implementations reject the same input.
+ */
+final class Limits {
+
+    private Limits() {
+    }
+
+    /**
+     * Validates a limit that the database-backed service passes to {@code PageRequest.of(0, limit)}.
+     * @param limit the requested number of rows
+     * @return the limit
+     * @throws BadRequestException when the limit is not positive
+     */
+    static int pageSize(int limit) {
+        if (limit <= 0) {
+            throw new BadRequestException("limit must be greater than zero");
+        }
+        return limit;
+    }
+
+    /**
+     * Clamps a limit that the database-backed service passes to a JPQL {@code LIMIT} clause.
+     * @param limit the requested number of rows
+     * @return the limit, or zero when it is negative
+     */
+    static int rowLimit(int limit) {
+        return Math.max(0, limit);
+    }
+}
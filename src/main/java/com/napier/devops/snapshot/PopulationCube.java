@@ -0,0 +1,162 @@
+package com.napier.devops.snapshot;
+
+import com.napier.devops.model.PopulationBreakdown;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Population totals rolled up by continent, region, country and district, kept up to date
+ * one row at a time.
+ * <p>
+ * The rows are held in a {@link GeoTree} of continents, regions, countries, districts and
+ * cities. Every node holds its total population and the population living in its cities.
+ * Adding, changing or removing a country or city row only adjusts the nodes on that row's path
+ * to the root, so the breakdown and population reports never need to re-aggregate the tables.
+ * Any population, including that of a scope within a wider one, is a lookup by name.
+ * </p>
+ * <p>
+ * Names are matched case-insensitively, like the MySQL collation. The cube is safe to read and
+ * update from several threads.
+ * </p>
+ */
+public final class PopulationCube {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final GeoTree tree = new GeoTree();
+
+    /**
+     * Adds a country, or replaces the country with the same code.
+     * @param code       the country code
+     * @param name       the country name
+     * @param continent  the continent
+     * @param region     the region
+     * @param population the population
+     */
+    public void putCountry(String code, String name, String continent, String region, long population) {
+        lock.writeLock().lock();
+        try {
+            tree.putCountry(code, name, continent, region, population);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a country. Its cities stay, and count again if the country is added back.
+     * @param code the country code
+     */
+    public void removeCountry(String code) {
+        lock.writeLock().lock();
+        try {
+            tree.removeCountry(code);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a city, or replaces the city with the same id.
+     * @param id          the city id
+     * @param name        the city name
+     * @param countryCode the code of the country the city is in
+     * @param district    the district
+     * @param population  the population
+     */
+    public void putCity(long id, String name, String countryCode, String district, long population) {
+        lock.writeLock().lock();
+        try {
+            tree.putCity(id, name, countryCode, district, population);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a city.
+     * @param id the city id
+     */
+    public void removeCity(long id) {
+        lock.writeLock().lock();
+        try {
+            tree.removeCity(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Total population of a scope. World, continent, region and country populations come from
+     * the countries; district and city populations from the cities.
+     * @param scope the scope to total
+     * @return the population, or {@code null} when nothing matches (as SQL {@code SUM} would)
+     */
+    public Long population(Scope scope) {
+        return population(scope, Scope.world());
+    }
+
+    /**
+     * Population of the part of a scope inside a wider scope, e.g. of the district "Punjab"
+     * within the country "Pakistan".
+     * @param scope  the scope to total
+     * @param within the wider scope to look in
+     * @return the population, or {@code null} when nothing matches
+     * @throws IllegalArgumentException if {@code within} is not a wider level than {@code scope}
+     */
+    public Long population(Scope scope, Scope within) {
+        lock.readLock().lock();
+        try {
+            return tree.population(scope, within);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Population living in and outside cities for every continent, region or country,
+     * ordered by total population (largest first).
+     * @param level {@link Scope.Level#CONTINENT}, {@link Scope.Level#REGION} or {@link Scope.Level#COUNTRY}
+     * @return one breakdown per group
+     */
+    public List<PopulationBreakdown> breakdowns(Scope.Level level) {
+        String type = level.name().toLowerCase(Locale.ROOT);
+        List<PopulationBreakdown> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            switch (level) {
+                // a region of several continents is one row, as it is for GROUP BY
+                case CONTINENT, REGION -> tree.nodesByName(level).forEach(nodes -> {
+                    long total = 0;
+                    long inCities = 0;
+                    for (GeoTree.Node node : nodes) {
+                        total += node.population();
+                        inCities += node.cityPopulation();
+                    }
+                    result.add(breakdown(type, nodes.get(0).name(), total, inCities));
+                });
+                case COUNTRY -> tree.nodesByName(level).forEach(nodes -> nodes.forEach(node ->
+                        result.add(breakdown(type, node.name(), node.population(), node.cityPopulation()))));
+                default -> throw new IllegalArgumentException("No population breakdown by " + level);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        result.sort(Comparator.comparing(PopulationBreakdown::totalPopulation).reversed());
+        return result;
+    }
+
+    private static PopulationBreakdown breakdown(String type, String name, long total, long inCities) {
+        long notInCities = total - inCities;
+        return new PopulationBreakdown(type, name, total, inCities, notInCities,
+                percentage(inCities, total), percentage(notInCities, total));
+    }
+
+    private static double percentage(long part, long total) {
+        return total > 0 ? Math.round(part * 10000.0 / total) / 100.0 : 0.0;
+    }
+}
@@ -0,0 +1,130 @@
+package com.napier.devops.snapshot;
+
+import com.napier.devops.model.City;
+import com.napier.devops.model.Country;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies every committed change to a {@link Country} or {@link City} row to the current
+ * {@link PopulationCube}, so the breakdown and population reports stay up to date without
+ * reloading the snapshot.
+ * <p>
+ * Changes are applied only once their transaction has committed; rolled-back changes never
+ * reach the cube. Changes made outside this application are picked up by the next snapshot
+ * reload instead. There is nothing to listen to when the snapshot is read from a file.
+ * </p>
+ */
+@Component
+@ConditionalOnExpression("${world.snapshot.enabled:false} and '${world.snapshot.file:}' == ''")
+public class PopulationCubeUpdater implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final WorldSnapshotHolder snapshots;
+    private final ApplicationEventPublisher events;
+
+    /**
+     * Constructor for PopulationCubeUpdater
+     * @param entityManagerFactory the factory whose sessions are listened to
+     * @param snapshots the holder of the current population cube
+     * @param events publisher of a {@link WorldDataChangedEvent} after every applied change
+     */
+    public PopulationCubeUpdater(EntityManagerFactory entityManagerFactory, WorldSnapshotHolder snapshots,
+                                 ApplicationEventPublisher events) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.snapshots = snapshots;
+        this.events = events;
+    }
+
+    /**
+     * Registers this updater with Hibernate.
+     */
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        put(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        put(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        PopulationCube cube = snapshots.loadedPopulationCube();
+        if (cube == null) {
+            return;
+        }
+        if (event.getEntity() instanceof Country country) {
+            cube.removeCountry(country.getCode());
+        } else if (event.getEntity() instanceof City city) {
+            cube.removeCity(city.getId());
+        } else {
+            return;
+        }
+        events.publishEvent(new WorldDataChangedEvent("row deleted"));
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == Country.class || type == City.class;
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // the row never reached the database, so the cube is still right
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // the row never reached the database, so the cube is still right
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // the row never reached the database, so the cube is still right
+    }
+
+    private void put(Object entity) {
+        // a cube that has not been loaded yet will read the committed row when it is
+        PopulationCube cube = snapshots.loadedPopulationCube();
+        if (cube == null) {
+            return;
+        }
+        if (entity instanceof Country country) {
+            cube.putCountry(country.getCode(), country.getName(), country.getContinent(), country.getRegion(),
+                    country.getPopulation() != null ? country.getPopulation() : 0L);
+        } else if (entity instanceof City city) {
+            cube.putCity(city.getId(), city.getName(), city.getCountryCode(), city.getDistrict(),
+                    city.getPopulation() != null ? city.getPopulation() : 0L);
+        } else {
+            return;
+        }
+        events.publishEvent(new WorldDataChangedEvent("row saved"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.napier.devops.snapshot;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Row ids grouped by scope (one group per continent, region, country...) and ordered by
+ * population within each group.
+ * <p>
+ * All groups share one {@code int[]}: group {@code g} is the slice
+ * {@code rows[offsets[g] .. offsets[g + 1])}. A top-N query for a group therefore reads the
+ * first N entries of its slice and touches nothing else.
+ * </p>
+ */
+final class PopulationIndex {
+
+    private final int[] offsets;
+    private final int[] rows;
+
+    private PopulationIndex(int[] offsets, int[] rows) {
+        this.offsets = offsets;
+        this.rows = rows;
+    }
+
+    /**
+     * Splits rows already ordered by population into groups, keeping that order within each group.
+     * This is a single counting-sort pass, linear in the number of rows.
+     * @param byPopulation row ids, largest population first
+     * @param groups       number of groups
+     * @param groupOf      maps a row id to its group in {@code [0, groups)}, or to a negative
+     *                     value to leave the row out of the index
+     * @return the index
+     */
+    static PopulationIndex group(int[] byPopulation, int groups, IntUnaryOperator groupOf) {
+        int[] offsets = new int[groups + 1];
+        int[] groupOfRow = new int[byPopulation.length];
+        for (int i = 0; i < byPopulation.length; i++) {
+            int group = groupOf.applyAsInt(byPopulation[i]);
+            groupOfRow[i] = group;
+            if (group >= 0) {
+                offsets[group + 1]++;
+            }
+        }
+        for (int group = 0; group < groups; group++) {
+            offsets[group + 1] += offsets[group];
+        }
+
+        int[] rows = new int[offsets[groups]];
+        int[] next = new int[groups];
+        System.arraycopy(offsets, 0, next, 0, groups);
+        for (int i = 0; i < byPopulation.length; i++) {
+            int group = groupOfRow[i];
+            if (group >= 0) {
+                rows[next[group]++] = byPopulation[i];
+            }
+        }
+        return new PopulationIndex(offsets, rows);
+    }
+
+    /**
+     * @param group a group; out-of-range groups are empty
+     * @return number of rows in the group
+     */
+    int size(int group) {
+        if (group < 0 || group >= offsets.length - 1) {
+            return 0;
+        }
+        return offsets[group + 1] - offsets[group];
+    }
+
+    /**
+     * Passes the largest rows of a group, largest population first, to an action.
+     * @param group  a group; out-of-range groups are empty
+     * @param limit  maximum number of rows
+     * @param action the action to run for each row id
+     */
+    void forEach(int group, int limit, IntConsumer action) {
+        int count = Math.min(size(group), Math.max(0, limit));
+        if (count == 0) {
+            return;
+        }
+        int start = offsets[group];
+        for (int i = start; i < start + count; i++) {
+            action.accept(rows[i]);
+        }
+    }
+
+    /**
+     * Passes rows of a group from a position on, in index order, to an action.
+     * @param group  a group; out-of-range groups are empty
+     * @param from   position within the group of the first row
+     * @param limit  maximum number of rows
+     * @param action the action to run for each row id
+     */
+    void forEach(int group, int from, int limit, IntConsumer action) {
+        int count = Math.min(size(group) - Math.max(0, from), Math.max(0, limit));
+        if (count <= 0) {
+            return;
+        }
+        int start = offsets[group] + Math.max(0, from);
+        for (int i = start; i < start + count; i++) {
+            action.accept(rows[i]);
+        }
+    }
+
+    /**
+     * Binary-searches a group for the first row a predicate accepts. The predicate must reject
+     * a leading run of the group's rows and accept all the rest, as "comes after a keyset
+     * position" does for rows in keyset order.
+     * @param group     a group; out-of-range groups are empty
+     * @param predicate the test, false then true along the group
+     * @return the position within the group of the first accepted row, or the group size if none is
+     */
+    int first(int group, IntPredicate predicate) {
+        int low = 0;
+        int high = size(group);
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (predicate.test(rows[offsets[group] + middle])) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+}
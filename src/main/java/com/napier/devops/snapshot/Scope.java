@@ -0,0 +1,97 @@
+package com.napier.devops.snapshot;
+
+import com.napier.devops.util.BadRequestException;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A geographic scope used to filter or aggregate reports held in a {@link WorldSnapshot}.
+ * <p>
+ * Every report in the system is "something, within a scope": all countries in a continent,
+ * the top N cities in a district, the population of a region and so on. The scope names are
+ * matched case-insensitively, the same way the MySQL {@code utf8mb4} collation matches them.
+ * </p>
+ *
+ * @param level the geographic level of the scope
+ * @param name  the continent, region, country, district or city name; ignored for the world.
+ *              A {@code null} name matches nothing.
+ */
+public record Scope(Level level, String name) {
+
+    /**
+     * Geographic levels, from the widest to the narrowest.
+     */
+    public enum Level {
+        WORLD,
+        CONTINENT,
+        REGION,
+        COUNTRY,
+        DISTRICT,
+        CITY;
+
+        /**
+         * Checks that a scope of this level can lie within a scope of another level.
+         * @param wider the level of the wider scope
+         * @throws BadRequestException unless {@code wider} is the world or a wider level than this one
+         */
+        public void requireWithin(Level wider) {
+            if (wider != WORLD && compareTo(wider) <= 0) {
+                throw new BadRequestException("A " + name().toLowerCase(Locale.ROOT) + " is not within a "
+                        + wider.name().toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    public Scope {
+        Objects.requireNonNull(level, "level must not be null");
+        name = level == Level.WORLD || name == null ? null : name.trim();
+    }
+
+    /**
+     * @return the scope covering the whole world
+     */
+    public static Scope world() {
+        return new Scope(Level.WORLD, null);
+    }
+
+    /**
+     * @param continent the continent name
+     * @return the scope covering a continent
+     */
+    public static Scope continent(String continent) {
+        return new Scope(Level.CONTINENT, continent);
+    }
+
+    /**
+     * @param region the region name
+     * @return the scope covering a region
+     */
+    public static Scope region(String region) {
+        return new Scope(Level.REGION, region);
+    }
+
+    /**
+     * @param country the country name
+     * @return the scope covering a country
+     */
+    public static Scope country(String country) {
+        return new Scope(Level.COUNTRY, country);
+    }
+
+    /**
+     * @param district the district name
+     * @return the scope covering a district
+     */
+    public static Scope district(String district) {
+        return new Scope(Level.DISTRICT, district);
+    }
+
+    /**
+     * @param city the city name
+     * @return the scope covering a single city
+     */
+    public static Scope city(String city) {
+        return new Scope(Level.CITY, city);
+    }
+}
@@ -0,0 +1,86 @@
+package com.napier.devops.snapshot;
+
+import com.napier.devops.model.CapitalCity;
+import com.napier.devops.paging.Keyset;
+import com.napier.devops.paging.KeysetPage;
+import com.napier.devops.service.CapitalCityService;
+import com.napier.devops.util.BadRequestException;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * {@link CapitalCityService} answering use cases 17-22 from the in-memory {@link WorldSnapshot}.
+ */
+@Service
+@Timed("report.service")
+@ConditionalOnProperty(name = "world.snapshot.enabled", havingValue = "true")
+public class SnapshotCapitalCityService implements CapitalCityService {
+
+    private final WorldSnapshotHolder snapshots;
+
+    /**
+     * Constructor for SnapshotCapitalCityService
+     * @param snapshots the holder of the current world snapshot
+     */
+    public SnapshotCapitalCityService(WorldSnapshotHolder snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    @Override
+    public List<CapitalCity> getTopCapitalCitiesInContinent(String continent, int limit) {
+        if (!StringUtils.hasText(continent)) {
+            throw new BadRequestException("continent must not be blank");
+        }
+        return snapshots.current().capitalCities(Scope.continent(continent), Limits.pageSize(limit));
+    }
+
+    @Override
+    public List<CapitalCity> getAllCapitalCitiesByPopulation() {
+        return snapshots.current().capitalCities(Scope.world(), WorldSnapshot.ALL);
+    }
+
+    @Override
+    public List<CapitalCity> getCapitalCitiesInContinentByPopulation(String continent) {
+        return snapshots.current().capitalCities(Scope.continent(continent), WorldSnapshot.ALL);
+    }
+
+    @Override
+    public List<CapitalCity> getCapitalCitiesInRegionByPopulation(String region) {
+        return snapshots.current().capitalCities(Scope.region(region), WorldSnapshot.ALL);
+    }
+
+    @Override
+    public List<CapitalCity> getTopCapitalCitiesWorld(int limit) {
+        return snapshots.current().capitalCities(Scope.world(), Limits.pageSize(limit));
+    }
+
+    @Override
+    public List<CapitalCity> getTopCapitalCitiesInRegion(String region, int limit) {
+        return snapshots.current().capitalCities(Scope.region(region), Limits.pageSize(limit));
+    }
+
+    @Override
+    public KeysetPage<CapitalCity> getCapitalCitiesWorldPage(Keyset after, int size) {
+        return page(Scope.world(), after, size);
+    }
+
+    @Override
+    public KeysetPage<CapitalCity> getCapitalCitiesInContinentPage(String continent, Keyset after, int size) {
+        return page(Scope.continent(continent), after, size);
+    }
+
+    @Override
+    public KeysetPage<CapitalCity> getCapitalCitiesInRegionPage(String region, Keyset after, int size) {
+        return page(Scope.region(region), after, size);
+    }
+
+    private KeysetPage<CapitalCity> page(Scope scope, Keyset after, int size) {
+        KeysetPage.checkSize(size);
+        return KeysetPage.of(snapshots.current().capitalCitiesAfter(scope, after, size + 1), size,
+                capital -> new Keyset(capital.getPopulation(), String.valueOf(capital.getCityId())));
+    }
+}
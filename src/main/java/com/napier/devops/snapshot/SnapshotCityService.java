@@ -0,0 +1,132 @@
+package com.napier.devops.snapshot;
+
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.paging.Keyset;
+import com.napier.devops.paging.KeysetPage;
+import com.napier.devops.service.CityService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@link CityService} answering use cases 7-16 from the in-memory {@link WorldSnapshot}.
+ */
+@Service
+@Timed("report.service")
+@ConditionalOnProperty(name = "world.snapshot.enabled", havingValue = "true")
+public class SnapshotCityService implements CityService {
+
+    private final WorldSnapshotHolder snapshots;
+
+    /**
+     * Constructor for SnapshotCityService
+     * @param snapshots the holder of the current world snapshot
+     */
+    public SnapshotCityService(WorldSnapshotHolder snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    @Override
+    public List<CitySummary> getAllCitiesInTheWorld() {
+        return snapshots.current().cities(Scope.world(), WorldSnapshot.ALL);
+    }
+
+    @Override
+    public List<CitySummary> getAllCitiesInAContinent(String continent) {
+        return snapshots.current().cities(Scope.continent(continent), WorldSnapshot.ALL);
+    }
+
+    @Override
+    public List<CitySummary> getAllCitiesInARegion(String region) {
+        return snapshots.current().cities(Scope.region(region), WorldSnapshot.ALL);
+    }
+
+    @Override
+    public long forEachCityInTheWorld(Consumer<CitySummary> action) {
+        return forEach(getAllCitiesInTheWorld(), action);
+    }
+
+    @Override
+    public long forEachCityInAContinent(String continent, Consumer<CitySummary> action) {
+        return forEach(getAllCitiesInAContinent(continent), action);
+    }
+
+    @Override
+    public long forEachCityInARegion(String region, Consumer<CitySummary> action) {
+        return forEach(getAllCitiesInARegion(region), action);
+    }
+
+    @Override
+    public List<CitySummary> getAllCitiesInACountry(String country) {
+        return snapshots.current().cities(Scope.country(country), WorldSnapshot.ALL);
+    }
+
+    @Override
+    public List<CitySummary> getAllCitiesInADistrict(String district) {
+        return snapshots.current().cities(Scope.district(district), WorldSnapshot.ALL);
+    }
+
+    @Override
+    public List<CitySummary> getTopNCitiesInTheWorld(int topN) {
+        return snapshots.current().cities(Scope.world(), Limits.rowLimit(topN));
+    }
+
+    @Override
+    public List<CitySummary> getTopNCitiesInAContinent(String continent, int topN) {
+        return snapshots.current().cities(Scope.continent(continent), Limits.rowLimit(topN));
+    }
+
+    @Override
+    public List<CitySummary> getTopNCitiesInARegion(String region, int topN) {
+        return snapshots.current().cities(Scope.region(region), Limits.rowLimit(topN));
+    }
+
+    @Override
+    public List<CitySummary> getTopNCitiesInACountry(String country, int topN) {
+        return snapshots.current().cities(Scope.country(country), Limits.rowLimit(topN));
+    }
+
+    @Override
+    public List<CitySummary> getTopNCitiesInADistrict(String district, int topN) {
+        return snapshots.current().cities(Scope.district(district), Limits.rowLimit(topN));
+    }
+
+    @Override
+    public KeysetPage<CitySummary> getCitiesInTheWorldPage(Keyset after, int size) {
+        return page(Scope.world(), after, size);
+    }
+
+    @Override
+    public KeysetPage<CitySummary> getCitiesInAContinentPage(String continent, Keyset after, int size) {
+        return page(Scope.continent(continent), after, size);
+    }
+
+    @Override
+    public KeysetPage<CitySummary> getCitiesInARegionPage(String region, Keyset after, int size) {
+        return page(Scope.region(region), after, size);
+    }
+
+    @Override
+    public KeysetPage<CitySummary> getCitiesInACountryPage(String country, Keyset after, int size) {
+        return page(Scope.country(country), after, size);
+    }
+
+    @Override
+    public KeysetPage<CitySummary> getCitiesInADistrictPage(String district, Keyset after, int size) {
+        return page(Scope.district(district), after, size);
+    }
+
+    private KeysetPage<CitySummary> page(Scope scope, Keyset after, int size) {
+        KeysetPage.checkSize(size);
+        return KeysetPage.of(snapshots.current().citiesAfter(scope, after, size + 1), size,
+                city -> new Keyset(city.population(), String.valueOf(city.id())));
+    }
+
+    private static long forEach(List<CitySummary> cities, Consumer<CitySummary> action) {
+        cities.forEach(action);
+        return cities.size();
+    }
+}
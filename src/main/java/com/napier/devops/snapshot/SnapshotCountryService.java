@@ -0,0 +1,81 @@
+package com.napier.devops.snapshot;
+
+import com.napier.devops.model.CountrySummary;
+import com.napier.devops.paging.Keyset;
+import com.napier.devops.paging.KeysetPage;
+import com.napier.devops.service.CountryService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * {@link CountryService} answering use cases 1-6 from the in-memory {@link WorldSnapshot}.
+ */
+@Service
+@Timed("report.service")
+@ConditionalOnProperty(name = "world.snapshot.enabled", havingValue = "true")
+public class SnapshotCountryService implements CountryService {
+
+    private final WorldSnapshotHolder snapshots;
+
+    /**
+     * Constructor for SnapshotCountryService
+     * @param snapshots the holder of the current world snapshot
+     */
+    public SnapshotCountryService(WorldSnapshotHolder snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    @Override
+    public List<CountrySummary> getAllCountriesWorld() {
+        return snapshots.current().countries(Scope.world(), WorldSnapshot.ALL);
+    }
+
+    @Override
+    public List<CountrySummary> getAllCountriesInContinent(String continent) {
+        return snapshots.current().countries(Scope.continent(continent), WorldSnapshot.ALL);
+    }
+
+    @Override
+    public List<CountrySummary> getCountriesInRegionByPopulation(String region) {
+        return snapshots.current().countries(Scope.region(region), WorldSnapshot.ALL);
+    }
+
+    @Override
+    public List<CountrySummary> getTopCountriesInWorld(int limit) {
+        return snapshots.current().countries(Scope.world(), Limits.pageSize(limit));
+    }
+
+    @Override
+    public List<CountrySummary> getTopCountriesInContinent(String continent, int limit) {
+        return snapshots.current().countries(Scope.continent(continent), Limits.pageSize(limit));
+    }
+
+    @Override
+    public List<CountrySummary> getTopCountriesInRegion(String region, int limit) {
+        return snapshots.current().countries(Scope.region(region), Limits.pageSize(limit));
+    }
+
+    @Override
+    public KeysetPage<CountrySummary> getCountriesInWorldPage(Keyset after, int size) {
+        return page(Scope.world(), after, size);
+    }
+
+    @Override
+    public KeysetPage<CountrySummary> getCountriesInContinentPage(String continent, Keyset after, int size) {
+        return page(Scope.continent(continent), after, size);
+    }
+
+    @Override
+    public KeysetPage<CountrySummary> getCountriesInRegionPage(String region, Keyset after, int size) {
+        return page(Scope.region(region), after, size);
+    }
+
+    private KeysetPage<CountrySummary> page(Scope scope, Keyset after, int size) {
+        KeysetPage.checkSize(size);
+        return KeysetPage.of(snapshots.current().countriesAfter(scope, after, size + 1), size,
+                country -> new Keyset(country.population(), country.code()));
+    }
+}
@@ -0,0 +1,59 @@
+package com.napier.devops.snapshot;
+
+import com.napier.devops.language.SpeakerIndex;
+import com.napier.devops.model.LanguageStats;
+import com.napier.devops.service.LanguageService;
+import com.napier.devops.util.BadRequestException;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link LanguageService} answering the language reports from the speaker index of the
+ * in-memory {@link WorldSnapshot}.
+ */
+@Service
+@Timed("report.service")
+@ConditionalOnProperty(name = "world.snapshot.enabled", havingValue = "true")
+public class SnapshotLanguageService implements LanguageService {
+
+    private final WorldSnapshotHolder snapshots;
+
+    /**
+     * Constructor for SnapshotLanguageService
+     * @param snapshots the holder of the current world snapshot
+     */
+    public SnapshotLanguageService(WorldSnapshotHolder snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    @Override
+    public List<LanguageStats> getLanguageStatistics() {
+        return speakerIndex().statistics(REPORT_LANGUAGES);
+    }
+
+    @Override
+    public List<LanguageStats> getLanguageStatistics(Collection<String> languages) {
+        return speakerIndex().statistics(languages);
+    }
+
+    @Override
+    public List<LanguageStats> getTopLanguagesInWorld(int limit) {
+        return speakerIndex().top(limit);
+    }
+
+    @Override
+    public List<LanguageStats> getTopLanguagesInContinent(String continent, int limit) {
+        if (continent == null || continent.isBlank()) {
+            throw new BadRequestException("continent must not be blank");
+        }
+        return speakerIndex().top(continent, limit);
+    }
+
+    private SpeakerIndex speakerIndex() {
+        return snapshots.current().speakerIndex();
+    }
+}
@@ -0,0 +1,43 @@
+package com.napier.devops.snapshot;
+
+import com.napier.devops.model.PopulationBreakdown;
+import com.napier.devops.service.PopulationBreakdownService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * {@link PopulationBreakdownService} answering use cases 23-25 from the {@link PopulationCube} of the in-memory snapshot.
+ */
+@Service
+@Timed("report.service")
+@ConditionalOnProperty(name = "world.snapshot.enabled", havingValue = "true")
+public class SnapshotPopulationBreakdownService implements PopulationBreakdownService {
+
+    private final WorldSnapshotHolder snapshots;
+
+    /**
+     * Constructor for SnapshotPopulationBreakdownService
+     * @param snapshots the holder of the current world snapshot
+     */
+    public SnapshotPopulationBreakdownService(WorldSnapshotHolder snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    @Override
+    public List<PopulationBreakdown> getAllByContinent() {
+        return snapshots.populationCube().breakdowns(Scope.Level.CONTINENT);
+    }
+
+    @Override
+    public List<PopulationBreakdown> getAllByRegion() {
+        return snapshots.populationCube().breakdowns(Scope.Level.REGION);
+    }
+
+    @Override
+    public List<PopulationBreakdown> getAllByCountry() {
+        return snapshots.populationCube().breakdowns(Scope.Level.COUNTRY);
+    }
+}
@@ -0,0 +1,60 @@
+package com.napier.devops.snapshot;
+
+import com.napier.devops.service.PopulationService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link PopulationService} answering use cases 26-31 from the {@link PopulationCube} of the in-memory snapshot.
+ */
+@Service
+@Timed("report.service")
+@ConditionalOnProperty(name = "world.snapshot.enabled", havingValue = "true")
+public class SnapshotPopulationService implements PopulationService {
+
+    private final WorldSnapshotHolder snapshots;
+
+    /**
+     * Constructor for SnapshotPopulationService
+     * @param snapshots the holder of the current world snapshot
+     */
+    public SnapshotPopulationService(WorldSnapshotHolder snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    @Override
+    public Long getWorldPopulation() {
+        return snapshots.populationCube().population(Scope.world());
+    }
+
+    @Override
+    public Long getContinentPopulation(String continent) {
+        return snapshots.populationCube().population(Scope.continent(continent));
+    }
+
+    @Override
+    public Long getRegionPopulation(String region) {
+        return snapshots.populationCube().population(Scope.region(region));
+    }
+
+    @Override
+    public Long getCountryPopulation(String country) {
+        return snapshots.populationCube().population(Scope.country(country));
+    }
+
+    @Override
+    public Long getDistrictPopulation(String district) {
+        return snapshots.populationCube().population(Scope.district(district));
+    }
+
+    @Override
+    public Long getCityPopulation(String city) {
+        return snapshots.populationCube().population(Scope.city(city));
+    }
+
+    @Override
+    public Long getPopulationWithin(Scope.Level level, String name, Scope.Level withinLevel, String within) {
+        return snapshots.populationCube().population(new Scope(level, name), new Scope(withinLevel, within));
+    }
+}
@@ -0,0 +1,71 @@
+package com.napier.devops.snapshot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for repeated string columns (continents, regions, districts, languages).
+ * <p>
+ * Each distinct value is stored once and referenced from the column arrays by its integer code.
+ * Lookups are case-insensitive; {@code null} values are encoded as {@link #MISSING}.
+ * </p>
+ */
+final class StringDictionary {
+
+    /**
+     * Code used for {@code null} values and for names that are not in the dictionary.
+     */
+    static final int MISSING = -1;
+
+    private final List<String> values = new ArrayList<>();
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    /**
+     * Returns the code of a value, adding it to the dictionary if it is new.
+     * @param value the value to encode
+     * @return the code of the value
+     */
+    int encode(String value) {
+        if (value == null) {
+            return MISSING;
+        }
+        return codes.computeIfAbsent(key(value), k -> {
+            values.add(value);
+            return values.size() - 1;
+        });
+    }
+
+    /**
+     * Looks up the code of a value without adding it.
+     * @param value the value to look up (case-insensitive)
+     * @return the code of the value, or {@link #MISSING} if it is unknown
+     */
+    int lookup(String value) {
+        if (value == null) {
+            return MISSING;
+        }
+        return codes.getOrDefault(key(value), MISSING);
+    }
+
+    /**
+     * @param code a code returned by {@link #encode(String)}
+     * @return the value for the code, or {@code null} for {@link #MISSING}
+     */
+    String value(int code) {
+        return code == MISSING ? null : values.get(code);
+    }
+
+    /**
+     * @return the number of distinct values
+     */
+    int size() {
+        return values.size();
+    }
+
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,10 @@
+package com.napier.devops.snapshot;
+
+/**
+ * Published when the world data the reports are answered from has changed: a snapshot
+ * (re)load, or a committed country or city change applied to the population cube.
+ *
+ * @param reason short description of the change, for logging
+ */
+public record WorldDataChangedEvent(String reason) {
+}
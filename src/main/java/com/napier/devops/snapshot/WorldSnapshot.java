@@ -0,0 +1,618 @@
+package com.napier.devops.snapshot;
+
+import com.napier.devops.language.SpeakerIndex;
+import com.napier.devops.model.CapitalCity;
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.model.CountrySummary;
+import com.napier.devops.model.LanguageStats;
+import com.napier.devops.model.SpeakerCount;
+import com.napier.devops.paging.Keyset;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable, in-memory columnar copy of the {@code country}, {@code city} and
+ * {@code countrylanguage} tables.
+ * <p>
+ * Each table is held as a set of parallel primitive arrays indexed by row number, with the
+ * repeated string columns (continent, region, district, language) dictionary-encoded to
+ * {@code int} codes. Rows are sorted by population once at build time and grouped per
+ * continent, region, country and district, so a top-N report reads exactly N rows instead of
+ * sorting the whole scope on every query.
+ * </p>
+ * <p>
+ * Instances are built with {@link #builder()} and are safe to share between threads.
+ * Only the report columns are kept, and the reports return them as {@link CountrySummary} and
+ * {@link CitySummary} rows like the database queries do.
+ * </p>
+ */
+public final class WorldSnapshot {
+
+    /**
+     * Limit value meaning "no limit".
+     */
+    public static final int ALL = Integer.MAX_VALUE;
+
+    private static final int NONE = -1;
+
+    // country columns
+    private final String[] countryCode;
+    private final String[] countryName;
+    private final int[] countryContinent;
+    private final int[] countryRegion;
+    private final long[] countryPopulation;
+    private final int[] countryCapital;
+
+    // city columns
+    private final int[] cityId;
+    private final String[] cityName;
+    private final int[] cityCountry;
+    private final int[] cityDistrict;
+    private final int[] cityPopulation;
+
+    // countrylanguage columns
+    private final int[] languageCountry;
+    private final int[] languageCode;
+    private final boolean[] languageOfficial;
+    private final double[] languagePercentage;
+
+    private final StringDictionary continents;
+    private final StringDictionary regions;
+    private final StringDictionary districts;
+    private final StringDictionary languages;
+
+    private final Map<String, Integer> countryByName;
+    private final Map<String, Integer> cityByName;
+
+    // row ids per scope, ordered by population within each scope, largest first
+    private final Map<Scope.Level, PopulationIndex> countryIndex = new EnumMap<>(Scope.Level.class);
+    private final Map<Scope.Level, PopulationIndex> cityIndex = new EnumMap<>(Scope.Level.class);
+    private final Map<Scope.Level, PopulationIndex> capitalIndex = new EnumMap<>(Scope.Level.class);
+    // the same groups in keyset order: population, then id, both descending
+    private final Map<Scope.Level, PopulationIndex> countryPageIndex = new EnumMap<>(Scope.Level.class);
+    private final Map<Scope.Level, PopulationIndex> cityPageIndex = new EnumMap<>(Scope.Level.class);
+    private final Map<Scope.Level, PopulationIndex> capitalPageIndex = new EnumMap<>(Scope.Level.class);
+
+    private final SpeakerIndex speakerIndex;
+
+    private WorldSnapshot(Builder b) {
+        this.continents = b.continents;
+        this.regions = b.regions;
+        this.districts = b.districts;
+        this.languages = b.languages;
+
+        int countries = b.countryCodes.size();
+        countryCode = b.countryCodes.toArray(new String[0]);
+        countryName = b.countryNames.toArray(new String[0]);
+        countryContinent = toIntArray(b.countryContinents);
+        countryRegion = toIntArray(b.countryRegions);
+        countryPopulation = b.countryPopulations.stream().mapToLong(Long::longValue).toArray();
+
+        Map<String, Integer> countryByCode = new HashMap<>();
+        countryByName = new HashMap<>();
+        for (int row = 0; row < countries; row++) {
+            countryByCode.putIfAbsent(countryCode[row], row);
+            if (countryName[row] != null) {
+                countryByName.putIfAbsent(key(countryName[row]), row);
+            }
+        }
+
+        int cities = b.cityIds.size();
+        cityId = toIntArray(b.cityIds);
+        cityName = b.cityNames.toArray(new String[0]);
+        cityDistrict = toIntArray(b.cityDistricts);
+        cityPopulation = toIntArray(b.cityPopulations);
+        cityCountry = new int[cities];
+        Map<Integer, Integer> cityRowById = new HashMap<>();
+        for (int row = 0; row < cities; row++) {
+            cityCountry[row] = countryByCode.getOrDefault(b.cityCountryCodes.get(row), NONE);
+            cityRowById.putIfAbsent(cityId[row], row);
+        }
+        // LIMIT 1 without ORDER BY returns the lowest id on an InnoDB primary key scan
+        cityByName = new HashMap<>();
+        IntStream.range(0, cities).boxed()
+                .sorted(Comparator.comparingInt(row -> cityId[row]))
+                .forEach(row -> {
+                    if (cityName[row] != null) {
+                        cityByName.putIfAbsent(key(cityName[row]), row);
+                    }
+                });
+
+        countryCapital = new int[countries];
+        for (int row = 0; row < countries; row++) {
+            Integer capitalId = b.countryCapitals.get(row);
+            countryCapital[row] = capitalId == null ? NONE : cityRowById.getOrDefault(capitalId, NONE);
+        }
+
+        int rows = b.languageCountryCodes.size();
+        languageCountry = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            languageCountry[row] = countryByCode.getOrDefault(b.languageCountryCodes.get(row), NONE);
+        }
+        languageCode = toIntArray(b.languageCodes);
+        languageOfficial = new boolean[rows];
+        languagePercentage = new double[rows];
+        for (int row = 0; row < rows; row++) {
+            languageOfficial[row] = b.languageOfficial.get(row);
+            languagePercentage[row] = b.languagePercentages.get(row);
+        }
+        speakerIndex = buildSpeakerIndex();
+
+        int[] countriesByPopulation = IntStream.range(0, countries).boxed()
+                .sorted(Comparator.<Integer>comparingLong(row -> countryPopulation[row]).reversed()
+                        .thenComparing(row -> countryCode[row], Comparator.nullsLast(Comparator.naturalOrder())))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        int[] citiesByPopulation = IntStream.range(0, cities).boxed()
+                .sorted(Comparator.<Integer>comparingInt(row -> cityPopulation[row]).reversed()
+                        .thenComparingInt(row -> cityId[row]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        int[] capitalsByPopulation = IntStream.range(0, countries).boxed()
+                .filter(row -> countryCapital[row] != NONE)
+                .sorted(Comparator.<Integer>comparingInt(row -> cityPopulation[countryCapital[row]]).reversed()
+                        .thenComparingInt(row -> cityId[countryCapital[row]]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        int[] countriesByKeyset = IntStream.range(0, countries).boxed()
+                .sorted(Comparator.<Integer>comparingLong(row -> countryPopulation[row])
+                        .thenComparing(row -> countryCode[row], Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+        int[] citiesByKeyset = IntStream.range(0, cities).boxed()
+                .sorted(Comparator.<Integer>comparingInt(row -> cityPopulation[row])
+                        .thenComparingInt(row -> cityId[row])
+                        .reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+        int[] capitalsByKeyset = IntStream.range(0, countries).boxed()
+                .filter(row -> countryCapital[row] != NONE)
+                .sorted(Comparator.<Integer>comparingInt(row -> cityPopulation[countryCapital[row]])
+                        .thenComparingInt(row -> cityId[countryCapital[row]])
+                        .reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        for (Scope.Level level : List.of(Scope.Level.WORLD, Scope.Level.CONTINENT, Scope.Level.REGION, Scope.Level.COUNTRY)) {
+            int groups = groups(level);
+            IntUnaryOperator countryGroup = row -> countryGroup(row, level);
+            IntUnaryOperator cityGroup = row -> cityCountry[row] == NONE ? NONE : countryGroup(cityCountry[row], level);
+            countryIndex.put(level, PopulationIndex.group(countriesByPopulation, groups, countryGroup));
+            capitalIndex.put(level, PopulationIndex.group(capitalsByPopulation, groups, countryGroup));
+            cityIndex.put(level, PopulationIndex.group(citiesByPopulation, groups, cityGroup));
+            countryPageIndex.put(level, PopulationIndex.group(countriesByKeyset, groups, countryGroup));
+            capitalPageIndex.put(level, PopulationIndex.group(capitalsByKeyset, groups, countryGroup));
+            cityPageIndex.put(level, PopulationIndex.group(citiesByKeyset, groups, cityGroup));
+        }
+        cityIndex.put(Scope.Level.DISTRICT, PopulationIndex.group(citiesByPopulation, districts.size(), row -> cityDistrict[row]));
+        cityIndex.put(Scope.Level.CITY, PopulationIndex.group(citiesByPopulation, cities, row -> row));
+        cityPageIndex.put(Scope.Level.DISTRICT, PopulationIndex.group(citiesByKeyset, districts.size(), row -> cityDistrict[row]));
+        cityPageIndex.put(Scope.Level.CITY, PopulationIndex.group(citiesByKeyset, cities, row -> row));
+    }
+
+    /**
+     * Sums the speakers of every language per continent, as the speaker count query does.
+     */
+    private SpeakerIndex buildSpeakerIndex() {
+        double[][] speakers = new double[languages.size()][continents.size() + 1];
+        boolean[][] spoken = new boolean[languages.size()][continents.size() + 1];
+        for (int row = 0; row < languageCode.length; row++) {
+            int country = languageCountry[row];
+            if (country != NONE && languageCode[row] != StringDictionary.MISSING) {
+                // the last column collects the countries without a continent
+                int continent = countryContinent[country] == StringDictionary.MISSING
+                        ? continents.size()
+                        : countryContinent[country];
+                speakers[languageCode[row]][continent] += countryPopulation[country] * languagePercentage[row] / 100;
+                spoken[languageCode[row]][continent] = true;
+            }
+        }
+
+        List<SpeakerCount> counts = new ArrayList<>();
+        for (int language = 0; language < speakers.length; language++) {
+            for (int continent = 0; continent <= continents.size(); continent++) {
+                if (spoken[language][continent]) {
+                    counts.add(new SpeakerCount(languages.value(language), continents.value(
+                            continent == continents.size() ? StringDictionary.MISSING : continent),
+                            speakers[language][continent]));
+                }
+            }
+        }
+        long world = 0;
+        for (long population : countryPopulation) {
+            world += population;
+        }
+        return new SpeakerIndex(counts, world);
+    }
+
+    /**
+     * @return a builder for a new snapshot
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return number of countries in the snapshot
+     */
+    public int countryCount() {
+        return countryCode.length;
+    }
+
+    /**
+     * @return number of cities in the snapshot
+     */
+    public int cityCount() {
+        return cityId.length;
+    }
+
+    /**
+     * @return number of country/language rows in the snapshot
+     */
+    public int languageCount() {
+        return languageCode.length;
+    }
+
+    /**
+     * Adds every row of this snapshot to a sink, in row order.
+     * Rows that were not linked to a country keep a {@code null} country code.
+     * @param sink the receiver of the rows
+     */
+    void copyTo(Rows sink) {
+        for (int row = 0; row < countryCode.length; row++) {
+            sink.country(countryCode[row], countryName[row], continents.value(countryContinent[row]),
+                    regions.value(countryRegion[row]), countryPopulation[row],
+                    countryCapital[row] == NONE ? null : cityId[countryCapital[row]]);
+        }
+        for (int row = 0; row < cityId.length; row++) {
+            sink.city(cityId[row], cityName[row], cityCountry[row] == NONE ? null : countryCode[cityCountry[row]],
+                    districts.value(cityDistrict[row]), cityPopulation[row]);
+        }
+        for (int row = 0; row < languageCode.length; row++) {
+            sink.language(languageCountry[row] == NONE ? null : countryCode[languageCountry[row]],
+                    languages.value(languageCode[row]), languageOfficial[row], languagePercentage[row]);
+        }
+    }
+
+    /**
+     * Countries within a scope, ordered by population (largest first).
+     * Only the returned rows are read, whatever the size of the scope.
+     * @param scope the scope to filter on
+     * @param limit maximum number of countries to return, or {@link #ALL}
+     * @return the matching countries
+     */
+    public List<CountrySummary> countries(Scope scope, int limit) {
+        return select(countryIndex, scope, limit, this::toCountry);
+    }
+
+    /**
+     * Cities within a scope, ordered by population (largest first).
+     * Only the returned rows are read, whatever the size of the scope.
+     * @param scope the scope to filter on
+     * @param limit maximum number of cities to return, or {@link #ALL}
+     * @return the matching cities
+     */
+    public List<CitySummary> cities(Scope scope, int limit) {
+        return select(cityIndex, scope, limit, this::toCity);
+    }
+
+    /**
+     * Capital cities of the countries within a scope, ordered by population (largest first).
+     * Only the returned rows are read, whatever the size of the scope.
+     * @param scope the scope to filter on
+     * @param limit maximum number of capital cities to return, or {@link #ALL}
+     * @return the matching capital cities
+     */
+    public List<CapitalCity> capitalCities(Scope scope, int limit) {
+        return select(capitalIndex, scope, limit, row -> {
+            int capital = countryCapital[row];
+            return new CapitalCity(cityName[capital], countryName[row], cityPopulation[capital]);
+        });
+    }
+
+    /**
+     * Countries within a scope that come after a keyset position, in the order of the paged
+     * database queries: population, then country code, both descending.
+     * @param scope the scope to filter on
+     * @param after the position of the last row of the previous page
+     * @param limit maximum number of countries to return
+     * @return the countries after the position
+     */
+    public List<CountrySummary> countriesAfter(Scope scope, Keyset after, int limit) {
+        // a null code sorts below every code, so it comes after any position at its population
+        return after(countryPageIndex, scope, limit,
+                row -> countryPopulation[row] < after.population()
+                        || countryPopulation[row] == after.population()
+                        && (countryCode[row] == null || countryCode[row].compareTo(after.id()) < 0),
+                this::toCountry);
+    }
+
+    /**
+     * Cities within a scope that come after a keyset position, in the order of the paged
+     * database queries: population, then city id, both descending.
+     * @param scope the scope to filter on
+     * @param after the position of the last row of the previous page
+     * @param limit maximum number of cities to return
+     * @return the cities after the position
+     */
+    public List<CitySummary> citiesAfter(Scope scope, Keyset after, int limit) {
+        return after(cityPageIndex, scope, limit,
+                row -> isCityAfter(row, after),
+                this::toCity);
+    }
+
+    /**
+     * Capital cities within a scope that come after a keyset position, in the order of the
+     * paged database queries: population, then city id, both descending. Unlike
+     * {@link #capitalCities(Scope, int)}, the rows carry their city id.
+     * @param scope the scope to filter on
+     * @param after the position of the last row of the previous page
+     * @param limit maximum number of capital cities to return
+     * @return the capital cities after the position
+     */
+    public List<CapitalCity> capitalCitiesAfter(Scope scope, Keyset after, int limit) {
+        return after(capitalPageIndex, scope, limit,
+                row -> isCityAfter(countryCapital[row], after),
+                row -> {
+                    int capital = countryCapital[row];
+                    return new CapitalCity((long) cityId[capital], cityName[capital], countryName[row],
+                            cityPopulation[capital]);
+                });
+    }
+
+    /**
+     * Number of speakers of each requested language and their share of the world population,
+     * ordered by number of speakers (largest first). Languages nobody speaks are left out.
+     * @param requested the languages to report on (case-insensitive)
+     * @return one entry per spoken language
+     */
+    public List<LanguageStats> languageStatistics(Collection<String> requested) {
+        return speakerIndex.statistics(requested);
+    }
+
+    /**
+     * @return the number of speakers of every language, built with the snapshot
+     */
+    public SpeakerIndex speakerIndex() {
+        return speakerIndex;
+    }
+
+    /**
+     * Reads the first {@code limit} rows of the scope's slice of an index.
+     */
+    private <T> List<T> select(Map<Scope.Level, PopulationIndex> indexes, Scope scope, int limit, IntFunction<T> mapper) {
+        PopulationIndex index = indexes.get(scope.level());
+        int group = resolve(scope);
+        if (index == null || group == NONE) {
+            return new ArrayList<>();
+        }
+        List<T> result = new ArrayList<>(Math.min(Math.max(0, limit), index.size(group)));
+        index.forEach(group, limit, row -> result.add(mapper.apply(row)));
+        return result;
+    }
+
+    /**
+     * Reads the first {@code limit} rows of the scope's slice of a keyset-ordered index that
+     * come after a keyset position, found by binary search: a page costs the same at any depth.
+     */
+    private <T> List<T> after(Map<Scope.Level, PopulationIndex> indexes, Scope scope, int limit,
+                              IntPredicate isAfter, IntFunction<T> mapper) {
+        PopulationIndex index = indexes.get(scope.level());
+        int group = resolve(scope);
+        if (index == null || group == NONE) {
+            return new ArrayList<>();
+        }
+        int from = index.first(group, isAfter);
+        List<T> result = new ArrayList<>(Math.max(0, Math.min(limit, index.size(group) - from)));
+        index.forEach(group, from, limit, row -> result.add(mapper.apply(row)));
+        return result;
+    }
+
+    private boolean isCityAfter(int row, Keyset after) {
+        return cityPopulation[row] < after.cityPopulation()
+                || cityPopulation[row] == after.cityPopulation() && cityId[row] < after.cityId();
+    }
+
+    /**
+     * @return number of index groups at a country-level scope
+     */
+    private int groups(Scope.Level level) {
+        return switch (level) {
+            case WORLD -> 1;
+            case CONTINENT -> continents.size();
+            case REGION -> regions.size();
+            default -> countryCode.length;
+        };
+    }
+
+    /**
+     * @return the index group of a country at a country-level scope; {@link #NONE} leaves it out
+     */
+    private int countryGroup(int row, Scope.Level level) {
+        return switch (level) {
+            case WORLD -> 0;
+            case CONTINENT -> countryContinent[row];
+            case REGION -> countryRegion[row];
+            default -> row;
+        };
+    }
+
+    /**
+     * @return a new population cube holding every country and city of the snapshot
+     */
+    PopulationCube populationCube() {
+        PopulationCube cube = new PopulationCube();
+        for (int row = 0; row < countryCode.length; row++) {
+            cube.putCountry(countryCode[row], countryName[row], continents.value(countryContinent[row]),
+                    regions.value(countryRegion[row]), countryPopulation[row]);
+        }
+        for (int row = 0; row < cityId.length; row++) {
+            cube.putCity(cityId[row], cityName[row], cityCountry[row] == NONE ? null : countryCode[cityCountry[row]],
+                    districts.value(cityDistrict[row]), cityPopulation[row]);
+        }
+        return cube;
+    }
+
+    private int resolve(Scope scope) {
+        if (scope.level() != Scope.Level.WORLD && scope.name() == null) {
+            return NONE;
+        }
+        return switch (scope.level()) {
+            case WORLD -> 0;
+            case CONTINENT -> continents.lookup(scope.name());
+            case REGION -> regions.lookup(scope.name());
+            case DISTRICT -> districts.lookup(scope.name());
+            case COUNTRY -> countryByName.getOrDefault(key(scope.name()), NONE);
+            case CITY -> cityByName.getOrDefault(key(scope.name()), NONE);
+        };
+    }
+
+    private CountrySummary toCountry(int row) {
+        return new CountrySummary(
+                countryCode[row],
+                countryName[row],
+                continents.value(countryContinent[row]),
+                regions.value(countryRegion[row]),
+                countryPopulation[row]);
+    }
+
+    private CitySummary toCity(int row) {
+        return new CitySummary(
+                cityId[row],
+                cityName[row],
+                cityCountry[row] == NONE ? null : countryCode[cityCountry[row]],
+                districts.value(cityDistrict[row]),
+                cityPopulation[row]);
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int[] toIntArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Receiver of the rows of the {@code country}, {@code city} and {@code countrylanguage} tables.
+     */
+    interface Rows {
+
+        Rows country(String code, String name, String continent, String region, long population, Integer capital);
+
+        Rows city(int id, String name, String countryCode, String district, int population);
+
+        Rows language(String countryCode, String language, boolean official, double percentage);
+    }
+
+    /**
+     * Collects rows for a {@link WorldSnapshot}. Rows can be added in any order; countries,
+     * cities and languages are linked by country code and city id when {@link #build()} is called.
+     */
+    public static final class Builder implements Rows {
+
+        private final StringDictionary continents = new StringDictionary();
+        private final StringDictionary regions = new StringDictionary();
+        private final StringDictionary districts = new StringDictionary();
+        private final StringDictionary languages = new StringDictionary();
+
+        private final List<String> countryCodes = new ArrayList<>();
+        private final List<String> countryNames = new ArrayList<>();
+        private final List<Integer> countryContinents = new ArrayList<>();
+        private final List<Integer> countryRegions = new ArrayList<>();
+        private final List<Long> countryPopulations = new ArrayList<>();
+        private final List<Integer> countryCapitals = new ArrayList<>();
+
+        private final List<Integer> cityIds = new ArrayList<>();
+        private final List<String> cityNames = new ArrayList<>();
+        private final List<String> cityCountryCodes = new ArrayList<>();
+        private final List<Integer> cityDistricts = new ArrayList<>();
+        private final List<Integer> cityPopulations = new ArrayList<>();
+
+        private final List<String> languageCountryCodes = new ArrayList<>();
+        private final List<Integer> languageCodes = new ArrayList<>();
+        private final List<Boolean> languageOfficial = new ArrayList<>();
+        private final List<Double> languagePercentages = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a row of the {@code country} table.
+         * @param code the country code
+         * @param name the country name
+         * @param continent the continent
+         * @param region the region
+         * @param population the population
+         * @param capital id of the capital city, or {@code null}
+         * @return this builder
+         */
+        @Override
+        public Builder country(String code, String name, String continent, String region,
+                               long population, Integer capital) {
+            countryCodes.add(code);
+            countryNames.add(name);
+            countryContinents.add(continents.encode(continent));
+            countryRegions.add(regions.encode(region));
+            countryPopulations.add(population);
+            countryCapitals.add(capital);
+            return this;
+        }
+
+        /**
+         * Adds a row of the {@code city} table.
+         * @param id the city id
+         * @param name the city name
+         * @param countryCode the code of the country the city is in
+         * @param district the district
+         * @param population the population
+         * @return this builder
+         */
+        @Override
+        public Builder city(int id, String name, String countryCode, String district, int population) {
+            cityIds.add(id);
+            cityNames.add(name);
+            cityCountryCodes.add(countryCode);
+            cityDistricts.add(districts.encode(district));
+            cityPopulations.add(population);
+            return this;
+        }
+
+        /**
+         * Adds a row of the {@code countrylanguage} table.
+         * @param countryCode the country code
+         * @param language the language
+         * @param official whether the language is official in the country
+         * @param percentage percentage of the country's population speaking the language
+         * @return this builder
+         */
+        @Override
+        public Builder language(String countryCode, String language, boolean official, double percentage) {
+            languageCountryCodes.add(countryCode);
+            languageCodes.add(languages.encode(language));
+            languageOfficial.add(official);
+            languagePercentages.add(percentage);
+            return this;
+        }
+
+        /**
+         * @return the snapshot holding every row added so far
+         */
+        public WorldSnapshot build() {
+            return new WorldSnapshot(this);
+        }
+    }
+}
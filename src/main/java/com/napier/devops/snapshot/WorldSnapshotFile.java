@@ -0,0 +1,281 @@
+package com.napier.devops.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary file format of a {@link WorldSnapshot}, so reports can be served without a database.
+ * <p>
+ * The file holds the {@code country}, {@code city} and {@code countrylanguage} rows of the
+ * snapshot, big-endian:
+ * </p>
+ * <pre>
+ * header   int magic "WSNP", short version, int CRC-32C of the payload, int payload length
+ * strings  int count, then per string: int length, UTF-8 bytes
+ * country  int count, then per row: int code, int name, int continent, int region, long population, int capital
+ * city     int count, then per row: int id, int name, int countryCode, int district, int population
+ * language int count, then per row: int countryCode, int language, byte official, double percentage
+ * </pre>
+ * <p>
+ * Every string column is an index into the string table, {@code -1} for {@code null}; a
+ * capital of {@code -1} means none. {@link #read(Path)} memory-maps the file, checks the
+ * header and checksum, and decodes it straight into a snapshot in one pass.
+ * </p>
+ */
+public final class WorldSnapshotFile {
+
+    /**
+     * Version written by {@link #write(WorldSnapshot, Path)}, and the only one {@link #read(Path)} accepts.
+     */
+    public static final short VERSION = 1;
+
+    private static final int MAGIC = 0x57534E50;
+    private static final int HEADER_SIZE = 14;
+    private static final int NULL = -1;
+
+    private WorldSnapshotFile() {
+    }
+
+    /**
+     * Writes a snapshot to a file, replacing it atomically if it exists.
+     * @param snapshot the snapshot to write
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(WorldSnapshot snapshot, Path file) throws IOException {
+        RowWriter rows = new RowWriter();
+        snapshot.copyTo(rows);
+        byte[] payload = rows.payload();
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream stream = Files.newOutputStream(temporary);
+                 DataOutputStream out = new DataOutputStream(stream)) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeInt((int) crc.getValue());
+                out.writeInt(payload.length);
+                out.write(payload);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Reads a snapshot written by {@link #write(WorldSnapshot, Path)}.
+     * @param file the file to read
+     * @return the snapshot
+     * @throws IOException if the file cannot be read, is not a snapshot file of this version or is corrupt
+     */
+    public static WorldSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ByteBuffer payload = payload(buffer, file);
+            try {
+                return decode(payload);
+            } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+                throw new IOException("Corrupt world snapshot file " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Reads only the header of a snapshot file, to tell whether it has changed.
+     * @param file the file to read
+     * @return a fingerprint of the file's content
+     * @throws IOException if the file cannot be read or is not a snapshot file of this version
+     */
+    public static String fingerprint(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete or the file ends
+            }
+            header.flip();
+            checkHeader(header, file);
+            int crc = header.getInt();
+            int length = header.getInt();
+            return "v" + VERSION + ":" + Integer.toHexString(crc) + ":" + length;
+        }
+    }
+
+    /**
+     * Checks the header and checksum and returns the payload.
+     */
+    private static ByteBuffer payload(ByteBuffer buffer, Path file) throws IOException {
+        checkHeader(buffer, file);
+        int crc = buffer.getInt();
+        int length = buffer.getInt();
+        if (length < 0 || length != buffer.remaining()) {
+            throw new IOException("Corrupt world snapshot file " + file + ": truncated");
+        }
+        ByteBuffer payload = buffer.slice();
+        CRC32C actual = new CRC32C();
+        actual.update(payload.duplicate());
+        if ((int) actual.getValue() != crc) {
+            throw new IOException("Corrupt world snapshot file " + file + ": checksum mismatch");
+        }
+        return payload;
+    }
+
+    private static void checkHeader(ByteBuffer header, Path file) throws IOException {
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new IOException(file + " is not a world snapshot file");
+        }
+        short version = header.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported world snapshot file version " + version + " in " + file
+                    + "; this build reads version " + VERSION);
+        }
+    }
+
+    private static WorldSnapshot decode(ByteBuffer in) {
+        String[] strings = new String[in.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[in.getInt()];
+            in.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        WorldSnapshot.Builder builder = WorldSnapshot.builder();
+        for (int rows = in.getInt(); rows > 0; rows--) {
+            String code = string(strings, in.getInt());
+            String name = string(strings, in.getInt());
+            String continent = string(strings, in.getInt());
+            String region = string(strings, in.getInt());
+            long population = in.getLong();
+            int capital = in.getInt();
+            builder.country(code, name, continent, region, population, capital == NULL ? null : capital);
+        }
+        for (int rows = in.getInt(); rows > 0; rows--) {
+            int id = in.getInt();
+            String name = string(strings, in.getInt());
+            String countryCode = string(strings, in.getInt());
+            String district = string(strings, in.getInt());
+            builder.city(id, name, countryCode, district, in.getInt());
+        }
+        for (int rows = in.getInt(); rows > 0; rows--) {
+            String countryCode = string(strings, in.getInt());
+            String language = string(strings, in.getInt());
+            boolean official = in.get() != 0;
+            builder.language(countryCode, language, official, in.getDouble());
+        }
+        return builder.build();
+    }
+
+    private static String string(String[] strings, int index) {
+        return index == NULL ? null : strings[index];
+    }
+
+    /**
+     * Encodes rows into the payload, collecting their strings into the string table.
+     */
+    private static final class RowWriter implements WorldSnapshot.Rows {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        // country, city and language rows
+        private final ByteArrayOutputStream[] sections = {
+                new ByteArrayOutputStream(), new ByteArrayOutputStream(), new ByteArrayOutputStream()};
+        private final int[] counts = new int[sections.length];
+
+        @Override
+        public WorldSnapshot.Rows country(String code, String name, String continent, String region,
+                                         long population, Integer capital) {
+            return section(0, out -> {
+                out.writeInt(index(code));
+                out.writeInt(index(name));
+                out.writeInt(index(continent));
+                out.writeInt(index(region));
+                out.writeLong(population);
+                out.writeInt(capital == null ? NULL : capital);
+            });
+        }
+
+        @Override
+        public WorldSnapshot.Rows city(int id, String name, String countryCode, String district, int population) {
+            return section(1, out -> {
+                out.writeInt(id);
+                out.writeInt(index(name));
+                out.writeInt(index(countryCode));
+                out.writeInt(index(district));
+                out.writeInt(population);
+            });
+        }
+
+        @Override
+        public WorldSnapshot.Rows language(String countryCode, String language, boolean official, double percentage) {
+            return section(2, out -> {
+                out.writeInt(index(countryCode));
+                out.writeInt(index(language));
+                out.writeByte(official ? 1 : 0);
+                out.writeDouble(percentage);
+            });
+        }
+
+        byte[] payload() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(strings.size());
+            for (String string : strings) {
+                byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(utf8.length);
+                out.write(utf8);
+            }
+            for (int section = 0; section < sections.length; section++) {
+                out.writeInt(counts[section]);
+                sections[section].writeTo(out);
+            }
+            out.flush();
+            return bytes.toByteArray();
+        }
+
+        private WorldSnapshot.Rows section(int section, RowEncoder encoder) {
+            try {
+                encoder.encode(new DataOutputStream(sections[section]));
+            } catch (IOException e) {
+                // only in-memory streams are written to
+                throw new IllegalStateException(e);
+            }
+            counts[section]++;
+            return this;
+        }
+
+        private int index(String value) {
+            if (value == null) {
+                return NULL;
+            }
+            return indexes.computeIfAbsent(value, v -> {
+                strings.add(v);
+                return strings.size() - 1;
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowEncoder {
+        void encode(DataOutputStream out) throws IOException;
+    }
+}
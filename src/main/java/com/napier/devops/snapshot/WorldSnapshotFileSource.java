@@ -0,0 +1,51 @@
+package com.napier.devops.snapshot;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Reads the snapshot from the {@link WorldSnapshotFile} named by {@code world.snapshot.file}
+ * instead of the database.
+ * <p>
+ * Started with {@code --snapshot=<file>}, the application leaves out the datasource, JPA and
+ * the repositories altogether, so it needs no database to serve the reports. Replacing the
+ * file is picked up by the {@link WorldSnapshotRefresher}, if one is configured.
+ * </p>
+ */
+@Component
+@ConditionalOnExpression("${world.snapshot.enabled:false} and '${world.snapshot.file:}' != ''")
+public class WorldSnapshotFileSource implements WorldSnapshotSource {
+
+    private final Path file;
+
+    /**
+     * Constructor for WorldSnapshotFileSource
+     * @param file the snapshot file, as written by {@code --export-snapshot=<file>}
+     */
+    public WorldSnapshotFileSource(@Value("${world.snapshot.file}") Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public WorldSnapshot load() {
+        try {
+            return WorldSnapshotFile.read(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String fingerprint() {
+        try {
+            return WorldSnapshotFile.fingerprint(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
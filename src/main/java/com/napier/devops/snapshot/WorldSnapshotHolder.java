@@ -0,0 +1,106 @@
+package com.napier.devops.snapshot;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the {@link WorldSnapshot} currently used to answer reports.
+ * <p>
+ * The snapshot is loaded on first use and replaced atomically by {@link #reload()}, so readers
+ * always see either the old or the new snapshot, never a half-built one.
+ * {@link #refreshIfChanged()} only reloads when the data fingerprint has moved on.
+ * Each load also rebuilds the {@link PopulationCube}, which is then kept up to date row by row
+ * between loads.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "world.snapshot.enabled", havingValue = "true")
+public class WorldSnapshotHolder {
+
+    private final WorldSnapshotSource source;
+    private final ApplicationEventPublisher events;
+
+    private volatile WorldSnapshot snapshot;
+    private volatile PopulationCube populationCube;
+    private volatile String fingerprint;
+
+    /**
+     * Constructor for WorldSnapshotHolder
+     * @param source the source the snapshot is read from: the database or a snapshot file
+     * @param events  publisher of a {@link WorldDataChangedEvent} after every load
+     */
+    public WorldSnapshotHolder(WorldSnapshotSource source, ApplicationEventPublisher events) {
+        this.source = source;
+        this.events = events;
+    }
+
+    /**
+     * @return the current snapshot, loading it first if needed
+     */
+    public WorldSnapshot current() {
+        WorldSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @return the population cube built with the current snapshot, loading it first if needed
+     */
+    public PopulationCube populationCube() {
+        current();
+        return populationCube;
+    }
+
+    /**
+     * @return the current population cube, or {@code null} if nothing has been loaded yet
+     */
+    PopulationCube loadedPopulationCube() {
+        return populationCube;
+    }
+
+    /**
+     * Reads the source again and swaps in the new snapshot.
+     * @return the new snapshot
+     */
+    public synchronized WorldSnapshot reload() {
+        return load();
+    }
+
+    /**
+     * Reloads the snapshot if the tables have changed since it was loaded.
+     * @return {@code true} if a new snapshot was loaded
+     */
+    public synchronized boolean refreshIfChanged() {
+        if (snapshot != null && source.fingerprint().equals(fingerprint)) {
+            return false;
+        }
+        load();
+        return true;
+    }
+
+    /**
+     * @return the fingerprint of the data the current snapshot was loaded from, or {@code null} before the first load
+     */
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    private WorldSnapshot load() {
+        // take the fingerprint first: a change made during the load is then picked up next time
+        String loadedFingerprint = source.fingerprint();
+        WorldSnapshot loaded = source.load();
+        fingerprint = loadedFingerprint;
+        populationCube = loaded.populationCube();
+        snapshot = loaded;
+        events.publishEvent(new WorldDataChangedEvent("snapshot loaded"));
+        return loaded;
+    }
+}
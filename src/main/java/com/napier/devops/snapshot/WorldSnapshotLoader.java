@@ -0,0 +1,96 @@
+package com.napier.devops.snapshot;
+
+import com.napier.devops.util.RowDigest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Reads the {@code country}, {@code city} and {@code countrylanguage} tables into a {@link WorldSnapshot}.
+ * <p>
+ * The tables are read with JPQL tuple queries rather than entity queries, so only the report
+ * columns are fetched and nothing is added to the persistence context.
+ * </p>
+ */
+@Component
+@ConditionalOnExpression("${world.snapshot.enabled:false} and '${world.snapshot.file:}' == ''")
+public class WorldSnapshotLoader implements WorldSnapshotSource {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Loads a new snapshot from the database.
+     * @return the snapshot
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public WorldSnapshot load() {
+        WorldSnapshot.Builder builder = WorldSnapshot.builder();
+
+        for (Object[] row : rows("SELECT c.code, c.name, c.continent, c.region, c.population, c.capital FROM Country c")) {
+            builder.country(
+                    (String) row[0],
+                    (String) row[1],
+                    (String) row[2],
+                    (String) row[3],
+                    row[4] != null ? ((Number) row[4]).longValue() : 0L,
+                    row[5] != null ? ((Number) row[5]).intValue() : null);
+        }
+        for (Object[] row : rows("SELECT c.id, c.name, c.countryCode, c.district, c.population FROM City c")) {
+            builder.city(
+                    ((Number) row[0]).intValue(),
+                    (String) row[1],
+                    (String) row[2],
+                    (String) row[3],
+                    row[4] != null ? ((Number) row[4]).intValue() : 0);
+        }
+        for (Object[] row : rows("SELECT l.countryCode, l.language, l.isOfficial, l.percentage FROM CountryLanguage l")) {
+            builder.language(
+                    (String) row[0],
+                    (String) row[1],
+                    "T".equals(row[2]),
+                    row[3] != null ? ((Number) row[3]).doubleValue() : 0.0);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Computes a {@link RowDigest} of every column the snapshot is loaded from, so a row added,
+     * removed or changed in any of them, a renamed city as much as a new population, changes
+     * the fingerprint. The rows are read in primary key order, so the digest does not depend on
+     * the order they were inserted in.
+     * <p>
+     * This reads as many rows as {@link #load()} but builds nothing from them.
+     * </p>
+     * @return the fingerprint of the current data
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public String fingerprint() {
+        RowDigest digest = new RowDigest();
+        digest(digest, "SELECT c.code, c.name, c.continent, c.region, c.population, c.capital FROM Country c ORDER BY c.code");
+        digest(digest, "SELECT c.id, c.name, c.countryCode, c.district, c.population FROM City c ORDER BY c.id");
+        digest(digest, "SELECT l.countryCode, l.language, l.isOfficial, l.percentage FROM CountryLanguage l"
+                + " ORDER BY l.countryCode, l.language");
+        return digest.hex();
+    }
+
+    private void digest(RowDigest digest, String jpql) {
+        // the query marks where each table starts, so rows cannot move from one table to the next unnoticed
+        digest.add(jpql);
+        for (Object[] row : rows(jpql)) {
+            for (Object column : row) {
+                digest.add(column);
+            }
+        }
+    }
+
+    private List<Object[]> rows(String jpql) {
+        return entityManager.createQuery(jpql, Object[].class).getResultList();
+    }
+}
@@ -0,0 +1,44 @@
+package com.napier.devops.snapshot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically checks whether the world tables, or the snapshot file, have changed and reloads
+ * the snapshot, and with it the population indexes, when they have.
+ * <p>
+ * Only active when the snapshot is enabled and {@code world.snapshot.refresh-interval} is set,
+ * e.g. {@code world.snapshot.refresh-interval=PT5M}.
+ * </p>
+ */
+@Component
+@EnableScheduling
+@ConditionalOnExpression("${world.snapshot.enabled:false} and '${world.snapshot.refresh-interval:}' != ''")
+public class WorldSnapshotRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(WorldSnapshotRefresher.class);
+
+    private final WorldSnapshotHolder snapshots;
+
+    /**
+     * Constructor for WorldSnapshotRefresher
+     * @param snapshots the holder of the current world snapshot
+     */
+    public WorldSnapshotRefresher(WorldSnapshotHolder snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * Reloads the snapshot if its data fingerprint has changed.
+     */
+    @Scheduled(fixedDelayString = "${world.snapshot.refresh-interval}", initialDelayString = "${world.snapshot.refresh-interval}")
+    public void refresh() {
+        if (snapshots.refreshIfChanged()) {
+            log.info("World snapshot reloaded, data fingerprint {}", snapshots.fingerprint());
+        }
+    }
+}
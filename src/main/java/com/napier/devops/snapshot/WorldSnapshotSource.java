@@ -0,0 +1,23 @@
+package com.napier.devops.snapshot;
+
+/**
+ * Where the {@link WorldSnapshotHolder} reads its snapshots from: the database
+ * ({@link WorldSnapshotLoader}) or a snapshot file ({@link WorldSnapshotFileSource}).
+ */
+public interface WorldSnapshotSource {
+
+    /**
+     * Loads a new snapshot.
+     * @return the snapshot
+     */
+    WorldSnapshot load();
+
+    /**
+     * Computes a summary of the data that changes whenever the data does, checked on every
+     * refresh before deciding to {@link #load()}. It is cheap for a snapshot file, which
+     * records its own checksum. For the database it reads every row the snapshot is loaded
+     * from, which is about as much as a load reads, but it builds no snapshot.
+     * @return the fingerprint of the current data
+     */
+    String fingerprint();
+}
@@ -0,0 +1,30 @@
+package com.napier.devops.util;
+
+/**
+ * An argument a client supplied is invalid, such as a page size out of range, a page token
+ * this service did not issue or an unknown use case.
+ * <p>
+ * The message is written for the client: {@code BadRequestHandler} answers the request with
+ * 400 Bad Request and the message as the body. Any other {@link IllegalArgumentException} is a
+ * fault of the service and is answered as one, without its message.
+ * </p>
+ */
+public class BadRequestException extends IllegalArgumentException {
+
+    /**
+     * Constructor for BadRequestException
+     * @param message the reason, shown to the client
+     */
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructor for BadRequestException
+     * @param message the reason, shown to the client
+     * @param cause   the exception that revealed the invalid argument
+     */
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
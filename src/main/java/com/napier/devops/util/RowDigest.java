@@ -0,0 +1,65 @@
+package com.napier.devops.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 digest of a sequence of values, such as the columns of a set of rows.
+ * <p>
+ * Each value is length-prefixed and {@code null} is encoded apart from every string,
+ * including {@code "null"}, so two different sequences of values never digest alike by
+ * running into each other.
+ * </p>
+ */
+public final class RowDigest {
+
+    private final MessageDigest digest;
+
+    /**
+     * Constructor for RowDigest
+     */
+    public RowDigest() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Adds a value to the digest.
+     * @param value the value, or {@code null}
+     * @return this digest
+     */
+    public RowDigest add(String value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return this;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+        digest.update((byte) ':');
+        digest.update(bytes);
+        return this;
+    }
+
+    /**
+     * Adds a value to the digest by its string form.
+     * @param value the value, or {@code null}
+     * @return this digest
+     */
+    public RowDigest add(Object value) {
+        return add(value == null ? null : value.toString());
+    }
+
+    /**
+     * Completes the digest; it cannot be added to afterwards.
+     * @return the digest as lower-case hex
+     */
+    public String hex() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,77 @@
+package com.napier.devops;
+
+import com.napier.devops.service.CapitalCityService;
+import com.napier.devops.service.PopulationService;
+import com.napier.devops.snapshot.WorldSnapshot;
+import com.napier.devops.snapshot.WorldSnapshotFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link Group4Application} in batch mode over a snapshot file, as
+ * {@code --batch --snapshot=<file>} does.
+ */
+class Group4ApplicationBatchTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void batchRunsOnlyTheSelectedUseCasesWithoutAWebServer() throws IOException {
+        Path file = directory.resolve("world.snapshot");
+        WorldSnapshotFile.write(WorldSnapshot.builder()
+                .country("JPN", "Japan", "Asia", "Eastern Asia", 126_714_000L, 1532)
+                .city(1532, "Tokyo", "JPN", "Tokyo-to", 7_980_230)
+                .build(), file);
+
+        ConfigurableApplicationContext context = runBatch(file);
+
+        assertThat(context).isNotInstanceOf(WebApplicationContext.class);
+        assertThat(instantiated(context, PopulationService.class)).isTrue();
+        assertThat(instantiated(context, CapitalCityService.class)).isFalse();
+        assertThat(Files.readString(Path.of("output", "usecase26.log"))).contains("126714000");
+        assertThat(SpringApplication.exit(context)).isZero();
+    }
+
+    @Test
+    void batchCopiesUnchangedReportsFromTheCache() throws IOException {
+        Path file = directory.resolve("world.snapshot");
+        WorldSnapshotFile.write(WorldSnapshot.builder()
+                .country("JPN", "Japan", "Asia", "Eastern Asia", 126_714_000L, 1532)
+                .build(), file);
+        SpringApplication.exit(runBatch(file, "--report.cache.enabled=true"));
+        String generated = Files.readString(Path.of("output", "usecase26.log"));
+
+        ConfigurableApplicationContext context = runBatch(file, "--report.cache.enabled=true");
+
+        assertThat(instantiated(context, PopulationService.class)).isFalse();
+        // the same report but for its timestamp, which is the time of the copy
+        String copied = Files.readString(Path.of("output", "usecase26.log"));
+        assertThat(copied.substring(copied.indexOf('\n'))).isEqualTo(generated.substring(generated.indexOf('\n')));
+        assertThat(SpringApplication.exit(context)).isZero();
+    }
+
+    private ConfigurableApplicationContext runBatch(Path file, String... arguments) {
+        String[] launch = {"--batch", "--snapshot=" + file, "--report.batch.use-cases=26", "--spring.main.banner-mode=off",
+                "--report.cache.directory=" + directory.resolve("cache")};
+        return SpringApplication.run(Group4Application.class, Group4Application.withLaunchArguments(
+                Stream.concat(Arrays.stream(launch), Arrays.stream(arguments)).toArray(String[]::new)));
+    }
+
+    private static boolean instantiated(ConfigurableApplicationContext context, Class<?> type) {
+        String[] names = context.getBeanNamesForType(type, true, false);
+        assertThat(names).hasSize(1);
+        return context.getBeanFactory().containsSingleton(names[0]);
+    }
+}
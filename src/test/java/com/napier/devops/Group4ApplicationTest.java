@@ -4,8 +4,8 @@ import com.napier.devops.controller.CityController;
 import com.napier.devops.controller.CapitalController;
 import com.napier.devops.controller.PopulationController;
 import com.napier.devops.controller.LanguageController;
-import com.napier.devops.model.City;
-import com.napier.devops.model.Country;
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.model.CountrySummary;
 import com.napier.devops.model.CapitalCity;
 import com.napier.devops.model.PopulationBreakdown;
 import com.napier.devops.model.LanguageStats;
@@ -20,13 +20,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -76,28 +81,59 @@ public class Group4ApplicationTest {
         System.setIn(testIn);
     }
 
+    /**
+     * Answers a streaming city lookup by passing the given cities to the action, its last argument.
+     */
+    private static Answer<Long> streamCities(CitySummary... cities) {
+        return invocation -> {
+            Consumer<CitySummary> action = invocation.getArgument(invocation.getArguments().length - 1);
+            Arrays.stream(cities).forEach(action);
+            return (long) cities.length;
+        };
+    }
+
 
     @Test
     void testRunNonInteractiveMode() throws Exception {
         when(countryService.getAllCountriesWorld()).thenReturn(new ArrayList<>());
-        when(cityController.getAllCitiesInTheWorld()).thenReturn(new ArrayList<>());
+        when(cityController.forEachCityInTheWorld(any())).thenReturn(0L);
         when(capitalCityService.getAllCapitalCitiesByPopulation()).thenReturn(new ArrayList<>());
         when(populationBreakdownService.getAllByContinent()).thenReturn(new ArrayList<>());
+        ReflectionTestUtils.setField(group4Application, "environment", new StandardEnvironment());
+        // the use cases the mocks answer
+        ReflectionTestUtils.setField(group4Application, "batchUseCases", "1,7,17,23");
 
         group4Application.run();
 
         verify(countryService, atLeastOnce()).getAllCountriesWorld();
-        verify(cityController, atLeastOnce()).getAllCitiesInTheWorld();
+        verify(cityController, atLeastOnce()).forEachCityInTheWorld(any());
         verify(capitalCityService, atLeastOnce()).getAllCapitalCitiesByPopulation();
         verify(populationBreakdownService, atLeastOnce()).getAllByContinent();
         assertTrue(outContent.toString().contains("All use cases executed successfully!"));
     }
 
+    @Test
+    void testRunNonInteractiveModeReportsFailedUseCases() throws Exception {
+        when(countryService.getAllCountriesWorld()).thenThrow(new IllegalStateException("database down"));
+        when(cityController.forEachCityInTheWorld(any())).thenReturn(0L);
+        when(capitalCityService.getAllCapitalCitiesByPopulation()).thenReturn(new ArrayList<>());
+        when(populationBreakdownService.getAllByContinent()).thenReturn(new ArrayList<>());
+        ReflectionTestUtils.setField(group4Application, "environment", new StandardEnvironment());
+        // the use cases the mocks answer
+        ReflectionTestUtils.setField(group4Application, "batchUseCases", "1,7,17,23");
+
+        group4Application.run();
+
+        assertFalse(outContent.toString().contains("All use cases executed successfully!"));
+        assertTrue(outContent.toString().contains("use cases failed: usecase1.log"));
+        assertEquals(1, group4Application.getExitCode());
+    }
+
     @Test
     void testRunInteractiveMode() throws Exception {
         provideInput("1\n\n100\n\n");
         when(countryService.getAllCountriesWorld()).thenReturn(Collections.singletonList(
-                new Country("USA", "United States", "North America", "North America", 330000000L)
+                new CountrySummary("USA", "United States", "North America", "North America", 330000000L)
         ));
 
         group4Application.run("--interactive");
@@ -116,7 +152,7 @@ public class Group4ApplicationTest {
     void testHandleMenuSelection_Case2_CountriesInContinent() throws Exception {
         provideInput("2\nAsia\n\n100\n\n");
 
-        Country country = new Country("CHN", "China", "Asia", "Eastern Asia", 1400000000L);
+        CountrySummary country = new CountrySummary("CHN", "China", "Asia", "Eastern Asia", 1400000000L);
         when(countryService.getAllCountriesInContinent("Asia")).thenReturn(Collections.singletonList(country));
 
         group4Application.run("--interactive");
@@ -130,7 +166,7 @@ public class Group4ApplicationTest {
     void testHandleMenuSelection_Case3_CountriesInRegion() throws Exception {
         provideInput("3\nWestern Europe\n\n100\n\n");
 
-        Country country = new Country("FRA", "France", "Europe", "Western Europe", 67000000L);
+        CountrySummary country = new CountrySummary("FRA", "France", "Europe", "Western Europe", 67000000L);
         when(countryService.getCountriesInRegionByPopulation("Western Europe"))
                 .thenReturn(Collections.singletonList(country));
 
@@ -147,7 +183,7 @@ public class Group4ApplicationTest {
     void testHandleMenuSelection_Case4_TopCountriesWorld() throws Exception {
         provideInput("4\n5\n\n100\n\n"); // menu 4, N=5, extra lines for scanner
 
-        Country country = new Country("CHN", "China", "Asia", "Eastern Asia", 1400000000L);
+        CountrySummary country = new CountrySummary("CHN", "China", "Asia", "Eastern Asia", 1400000000L);
         when(countryService.getTopCountriesInWorld(5))
                 .thenReturn(Collections.singletonList(country));
 
@@ -163,7 +199,7 @@ public class Group4ApplicationTest {
     void testHandleMenuSelection_Case5_TopCountriesInContinent() throws Exception {
         provideInput("5\nAsia\n10\n\n100\n\n"); // menu 5, continent=Asia, N=10, extra lines
 
-        Country country = new Country("CHN", "China", "Asia", "Eastern Asia", 1400000000L);
+        CountrySummary country = new CountrySummary("CHN", "China", "Asia", "Eastern Asia", 1400000000L);
         when(countryService.getTopCountriesInContinent("Asia", 10))
                 .thenReturn(Collections.singletonList(country));
 
@@ -179,7 +215,7 @@ public class Group4ApplicationTest {
     void testHandleMenuSelection_Case6_TopCountriesInRegion() throws Exception {
         provideInput("6\nEastern Asia\n5\n\n100\n\n"); // menu 6, region=Eastern Asia, N=5, extra lines
 
-        Country country = new Country("CHN", "China", "Asia", "Eastern Asia", 1400000000L);
+        CountrySummary country = new CountrySummary("CHN", "China", "Asia", "Eastern Asia", 1400000000L);
         when(countryService.getTopCountriesInRegion("Eastern Asia", 5))
                 .thenReturn(Collections.singletonList(country));
 
@@ -198,17 +234,13 @@ public class Group4ApplicationTest {
     void testHandleMenuSelection_Case7_AllCitiesWorld() throws Exception {
         provideInput("7\n\n100\n\n");
 
-        City city = new City();
-        city.setName("Tokyo");
-        city.setCountryCode("JPN");
-        city.setDistrict("Tokyo");
-        city.setPopulation(37400000);
+        CitySummary city = new CitySummary(0, "Tokyo", "JPN", "Tokyo", 37400000);
 
-        when(cityController.getAllCitiesInTheWorld()).thenReturn(Collections.singletonList(city));
+        doAnswer(streamCities(city)).when(cityController).forEachCityInTheWorld(any());
 
         group4Application.run("--interactive");
 
-        verify(cityController, atLeastOnce()).getAllCitiesInTheWorld();
+        verify(cityController, atLeastOnce()).forEachCityInTheWorld(any());
         String output = outContent.toString();
         assertTrue(output.contains("Tokyo"));
     }
@@ -217,17 +249,13 @@ public class Group4ApplicationTest {
     void testHandleMenuSelection_Case8_CitiesInContinent() throws Exception {
         provideInput("8\nAsia\n\n100\n\n");
 
-        City city = new City();
-        city.setName("Mumbai");
-        city.setCountryCode("IND");
-        city.setDistrict("Maharashtra");
-        city.setPopulation(20000000);
+        CitySummary city = new CitySummary(0, "Mumbai", "IND", "Maharashtra", 20000000);
 
-        when(cityController.getAllCitiesInAContinent("Asia")).thenReturn(Collections.singletonList(city));
+        doAnswer(streamCities(city)).when(cityController).forEachCityInAContinent(eq("Asia"), any());
 
         group4Application.run("--interactive");
 
-        verify(cityController).getAllCitiesInAContinent("Asia");
+        verify(cityController).forEachCityInAContinent(eq("Asia"), any());
         assertTrue(outContent.toString().contains("Mumbai"));
     }
 
@@ -235,17 +263,13 @@ public class Group4ApplicationTest {
     void testHandleMenuSelection_Case9_CitiesInRegion() throws Exception {
         provideInput("9\nEastern Asia\n\n100\n\n");
 
-        City city = new City();
-        city.setName("Seoul");
-        city.setCountryCode("KOR");
-        city.setDistrict("Seoul");
-        city.setPopulation(9700000);
+        CitySummary city = new CitySummary(0, "Seoul", "KOR", "Seoul", 9700000);
 
-        when(cityController.getAllCitiesInARegion("Eastern Asia")).thenReturn(Collections.singletonList(city));
+        doAnswer(streamCities(city)).when(cityController).forEachCityInARegion(eq("Eastern Asia"), any());
 
         group4Application.run("--interactive");
 
-        verify(cityController).getAllCitiesInARegion("Eastern Asia");
+        verify(cityController).forEachCityInARegion(eq("Eastern Asia"), any());
         assertTrue(outContent.toString().contains("Seoul"));
     }
 
@@ -253,11 +277,7 @@ public class Group4ApplicationTest {
     void testHandleMenuSelection_Case10_CitiesInCountry() throws Exception {
         provideInput("10\nJapan\n\n100\n\n");
 
-        City city = new City();
-        city.setName("Osaka");
-        city.setCountryCode("JPN");
-        city.setDistrict("Osaka");
-        city.setPopulation(2700000);
+        CitySummary city = new CitySummary(0, "Osaka", "JPN", "Osaka", 2700000);
 
         when(cityController.getAllCitiesInACountry("Japan")).thenReturn(Collections.singletonList(city));
 
@@ -271,11 +291,7 @@ public class Group4ApplicationTest {
     void testHandleMenuSelection_Case11_CitiesInDistrict() throws Exception {
         provideInput("11\nShanghai\n\n100\n\n");
 
-        City city = new City();
-        city.setName("Shanghai");
-        city.setCountryCode("CHN");
-        city.setDistrict("Shanghai");
-        city.setPopulation(24000000);
+        CitySummary city = new CitySummary(0, "Shanghai", "CHN", "Shanghai", 24000000);
 
         when(cityController.getAllCitiesInADistrict("Shanghai")).thenReturn(Collections.singletonList(city));
 
@@ -289,11 +305,7 @@ public class Group4ApplicationTest {
     void testHandleMenuSelection_Case12_TopNCitiesWorld() throws Exception {
         provideInput("12\n5\n\n100\n\n");
 
-        City city = new City();
-        city.setName("New York");
-        city.setCountryCode("USA");
-        city.setDistrict("New York");
-        city.setPopulation(8400000);
+        CitySummary city = new CitySummary(0, "New York", "USA", "New York", 8400000);
 
         when(cityController.getTopNCitiesInTheWorld(5)).thenReturn(Collections.singletonList(city));
 
@@ -307,11 +319,7 @@ public class Group4ApplicationTest {
     void testHandleMenuSelection_Case13_TopNCitiesInContinent() throws Exception {
         provideInput("13\nEurope\n10\n\n100\n\n");
 
-        City city = new City();
-        city.setName("London");
-        city.setCountryCode("GBR");
-        city.setDistrict("England");
-        city.setPopulation(8900000);
+        CitySummary city = new CitySummary(0, "London", "GBR", "England", 8900000);
 
         when(cityController.getTopNCitiesInAContinent("Europe", 10)).thenReturn(Collections.singletonList(city));
 
@@ -325,11 +333,7 @@ public class Group4ApplicationTest {
     void testHandleMenuSelection_Case14_TopNCitiesInRegion() throws Exception {
         provideInput("14\nWestern Europe\n5\n\n100\n\n");
 
-        City city = new City();
-        city.setName("Paris");
-        city.setCountryCode("FRA");
-        city.setDistrict("Île-de-France");
-        city.setPopulation(2200000);
+        CitySummary city = new CitySummary(0, "Paris", "FRA", "Île-de-France", 2200000);
 
         when(cityController.getTopNCitiesInARegion("Western Europe", 5)).thenReturn(Collections.singletonList(city));
 
@@ -343,11 +347,7 @@ public class Group4ApplicationTest {
     void testHandleMenuSelection_Case15_TopNCitiesInCountry() throws Exception {
         provideInput("15\nGermany\n3\n\n100\n\n");
 
-        City city = new City();
-        city.setName("Berlin");
-        city.setCountryCode("DEU");
-        city.setDistrict("Berlin");
-        city.setPopulation(3700000);
+        CitySummary city = new CitySummary(0, "Berlin", "DEU", "Berlin", 3700000);
 
         when(cityController.getTopNCitiesInACountry("Germany", 3)).thenReturn(Collections.singletonList(city));
 
@@ -361,11 +361,7 @@ public class Group4ApplicationTest {
     void testHandleMenuSelection_Case16_TopNCitiesInDistrict() throws Exception {
         provideInput("16\nCalifornia\n5\n\n100\n\n");
 
-        City city = new City();
-        city.setName("Los Angeles");
-        city.setCountryCode("USA");
-        city.setDistrict("California");
-        city.setPopulation(4000000);
+        CitySummary city = new CitySummary(0, "Los Angeles", "USA", "California", 4000000);
 
         when(cityController.getTopNCitiesInADistrict("California", 5)).thenReturn(Collections.singletonList(city));
 
@@ -540,11 +536,7 @@ public class Group4ApplicationTest {
 
     @Test
     void testDisplayCitiesWithData() {
-        City city = new City();
-        city.setName("Test City");
-        city.setCountryCode("TS");
-        city.setDistrict("Test District");
-        city.setPopulation(100000);
+        CitySummary city = new CitySummary(0, "Test City", "TS", "Test District", 100000);
 
         when(cityController.getAllCitiesInTheWorld()).thenReturn(Collections.singletonList(city));
         group4Application.displayCities(cityController.getAllCitiesInTheWorld());
@@ -556,12 +548,8 @@ public class Group4ApplicationTest {
     }
 
     @Test
-    void testDisplayCitiesWithNullPopulation() {
-        City city = new City();
-        city.setName("Test City");
-        city.setCountryCode("TS");
-        city.setDistrict("Test District");
-        city.setPopulation(null);
+    void testDisplayCitiesWithZeroPopulation() {
+        CitySummary city = new CitySummary(0, "Test City", "TS", "Test District", 0);
 
         group4Application.displayCities(Collections.singletonList(city));
 
@@ -579,7 +567,7 @@ public class Group4ApplicationTest {
 
     @Test
     void testDisplayCountriesWithData() {
-        Country country = new Country("TST", "Testland", "Testinent", "Test Region", 1234567L);
+        CountrySummary country = new CountrySummary("TST", "Testland", "Testinent", "Test Region", 1234567L);
         when(countryService.getAllCountriesWorld()).thenReturn(Collections.singletonList(country));
         group4Application.displayCountries(countryService.getAllCountriesWorld());
 
@@ -590,8 +578,8 @@ public class Group4ApplicationTest {
     }
 
     @Test
-    void testDisplayCountriesWithNullPopulation() {
-        Country country = new Country("TST", "Testland", "Testinent", "Test Region", null);
+    void testDisplayCountriesWithZeroPopulation() {
+        CountrySummary country = new CountrySummary("TST", "Testland", "Testinent", "Test Region", 0L);
         group4Application.displayCountries(Collections.singletonList(country));
 
         String output = outContent.toString();
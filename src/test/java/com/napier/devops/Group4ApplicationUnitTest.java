@@ -1,17 +1,32 @@
 package com.napier.devops;
 
 import com.napier.devops.controller.CityController;
-import com.napier.devops.model.Country;
+import com.napier.devops.export.ReportFormat;
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.model.CountrySummary;
+import com.napier.devops.report.BatchReportRunner;
+import com.napier.devops.report.ReportOutput;
+import com.napier.devops.report.ReportOutputCache;
+import com.napier.devops.report.WorldDataPartitions;
 import com.napier.devops.service.CountryService;
 import com.napier.devops.service.PopulationBreakdownService;
 import com.napier.devops.service.CapitalCityService;
 import com.napier.devops.util.AppParameters;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.Mockito.*;
 
 /**
@@ -37,10 +52,7 @@ public class Group4ApplicationUnitTest {
         AppParameters appParameters = mock(AppParameters.class);                 // ✅ Added
 
         // Sample data
-        Country sample = new Country();
-        sample.setCode("TST");
-        sample.setName("Testland");
-        sample.setPopulation(12345L);
+        CountrySummary sample = new CountrySummary("TST", "Testland", null, null, 12345L);
 
         // Stub service methods
         when(countryService.getAllCountriesWorld()).thenReturn(List.of(sample));
@@ -48,9 +60,9 @@ public class Group4ApplicationUnitTest {
         when(pbService.getAllByRegion()).thenReturn(Collections.emptyList());
         when(pbService.getAllByCountry()).thenReturn(Collections.emptyList());
 
-        when(cityController.getAllCitiesInTheWorld()).thenReturn(Collections.emptyList());
-        when(cityController.getAllCitiesInAContinent("Asia")).thenReturn(Collections.emptyList());
-        when(cityController.getAllCitiesInARegion("Eastern Asia")).thenReturn(Collections.emptyList());
+        when(cityController.forEachCityInTheWorld(any())).thenReturn(0L);
+        when(cityController.forEachCityInAContinent(eq("Asia"), any())).thenReturn(0L);
+        when(cityController.forEachCityInARegion(eq("Eastern Asia"), any())).thenReturn(0L);
         when(cityController.getAllCitiesInACountry("Japan")).thenReturn(Collections.emptyList());
         when(cityController.getAllCitiesInADistrict("Shanghai")).thenReturn(Collections.emptyList());
         when(cityController.getTopNCitiesInTheWorld(10)).thenReturn(Collections.emptyList());
@@ -74,6 +86,7 @@ public class Group4ApplicationUnitTest {
         setField(app, "cityController", cityController);
         setField(app, "capitalCityService", capitalCityService);  // ✅ Added
         setField(app, "appParameters", appParameters);            // ✅ Added
+        setField(app, "environment", new StandardEnvironment());
 
         // Act: run the application (executes all use cases)
         app.run();
@@ -83,7 +96,110 @@ public class Group4ApplicationUnitTest {
         verify(pbService).getAllByContinent();
         verify(pbService).getAllByRegion();
         verify(pbService).getAllByCountry();
-        verify(cityController).getAllCitiesInTheWorld();
+        verify(cityController).forEachCityInTheWorld(any());
         verify(capitalCityService).getAllCapitalCitiesByPopulation(); // ✅ New check
     }
+
+    @Test
+    void launchArgumentsExpandToTheirProperties() {
+        assertThat(Group4Application.withLaunchArguments(new String[]{"--batch"}))
+                .containsExactly("--batch", "--spring.profiles.include=batch");
+        assertThat(Group4Application.withLaunchArguments(
+                Group4Application.withLaunchArguments(new String[]{"--batch", "--snapshot=world.snapshot"})))
+                .containsExactly(Group4Application.withLaunchArguments(new String[]{"--batch", "--snapshot=world.snapshot"}));
+        assertThat(Group4Application.withLaunchArguments(new String[]{"--snapshot=world.snapshot"}))
+                .containsExactly("--snapshot=world.snapshot",
+                        "--world.snapshot.enabled=true",
+                        "--world.snapshot.file=world.snapshot",
+                        "--spring.autoconfigure.exclude=" + Group4Application.DATABASE_AUTO_CONFIGURATIONS);
+        assertThat(Group4Application.withLaunchArguments(new String[]{"--export-snapshot=out.snapshot"}))
+                .contains("--world.snapshot.enabled=true", "--spring.main.web-application-type=none");
+        assertThat(Group4Application.withLaunchArguments(new String[]{"--server.port=9090"}))
+                .containsExactly("--server.port=9090");
+    }
+
+    @Test
+    void selectUseCasesKeepsTheNamedReportsInUseCaseOrder() {
+        List<BatchReportRunner.Report> reports = List.of(
+                new BatchReportRunner.Report("usecase1.log", () -> { }),
+                new BatchReportRunner.Report("usecase7.log", () -> { }),
+                new BatchReportRunner.Report("usecase26.log", () -> { }));
+
+        assertThat(Group4Application.selectUseCases(reports, "26, 1"))
+                .extracting(BatchReportRunner.Report::fileName)
+                .containsExactly("usecase1.log", "usecase26.log");
+        assertThat(Group4Application.selectUseCases(reports, "")).isSameAs(reports);
+        assertThatThrownBy(() -> Group4Application.selectUseCases(reports, "1,40"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown use case: 40");
+    }
+
+    @Test
+    void cacheKeysFollowTheParametersOfEachUseCase() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("parameters", Map.of(
+                "use_case_1.limit", "10",
+                "use_case_13.continent", "Asia",
+                "use_case_13.limit", "10")));
+        environment.getPropertySources().addFirst(new MapPropertySource("overrides", Map.of("use_case_13.limit", "5")));
+
+        assertThat(Group4Application.useCaseParameters(environment, "usecase13.log"))
+                .containsExactly(entry("use_case_13.continent", "Asia"), entry("use_case_13.limit", "5"));
+        assertThat(Group4Application.useCaseParameters(environment, "usecase7.log")).isEmpty();
+
+        List<BatchReportRunner.Report> reports = Group4Application.cachedAs(List.of(
+                new BatchReportRunner.Report("usecase1.log", () -> { }),
+                new BatchReportRunner.Report("usecase13.log", () -> { })), WorldDataPartitions.whole("v1"), "1.0", environment);
+        assertThat(reports.get(1).cacheKey()).isEqualTo(ReportOutputCache.key("1.0", "database", "v1", "usecase13.log",
+                Map.of("use_case_13.continent", "Asia", "use_case_13.limit", "5")));
+        assertThat(reports.get(0).cacheKey()).isNotNull().isNotEqualTo(reports.get(1).cacheKey());
+
+        environment.getPropertySources().addFirst(new MapPropertySource("snapshot", Map.of("world.snapshot.enabled", "true")));
+        assertThat(Group4Application.cachedAs(reports, WorldDataPartitions.whole("v1"), "1.0", environment).get(1).cacheKey())
+                .isEqualTo(ReportOutputCache.key("1.0", "snapshot", "v1", "usecase13.log",
+                        Map.of("use_case_13.continent", "Asia", "use_case_13.limit", "5")));
+    }
+
+    @Test
+    void reportFormatsAreSetPerUseCase() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("parameters", Map.of(
+                "use_case_7.format", "CSV")));
+        List<BatchReportRunner.Report> reports = List.of(
+                new BatchReportRunner.Report("usecase1.log", () -> { }),
+                new BatchReportRunner.Report("usecase7.log", () -> { }));
+
+        assertThat(Group4Application.inFormats(reports, "columnar", environment))
+                .extracting(BatchReportRunner.Report::outputFileName)
+                .containsExactly("usecase1.wcol", "usecase7.csv");
+        assertThat(Group4Application.cachedAs(Group4Application.inFormats(reports, "text", environment),
+                WorldDataPartitions.whole("v1"), "1.0", environment).get(1).cacheKey())
+                .isEqualTo(ReportOutputCache.key("1.0", "database", "v1", "usecase7.csv", Map.of("use_case_7.format", "CSV")));
+        assertThatThrownBy(() -> Group4Application.inFormats(reports, "xml", environment))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown report format: xml");
+    }
+
+    @Test
+    void displayMethodsExportTheirRowsInTableFormats() {
+        Group4Application app = new Group4Application();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ReportOutput.runWith(new PrintStream(out, true, StandardCharsets.UTF_8), ReportFormat.CSV, () -> {
+            ReportOutput.current().println("a heading");
+            app.displayCities(action -> {
+                action.accept(new CitySummary(1532, "Tokyo", "JPN", "Tokyo-to", 7_980_230));
+                action.accept(new CitySummary(1890, "Shanghai", "CHN", "Shanghai", 9_696_300));
+                return 2;
+            });
+            app.displayBasicPopulation("Asia, East", 3_705_025_700L);
+        });
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "name,country_code,district,population\r\n"
+                        + "Tokyo,JPN,Tokyo-to,7980230\r\n"
+                        + "Shanghai,CHN,Shanghai,9696300\r\n"
+                        + "name,population\r\n"
+                        + "\"Asia, East\",3705025700\r\n");
+    }
 }
@@ -0,0 +1,101 @@
+package com.napier.devops.cache;
+
+import com.napier.devops.TestApplication;
+import com.napier.devops.model.Country;
+import com.napier.devops.model.CountrySummary;
+import com.napier.devops.repository.CountryRepository;
+import com.napier.devops.service.CountryService;
+import com.napier.devops.snapshot.WorldDataChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the report result caches.
+ */
+@SpringBootTest(classes = TestApplication.class, properties = "spring.cache.type=caffeine")
+@ActiveProfiles("test")
+class ReportCachesTest {
+
+    @Autowired
+    private CountryService countryService;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private ReportCaches reportCaches;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @BeforeEach
+    void setUp() {
+        countryRepository.deleteAll();
+        countryRepository.save(buildCountry("JPN", "Japan", "Asia", 126_714_000L));
+        reportCaches.clearAll();
+    }
+
+    @Test
+    void repeatedQueriesAreAnsweredFromTheCache() {
+        long hitsBefore = countryStatistics().hits();
+
+        List<CountrySummary> first = countryService.getAllCountriesInContinent("Asia");
+        countryRepository.save(buildCountry("KOR", "South Korea", "Asia", 46_844_000L));
+        List<CountrySummary> second = countryService.getAllCountriesInContinent("ASIA");
+
+        assertThat(second).isSameAs(first).hasSize(1);
+        assertThat(countryStatistics().hits()).isEqualTo(hitsBefore + 1);
+        assertThat(countryStatistics().size()).isEqualTo(1);
+    }
+
+    @Test
+    void clearingACacheRunsTheQueryAgain() {
+        countryService.getAllCountriesInContinent("Asia");
+        countryRepository.save(buildCountry("KOR", "South Korea", "Asia", 46_844_000L));
+
+        assertThat(reportCaches.clear(ReportCaches.COUNTRIES)).isTrue();
+        assertThat(countryService.getAllCountriesInContinent("Asia")).hasSize(2);
+    }
+
+    @Test
+    void unknownCachesAreNotCleared() {
+        assertThat(reportCaches.clear("nope")).isFalse();
+    }
+
+    @Test
+    void worldDataChangesEmptyTheCaches() {
+        countryService.getAllCountriesInContinent("Asia");
+        countryRepository.save(buildCountry("KOR", "South Korea", "Asia", 46_844_000L));
+
+        events.publishEvent(new WorldDataChangedEvent("test"));
+
+        assertThat(countryStatistics().size()).isZero();
+        assertThat(countryService.getAllCountriesInContinent("Asia")).hasSize(2);
+    }
+
+    @Test
+    void statisticsListEveryReportCache() {
+        assertThat(reportCaches.statistics()).extracting(CacheStatistics::name).containsExactly(
+                ReportCaches.BREAKDOWNS, ReportCaches.CAPITAL_CITIES, ReportCaches.CITIES, ReportCaches.COUNTRIES,
+                ReportCaches.LANGUAGES, ReportCaches.POPULATION);
+    }
+
+    private CacheStatistics countryStatistics() {
+        return reportCaches.statistics().stream()
+                .filter(statistics -> statistics.name().equals(ReportCaches.COUNTRIES))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Country buildCountry(String code, String name, String continent, long population) {
+        return new Country(code, name, continent, "Eastern Asia", population);
+    }
+}
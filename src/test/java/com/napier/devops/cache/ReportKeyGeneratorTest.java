@@ -0,0 +1,54 @@
+package com.napier.devops.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the ReportKeyGenerator class.
+ */
+class ReportKeyGeneratorTest {
+
+    private final ReportKeyGenerator generator = new ReportKeyGenerator();
+
+    /**
+     * Queries used as cache targets.
+     */
+    static class Queries {
+        void byName(String name, int limit) {
+        }
+
+        void byOtherName(String name, int limit) {
+        }
+    }
+
+    @Test
+    void namesDifferingOnlyInCaseOrSurroundingWhitespaceShareAKey() throws NoSuchMethodException {
+        Method method = Queries.class.getDeclaredMethod("byName", String.class, int.class);
+
+        assertThat(generator.generate(new Queries(), method, "Asia", 10))
+                .isEqualTo(generator.generate(new Queries(), method, "ASIA", 10))
+                .isEqualTo(generator.generate(new Queries(), method, "asia", 10))
+                .isEqualTo(generator.generate(new Queries(), method, " Asia ", 10));
+    }
+
+    @Test
+    void otherParametersAreKeptApart() throws NoSuchMethodException {
+        Method method = Queries.class.getDeclaredMethod("byName", String.class, int.class);
+
+        assertThat(generator.generate(new Queries(), method, "Asia", 10))
+                .isNotEqualTo(generator.generate(new Queries(), method, "Asia", 5))
+                .isNotEqualTo(generator.generate(new Queries(), method, null, 10));
+    }
+
+    @Test
+    void methodsAreKeptApart() throws NoSuchMethodException {
+        Method byName = Queries.class.getDeclaredMethod("byName", String.class, int.class);
+        Method byOtherName = Queries.class.getDeclaredMethod("byOtherName", String.class, int.class);
+
+        assertThat(generator.generate(new Queries(), byName, "Asia", 10))
+                .isNotEqualTo(generator.generate(new Queries(), byOtherName, "Asia", 10));
+    }
+}
@@ -1,12 +1,25 @@
 package com.napier.devops.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.napier.devops.model.City;
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.model.Country;
+import com.napier.devops.repository.CityRepository;
+import com.napier.devops.repository.CountryRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -20,63 +33,152 @@ class CityControllerTest {
     @Autowired
     private CityController cityController;
 
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Test
     void getAllCitiesInTheWorld_returnsNonNullList() {
-        List<City> actual = cityController.getAllCitiesInTheWorld();
+        List<CitySummary> actual = cityController.getAllCitiesInTheWorld();
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getAllCitiesInAContinent_returnsNonNullList() {
-        List<City> actual = cityController.getAllCitiesInAContinent("Europe");
+        List<CitySummary> actual = cityController.getAllCitiesInAContinent("Europe");
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getAllCitiesInARegion_returnsNonNullList() {
-        List<City> actual = cityController.getAllCitiesInARegion("Caribbean");
+        List<CitySummary> actual = cityController.getAllCitiesInARegion("Caribbean");
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getAllCitiesInACountry_returnsNonNullList() {
-        List<City> actual = cityController.getAllCitiesInACountry("Spain");
+        List<CitySummary> actual = cityController.getAllCitiesInACountry("Spain");
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getAllCitiesInADistrict_returnsNonNullList() {
-        List<City> actual = cityController.getAllCitiesInADistrict("Zuid-Holland");
+        List<CitySummary> actual = cityController.getAllCitiesInADistrict("Zuid-Holland");
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getTopNCitiesInTheWorld_returnsNonNullList() {
-        List<City> actual = cityController.getTopNCitiesInTheWorld(5);
+        List<CitySummary> actual = cityController.getTopNCitiesInTheWorld(5);
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getTopNCitiesInAContinent_returnsNonNullList() {
-        List<City> actual = cityController.getTopNCitiesInAContinent("Europe", 5);
+        List<CitySummary> actual = cityController.getTopNCitiesInAContinent("Europe", 5);
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getTopNCitiesInARegion_returnsNonNullList() {
-        List<City> actual = cityController.getTopNCitiesInARegion("Caribbean", 5);
+        List<CitySummary> actual = cityController.getTopNCitiesInARegion("Caribbean", 5);
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getTopNCitiesInACountry_returnsNonNullList() {
-        List<City> actual = cityController.getTopNCitiesInACountry("Spain", 5);
+        List<CitySummary> actual = cityController.getTopNCitiesInACountry("Spain", 5);
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getTopNCitiesInADistrict_returnsNonNullList() {
-        List<City> actual = cityController.getTopNCitiesInADistrict("Zuid-Holland", 5);
+        List<CitySummary> actual = cityController.getTopNCitiesInADistrict("Zuid-Holland", 5);
         assertThat(actual).isNotNull();
     }
+
+    @Test
+    void streamCitiesInTheWorld_writesOneCityPerLineLargestFirst() throws IOException {
+        saveCities();
+
+        ResponseEntity<StreamingResponseBody> response = cityController.streamCitiesInTheWorld();
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThat(read(response)).extracting(CitySummary::name).containsExactly("Seoul", "Tokyo", "Osaka");
+    }
+
+    @Test
+    void streamCitiesInTheWorld_doesNotFlushEveryRow() throws IOException {
+        saveCities();
+        AtomicInteger flushes = new AtomicInteger();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+
+        cityController.streamCitiesInTheWorld().getBody().writeTo(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).hasSize(3);
+        // fewer rows than CityController.NDJSON_FLUSH_ROWS: at most the final flush on close
+        assertThat(flushes.get()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void streamCitiesInAContinent_writesOnlyThatContinent() throws IOException {
+        saveCities();
+
+        assertThat(read(cityController.streamCitiesInAContinent("Asia"))).hasSize(3);
+        assertThat(read(cityController.streamCitiesInAContinent("Europe"))).isEmpty();
+    }
+
+    @Test
+    void streamCitiesInARegion_writesOnlyThatRegion() throws IOException {
+        saveCities();
+
+        assertThat(read(cityController.streamCitiesInARegion("Eastern Asia")))
+                .extracting(CitySummary::countryCode).containsExactly("KOR", "JPN", "JPN");
+    }
+
+    private void saveCities() {
+        cityRepository.deleteAll();
+        countryRepository.deleteAll();
+        cityRepository.saveAll(List.of(
+                buildCity(1L, "Tokyo", "JPN", 7_980_230),
+                buildCity(2L, "Osaka", "JPN", 2_595_674),
+                buildCity(3L, "Seoul", "KOR", 9_981_619)
+        ));
+        countryRepository.saveAll(List.of(
+                new Country("JPN", "Japan", "Asia", "Eastern Asia", 126_714_000L),
+                new Country("KOR", "South Korea", "Asia", "Eastern Asia", 46_844_000L)
+        ));
+    }
+
+    private List<CitySummary> read(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        List<CitySummary> cities = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                cities.add(objectMapper.readValue(line, CitySummary.class));
+            }
+        }
+        return cities;
+    }
+
+    private static City buildCity(Long id, String name, String countryCode, int population) {
+        City city = new City();
+        city.setId(id);
+        city.setName(name);
+        city.setCountryCode(countryCode);
+        city.setDistrict(name);
+        city.setPopulation(population);
+        return city;
+    }
 }
@@ -1,6 +1,7 @@
 package com.napier.devops.controller;
 
 import com.napier.devops.model.Country;
+import com.napier.devops.model.CountrySummary;
 import com.napier.devops.service.CountryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -38,7 +39,7 @@ class CountryControllerTest {
     }
     @Test
     void getAllCountriesWorld_returnsNonNullList() {
-        List<Country> actual = countryController.getAllCountriesWorld();
+        List<CountrySummary> actual = countryController.getAllCountriesWorld();
         assertThat(actual).isNotNull(); // just check it's not null
     }
 
@@ -48,14 +49,14 @@ class CountryControllerTest {
     @Test
     void getCountriesInRegion_returnsNonNullList() {
         String region = "Europe";
-        List<Country> actual = countryController.getCountriesInRegion(region).getBody();
+        List<CountrySummary> actual = countryController.getCountriesInRegion(region).getBody();
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getTopCountriesWorld_returnsNonNullList() {
         int limit = 5;
-        List<Country> actual = countryController.getTopCountriesWorld(limit).getBody();
+        List<CountrySummary> actual = countryController.getTopCountriesWorld(limit).getBody();
         assertThat(actual).isNotNull();
         assertThat(actual.size()).isLessThanOrEqualTo(limit);
     }
@@ -64,7 +65,7 @@ class CountryControllerTest {
     void getTopCountriesContinent_returnsNonNullList() {
         String continent = "Asia";
         int limit = 3;
-        List<Country> actual = countryController.getTopCountriesContinent(continent, limit).getBody();
+        List<CountrySummary> actual = countryController.getTopCountriesContinent(continent, limit).getBody();
         assertThat(actual).isNotNull();
         assertThat(actual.size()).isLessThanOrEqualTo(limit);
     }
@@ -73,7 +74,7 @@ class CountryControllerTest {
     void getTopCountriesRegion_returnsNonNullList() {
         String region = "Europe";
         int limit = 2;
-        List<Country> actual = countryController.getTopCountriesRegion(region, limit).getBody();
+        List<CountrySummary> actual = countryController.getTopCountriesRegion(region, limit).getBody();
         assertThat(actual).isNotNull();
         assertThat(actual.size()).isLessThanOrEqualTo(limit);
     }
@@ -0,0 +1,175 @@
+package com.napier.devops.controller;
+
+import com.napier.devops.TestApplication;
+import com.napier.devops.model.CapitalCity;
+import com.napier.devops.model.City;
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.model.Country;
+import com.napier.devops.model.CountrySummary;
+import com.napier.devops.paging.KeysetPage;
+import com.napier.devops.repository.CityRepository;
+import com.napier.devops.repository.CountryRepository;
+import com.napier.devops.util.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the keyset-paginated listing endpoints.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@ActiveProfiles("test")
+class KeysetPagingTest {
+
+    @Autowired
+    private CityController cityController;
+
+    @Autowired
+    private CountryController countryController;
+
+    @Autowired
+    private CapitalController capitalController;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        cityRepository.deleteAll();
+        countryRepository.deleteAll();
+
+        // equal populations, so the pages must fall back on the id to keep their place
+        cityRepository.saveAll(List.of(
+                buildCity(1L, "Tokyo", "JPN", "Tokyo-to", 7_980_230),
+                buildCity(2L, "Osaka", "JPN", "Osaka", 2_595_674),
+                buildCity(3L, "Kobe", "JPN", "Hyogo", 1_000_000),
+                buildCity(4L, "Kyoto", "JPN", "Kyoto", 1_000_000),
+                buildCity(5L, "Sapporo", "JPN", "Hokkaido", 1_000_000),
+                buildCity(6L, "Seoul", "KOR", "Seoul", 9_981_619),
+                buildCity(7L, "Pusan", "KOR", "Pusan", 3_804_522)
+        ));
+        countryRepository.saveAll(List.of(
+                buildCountry("JPN", "Japan", 126_714_000L, 1L),
+                buildCountry("KOR", "South Korea", 46_844_000L, 6L),
+                buildCountry("PRK", "North Korea", 46_844_000L, null)
+        ));
+    }
+
+    @Test
+    void citiesArePagedWithoutGapsOrRepeats() {
+        List<CitySummary> cities = readAll(2, (size, token) -> cityController.getCitiesInTheWorldPage(size, token));
+
+        assertThat(cities).extracting(CitySummary::id).containsExactly(6L, 1L, 7L, 2L, 5L, 4L, 3L);
+    }
+
+    @Test
+    void cityPagesAreFilteredByScope() {
+        assertThat(readAll(2, (size, token) -> cityController.getCitiesInAContinentPage("asia", size, token)))
+                .hasSize(7);
+        assertThat(readAll(2, (size, token) -> cityController.getCitiesInARegionPage("Eastern Asia", size, token)))
+                .hasSize(7);
+        assertThat(readAll(2, (size, token) -> cityController.getCitiesInACountryPage("Japan", size, token)))
+                .extracting(CitySummary::id).containsExactly(1L, 2L, 5L, 4L, 3L);
+        assertThat(readAll(2, (size, token) -> cityController.getCitiesInADistrictPage("kyoto", size, token)))
+                .extracting(CitySummary::name).containsExactly("Kyoto");
+    }
+
+    @Test
+    void countriesArePagedWithoutGapsOrRepeats() {
+        List<CountrySummary> countries = readAll(1, (size, token) -> countryController.getCountriesWorldPage(size, token));
+
+        assertThat(countries).extracting(CountrySummary::code).containsExactly("JPN", "PRK", "KOR");
+        assertThat(readAll(2, (size, token) -> countryController.getCountriesInContinentPage("Asia", size, token)))
+                .hasSize(3);
+        assertThat(readAll(2, (size, token) -> countryController.getCountriesInRegionPage("Eastern Asia", size, token)))
+                .hasSize(3);
+    }
+
+    @Test
+    void capitalCitiesArePaged() {
+        List<CapitalCity> capitals = readAll(1, (size, token) -> capitalController.getCapitalCitiesWorldPage(size, token));
+
+        assertThat(capitals).extracting(CapitalCity::getCityName).containsExactly("Seoul", "Tokyo");
+        assertThat(readAll(1, (size, token) -> capitalController.getCapitalCitiesInContinentPage("Asia", size, token)))
+                .hasSize(2);
+        assertThat(readAll(1, (size, token) -> capitalController.getCapitalCitiesInRegionPage("Eastern Asia", size, token)))
+                .hasSize(2);
+    }
+
+    @Test
+    void lastPageHasNoNextToken() {
+        KeysetPage<CitySummary> page = cityController.getCitiesInTheWorldPage(100, null).getBody();
+
+        assertThat(page).isNotNull();
+        assertThat(page.items()).hasSize(7);
+        assertThat(page.next()).isNull();
+    }
+
+    @Test
+    void pageQueryStartsFromThePopulationIndex() {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT ID FROM city"
+                + " WHERE Population < 1000000 OR (Population = 1000000 AND ID < 4)"
+                + " ORDER BY Population DESC, ID DESC LIMIT 3", String.class);
+
+        assertThat(plan).containsIgnoringCase("idx_city_population").doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void invalidRequestsAreRejected() {
+        assertThatThrownBy(() -> cityController.getCitiesInTheWorldPage(0, null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> cityController.getCitiesInTheWorldPage(10, "bogus!"))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(new BadRequestHandler().handleBadRequest(new BadRequestException("bad"))
+                .getStatusCode().value()).isEqualTo(400);
+    }
+
+    /**
+     * Follows the next tokens from the first page to the last, collecting every row.
+     */
+    private static <T> List<T> readAll(int size, BiFunction<Integer, String, ResponseEntity<KeysetPage<T>>> pages) {
+        List<T> rows = new ArrayList<>();
+        String token = null;
+        do {
+            KeysetPage<T> page = pages.apply(size, token).getBody();
+            assertThat(page).isNotNull();
+            assertThat(page.items().size()).isLessThanOrEqualTo(size);
+            rows.addAll(page.items());
+            token = page.next();
+        } while (token != null);
+        return rows;
+    }
+
+    private static City buildCity(Long id, String name, String countryCode, String district, int population) {
+        City city = new City();
+        city.setId(id);
+        city.setName(name);
+        city.setCountryCode(countryCode);
+        city.setDistrict(district);
+        city.setPopulation(population);
+        return city;
+    }
+
+    private static Country buildCountry(String code, String name, long population, Long capital) {
+        Country country = new Country(code, name, "Asia", "Eastern Asia", population);
+        country.setCapital(capital);
+        return country;
+    }
+}
@@ -0,0 +1,32 @@
+package com.napier.devops.controller;
+
+import com.napier.devops.TestApplication;
+import com.napier.devops.pool.ConnectionPoolStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for PoolController
+ */
+@SpringBootTest(classes = TestApplication.class)
+@ActiveProfiles("test")
+class PoolControllerTest {
+
+    @Autowired
+    private PoolController poolController;
+
+    @Test
+    void getStatistics() {
+        ResponseEntity<ConnectionPoolStatistics> response = poolController.getStatistics();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().pool()).isEqualTo("world");
+    }
+}
@@ -1,6 +1,7 @@
 package com.napier.devops.controller;
 
 import com.napier.devops.service.PopulationService;
+import com.napier.devops.snapshot.Scope;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -75,4 +76,14 @@ class PopulationControllerTest {
 
         assertEquals(2140000L, result);
     }
+
+    @Test
+    void getPopulationWithin_returnsCorrectValue() {
+        when(populationService.getPopulationWithin(Scope.Level.DISTRICT, "Punjab", Scope.Level.COUNTRY, "Pakistan"))
+                .thenReturn(7040745L);
+
+        Long result = populationController.getPopulationWithin(Scope.Level.DISTRICT, "Punjab", Scope.Level.COUNTRY, "Pakistan");
+
+        assertEquals(7040745L, result);
+    }
 }
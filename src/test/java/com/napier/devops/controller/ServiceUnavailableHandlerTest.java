@@ -0,0 +1,31 @@
+package com.napier.devops.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ServiceUnavailableHandler}.
+ */
+class ServiceUnavailableHandlerTest {
+
+    private final ServiceUnavailableHandler handler = new ServiceUnavailableHandler();
+
+    @Test
+    void connectionFailuresAreAnswered503WithRetryAfter() {
+        for (RuntimeException e : new RuntimeException[]{
+                new CannotCreateTransactionException("Connection is not available, request timed out after 5000ms"),
+                new DataAccessResourceFailureException("Communications link failure")}) {
+            ResponseEntity<String> response = handler.handleUnavailable(e);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER))
+                    .isEqualTo(ServiceUnavailableHandler.RETRY_AFTER_SECONDS);
+        }
+    }
+}
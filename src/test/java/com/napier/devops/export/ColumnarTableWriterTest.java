@@ -0,0 +1,99 @@
+package com.napier.devops.export;
+
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.model.LanguageStats;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link ColumnarTableWriter} and {@link ColumnarTableReader}.
+ */
+class ColumnarTableWriterTest {
+
+    @Test
+    void readsBackTheTypedColumnsAndNulls() throws IOException {
+        byte[] bytes = write(ReportTables.LANGUAGES, List.of(
+                new LanguageStats("Chinese", 1_191_843_539L, 19.61),
+                new LanguageStats("Español", null, null)));
+
+        try (ColumnarTableReader reader = new ColumnarTableReader(new ByteArrayInputStream(bytes))) {
+            assertThat(reader.names()).containsExactly("language", "speakers", "percentage_of_world");
+            assertThat(reader.types()).containsExactly(ColumnType.STRING, ColumnType.LONG, ColumnType.DOUBLE);
+            assertThat(reader.next()).containsExactly("Chinese", 1_191_843_539L, 19.61);
+            assertThat(reader.next()).containsExactly("Español", null, null);
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void readsBackTablesOfSeveralBlocks() throws IOException {
+        List<CitySummary> cities = new ArrayList<>();
+        for (int i = 0; i < ColumnarTableWriter.BLOCK_ROWS * 2 + 10; i++) {
+            cities.add(new CitySummary(i, "City " + i, "C" + i % 7, i % 3 == 0 ? null : "District " + i % 11,
+                    10_000_000 - i * 997));
+        }
+
+        byte[] bytes = write(ReportTables.CITIES, cities);
+
+        try (ColumnarTableReader reader = new ColumnarTableReader(new ByteArrayInputStream(bytes))) {
+            for (CitySummary city : cities) {
+                assertThat(reader.next()).containsExactly(city.name(), city.countryCode(), city.district(),
+                        (long) city.population());
+            }
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void isSmallerThanCsvForRepetitiveReports() {
+        List<CitySummary> cities = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            cities.add(new CitySummary(i, "City " + i, "C" + i % 50, "District " + i % 100, 5_000_000 - i * 100));
+        }
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        try (TableWriter<CitySummary> writer = new CsvTableWriter<>(ReportTables.CITIES, csv)) {
+            cities.forEach(writer::row);
+        }
+
+        assertThat(write(ReportTables.CITIES, cities).length).isLessThan(csv.size() * 2 / 3);
+    }
+
+    @Test
+    void writesAnEmptyTable() throws IOException {
+        try (ColumnarTableReader reader = new ColumnarTableReader(
+                new ByteArrayInputStream(write(ReportTables.COUNTRIES, List.of())))) {
+            assertThat(reader.names()).hasSize(5);
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void rejectsOtherStreams() {
+        assertThatThrownBy(() -> new ColumnarTableReader(new ByteArrayInputStream("code,name\r\n".getBytes())))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Not a columnar report");
+        byte[] truncated = write(ReportTables.CITIES, List.of(new CitySummary(1, "Tokyo", "JPN", "Tokyo-to", 7_980_230)));
+        assertThatThrownBy(() -> {
+            try (ColumnarTableReader reader = new ColumnarTableReader(
+                    new ByteArrayInputStream(truncated, 0, truncated.length - 3))) {
+                reader.next();
+            }
+        }).isInstanceOf(IOException.class);
+    }
+
+    private static <T> byte[] write(ReportTable<T> table, List<T> rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TableWriter<T> writer = new ColumnarTableWriter<>(table, out)) {
+            rows.forEach(writer::row);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,71 @@
+package com.napier.devops.export;
+
+import com.napier.devops.model.PopulationBreakdown;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link CsvTableWriter}.
+ */
+class CsvTableWriterTest {
+
+    @Test
+    void writesAHeaderAndOneRecordPerRow() {
+        String csv = write(ReportTables.POPULATION_BREAKDOWNS, List.of(
+                new PopulationBreakdown("continent", "Asia", 3_705_025_700L, 697_604_103L, 3_007_421_597L, 18.83, 81.17),
+                new PopulationBreakdown("country", "Nowhere", 0L, null, null, null, null)));
+
+        assertThat(csv).isEqualTo("type,name,total_population,population_in_cities,in_cities_percentage,"
+                + "population_not_in_cities,not_in_cities_percentage\r\n"
+                + "continent,Asia,3705025700,697604103,18.83,3007421597,81.17\r\n"
+                + "country,Nowhere,0,,,,\r\n");
+    }
+
+    @Test
+    void quotesOnlyTheFieldsThatNeedIt() {
+        ReportTable<String> table = new ReportTable<>("names", String.class, List.of(
+                new Column<>("name", ColumnType.STRING, name -> name)));
+
+        String csv = write(table, List.of("Plain", "Washington, D.C.", "Say \"hi\"", "two\nlines", "São Paulo, \"SP\""));
+
+        assertThat(csv).isEqualTo("name\r\nPlain\r\n\"Washington, D.C.\"\r\n\"Say \"\"hi\"\"\"\r\n\"two\nlines\"\r\n"
+                + "\"São Paulo, \"\"SP\"\"\"\r\n");
+    }
+
+    @Test
+    void writesNumbersUnformatted() {
+        ReportTable<Long> table = new ReportTable<>("numbers", Long.class, List.of(
+                new Column<>("value", ColumnType.LONG, value -> value)));
+
+        String csv = write(table, List.of(0L, 7L, -42L, 1_234_567_890_123L, Long.MIN_VALUE, Long.MAX_VALUE));
+
+        assertThat(csv).isEqualTo("value\r\n0\r\n7\r\n-42\r\n1234567890123\r\n" + Long.MIN_VALUE + "\r\n"
+                + Long.MAX_VALUE + "\r\n");
+    }
+
+    @Test
+    void writesTablesLargerThanTheBuffer() {
+        List<Long> values = LongStream.range(0, 20_000).boxed().toList();
+        ReportTable<Long> table = new ReportTable<>("numbers", Long.class, List.of(
+                new Column<>("value", ColumnType.LONG, value -> value)));
+
+        String[] lines = write(table, values).split("\r\n");
+
+        assertThat(lines).hasSize(20_001);
+        assertThat(lines[20_000]).isEqualTo("19999");
+    }
+
+    private static <T> String write(ReportTable<T> table, List<T> rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TableWriter<T> writer = new CsvTableWriter<>(table, out)) {
+            rows.forEach(writer::row);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,136 @@
+package com.napier.devops.export;
+
+import com.napier.devops.TestApplication;
+import com.napier.devops.model.City;
+import com.napier.devops.model.Country;
+import com.napier.devops.repository.CityRepository;
+import com.napier.devops.repository.CountryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for serving the report endpoints as CSV and in the columnar format.
+ */
+@SpringBootTest(classes = TestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ReportTableHttpMessageConverterTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @BeforeEach
+    void seedData() {
+        countryRepository.deleteAll();
+        cityRepository.deleteAll();
+        cityRepository.saveAll(List.of(
+                city(10L, "Canberra", "AUS", "Capital Region", 322_723),
+                city(11L, "Wellington", "NZL", "Wellington", 166_700)));
+        countryRepository.saveAll(List.of(
+                country("AUS", "Australia", 18_886_000L, 10L),
+                country("NZL", "New Zealand", 3_862_000L, 11L)));
+    }
+
+    @Test
+    void listsAreServedAsCsvToClientsAcceptingIt() {
+        ResponseEntity<String> response = get("/api/capitals/world", "text/csv", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().toString()).isEqualTo("text/csv;charset=UTF-8");
+        assertThat(response.getBody()).isEqualTo(
+                "name,country,population\r\nCanberra,Australia,322723\r\nWellington,New Zealand,166700\r\n");
+    }
+
+    @Test
+    void listsAreServedInTheColumnarFormatToClientsAcceptingIt() throws IOException {
+        ResponseEntity<byte[]> response = get("/api/cities/world/top?limit=1", ReportFormat.COLUMNAR_VALUE, byte[].class);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(ReportTableHttpMessageConverter.COLUMNAR);
+        try (ColumnarTableReader reader = new ColumnarTableReader(new ByteArrayInputStream(response.getBody()))) {
+            assertThat(reader.names()).containsExactly("name", "country_code", "district", "population");
+            assertThat(reader.next()).containsExactly("Canberra", "AUS", "Capital Region", 322_723L);
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void jsonStaysTheDefault() {
+        ResponseEntity<String> response = get("/api/capitals/world", MediaType.ALL_VALUE, String.class);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(rest.getForEntity("/api/capitals/world", String.class).getHeaders().getContentType())
+                .isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(get("/api/cities/world", MediaType.ALL_VALUE, String.class).getHeaders().getContentType())
+                .isEqualTo(MediaType.APPLICATION_NDJSON);
+    }
+
+    @Test
+    void streamedCityReportsAreServedAsTables() throws IOException {
+        ResponseEntity<String> csv = get("/api/cities/continent?continent=Oceania", "text/csv", String.class);
+        ResponseEntity<byte[]> columnar = get("/api/cities/world",
+                "text/csv;q=0.5, " + ReportFormat.COLUMNAR_VALUE, byte[].class);
+
+        assertThat(csv.getBody()).isEqualTo("name,country_code,district,population\r\n"
+                + "Canberra,AUS,Capital Region,322723\r\nWellington,NZL,Wellington,166700\r\n");
+        assertThat(columnar.getHeaders().getContentType()).isEqualTo(ReportTableHttpMessageConverter.COLUMNAR);
+        try (ColumnarTableReader reader = new ColumnarTableReader(new ByteArrayInputStream(columnar.getBody()))) {
+            assertThat(reader.next()).containsExactly("Canberra", "AUS", "Capital Region", 322_723L);
+        }
+    }
+
+    @Test
+    void otherResponsesAreNotServedAsTables() {
+        assertThat(get("/api/capitals/world/page", "text/csv", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_ACCEPTABLE);
+    }
+
+    private <T> ResponseEntity<T> get(String path, String accept, Class<T> type) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, accept);
+        return rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), type);
+    }
+
+    private static City city(Long id, String name, String countryCode, String district, int population) {
+        City city = new City();
+        city.setId(id);
+        city.setName(name);
+        city.setCountryCode(countryCode);
+        city.setDistrict(district);
+        city.setPopulation(population);
+        return city;
+    }
+
+    private static Country country(String code, String name, long population, Long capitalId) {
+        Country country = new Country();
+        country.setCode(code);
+        country.setName(name);
+        country.setContinent("Oceania");
+        country.setRegion("Australia and New Zealand");
+        country.setPopulation(population);
+        country.setCapital(capitalId);
+        country.setCode2(code.substring(0, 2));
+        return country;
+    }
+}
@@ -0,0 +1,72 @@
+package com.napier.devops.language;
+
+import com.napier.devops.model.LanguageStats;
+import com.napier.devops.model.SpeakerCount;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link SpeakerIndex}.
+ */
+class SpeakerIndexTest {
+
+    private final SpeakerIndex index = new SpeakerIndex(List.of(
+            new SpeakerCount("Chinese", "Asia", 1_277_558_000.4),
+            new SpeakerCount("English", "North America", 239_387_020.0),
+            new SpeakerCount("English", "Europe", 58_430_932.0),
+            new SpeakerCount("Spanish", "North America", 90_970_520.0),
+            new SpeakerCount("Spanish", "Europe", 29_186_858.0),
+            new SpeakerCount("french", "Europe", 59_225_700.0)),
+            2_000_000_000L);
+
+    @Test
+    void statistics_sumsContinentsAndOrdersBySpeakers() {
+        List<LanguageStats> stats = index.statistics(List.of("Spanish", "English", "Chinese"));
+
+        assertThat(stats).extracting(LanguageStats::getLanguage).containsExactly("Chinese", "English", "Spanish");
+        assertThat(stats).extracting(LanguageStats::getSpeakers)
+                .containsExactly(1_277_558_000L, 297_817_952L, 120_157_378L);
+        assertThat(stats.get(0).getPercentageOfWorldPopulation()).isEqualTo(63.88);
+    }
+
+    @Test
+    void statistics_ignoresCaseDuplicatesAndUnknownLanguages() {
+        List<LanguageStats> stats = index.statistics(Arrays.asList("FRENCH", "Klingon", null, "French"));
+
+        assertThat(stats).extracting(LanguageStats::getLanguage).containsExactly("french");
+    }
+
+    @Test
+    void top_ranksTheWholeWorld() {
+        assertThat(index.top(2)).extracting(LanguageStats::getLanguage).containsExactly("Chinese", "English");
+        assertThat(index.top(10)).hasSize(4);
+        assertThat(index.languageCount()).isEqualTo(4);
+    }
+
+    @Test
+    void top_ranksOneContinentWithItsOwnSpeakers() {
+        List<LanguageStats> europe = index.top("europe", 10);
+
+        assertThat(europe).extracting(LanguageStats::getLanguage).containsExactly("french", "English", "Spanish");
+        assertThat(europe.get(1).getSpeakers()).isEqualTo(58_430_932L);
+        assertThat(index.top("Antarctica", 3)).isEmpty();
+    }
+
+    @Test
+    void top_rejectsLimitsBelowOne() {
+        assertThatThrownBy(() -> index.top(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.top("Europe", -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void emptyWorldHasNoShares() {
+        SpeakerIndex empty = new SpeakerIndex(List.of(new SpeakerCount("Esperanto", "Europe", 0.0)), 0L);
+
+        assertThat(empty.statistics(List.of("Esperanto")).get(0).getPercentageOfWorldPopulation()).isNull();
+    }
+}
@@ -0,0 +1,64 @@
+package com.napier.devops.paging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the Keyset and KeysetPage classes.
+ */
+class KeysetTest {
+
+    @Test
+    void tokensRoundTrip() {
+        Keyset keyset = new Keyset(10_500_000, "1024");
+
+        assertThat(Keyset.fromToken(keyset.token())).isEqualTo(keyset);
+        assertThat(keyset.token()).doesNotContain("10500000").matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void missingTokenIsTheFirstPage() {
+        assertThat(Keyset.fromToken(null)).isEqualTo(Keyset.FIRST);
+        assertThat(Keyset.fromToken("")).isEqualTo(Keyset.FIRST);
+        assertThat(Keyset.FIRST.cityPopulation()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(Keyset.FIRST.cityId()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void foreignTokensAreRejected() {
+        assertThatThrownBy(() -> Keyset.fromToken("not a token!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Keyset.fromToken(new Keyset(5, "x").token().substring(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Keyset(5, "JPN").cityId())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pageWithAnExtraRowHasANextToken() {
+        KeysetPage<Integer> page = KeysetPage.of(List.of(30, 20, 10), 2, n -> new Keyset(n, String.valueOf(n)));
+
+        assertThat(page.items()).containsExactly(30, 20);
+        assertThat(Keyset.fromToken(page.next())).isEqualTo(new Keyset(20, "20"));
+    }
+
+    @Test
+    void lastPageHasNoNextToken() {
+        KeysetPage<Integer> page = KeysetPage.of(List.of(30, 20), 2, n -> new Keyset(n, String.valueOf(n)));
+
+        assertThat(page.items()).containsExactly(30, 20);
+        assertThat(page.next()).isNull();
+    }
+
+    @Test
+    void pageSizeIsBounded() {
+        assertThat(KeysetPage.checkSize(KeysetPage.MAX_SIZE)).isEqualTo(KeysetPage.MAX_SIZE);
+        assertThatThrownBy(() -> KeysetPage.checkSize(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetPage.checkSize(KeysetPage.MAX_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,54 @@
+package com.napier.devops.pool;
+
+import com.napier.devops.TestApplication;
+import com.napier.devops.repository.CountryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link ConnectionPools}.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@ActiveProfiles("test")
+class ConnectionPoolsTest {
+
+    @Autowired
+    private ConnectionPools connectionPools;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Test
+    void statisticsDescribeTheHikariPool() {
+        countryRepository.count();
+
+        ConnectionPoolStatistics statistics = connectionPools.statistics().orElseThrow();
+
+        assertThat(statistics.pool()).isEqualTo("world");
+        assertThat(statistics.maximum()).isEqualTo(10);
+        assertThat(statistics.total()).isEqualTo(statistics.active() + statistics.idle()).isPositive();
+        assertThat(statistics.pending()).isZero();
+        assertThat(statistics.acquisitions()).isPositive();
+        assertThat(statistics.acquireP99Millis()).isNotNaN().isNotNegative();
+        assertThat(statistics.timeouts()).isZero();
+    }
+
+    @Test
+    void thereAreNoStatisticsWithoutADatasource() {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of());
+
+        ConnectionPools none = new ConnectionPools(
+                beans.getBeanProvider(DataSource.class), beans.getBeanProvider(MeterRegistry.class));
+
+        assertThat(none.statistics()).isEmpty();
+    }
+}
@@ -0,0 +1,277 @@
+package com.napier.devops.report;
+
+import com.napier.devops.export.ColumnarTableReader;
+import com.napier.devops.export.ReportFormat;
+import com.napier.devops.export.ReportTables;
+import com.napier.devops.model.CountrySummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the BatchReportRunner class.
+ */
+class BatchReportRunnerTest {
+
+    @TempDir
+    File outputDirectory;
+
+    /**
+     * Tests that every report is written to its own file and echoed in submission order.
+     */
+    @Test
+    void testRunWritesFilesAndEchoesInOrder() throws IOException {
+        List<BatchReportRunner.Report> reports = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int n = i;
+            reports.add(new BatchReportRunner.Report("report" + n + ".log", () -> {
+                if (n % 3 == 0) {
+                    sleep(20);
+                }
+                ReportOutput.current().println("body of report " + n);
+            }));
+        }
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+
+        BatchReportRunner.Summary summary = new BatchReportRunner(outputDirectory, 4)
+                .run(reports, new PrintStream(console, true, StandardCharsets.UTF_8));
+
+        assertEquals(20, summary.results().size());
+        assertEquals(0, summary.failures());
+        assertNotNull(summary.slowest());
+
+        String echoed = console.toString(StandardCharsets.UTF_8);
+        int previous = -1;
+        for (int i = 0; i < 20; i++) {
+            int index = echoed.indexOf("body of report " + i + System.lineSeparator());
+            assertTrue(index > previous, "report " + i + " echoed out of order");
+            previous = index;
+
+            String file = Files.readString(new File(outputDirectory, "report" + i + ".log").toPath());
+            assertTrue(file.startsWith("Report generated on: "));
+            assertTrue(file.contains("body of report " + i));
+            assertFalse(file.contains("body of report " + (i + 1) + System.lineSeparator()));
+        }
+        assertTrue(echoed.contains("Generated 20 reports"));
+    }
+
+    /**
+     * Tests that reports many times the echo buffer's size are echoed whole and in order,
+     * the later one waiting for the earlier one to be echoed.
+     */
+    @Test
+    void testRunStreamsLongReportsThroughTheEchoBuffer() {
+        int lines = BatchReportRunner.ECHO_BUFFER_SIZE / 10;
+        List<BatchReportRunner.Report> reports = new ArrayList<>();
+        for (String name : List.of("a", "b", "c")) {
+            reports.add(new BatchReportRunner.Report(name + ".log", () -> {
+                for (int line = 0; line < lines; line++) {
+                    ReportOutput.current().println(name + " " + line);
+                }
+            }));
+        }
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+
+        BatchReportRunner.Summary summary = new BatchReportRunner(outputDirectory, 3)
+                .run(reports, new PrintStream(console, true, StandardCharsets.UTF_8));
+
+        assertEquals(0, summary.failures());
+        String echoed = console.toString(StandardCharsets.UTF_8);
+        String separator = System.lineSeparator();
+        assertTrue(echoed.indexOf("a " + (lines - 1) + separator) < echoed.indexOf(separator + "b 0" + separator));
+        assertTrue(echoed.indexOf("b " + (lines - 1) + separator) < echoed.indexOf(separator + "c 0" + separator));
+        assertTrue(echoed.contains("c " + (lines - 1) + separator));
+    }
+
+    /**
+     * Tests that a failing report is recorded without stopping the rest of the batch.
+     */
+    @Test
+    void testRunRecordsFailures() {
+        List<BatchReportRunner.Report> reports = List.of(
+                new BatchReportRunner.Report("ok.log", () -> ReportOutput.current().println("ok")),
+                new BatchReportRunner.Report("broken.log", () -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        BatchReportRunner.Summary summary = new BatchReportRunner(outputDirectory, 2)
+                .run(reports, new PrintStream(new ByteArrayOutputStream()));
+
+        assertEquals(1, summary.failures());
+        assertNull(summary.results().get(0).error());
+        assertEquals("boom", summary.results().get(1).error().getMessage());
+        assertTrue(new File(outputDirectory, "ok.log").exists());
+    }
+
+    /**
+     * Tests that a report with a cache key is generated once and then copied from the cache,
+     * and that failed reports are not cached.
+     */
+    @Test
+    void testRunCopiesCachedReports() throws IOException {
+        ReportOutputCache cache = new ReportOutputCache(new File(outputDirectory, "cache").toPath(), Duration.ofDays(7));
+        AtomicInteger generated = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<BatchReportRunner.Report> reports = List.of(
+                new BatchReportRunner.Report("cached.log", () -> {
+                    generated.incrementAndGet();
+                    ReportOutput.current().println("cached body");
+                }).cachedAs("key1"),
+                new BatchReportRunner.Report("broken.log", () -> {
+                    failed.incrementAndGet();
+                    throw new IllegalStateException("boom");
+                }).cachedAs("key2"));
+        BatchReportRunner runner = new BatchReportRunner(outputDirectory, 2, true, cache);
+
+        BatchReportRunner.Summary first = runner.run(reports, new PrintStream(new ByteArrayOutputStream()));
+        String written = Files.readString(new File(outputDirectory, "cached.log").toPath());
+        Files.delete(new File(outputDirectory, "cached.log").toPath());
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        BatchReportRunner.Summary second = runner.run(reports, new PrintStream(console, true, StandardCharsets.UTF_8));
+
+        assertEquals(0, first.cached());
+        assertEquals(1, second.cached());
+        assertTrue(second.results().get(0).cached());
+        assertEquals(1, second.failures());
+        assertEquals(1, generated.get());
+        assertEquals(2, failed.get());
+        // the same report, stamped with the time it was copied
+        String copied = Files.readString(new File(outputDirectory, "cached.log").toPath());
+        assertTrue(copied.startsWith("Report generated on: "));
+        assertEquals(written.substring(written.indexOf('\n')), copied.substring(copied.indexOf('\n')));
+        assertTrue(console.toString(StandardCharsets.UTF_8).contains("cached body"));
+        assertTrue(console.toString(StandardCharsets.UTF_8).contains("1 from cache"));
+    }
+
+    /**
+     * Tests that a report in a table format is written to a file of its extension, holding
+     * the table only, and that a binary report is not echoed.
+     */
+    @Test
+    void testRunWritesTableFormats() throws IOException {
+        Runnable countries = () -> {
+            ReportOutput.current().println("=== a heading only the text report has ===");
+            ReportOutput.export(ReportTables.COUNTRIES,
+                    List.of(new CountrySummary("JPN", "Japan", "Asia", "Eastern Asia", 126_714_000L)));
+        };
+        List<BatchReportRunner.Report> reports = List.of(
+                new BatchReportRunner.Report("usecase1.log", countries).in(ReportFormat.CSV),
+                new BatchReportRunner.Report("usecase2.log", countries).in(ReportFormat.COLUMNAR));
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+
+        BatchReportRunner.Summary summary = new BatchReportRunner(outputDirectory, 2)
+                .run(reports, new PrintStream(console, true, StandardCharsets.UTF_8));
+
+        assertEquals(List.of("usecase1.csv", "usecase2.wcol"),
+                summary.results().stream().map(BatchReportRunner.Result::fileName).toList());
+        String csv = "code,name,continent,region,population\r\nJPN,Japan,Asia,Eastern Asia,126714000\r\n";
+        assertEquals(csv, Files.readString(new File(outputDirectory, "usecase1.csv").toPath()));
+        try (ColumnarTableReader reader = new ColumnarTableReader(
+                new FileInputStream(new File(outputDirectory, "usecase2.wcol")))) {
+            assertArrayEquals(new Object[]{"JPN", "Japan", "Asia", "Eastern Asia", 126_714_000L}, reader.next());
+            assertNull(reader.next());
+        }
+        assertFalse(new File(outputDirectory, "usecase1.log").exists());
+        assertTrue(console.toString(StandardCharsets.UTF_8).startsWith(csv));
+        assertFalse(console.toString(StandardCharsets.UTF_8).contains("WCOL"));
+    }
+
+    /**
+     * Tests that the time taken by each report is recorded, tagged with its name and outcome.
+     */
+    @Test
+    void testWriteRecordsReportTimer() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            BatchReportRunner.write(outputDirectory,
+                    new BatchReportRunner.Report("timed.log", () -> ReportOutput.current().println("ok")), null);
+            BatchReportRunner.write(outputDirectory, new BatchReportRunner.Report("timed.log", () -> {
+                throw new IllegalStateException("boom");
+            }), null);
+
+            Timer success = registry.find(BatchReportRunner.REPORT_TIMER)
+                    .tags("report", "timed", "outcome", "success").timer();
+            Timer error = registry.find(BatchReportRunner.REPORT_TIMER)
+                    .tags("report", "timed", "outcome", "error").timer();
+            assertNotNull(success);
+            assertNotNull(error);
+            assertEquals(1, success.count());
+            assertEquals(1, error.count());
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    /**
+     * Tests that when echoing is interrupted every report is still counted, and those that
+     * could not be waited for count as failed.
+     */
+    @Test
+    void testInterruptedEchoCountsEveryReport() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<BatchReportRunner.Report> reports = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            reports.add(new BatchReportRunner.Report("blocked" + i + ".log", () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+
+        BatchReportRunner.Summary summary;
+        Thread.currentThread().interrupt();
+        try {
+            summary = new BatchReportRunner(outputDirectory, 3)
+                    .run(reports, new PrintStream(console, true, StandardCharsets.UTF_8));
+        } finally {
+            // clear the interrupt for the tests that follow, and let the reports finish
+            Thread.interrupted();
+            release.countDown();
+        }
+
+        assertEquals(3, summary.results().size());
+        assertEquals(3, summary.failures());
+        assertTrue(console.toString(StandardCharsets.UTF_8).contains("Error echoing reports"));
+    }
+
+    /**
+     * Tests that the report stream is only redirected while a report runs.
+     */
+    @Test
+    void testReportOutputIsRestored() {
+        PrintStream sink = new PrintStream(new ByteArrayOutputStream());
+
+        ReportOutput.runWith(sink, () -> assertSame(sink, ReportOutput.current()));
+
+        assertSame(System.out, ReportOutput.current());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
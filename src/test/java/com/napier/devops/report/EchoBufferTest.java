@@ -0,0 +1,71 @@
+package com.napier.devops.report;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the EchoBuffer class.
+ */
+class EchoBufferTest {
+
+    /**
+     * Tests that everything written through a buffer much smaller than the report comes out in order.
+     */
+    @Test
+    void testDrainCopiesEverythingWrittenInOrder() throws IOException {
+        EchoBuffer echo = new EchoBuffer(16);
+        byte[] report = new byte[10_000];
+        for (int i = 0; i < report.length; i++) {
+            report[i] = (byte) i;
+        }
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            try {
+                for (int off = 0; off < report.length; off += 37) {
+                    echo.write(report, off, Math.min(37, report.length - off));
+                }
+                echo.write(7);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                echo.close();
+            }
+        });
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+
+        echo.drainTo(console);
+        writer.join();
+
+        byte[] echoed = console.toByteArray();
+        assertEquals(report.length + 1, echoed.length);
+        for (int i = 0; i < report.length; i++) {
+            assertEquals(report[i], echoed[i]);
+        }
+        assertEquals(7, echoed[report.length]);
+        assertThrows(IOException.class, () -> echo.write(1));
+    }
+
+    /**
+     * Tests that abandoning a full buffer lets its writer finish.
+     */
+    @Test
+    void testAbandonReleasesABlockedWriter() {
+        EchoBuffer echo = new EchoBuffer(4);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            try {
+                echo.write(new byte[100], 0, 100);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        echo.abandon();
+
+        assertDoesNotThrow(() -> writer.join());
+    }
+}
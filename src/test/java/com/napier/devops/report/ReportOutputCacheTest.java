@@ -0,0 +1,85 @@
+package com.napier.devops.report;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ReportOutputCache}.
+ */
+class ReportOutputCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void key_dependsOnTheDataTheReportAndItsParameters() {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("use_case_13.continent", "Asia");
+        parameters.put("use_case_13.limit", "10");
+        Map<String, String> reordered = new LinkedHashMap<>();
+        reordered.put("use_case_13.limit", "10");
+        reordered.put("use_case_13.continent", "Asia");
+
+        String key = ReportOutputCache.key("1.0", "database", "v1", "usecase13.log", parameters);
+
+        assertThat(ReportOutputCache.key("1.0", "database", "v1", "usecase13.log", reordered)).isEqualTo(key);
+        assertThat(ReportOutputCache.key("1.0", "database", "v2", "usecase13.log", parameters)).isNotEqualTo(key);
+        assertThat(ReportOutputCache.key("1.0", "database", "v1", "usecase14.log", parameters)).isNotEqualTo(key);
+        assertThat(ReportOutputCache.key("1.0", "database", "v1", "usecase13.log", Map.of("use_case_13.continent", "Asia", "use_case_13.limit", "5")))
+                .isNotEqualTo(key);
+        // values are delimited, so shifting text between them changes the key
+        assertThat(ReportOutputCache.key("1.0", "database", "v1", "usecase13.log", Map.of("use_case_13.continent", "Asia1", "use_case_13.limit", "0")))
+                .isNotEqualTo(key);
+        assertThat(ReportOutputCache.key("1.1", "database", "v1", "usecase13.log", parameters)).isNotEqualTo(key);
+        assertThat(ReportOutputCache.key("1.0", "snapshot", "v1", "usecase13.log", parameters)).isNotEqualTo(key);
+    }
+
+    @Test
+    void copyTo_servesWhatWasStored() throws IOException {
+        ReportOutputCache cache = new ReportOutputCache(directory.resolve("cache"), Duration.ofDays(7));
+        File report = directory.resolve("usecase1.log").toFile();
+        File copy = directory.resolve("copy.log").toFile();
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+
+        assertThat(cache.copyTo("abc", copy, console, "Report generated on: now")).isFalse();
+        assertThat(copy).doesNotExist();
+
+        Files.writeString(report.toPath(), "Report generated on: today\n\nbody\n");
+        cache.store("abc", report);
+
+        assertThat(cache.copyTo("abc", copy, console, "Report generated on: now")).isTrue();
+        assertThat(copy).hasContent("Report generated on: now\n\nbody\n");
+        assertThat(console.toString(StandardCharsets.UTF_8)).isEqualTo("Report generated on: now\n\nbody\n");
+        try (var entries = Files.list(directory.resolve("cache"))) {
+            assertThat(entries).extracting(path -> path.getFileName().toString()).containsExactly("abc.log");
+        }
+    }
+
+    @Test
+    void prune_removesEntriesUnusedForMaxAge() throws IOException {
+        ReportOutputCache cache = new ReportOutputCache(directory, Duration.ofDays(7));
+        File report = Files.writeString(directory.resolve("report.txt"), "body").toFile();
+        cache.store("old", report);
+        cache.store("recent", report);
+        Files.setLastModifiedTime(directory.resolve("old.log"), FileTime.from(Instant.now().minus(Duration.ofDays(8))));
+
+        assertThat(cache.prune()).isEqualTo(1);
+        assertThat(directory.resolve("old.log")).doesNotExist();
+        assertThat(directory.resolve("recent.log")).exists();
+        assertThat(directory.resolve("report.txt")).exists();
+    }
+}
@@ -0,0 +1,71 @@
+package com.napier.devops.report;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ReportSink class.
+ */
+class ReportSinkTest {
+
+    @TempDir
+    File outputDirectory;
+
+    /**
+     * Tests that the report is written to both the file and the console.
+     */
+    @Test
+    void testWritesFileAndConsole() throws IOException {
+        File file = new File(outputDirectory, "report.log");
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+
+        try (ReportSink sink = ReportSink.open(file, console)) {
+            PrintStream out = sink.printStream();
+            out.printf("%-10s %5d%n", "Edinburgh", 450180);
+            out.write('!');
+            out.flush();
+        }
+
+        String expected = String.format("%-10s %5d%n", "Edinburgh", 450180) + "!";
+        assertEquals(expected, Files.readString(file.toPath()));
+        assertEquals(expected, console.toString());
+    }
+
+    /**
+     * Tests that nothing reaches the console when echo is off.
+     */
+    @Test
+    void testWithoutConsoleEcho() throws IOException {
+        File file = new File(outputDirectory, "quiet.log");
+
+        try (ReportSink sink = ReportSink.open(file, null)) {
+            sink.printStream().print("file only");
+        }
+
+        assertEquals("file only", Files.readString(file.toPath()));
+    }
+
+    /**
+     * Tests that closing the sink leaves the console stream open.
+     */
+    @Test
+    void testCloseDoesNotCloseConsole() throws IOException {
+        ByteArrayOutputStream fileContent = new ByteArrayOutputStream();
+        PrintStream console = new PrintStream(new ByteArrayOutputStream());
+
+        ReportSink sink = ReportSink.of(fileContent, console);
+        sink.write("abc".getBytes(), 0, 3);
+        sink.close();
+
+        assertEquals("abc", fileContent.toString());
+        assertFalse(console.checkError());
+    }
+}
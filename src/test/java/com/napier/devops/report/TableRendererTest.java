@@ -0,0 +1,143 @@
+package com.napier.devops.report;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TableLayout and TableRenderer classes, comparing their rows with printf.
+ */
+class TableRendererTest {
+
+    private static final String CITY = "%-30s %-15s %-20s %,15d\n";
+    private static final String BREAKDOWN = "%-12s %-30s %,15d %,20d (%.2f%%) %,20d (%.2f%%)\n";
+    private static final String LANGUAGE = "%-20s %,20d %24.2f%%%n";
+
+    private final Locale defaultLocale = Locale.getDefault(Locale.Category.FORMAT);
+
+    @AfterEach
+    void restoreLocale() {
+        Locale.setDefault(Locale.Category.FORMAT, defaultLocale);
+    }
+
+    /**
+     * Tests that city rows, including long, empty and null strings and extreme numbers, match printf.
+     */
+    @Test
+    void testTextAndNumbersMatchPrintf() {
+        String[] names = {"Edinburgh", "", null, "A name much longer than the thirty characters of its column"};
+        long[] populations = {0, 7, 999, 1_000, 450_180, 10_500_000, -1_234_567, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (String name : names) {
+            for (long population : populations) {
+                assertRowsMatch(CITY, StandardCharsets.UTF_8, row -> row.text(name).text("GBR").text("Scotland").number(population).end(),
+                        name, "GBR", "Scotland", population);
+            }
+        }
+    }
+
+    /**
+     * Tests that decimals round as printf does, including halves, negative zero and values printf prints itself.
+     */
+    @Test
+    void testDecimalsMatchPrintf() {
+        double[] values = {0.0, -0.0, 0.005, 0.125, 1.005, 2.675, 12.345, 33.333333, 66.666666, 99.995, 99.999, 100.0,
+                -0.001, -12.5, 1_234_567.891, Double.NaN, Double.POSITIVE_INFINITY, 1e-300};
+        for (double value : values) {
+            assertRowsMatch(LANGUAGE, StandardCharsets.UTF_8, row -> row.text("Chinese").number(1_191_843_539L).decimal(value).end(),
+                    "Chinese", 1_191_843_539L, value);
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            // percentages as the database stores them, and arbitrary ones
+            double value = i % 2 == 0 ? random.nextInt(10_001) / 100.0 : random.nextDouble() * 100;
+            assertRowsMatch(BREAKDOWN, StandardCharsets.UTF_8, row -> row.text("Continent").text("Europe")
+                            .number(730_074_600L).number(241_942_813L).decimal(value).number(488_131_787L).decimal(100 - value).end(),
+                    "Continent", "Europe", 730_074_600L, 241_942_813L, value, 488_131_787L, 100 - value);
+        }
+    }
+
+    /**
+     * Tests that digit groups, decimal separators, digits and charsets follow the format locale as printf does.
+     */
+    @Test
+    void testLocalesAndCharsetsMatchPrintf() {
+        Locale[] locales = {Locale.US, Locale.GERMANY, Locale.FRANCE, Locale.forLanguageTag("de-CH"),
+                Locale.forLanguageTag("ar-EG-u-nu-arab"), Locale.forLanguageTag("hi-IN"), Locale.ROOT};
+        Charset[] charsets = {StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1, StandardCharsets.US_ASCII, StandardCharsets.UTF_16};
+        for (Locale locale : locales) {
+            Locale.setDefault(Locale.Category.FORMAT, locale);
+            for (Charset charset : charsets) {
+                assertRowsMatch(BREAKDOWN, charset, row -> row.text("Country").text("Côte d’Ivoire")
+                                .number(14_786_000L).number(2_760_000L).decimal(18.67).number(12_026_000L).decimal(81.33).end(),
+                        "Country", "Côte d’Ivoire", 14_786_000L, 2_760_000L, 18.67, 12_026_000L, 81.33);
+            }
+        }
+    }
+
+    /**
+     * Tests that a renderer reuses its buffers across rows, growing them for a wide one.
+     */
+    @Test
+    void testManyRowsOfVaryingWidth() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, false, StandardCharsets.UTF_8);
+        StringBuilder expected = new StringBuilder();
+        TableRenderer row = TableLayout.of(CITY).renderer(out);
+        for (int i = 0; i < 200; i++) {
+            String name = "City ".repeat(i % 70) + i;
+            row.text(name).text("NLD").text("Zuid-Holland").number(i * 12_345L).end();
+            expected.append(String.format(CITY, name, "NLD", "Zuid-Holland", i * 12_345L));
+        }
+        out.flush();
+        assertEquals(expected.toString(), bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests that values of the wrong kind or number are rejected.
+     */
+    @Test
+    void testRejectsValuesNotInTheLayout() {
+        TableRenderer row = TableLayout.of("%-10s %,5d\n").renderer(new PrintStream(new ByteArrayOutputStream()));
+        assertThrows(IllegalStateException.class, () -> row.number(1));
+        TableRenderer text = TableLayout.of("%-10s %,5d\n").renderer(new PrintStream(new ByteArrayOutputStream()));
+        assertThrows(IllegalStateException.class, () -> text.text("Paris").end());
+        TableRenderer full = TableLayout.of("%-10s\n").renderer(new PrintStream(new ByteArrayOutputStream()));
+        assertThrows(IllegalStateException.class, () -> full.text("Paris").text("Lyon"));
+    }
+
+    /**
+     * Tests that patterns with conversions the renderer does not print are rejected.
+     */
+    @Test
+    void testRejectsUnsupportedPatterns() {
+        assertThrows(IllegalArgumentException.class, () -> TableLayout.of("%x\n"));
+        assertThrows(IllegalArgumentException.class, () -> TableLayout.of("%-15d\n"));
+        assertThrows(IllegalArgumentException.class, () -> TableLayout.of("%,.2f\n"));
+        assertThrows(IllegalArgumentException.class, () -> TableLayout.of("%-5"));
+        assertEquals(CITY, TableLayout.of(CITY).pattern());
+    }
+
+    private static void assertRowsMatch(String pattern, Charset charset, Consumer<TableRenderer> row, Object... values) {
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        PrintStream printf = new PrintStream(printed, false, charset);
+        printf.printf(pattern, values);
+        printf.flush();
+
+        ByteArrayOutputStream rendered = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(rendered, false, charset);
+        row.accept(TableLayout.of(pattern).renderer(out));
+        out.flush();
+
+        assertArrayEquals(printed.toByteArray(), rendered.toByteArray(),
+                () -> "Row of " + pattern + " differs: " + printed.toString(charset) + " vs " + rendered.toString(charset));
+    }
+}
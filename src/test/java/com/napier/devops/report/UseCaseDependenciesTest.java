@@ -0,0 +1,37 @@
+package com.napier.devops.report;
+
+import com.napier.devops.report.ReportSpec.Parameter;
+import com.napier.devops.report.UseCaseDependencies.Reads;
+import com.napier.devops.report.UseCaseDependencies.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link UseCaseDependencies}.
+ */
+class UseCaseDependenciesTest {
+
+    @Test
+    void everyUseCaseIsInTheGraph() {
+        for (int useCase = 1; useCase <= 32; useCase++) {
+            assertThat(UseCaseDependencies.of("usecase" + useCase + ".log"))
+                    .as("use case %d", useCase)
+                    .isNotSameAs(UseCaseDependencies.EVERYTHING);
+        }
+        assertThat(UseCaseDependencies.of("usecase33.log")).isSameAs(UseCaseDependencies.EVERYTHING);
+        assertThat(UseCaseDependencies.of("interactive-usecase1.log")).isSameAs(UseCaseDependencies.EVERYTHING);
+    }
+
+    @Test
+    void scopeValueIsTheParameterNamedAfterTheScope() {
+        Reads reads = UseCaseDependencies.of("usecase13.log");
+
+        assertThat(reads.tables()).containsExactlyInAnyOrder(Table.CITY, Table.COUNTRY);
+        assertThat(reads.scope()).isEqualTo(Parameter.CONTINENT);
+        assertThat(reads.scopeValue(Map.of("use_case_13.continent", "Asia", "use_case_13.limit", "10"))).isEqualTo("Asia");
+        assertThat(UseCaseDependencies.of("usecase12.log").scopeValue(Map.of("use_case_12.limit", "10"))).isNull();
+    }
+}
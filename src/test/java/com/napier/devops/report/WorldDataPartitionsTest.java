@@ -0,0 +1,59 @@
+package com.napier.devops.report;
+
+import com.napier.devops.report.ReportSpec.Parameter;
+import com.napier.devops.report.UseCaseDependencies.Reads;
+import com.napier.devops.report.UseCaseDependencies.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link WorldDataPartitions}.
+ */
+class WorldDataPartitionsTest {
+
+    private final WorldDataPartitions partitions = WorldDataPartitions.builder()
+            .partition(Table.COUNTRY, "JPN", "c1")
+            .partition(Table.COUNTRY, "ESP", "c2")
+            .partition(Table.CITY, "JPN", "t1")
+            .partition(Table.CITY, "ESP", "t2")
+            .partition(Table.CITY, "XXX", "t3")
+            .name(Parameter.CONTINENT, "Asia", "JPN")
+            .name(Parameter.CONTINENT, "Europe", "ESP")
+            .name(Parameter.REGION, "Eastern Asia", "JPN")
+            .name(Parameter.DISTRICT, "Georgia", "USA")
+            .name(Parameter.DISTRICT, "Georgia", "GEO")
+            .name(Parameter.DISTRICT, "Tokyo-to", "JPN")
+            .name(Parameter.CITY, "Atlantis", "XXX")
+            .build();
+
+    @Test
+    void version_coversThePartitionsInScope() {
+        assertThat(partitions.version(new Reads(Set.of(Table.CITY), null), null))
+                .isEqualTo("CITY@ESP=t2;CITY@JPN=t1;CITY@XXX=t3;");
+        assertThat(partitions.version(new Reads(Set.of(Table.CITY, Table.COUNTRY), Parameter.CONTINENT), "ASIA"))
+                .isEqualTo("COUNTRY@JPN=c1;CITY@JPN=t1;");
+        assertThat(partitions.version(new Reads(Set.of(Table.COUNTRY), Parameter.REGION), "eastern asia"))
+                .isEqualTo("COUNTRY@JPN=c1;");
+        assertThat(partitions.version(new Reads(Set.of(Table.CITY), Parameter.DISTRICT), "Tokyo-to"))
+                .isEqualTo("CITY@JPN=t1;");
+        assertThat(partitions.version(new Reads(Set.of(Table.CITY), Parameter.CITY), "Atlantis"))
+                .isEqualTo("CITY@XXX=t3;");
+    }
+
+    @Test
+    void version_ofAScopeWithNoDataIsEmpty() {
+        assertThat(partitions.version(new Reads(Set.of(Table.CITY), Parameter.DISTRICT), "Georgia")).isEmpty();
+        assertThat(partitions.version(new Reads(Set.of(Table.CITY), Parameter.CITY), "Nowhere")).isEmpty();
+    }
+
+    @Test
+    void version_ofWholeDataIsTheSameForEveryReport() {
+        WorldDataPartitions whole = WorldDataPartitions.whole("file:v1");
+
+        assertThat(whole.version(UseCaseDependencies.of("usecase1.log"), null)).isEqualTo("file:v1");
+        assertThat(whole.version(UseCaseDependencies.of("usecase8.log"), "Asia")).isEqualTo("file:v1");
+    }
+}
@@ -0,0 +1,117 @@
+package com.napier.devops.report;
+
+import com.napier.devops.TestApplication;
+import com.napier.devops.model.City;
+import com.napier.devops.model.Country;
+import com.napier.devops.repository.CityRepository;
+import com.napier.devops.repository.CountryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link WorldDataVersion} over the database.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@ActiveProfiles("test")
+class WorldDataVersionTest {
+
+    @Autowired
+    private WorldDataVersion worldDataVersion;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @BeforeEach
+    void seedData() {
+        countryRepository.deleteAll();
+        cityRepository.deleteAll();
+        countryRepository.saveAll(List.of(
+                buildCountry("JPN", "Japan", "Asia", "Eastern Asia"),
+                buildCountry("CHN", "China", "Asia", "Eastern Asia"),
+                buildCountry("ESP", "Spain", "Europe", "Southern Europe")));
+        cityRepository.saveAll(List.of(
+                buildCity(1532L, "Tokyo", "JPN", "Tokyo-to", 7_980_230),
+                buildCity(1890L, "Shanghai", "CHN", "Shanghai", 9_696_300),
+                buildCity(653L, "Madrid", "ESP", "Madrid", 2_879_052)));
+    }
+
+    @Test
+    void versionsAreStableWhileTheDataIs() {
+        assertThat(versions(worldDataVersion.partitions())).isEqualTo(versions(worldDataVersion.partitions()));
+    }
+
+    @Test
+    void aChangedCityOnlyChangesTheReportsOverItsCountry() {
+        Map<String, String> before = versions(worldDataVersion.partitions());
+
+        cityRepository.save(buildCity(1532L, "Tokyo", "JPN", "Tokyo-to", 8_000_000));
+        Map<String, String> after = versions(worldDataVersion.partitions());
+
+        assertThat(after.get("cities in the world")).isNotEqualTo(before.get("cities in the world"));
+        assertThat(after.get("cities in Asia")).isNotEqualTo(before.get("cities in Asia"));
+        assertThat(after.get("cities in Eastern Asia")).isNotEqualTo(before.get("cities in Eastern Asia"));
+        assertThat(after.get("population of Tokyo-to")).isNotEqualTo(before.get("population of Tokyo-to"));
+        assertThat(after.get("cities in Europe")).isEqualTo(before.get("cities in Europe"));
+        assertThat(after.get("population of Shanghai")).isEqualTo(before.get("population of Shanghai"));
+        assertThat(after.get("countries in the world")).isEqualTo(before.get("countries in the world"));
+        assertThat(after.get("languages")).isEqualTo(before.get("languages"));
+    }
+
+    @Test
+    void aCountryMovedToAnotherContinentChangesTheReportsOverBoth() {
+        Map<String, String> before = versions(worldDataVersion.partitions());
+
+        countryRepository.save(buildCountry("ESP", "Spain", "Asia", "Southern Europe"));
+        Map<String, String> after = versions(worldDataVersion.partitions());
+
+        assertThat(after.get("cities in Asia")).isNotEqualTo(before.get("cities in Asia"));
+        assertThat(after.get("cities in Europe")).isNotEqualTo(before.get("cities in Europe"));
+        // the population of a district is read from its cities alone
+        assertThat(after.get("population of Madrid")).isEqualTo(before.get("population of Madrid"));
+    }
+
+    private static Map<String, String> versions(WorldDataPartitions partitions) {
+        return Map.of(
+                "cities in the world", partitions.version(UseCaseDependencies.of("usecase7.log"), null),
+                "cities in Asia", partitions.version(UseCaseDependencies.of("usecase8.log"), "Asia"),
+                "cities in Europe", partitions.version(UseCaseDependencies.of("usecase8.log"), "europe"),
+                "cities in Eastern Asia", partitions.version(UseCaseDependencies.of("usecase9.log"), "Eastern Asia"),
+                "population of Tokyo-to", partitions.version(UseCaseDependencies.of("usecase30.log"), "Tokyo-to"),
+                "population of Madrid", partitions.version(UseCaseDependencies.of("usecase30.log"), "Madrid"),
+                "population of Shanghai", partitions.version(UseCaseDependencies.of("usecase30.log"), "Shanghai"),
+                "countries in the world", partitions.version(UseCaseDependencies.of("usecase1.log"), null),
+                "languages", partitions.version(UseCaseDependencies.of("usecase32.log"), null));
+    }
+
+    private City buildCity(Long id, String name, String countryCode, String district, int population) {
+        City city = new City();
+        city.setId(id);
+        city.setName(name);
+        city.setCountryCode(countryCode);
+        city.setDistrict(district);
+        city.setPopulation(population);
+        return city;
+    }
+
+    private Country buildCountry(String code, String name, String continent, String region) {
+        Country country = new Country();
+        country.setCode(code);
+        country.setName(name);
+        country.setContinent(continent);
+        country.setRegion(region);
+        country.setPopulation(1_000_000L);
+        country.setCode2(code.substring(0, 2));
+        return country;
+    }
+}
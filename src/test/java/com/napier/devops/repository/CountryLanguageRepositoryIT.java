@@ -2,6 +2,7 @@ package com.napier.devops.repository;
 
 import com.napier.devops.model.Country;
 import com.napier.devops.model.CountryLanguage;
+import com.napier.devops.model.SpeakerCount;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,10 +12,11 @@ import org.springframework.test.context.ActiveProfiles;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
 
 /**
  * Integration tests for CountryLanguageRepository.
- * Tests the repository layer database queries for language statistics.
+ * Tests the speaker count query the language statistics are built from.
  */
 @SpringBootTest(classes = com.napier.devops.TestApplication.class)
 @ActiveProfiles("test")
@@ -67,165 +69,86 @@ class CountryLanguageRepositoryIT {
     }
 
     @Test
-    void getLanguageStatistics_executesQuerySuccessfully() {
+    void getSpeakerCounts_returnsOneRowPerLanguageAndContinent() {
         // When
-        List<LanguageStatsProjection> result = countryLanguageRepository.getLanguageStatistics();
-
-        // Then
-        assertThat(result).isNotNull();
-    }
-
-    @Test
-    void getLanguageStatistics_returnsAllFiveRequiredLanguages() {
-        // When
-        List<LanguageStatsProjection> result = countryLanguageRepository.getLanguageStatistics();
+        List<SpeakerCount> result = countryLanguageRepository.getSpeakerCounts();
 
         // Then
         assertThat(result)
-                .isNotNull()
-                .hasSize(5)
-                .extracting(LanguageStatsProjection::getLanguage)
+                .extracting(SpeakerCount::language)
                 .containsExactlyInAnyOrder("Chinese", "English", "Hindi", "Spanish", "Arabic");
+        assertThat(result).extracting(SpeakerCount::continent).containsOnly("Asia");
     }
 
     @Test
-    void getLanguageStatistics_ordersBySpeakersDescending() {
+    void getSpeakerCounts_calculatesChineseSpeakersCorrectly() {
         // When
-        List<LanguageStatsProjection> result = countryLanguageRepository.getLanguageStatistics();
+        SpeakerCount chinese = speakers("Chinese");
 
-        // Then
-        assertThat(result).isNotNull().hasSize(5);
-
-        // Verify descending order
-        for (int i = 0; i < result.size() - 1; i++) {
-            Long currentSpeakers = result.get(i).getSpeakers();
-            Long nextSpeakers = result.get(i + 1).getSpeakers();
-            assertThat(currentSpeakers)
-                    .as("Language at index %d should have more or equal speakers than next", i)
-                    .isGreaterThanOrEqualTo(nextSpeakers);
-        }
+        // Then - 100% of China
+        assertThat(chinese.speakers()).isCloseTo(1_277_558_000.0, offset(1.0));
     }
 
     @Test
-    void getLanguageStatistics_calculatesChineseSpeakersCorrectly() {
+    void getSpeakerCounts_sumsSpeakersAcrossCountries() {
         // When
-        List<LanguageStatsProjection> result = countryLanguageRepository.getLanguageStatistics();
+        SpeakerCount english = speakers("English");
+        SpeakerCount spanish = speakers("Spanish");
 
-        // Then
-        LanguageStatsProjection chinese = result.stream()
-                .filter(l -> "Chinese".equals(l.getLanguage()))
-                .findFirst()
-                .orElse(null);
-
-        assertThat(chinese).isNotNull();
-        // Chinese: 100% of 1,277,558,000 = 1,277,558,000
-        assertThat(chinese.getSpeakers()).isEqualTo(1277558000L);
+        // Then - 86% of USA + 98% of UK, 92% of Mexico + 74% of Spain
+        assertThat(english.speakers()).isCloseTo(278_357_000 * 0.86 + 59_623_400 * 0.98, offset(1.0));
+        assertThat(spanish.speakers()).isCloseTo(98_881_000 * 0.92 + 39_441_700 * 0.74, offset(1.0));
     }
 
     @Test
-    void getLanguageStatistics_calculatesEnglishSpeakersCorrectly() {
-        // When
-        List<LanguageStatsProjection> result = countryLanguageRepository.getLanguageStatistics();
-
-        // Then
-        LanguageStatsProjection english = result.stream()
-                .filter(l -> "English".equals(l.getLanguage()))
-                .findFirst()
-                .orElse(null);
-
-        assertThat(english).isNotNull();
-        // English: 86% of 278,357,000 (USA) + 98% of 59,623,400 (UK)
-        // = 239,387,020 + 58,430,932 = 297,817,952
-        long expectedEnglish = (long)(278357000L * 0.86 + 59623400L * 0.98);
-        assertThat(english.getSpeakers()).isEqualTo(expectedEnglish);
-    }
+    void getSpeakerCounts_splitsSpeakersByContinent() {
+        // Given
+        Country mexico = countryRepository.findById("MEX").orElseThrow();
+        mexico.setContinent("North America");
+        countryRepository.save(mexico);
 
-    @Test
-    void getLanguageStatistics_calculatesSpanishSpeakersCorrectly() {
         // When
-        List<LanguageStatsProjection> result = countryLanguageRepository.getLanguageStatistics();
+        List<SpeakerCount> spanish = countryLanguageRepository.getSpeakerCounts().stream()
+                .filter(count -> count.language().equals("Spanish"))
+                .toList();
 
         // Then
-        LanguageStatsProjection spanish = result.stream()
-                .filter(l -> "Spanish".equals(l.getLanguage()))
-                .findFirst()
-                .orElse(null);
-
-        assertThat(spanish).isNotNull();
-        // Spanish: 92% of 98,881,000 (Mexico) + 74% of 39,441,700 (Spain)
-        // = 90,970,520 + 29,186,858 = 120,157,378
-        long expectedSpanish = (long)(98881000L * 0.92 + 39441700L * 0.74);
-        assertThat(spanish.getSpeakers()).isEqualTo(expectedSpanish);
+        assertThat(spanish).extracting(SpeakerCount::continent)
+                .containsExactlyInAnyOrder("Asia", "North America");
     }
 
     @Test
-    void getLanguageStatistics_calculatesPercentageOfWorldCorrectly() {
-        // When
-        List<LanguageStatsProjection> result = countryLanguageRepository.getLanguageStatistics();
-
-        // Then
-        LanguageStatsProjection chinese = result.stream()
-                .filter(l -> "Chinese".equals(l.getLanguage()))
-                .findFirst()
-                .orElse(null);
-
-        assertThat(chinese).isNotNull();
-        assertThat(chinese.getPercentageOfWorldPopulation()).isNotNull();
-        
-        // Calculate expected percentage
-        long worldPopulation = 1277558000L + 1013662000L + 278357000L + 98881000L + 
-                               39441700L + 21607000L + 59623400L;
-        double expectedPercentage = (1277558000.0 / worldPopulation) * 100.0;
-        
-        // Allow small rounding differences
-        assertThat(chinese.getPercentageOfWorldPopulation())
-                .isCloseTo(expectedPercentage, org.assertj.core.data.Offset.offset(0.1));
-    }
+    void getSpeakerCounts_includesLanguagesBeyondTheReportLanguages() {
+        // Given
+        Country france = buildCountry("FRA", "France", 59225700L);
+        countryRepository.save(france);
+        countryLanguageRepository.save(buildCountryLanguage("FRA", "French", 100.0));
 
-    @Test
-    void getLanguageStatistics_percentageValuesAreValid() {
         // When
-        List<LanguageStatsProjection> result = countryLanguageRepository.getLanguageStatistics();
+        SpeakerCount french = speakers("French");
 
         // Then
-        for (LanguageStatsProjection stats : result) {
-            assertThat(stats.getPercentageOfWorldPopulation())
-                    .as("Percentage for %s should be between 0 and 100", stats.getLanguage())
-                    .isNotNull()
-                    .isGreaterThanOrEqualTo(0.0)
-                    .isLessThanOrEqualTo(100.0);
-        }
+        assertThat(french.speakers()).isCloseTo(59_225_700.0, offset(1.0));
     }
 
     @Test
-    void getLanguageStatistics_handlesEmptyDatabase() {
+    void getSpeakerCounts_handlesEmptyDatabase() {
         // Given
         countryLanguageRepository.deleteAll();
         countryRepository.deleteAll();
 
         // When
-        List<LanguageStatsProjection> result = countryLanguageRepository.getLanguageStatistics();
+        List<SpeakerCount> result = countryLanguageRepository.getSpeakerCounts();
 
         // Then
         assertThat(result).isNotNull().isEmpty();
     }
 
-    @Test
-    void getLanguageStatistics_filtersOnlyRequiredLanguages() {
-        // Given - add a language that should not be included
-        Country france = buildCountry("FRA", "France", 59225700L);
-        countryRepository.save(france);
-        CountryLanguage french = buildCountryLanguage("FRA", "French", 100.0);
-        countryLanguageRepository.save(french);
-
-        // When
-        List<LanguageStatsProjection> result = countryLanguageRepository.getLanguageStatistics();
-
-        // Then
-        assertThat(result)
-                .extracting(LanguageStatsProjection::getLanguage)
-                .doesNotContain("French")
-                .containsExactlyInAnyOrder("Chinese", "English", "Hindi", "Spanish", "Arabic");
+    private SpeakerCount speakers(String language) {
+        return countryLanguageRepository.getSpeakerCounts().stream()
+                .filter(count -> count.language().equals(language))
+                .findFirst()
+                .orElseThrow();
     }
 
     private Country buildCountry(String code, String name, long population) {
@@ -1,6 +1,7 @@
 package com.napier.devops.repository;
 
 import com.napier.devops.model.Country;
+import com.napier.devops.model.CountrySummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,31 +33,31 @@ class CountryRepositoryIT {
 
     @Test
     void getAllCountriesWorld_executesQuery() {
-        List<Country> countries = countryRepository.getAllCountriesWorld();
+        List<CountrySummary> countries = countryRepository.getAllCountriesWorld();
         assertThat(countries)
                 .isNotNull()
                 .hasSize(4)
-                .extracting(Country::getName)
+                .extracting(CountrySummary::name)
                 .containsExactly("China", "India", "United States", "Indonesia");
     }
 
     @Test
     void findByContinentOrderByPopulationDesc_returnsCorrectlyOrderedData() {
         // When
-        List<Country> countries = countryRepository.findByContinentOrderByPopulationDesc("Asia");
+        List<CountrySummary> countries = countryRepository.findByContinentOrderByPopulationDesc("Asia");
 
         // Then
         assertThat(countries)
                 .isNotNull()
                 .hasSize(3)
-                .extracting(Country::getName)
+                .extracting(CountrySummary::name)
                 .containsExactly("China", "India", "Indonesia");
     }
 
     @Test
     void findByContinentOrderByPopulationDesc_returnsEmptyForNoMatch() {
         // When
-        List<Country> countries = countryRepository.findByContinentOrderByPopulationDesc("Europe");
+        List<CountrySummary> countries = countryRepository.findByContinentOrderByPopulationDesc("Europe");
 
         // Then
         assertThat(countries).isNotNull().isEmpty();
@@ -0,0 +1,100 @@
+package com.napier.devops.repository;
+
+import com.napier.devops.TestApplication;
+import com.napier.devops.model.City;
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.model.Country;
+import com.napier.devops.model.CountrySummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the case-insensitive name filters use the lower-case lookup key indexes.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@ActiveProfiles("test")
+class LookupKeyIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @BeforeEach
+    void setUp() {
+        cityRepository.deleteAll();
+        countryRepository.deleteAll();
+        countryRepository.saveAll(List.of(
+                new Country("JAM", "Jamaica", "North America", "Caribbean", 2_583_000L),
+                new Country("CUB", "Cuba", "North America", "Caribbean", 11_201_000L),
+                new Country("FRA", "France", "Europe", "Western Europe", 59_225_700L)));
+        City kingston = new City();
+        kingston.setId(1L);
+        kingston.setName("Kingston");
+        kingston.setCountryCode("JAM");
+        kingston.setDistrict("St. Andrew");
+        kingston.setPopulation(103_962);
+        cityRepository.save(kingston);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cityRepository.deleteAll();
+        countryRepository.deleteAll();
+    }
+
+    @Test
+    void keyColumnsAreGeneratedFromTheNames() {
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT RegionKey FROM country WHERE Code = 'JAM'", String.class)).isEqualTo("caribbean");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT DistrictKey FROM city WHERE ID = 1", String.class)).isEqualTo("st. andrew");
+    }
+
+    @Test
+    void lookupsStayCaseInsensitive() {
+        assertThat(countryRepository.findTopCountriesInRegion("CARIBBEAN", PageRequest.of(0, 1)))
+                .extracting(CountrySummary::name)
+                .containsExactly("Cuba");
+        assertThat(countryRepository.findByContinentOrderByPopulationDesc("europe"))
+                .extracting(CountrySummary::name)
+                .containsExactly("France");
+        assertThat(cityRepository.getAllCitiesInADistrict("st. ANDREW"))
+                .extracting(CitySummary::name)
+                .containsExactly("Kingston");
+    }
+
+    @Test
+    void explain_keyLookupIsAnIndexSeek() {
+        String keyed = explain("SELECT Code FROM country WHERE RegionKey = LOWER('Caribbean') ORDER BY Population DESC");
+        String lowered = explain("SELECT Code FROM country WHERE LOWER(Region) = LOWER('Caribbean') ORDER BY Population DESC");
+
+        assertThat(keyed).containsIgnoringCase("idx_country_region_key").doesNotContainIgnoringCase("tableScan");
+        // no seek on the region: a full scan, of the table or of the population index to skip the sort
+        assertThat(lowered).doesNotContainIgnoringCase("idx_country_region_key")
+                .containsPattern("(?i)tableScan|idx_country_population");
+
+        assertThat(explain("SELECT ID FROM city WHERE DistrictKey = LOWER('St. Andrew')"))
+                .containsIgnoringCase("idx_city_district_key");
+        assertThat(explain("SELECT Code FROM country WHERE NameKey = LOWER('France')"))
+                .containsIgnoringCase("idx_country_name_key");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
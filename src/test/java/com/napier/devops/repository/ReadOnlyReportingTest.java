@@ -0,0 +1,85 @@
+package com.napier.devops.repository;
+
+import com.napier.devops.TestApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the report queries run in read-only transactions while the inherited CRUD
+ * methods stay writable.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@ActiveProfiles("test")
+class ReadOnlyReportingTest {
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private CapitalCityRepository capitalCityRepository;
+
+    @Autowired
+    private PopulationBreakdownRepository populationBreakdownRepository;
+
+    @Autowired
+    private PopulationRepository populationRepository;
+
+    @Autowired
+    private CountryLanguageRepository countryLanguageRepository;
+
+    @Test
+    void reportQueriesAreReadOnly() throws NoSuchMethodException {
+        assertThat(transaction(countryRepository, CountryRepository.class.getMethod("getAllCountriesWorld")).isReadOnly())
+                .isTrue();
+        assertThat(transaction(cityRepository, CityRepository.class.getMethod("getAllCitiesInTheWorld")).isReadOnly())
+                .isTrue();
+        assertThat(transaction(capitalCityRepository,
+                CapitalCityRepository.class.getMethod("findAllCapitalCitiesByPopulationDesc")).isReadOnly()).isTrue();
+        assertThat(transaction(populationBreakdownRepository,
+                PopulationBreakdownRepository.class.getMethod("getAllByContinent")).isReadOnly()).isTrue();
+        assertThat(transaction(populationRepository, PopulationRepository.class.getMethod("getWorldPopulation"))
+                .isReadOnly()).isTrue();
+        assertThat(transaction(countryLanguageRepository,
+                CountryLanguageRepository.class.getMethod("getSpeakerCounts")).isReadOnly()).isTrue();
+    }
+
+    @Test
+    void crudMethodsStayWritable() throws NoSuchMethodException {
+        Method save = CrudRepository.class.getMethod("save", Object.class);
+        Method deleteAll = CrudRepository.class.getMethod("deleteAll");
+
+        assertThat(transaction(countryRepository, save).isReadOnly()).isFalse();
+        assertThat(transaction(cityRepository, deleteAll).isReadOnly()).isFalse();
+    }
+
+    /**
+     * The transaction a repository proxy starts for a method.
+     */
+    private static TransactionAttribute transaction(Object repository, Method method) {
+        TransactionInterceptor interceptor = Arrays.stream(((Advised) repository).getAdvisors())
+                .map(advisor -> advisor.getAdvice())
+                .filter(TransactionInterceptor.class::isInstance)
+                .map(TransactionInterceptor.class::cast)
+                .findFirst()
+                .orElseThrow();
+        TransactionAttribute attribute = interceptor.getTransactionAttributeSource()
+                .getTransactionAttribute(method, SimpleJpaRepository.class);
+        assertThat(attribute).as("transaction of %s", method.getName()).isNotNull();
+        return attribute;
+    }
+}
@@ -0,0 +1,64 @@
+package com.napier.devops.repository;
+
+import com.napier.devops.TestApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that {@link WorldSchemaUpgrade} adds the columns and indexes a database created
+ * before a migration lacks, and only those.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@ActiveProfiles("test")
+class WorldSchemaUpgradeTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void upgrade_addsOnlyWhatIsMissing() throws SQLException {
+        assertThat(new WorldSchemaUpgrade(dataSource, true).upgrade()).isEmpty();
+
+        // a database from before the lookup keys
+        jdbcTemplate.execute("DROP INDEX `idx_city_name_key`");
+        jdbcTemplate.execute("ALTER TABLE `city` DROP COLUMN `NameKey`");
+        jdbcTemplate.execute("DROP INDEX `idx_country_region_key`");
+
+        assertThatThrownBy(() -> new WorldSchemaUpgrade(dataSource, false).upgrade())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("column city.NameKey")
+                .hasMessageContaining("db/world-db/world_v2_lookup_keys.sql");
+        assertThat(new WorldSchemaUpgrade(dataSource, true).upgrade())
+                .extracting(Object::toString)
+                .containsExactly("index country.idx_country_region_key", "column city.NameKey", "index city.idx_city_name_key");
+        assertThat(new WorldSchemaUpgrade(dataSource, true).upgrade()).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM `city` WHERE `NameKey` = 'x'", Long.class)).isZero();
+    }
+
+    @Test
+    void upgrade_addsTheKeysetIndexes() throws SQLException {
+        // a database from before the keyset indexes
+        jdbcTemplate.execute("DROP INDEX `idx_city_population`");
+
+        assertThatThrownBy(() -> new WorldSchemaUpgrade(dataSource, false).upgrade())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("index city.idx_city_population")
+                .hasMessageContaining("db/world-db/world_v3_keyset_indexes.sql");
+        assertThat(new WorldSchemaUpgrade(dataSource, true).upgrade())
+                .extracting(Object::toString)
+                .containsExactly("index city.idx_city_population");
+        assertThat(new WorldSchemaUpgrade(dataSource, true).upgrade()).isEmpty();
+    }
+}
@@ -1,11 +1,16 @@
 package com.napier.devops.service;
 
 import com.napier.devops.model.City;
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.model.Country;
+import com.napier.devops.repository.CityRepository;
+import com.napier.devops.repository.CountryRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -17,63 +22,111 @@ class CityServiceTest {
     @Autowired
     private CityService cityService;
 
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
     @Test
     void getAllCitiesInTheWorld_returnsNonNullList() {
-        List<City> actual = cityService.getAllCitiesInTheWorld();
+        List<CitySummary> actual = cityService.getAllCitiesInTheWorld();
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getAllCitiesInAContinent_returnsNonNullList() {
-        List<City> actual = cityService.getAllCitiesInAContinent("Europe");
+        List<CitySummary> actual = cityService.getAllCitiesInAContinent("Europe");
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getAllCitiesInARegion_returnsNonNullList() {
-        List<City> actual = cityService.getAllCitiesInARegion("Caribbean");
+        List<CitySummary> actual = cityService.getAllCitiesInARegion("Caribbean");
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getAllCitiesInACountry_returnsNonNullList() {
-        List<City> actual = cityService.getAllCitiesInACountry("Spain");
+        List<CitySummary> actual = cityService.getAllCitiesInACountry("Spain");
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getAllCitiesInADistrict_returnsNonNullList() {
-        List<City> actual = cityService.getAllCitiesInADistrict("Zuid-Holland");
+        List<CitySummary> actual = cityService.getAllCitiesInADistrict("Zuid-Holland");
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getTopNCitiesInTheWorld_returnsNonNullList() {
-        List<City> actual = cityService.getTopNCitiesInTheWorld(5);
+        List<CitySummary> actual = cityService.getTopNCitiesInTheWorld(5);
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getTopNCitiesInAContinent_returnsNonNullList() {
-        List<City> actual = cityService.getTopNCitiesInAContinent("Europe", 5);
+        List<CitySummary> actual = cityService.getTopNCitiesInAContinent("Europe", 5);
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getTopNCitiesInARegion_returnsNonNullList() {
-        List<City> actual = cityService.getTopNCitiesInARegion("Caribbean", 5);
+        List<CitySummary> actual = cityService.getTopNCitiesInARegion("Caribbean", 5);
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getTopNCitiesInACountry_returnsNonNullList() {
-        List<City> actual = cityService.getTopNCitiesInACountry("Spain", 5);
+        List<CitySummary> actual = cityService.getTopNCitiesInACountry("Spain", 5);
         assertThat(actual).isNotNull();
     }
 
     @Test
     void getTopNCitiesInADistrict_returnsNonNullList() {
-        List<City> actual = cityService.getTopNCitiesInADistrict("Zuid-Holland", 5);
+        List<CitySummary> actual = cityService.getTopNCitiesInADistrict("Zuid-Holland", 5);
         assertThat(actual).isNotNull();
     }
+
+    @Test
+    void forEachCity_streamsCitiesByPopulation() {
+        cityRepository.deleteAll();
+        countryRepository.deleteAll();
+        try {
+            countryRepository.saveAll(List.of(
+                    new Country("JPN", "Japan", "Asia", "Eastern Asia", 126_714_000L),
+                    new Country("NLD", "Netherlands", "Europe", "Western Europe", 15_864_000L)));
+            cityRepository.saveAll(List.of(
+                    buildCity(1L, "Tokyo", "JPN", 7_980_230),
+                    buildCity(2L, "Osaka", "JPN", 2_595_674),
+                    buildCity(3L, "Amsterdam", "NLD", 731_200)));
+
+            List<CitySummary> world = new ArrayList<>();
+            assertThat(cityService.forEachCityInTheWorld(world::add)).isEqualTo(3);
+            assertThat(world).extracting(CitySummary::name).containsExactly("Tokyo", "Osaka", "Amsterdam");
+
+            List<CitySummary> asia = new ArrayList<>();
+            assertThat(cityService.forEachCityInAContinent("Asia", asia::add)).isEqualTo(2);
+            assertThat(asia).extracting(CitySummary::name).containsExactly("Tokyo", "Osaka");
+
+            List<CitySummary> westernEurope = new ArrayList<>();
+            assertThat(cityService.forEachCityInARegion("Western Europe", westernEurope::add)).isEqualTo(1);
+            assertThat(westernEurope).extracting(CitySummary::name).containsExactly("Amsterdam");
+
+            assertThat(cityService.forEachCityInARegion("Nowhere", city -> { })).isZero();
+        } finally {
+            cityRepository.deleteAll();
+            countryRepository.deleteAll();
+        }
+    }
+
+    private City buildCity(Long id, String name, String countryCode, int population) {
+        City city = new City();
+        city.setId(id);
+        city.setName(name);
+        city.setCountryCode(countryCode);
+        city.setDistrict(name);
+        city.setPopulation(population);
+        return city;
+    }
 }
@@ -1,6 +1,7 @@
 package com.napier.devops.service;
 
 import com.napier.devops.model.Country;
+import com.napier.devops.model.CountrySummary;
 import com.napier.devops.repository.CountryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,20 +35,27 @@ class CountryServiceTest {
 
     @Test
     void getAllCountriesWorld_returnsNonNullList() {
-        List<Country> actual = countryService.getAllCountriesWorld();
+        List<CountrySummary> actual = countryService.getAllCountriesWorld();
         assertThat(actual).isNotNull().hasSize(3);
     }
 
     @Test
     void getAllCountriesInContinent_returnsCorrectlyOrderedData() {
         // When
-        List<Country> countries = countryService.getAllCountriesInContinent("Asia");
+        List<CountrySummary> countries = countryService.getAllCountriesInContinent("Asia");
 
         // Then
         assertThat(countries)
                 .isNotNull()
                 .hasSize(2)
-                .extracting(Country::getName)
+                .extracting(CountrySummary::name)
+                .containsExactly("China", "India");
+    }
+
+    @Test
+    void getAllCountriesInContinent_ignoresSurroundingWhitespace() {
+        assertThat(countryService.getAllCountriesInContinent(" asia "))
+                .extracting(CountrySummary::name)
                 .containsExactly("China", "India");
     }
 
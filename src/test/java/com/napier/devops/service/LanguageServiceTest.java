@@ -15,6 +15,7 @@ import org.springframework.test.context.ActiveProfiles;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Unit tests for LanguageService.
@@ -156,6 +157,63 @@ class LanguageServiceTest {
         assertThat(result).isNotNull().isEmpty();
     }
 
+    @Test
+    void getLanguageStatistics_reportsAnyLanguages() {
+        // When
+        List<LanguageStats> result = languageService.getLanguageStatistics(List.of("spanish", "Hindi", "Klingon"));
+
+        // Then
+        assertThat(result)
+                .extracting(LanguageStats::getLanguage)
+                .containsExactly("Hindi", "Spanish");
+    }
+
+    @Test
+    void getTopLanguagesInWorld_returnsTheMostSpokenLanguages() {
+        // When
+        List<LanguageStats> result = languageService.getTopLanguagesInWorld(2);
+
+        // Then
+        assertThat(result)
+                .extracting(LanguageStats::getLanguage)
+                .containsExactly("Chinese", "Hindi");
+    }
+
+    @Test
+    void getTopLanguagesInContinent_countsOnlyThatContinent() {
+        // Given
+        Country usa = countryRepository.findById("USA").orElseThrow();
+        usa.setContinent("North America");
+        countryRepository.save(usa);
+
+        // When
+        List<LanguageStats> northAmerica = languageService.getTopLanguagesInContinent("North America", 5);
+        List<LanguageStats> asia = languageService.getTopLanguagesInContinent("asia", 5);
+
+        // Then
+        assertThat(northAmerica).extracting(LanguageStats::getLanguage).containsExactly("English");
+        assertThat(asia).extracting(LanguageStats::getLanguage).doesNotContain("English");
+    }
+
+    @Test
+    void getTopLanguagesInContinent_rejectsBlankContinent() {
+        assertThatThrownBy(() -> languageService.getTopLanguagesInContinent(" ", 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getLanguageStatistics_seesCommittedChanges() {
+        // Given
+        languageService.getLanguageStatistics();
+        countryLanguageRepository.save(buildCountryLanguage("IND", "English", 30.0));
+
+        // When
+        List<LanguageStats> result = languageService.getLanguageStatistics(List.of("English"));
+
+        // Then - 86% of USA + 30% of India
+        assertThat(result.get(0).getSpeakers()).isEqualTo(239_387_020L + 304_098_600L);
+    }
+
     private Country buildCountry(String code, String name, long population) {
         Country country = new Country();
         country.setCode(code);
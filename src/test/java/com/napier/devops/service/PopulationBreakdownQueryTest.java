@@ -0,0 +1,100 @@
+package com.napier.devops.service;
+
+import com.napier.devops.TestApplication;
+import com.napier.devops.model.City;
+import com.napier.devops.model.Country;
+import com.napier.devops.model.PopulationBreakdown;
+import com.napier.devops.repository.CityRepository;
+import com.napier.devops.repository.CountryRepository;
+import com.napier.devops.snapshot.PopulationCube;
+import com.napier.devops.snapshot.Scope;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the population breakdown queries of {@link PopulationBreakdownService},
+ * checked against the breakdowns of a {@link PopulationCube} of the same rows.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@ActiveProfiles("test")
+class PopulationBreakdownQueryTest {
+
+    private static final List<Country> COUNTRIES = List.of(
+            new Country("JPN", "Japan", "Asia", "Eastern Asia", 126_714_000L),
+            new Country("CHN", "China", "Asia", "Eastern Asia", 1_277_558_000L),
+            new Country("ESP", "Spain", "Europe", "Southern Europe", 39_441_700L),
+            // a country without cities
+            new Country("AND", "Andorra", "Europe", "Southern Europe", 78_000L));
+
+    private static final List<City> CITIES = List.of(
+            buildCity(1532L, "Tokyo", "JPN", "Tokyo-to", 7_980_230),
+            buildCity(1533L, "Jokohama", "JPN", "Kanagawa", 3_339_594),
+            buildCity(1890L, "Shanghai", "CHN", "Shanghai", 9_696_300),
+            buildCity(1891L, "Peking", "CHN", "Peking", 7_472_000),
+            buildCity(1892L, "Chongqing", "CHN", "Chongqing", 6_351_600),
+            buildCity(653L, "Madrid", "ESP", "Madrid", 2_879_052),
+            buildCity(654L, "Barcelona", "ESP", "Katalonia", 1_503_451));
+
+    @Autowired
+    private PopulationBreakdownService populationBreakdownService;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    private PopulationCube cube;
+
+    @BeforeEach
+    void setUp() {
+        cityRepository.deleteAll();
+        countryRepository.deleteAll();
+        countryRepository.saveAll(COUNTRIES);
+        cityRepository.saveAll(CITIES);
+
+        cube = new PopulationCube();
+        COUNTRIES.forEach(country -> cube.putCountry(country.getCode(), country.getName(), country.getContinent(),
+                country.getRegion(), country.getPopulation()));
+        CITIES.forEach(city -> cube.putCity(city.getId(), city.getName(), city.getCountryCode(), city.getDistrict(),
+                city.getPopulation()));
+    }
+
+    @Test
+    void getAllByContinent_countsEachCountryOnce() {
+        PopulationBreakdown asia = populationBreakdownService.getAllByContinent().get(0);
+
+        assertThat(asia.name()).isEqualTo("Asia");
+        assertThat(asia.totalPopulation()).isEqualTo(1_404_272_000L);
+        assertThat(asia.populationInCities()).isEqualTo(34_839_724L);
+        assertThat(asia.populationNotInCities()).isEqualTo(1_369_432_276L);
+        assertThat(asia.inCitiesPercentage()).isEqualTo(2.48);
+    }
+
+    @Test
+    void breakdownsMatchThePopulationCube() {
+        assertThat(populationBreakdownService.getAllByContinent())
+                .isEqualTo(cube.breakdowns(Scope.Level.CONTINENT));
+        assertThat(populationBreakdownService.getAllByRegion())
+                .isEqualTo(cube.breakdowns(Scope.Level.REGION));
+        assertThat(populationBreakdownService.getAllByCountry())
+                .isEqualTo(cube.breakdowns(Scope.Level.COUNTRY));
+    }
+
+    private static City buildCity(Long id, String name, String countryCode, String district, int population) {
+        City city = new City();
+        city.setId(id);
+        city.setName(name);
+        city.setCountryCode(countryCode);
+        city.setDistrict(district);
+        city.setPopulation(population);
+        return city;
+    }
+}
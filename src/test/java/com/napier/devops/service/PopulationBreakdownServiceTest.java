@@ -20,7 +20,7 @@ class PopulationBreakdownServiceTest {
     private PopulationBreakdownRepository repository;
 
     @InjectMocks
-    private PopulationBreakdownService service;
+    private DatabasePopulationBreakdownService service;
 
     @BeforeEach
     void setUp() {
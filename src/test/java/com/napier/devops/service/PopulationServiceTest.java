@@ -0,0 +1,132 @@
+package com.napier.devops.service;
+
+import com.napier.devops.TestApplication;
+import com.napier.devops.model.City;
+import com.napier.devops.model.Country;
+import com.napier.devops.repository.CityRepository;
+import com.napier.devops.repository.CountryRepository;
+import com.napier.devops.snapshot.PopulationCube;
+import com.napier.devops.snapshot.Scope;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the population of a scope within a wider one, answered by the database
+ * queries of {@link PopulationService} and checked against a {@link PopulationCube} of the same rows.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@ActiveProfiles("test")
+class PopulationServiceTest {
+
+    private static final List<Country> COUNTRIES = List.of(
+            new Country("IND", "India", "Asia", "Southern and Central Asia", 1_013_662_000L),
+            new Country("PAK", "Pakistan", "Asia", "Southern and Central Asia", 156_483_000L),
+            new Country("GBR", "United Kingdom", "Europe", "British Islands", 59_623_400L));
+
+    private static final List<City> CITIES = List.of(
+            buildCity(1L, "Lahore", "PAK", "Punjab", 5_063_499),
+            buildCity(2L, "Faisalabad", "PAK", "Punjab", 1_977_246),
+            buildCity(3L, "Ludhiana", "IND", "Punjab", 1_042_740),
+            buildCity(4L, "Amritsar", "IND", "Punjab", 708_835),
+            buildCity(5L, "Hyderabad", "IND", "Andhra Pradesh", 2_964_638),
+            buildCity(6L, "Hyderabad", "PAK", "Sindh", 1_151_274),
+            buildCity(7L, "London", "GBR", "England", 7_285_000),
+            // a city whose country is missing counts for its district only
+            buildCity(8L, "Nowhere", "XXX", "Punjab", 1_000));
+
+    @Autowired
+    private PopulationService populationService;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    private PopulationCube cube;
+
+    @BeforeEach
+    void setUp() {
+        cityRepository.deleteAll();
+        countryRepository.deleteAll();
+        countryRepository.saveAll(COUNTRIES);
+        cityRepository.saveAll(CITIES);
+
+        cube = new PopulationCube();
+        COUNTRIES.forEach(country -> cube.putCountry(country.getCode(), country.getName(), country.getContinent(),
+                country.getRegion(), country.getPopulation()));
+        CITIES.forEach(city -> cube.putCity(city.getId(), city.getName(), city.getCountryCode(), city.getDistrict(),
+                city.getPopulation()));
+    }
+
+    @Test
+    void getPopulationWithin_sumsOnlyThePartInsideTheWiderScope() {
+        assertThat(populationService.getPopulationWithin(Scope.Level.DISTRICT, "punjab", Scope.Level.COUNTRY, "Pakistan"))
+                .isEqualTo(7_040_745L);
+        assertThat(populationService.getPopulationWithin(Scope.Level.DISTRICT, "Punjab", Scope.Level.WORLD, null))
+                .isEqualTo(8_793_320L);
+        assertThat(populationService.getPopulationWithin(Scope.Level.CITY, "Hyderabad", Scope.Level.COUNTRY, "pakistan"))
+                .isEqualTo(1_151_274L);
+        assertThat(populationService.getPopulationWithin(Scope.Level.CITY, "Nowhere", Scope.Level.DISTRICT, "Punjab"))
+                .isEqualTo(1_000L);
+        assertThat(populationService.getPopulationWithin(Scope.Level.COUNTRY, "India", Scope.Level.CONTINENT, "Europe"))
+                .isNull();
+        assertThat(populationService.getPopulationWithin(Scope.Level.REGION, "British Islands", Scope.Level.CONTINENT, "EUROPE"))
+                .isEqualTo(59_623_400L);
+    }
+
+    @Test
+    void getPopulationWithin_matchesThePopulationCube() {
+        String[][] names = {
+                {"Asia", "Europe", "Africa"},
+                {"Southern and Central Asia", "British Islands"},
+                {"India", "Pakistan", "United Kingdom"},
+                {"Punjab", "Sindh", "England"},
+                {"Hyderabad", "Lahore", "London", "Nowhere"}};
+        for (Scope.Level level : List.of(Scope.Level.CONTINENT, Scope.Level.REGION, Scope.Level.COUNTRY,
+                Scope.Level.DISTRICT, Scope.Level.CITY)) {
+            for (String name : names[level.ordinal() - 1]) {
+                assertThat(populationService.getPopulationWithin(level, name, Scope.Level.WORLD, null))
+                        .as("%s %s", level, name)
+                        .isEqualTo(cube.population(new Scope(level, name)));
+                for (Scope.Level withinLevel : Scope.Level.values()) {
+                    if (withinLevel == Scope.Level.WORLD || withinLevel.compareTo(level) >= 0) {
+                        continue;
+                    }
+                    for (String within : names[withinLevel.ordinal() - 1]) {
+                        assertThat(populationService.getPopulationWithin(level, name, withinLevel, within))
+                                .as("%s %s within %s %s", level, name, withinLevel, within)
+                                .isEqualTo(cube.population(new Scope(level, name), new Scope(withinLevel, within)));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void getPopulationWithin_rejectsAScopeThatIsNotNarrower() {
+        assertThatThrownBy(() -> populationService.getPopulationWithin(Scope.Level.COUNTRY, "India", Scope.Level.DISTRICT, "Punjab"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("A country is not within a district");
+        assertThatThrownBy(() -> populationService.getPopulationWithin(Scope.Level.REGION, "British Islands", Scope.Level.REGION, "British Islands"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static City buildCity(Long id, String name, String countryCode, String district, int population) {
+        City city = new City();
+        city.setId(id);
+        city.setName(name);
+        city.setCountryCode(countryCode);
+        city.setDistrict(district);
+        city.setPopulation(population);
+        return city;
+    }
+}
@@ -0,0 +1,125 @@
+package com.napier.devops.service;
+
+import com.napier.devops.model.Country;
+import com.napier.devops.model.CountrySummary;
+import com.napier.devops.report.ReportSpec;
+import com.napier.devops.repository.CountryRepository;
+import com.napier.devops.util.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = com.napier.devops.TestApplication.class)
+@ActiveProfiles("test")
+class ReportBatchServiceTest {
+
+    @Autowired
+    private ReportBatchService reportBatchService;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @BeforeEach
+    void setUp() {
+        countryRepository.deleteAll();
+        countryRepository.saveAll(List.of(
+                new Country("CHN", "China", "Asia", "Eastern Asia", 1_277_558_000L),
+                new Country("IND", "India", "Asia", "Southern and Central Asia", 1_013_662_000L),
+                new Country("USA", "United States", "North America", "North America", 278_357_000L)
+        ));
+    }
+
+    @Test
+    void run_returnsOneResultPerSpecInRequestOrder() {
+        ReportBatchService.Batch batch = reportBatchService.run(List.of(
+                spec(4, null, 1),
+                spec(2, "Asia", null),
+                spec(26, null, null)));
+
+        assertThat(batch.results()).extracting(r -> r.spec().useCase()).containsExactly(4, 2, 26);
+        assertThat(batch.results()).allSatisfy(r -> {
+            assertThat(r.error()).isNull();
+            assertThat(r.elapsedMillis()).isNotNegative();
+        });
+        assertThat((List<?>) batch.results().get(0).data()).extracting(c -> ((CountrySummary) c).name())
+                .containsExactly("China");
+        assertThat((List<?>) batch.results().get(1).data()).hasSize(2);
+        assertThat(batch.results().get(2).data()).isEqualTo(2_569_577_000L);
+    }
+
+    @Test
+    void run_runsIdenticalSpecsOnce() {
+        // parameters use case 1 does not take, and whitespace around names, do not tell specs apart
+        ReportBatchService.Batch batch = reportBatchService.run(List.of(
+                spec(1, null, null),
+                spec(1, "Asia", 3),
+                spec(2, "Asia", null),
+                spec(2, " Asia ", null)));
+
+        assertThat(batch.executed()).isEqualTo(2);
+        assertThat(batch.results()).hasSize(4);
+        assertThat(batch.results().get(1)).isSameAs(batch.results().get(0));
+        assertThat(batch.results().get(3)).isSameAs(batch.results().get(2));
+        assertThat(batch.results().get(1).spec().continent()).isNull();
+    }
+
+    @Test
+    void run_reportsInvalidSpecsWithoutFailingTheBatch() {
+        ReportBatchService.Batch batch = reportBatchService.run(List.of(
+                spec(99, null, null),
+                spec(5, "Asia", null),
+                spec(4, null, 2)));
+
+        assertThat(batch.results().get(0).error()).contains("No use case 99");
+        assertThat(batch.results().get(1).error()).isEqualTo("Use case 5 needs a limit");
+        assertThat(batch.results().get(2).error()).isNull();
+        assertThat(batch.executed()).isEqualTo(1);
+    }
+
+    @Test
+    void run_rejectsEmptyBatch() {
+        assertThatThrownBy(() -> reportBatchService.run(Collections.emptyList()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void run_rejectsBatchLargerThanTheMaximum() {
+        List<ReportSpec> specs = Collections.nCopies(101, spec(1, null, null));
+
+        assertThatThrownBy(() -> reportBatchService.run(specs))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at most 100");
+    }
+
+    @Test
+    void run_reportsUnexpectedFailuresWithoutTheirDetail() {
+        CountryService countries = mock(CountryService.class);
+        when(countries.getAllCountriesWorld()).thenThrow(new IllegalStateException("Access denied for user 'world'@'db'"));
+        when(countries.getTopCountriesInWorld(0)).thenThrow(new BadRequestException("limit must be greater than zero"));
+        ReportBatchService service = new ReportBatchService(countries, mock(CityService.class),
+                mock(CapitalCityService.class), mock(PopulationBreakdownService.class),
+                mock(PopulationService.class), mock(LanguageService.class), 1, 10, false);
+        try {
+            ReportBatchService.Batch batch = service.run(List.of(spec(1, null, null), spec(4, null, 0)));
+
+            assertThat(batch.results()).extracting(ReportBatchService.Result::error)
+                    .containsExactly(ReportBatchService.FAILED, "limit must be greater than zero");
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private static ReportSpec spec(int useCase, String continent, Integer limit) {
+        return new ReportSpec(useCase, continent, null, null, null, null, limit);
+    }
+}
@@ -0,0 +1,54 @@
+package com.napier.devops.service;
+
+import com.napier.devops.TestApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the service, repository and connection pool metrics.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@ActiveProfiles("test")
+class ServiceMetricsTest {
+
+    @Autowired
+    private CountryService countryService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void serviceQueriesAreTimedWithPercentiles() {
+        countryService.getTopCountriesInWorld(5);
+
+        Timer timer = registry.find("report.service")
+                .tags("class", DatabaseCountryService.class.getName(), "method", "getTopCountriesInWorld")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isPositive();
+        assertThat(timer.takeSnapshot().percentileValues())
+                .extracting(value -> value.percentile())
+                .containsExactly(0.5, 0.95, 0.99);
+    }
+
+    @Test
+    void repositoryQueriesAreTimed() {
+        countryService.getAllCountriesWorld();
+
+        assertThat(registry.find("spring.data.repository.invocations")
+                .tags("repository", "CountryRepository", "method", "getAllCountriesWorld")
+                .timer())
+                .isNotNull();
+    }
+
+    @Test
+    void connectionPoolIsMeasured() {
+        assertThat(registry.find("hikaricp.connections.active").gauge()).isNotNull();
+    }
+}
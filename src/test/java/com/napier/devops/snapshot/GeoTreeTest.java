@@ -0,0 +1,86 @@
+package com.napier.devops.snapshot;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Unit tests for {@link GeoTree}.
+ */
+class GeoTreeTest {
+
+    private GeoTree tree;
+
+    @BeforeEach
+    void setUp() {
+        tree = new GeoTree();
+        tree.putCountry("RUS", "Russian Federation", "Europe", "Eastern Europe", 146_934_000L);
+        tree.putCountry("TUR", "Turkey", "Asia", "Middle East", 66_591_000L);
+        tree.putCountry("GEO", "Georgia", "Asia", "Middle East", 4_968_000L);
+        tree.putCity(1L, "Moscow", "RUS", "Moscow (City)", 8_389_200L);
+        tree.putCity(2L, "Istanbul", "TUR", "Istanbul", 8_787_958L);
+        tree.putCity(3L, "Izmit", "TUR", "Kocaeli", 210_068L);
+        tree.putCity(4L, "Tbilisi", "GEO", "Tbilisi", 1_235_200L);
+    }
+
+    @Test
+    void everyNodeHoldsTheTotalsBelowIt() {
+        assertThat(tree.population(Scope.world(), Scope.world())).isEqualTo(218_493_000L);
+        assertThat(tree.population(Scope.region("middle east"), Scope.world())).isEqualTo(71_559_000L);
+        assertThat(tree.nodesByName(Scope.Level.REGION))
+                .flatExtracting(nodes -> nodes)
+                .extracting(GeoTree.Node::name, GeoTree.Node::cityPopulation)
+                .containsExactlyInAnyOrder(
+                        tuple("Eastern Europe", 8_389_200L),
+                        tuple("Middle East", 10_233_226L));
+    }
+
+    @Test
+    void emptyNodesArePrunedUpToTheWorld() {
+        tree.removeCountry("RUS");
+        tree.removeCity(1L);
+
+        assertThat(tree.population(Scope.continent("Europe"), Scope.world())).isNull();
+        assertThat(tree.population(Scope.district("Moscow (City)"), Scope.world())).isNull();
+        assertThat(tree.nodesByName(Scope.Level.CONTINENT)).hasSize(1);
+        assertThat(tree.nodesByName(Scope.Level.DISTRICT)).hasSize(3);
+    }
+
+    @Test
+    void citiesOfAMissingCountryCountOnlyForTheirOwnLevels() {
+        tree.putCity(5L, "Sukhumi", "ABK", "Abkhazia", 100_000L);
+
+        assertThat(tree.population(Scope.district("Abkhazia"), Scope.world())).isEqualTo(100_000L);
+        assertThat(tree.population(Scope.city("Sukhumi"), Scope.district("abkhazia"))).isEqualTo(100_000L);
+        assertThat(tree.population(Scope.city("Sukhumi"), Scope.continent("Asia"))).isNull();
+
+        tree.putCountry("ABK", "Abkhazia", "Asia", "Middle East", 240_000L);
+        assertThat(tree.population(Scope.city("Sukhumi"), Scope.continent("Asia"))).isEqualTo(100_000L);
+        assertThat(tree.nodesByName(Scope.Level.REGION).stream().flatMap(List::stream)
+                .filter(node -> node.name().equals("Middle East")).findFirst().orElseThrow().cityPopulation())
+                .isEqualTo(10_333_226L);
+    }
+
+    @Test
+    void aRegionInTwoContinentsIsTotalledAcrossBoth() {
+        tree.putCountry("KAZ", "Kazakstan", "Asia", "Eastern Europe", 16_223_000L);
+
+        assertThat(tree.population(Scope.region("Eastern Europe"), Scope.world())).isEqualTo(163_157_000L);
+        assertThat(tree.population(Scope.region("Eastern Europe"), Scope.continent("Asia"))).isEqualTo(16_223_000L);
+        assertThat(tree.nodesByName(Scope.Level.REGION)).hasSize(2);
+    }
+
+    @Test
+    void homonymsResolveToTheFirstCountryAndTheLowestCityId() {
+        tree.putCity(9L, "Tbilisi", "TUR", "Kocaeli", 10L);
+        tree.putCity(0L, "Tbilisi", "RUS", "Moscow (City)", 20L);
+
+        assertThat(tree.population(Scope.city("Tbilisi"), Scope.world())).isEqualTo(20L);
+        assertThat(tree.population(Scope.city("Tbilisi"), Scope.country("Turkey"))).isEqualTo(10L);
+        assertThat(tree.population(Scope.city("Tbilisi"), Scope.region("Middle East"))).isEqualTo(1_235_200L);
+    }
+}
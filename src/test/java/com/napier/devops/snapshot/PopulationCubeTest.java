@@ -0,0 +1,92 @@
+package com.napier.devops.snapshot;
+
+import com.napier.devops.model.PopulationBreakdown;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link PopulationCube}.
+ */
+class PopulationCubeTest {
+
+    private PopulationCube cube;
+
+    @BeforeEach
+    void setUp() {
+        cube = new PopulationCube();
+        cube.putCountry("JPN", "Japan", "Asia", "Eastern Asia", 1_000L);
+        cube.putCountry("CHN", "China", "Asia", "Eastern Asia", 5_000L);
+        cube.putCountry("ESP", "Spain", "Europe", "Southern Europe", 400L);
+        cube.putCity(1L, "Tokyo", "JPN", "Tokyo-to", 300L);
+        cube.putCity(2L, "Shanghai", "CHN", "Shanghai", 900L);
+        cube.putCity(3L, "Madrid", "ESP", "Madrid", 100L);
+    }
+
+    @Test
+    void breakdowns_rollUpCitiesThroughTheirCountry() {
+        assertThat(cube.breakdowns(Scope.Level.CONTINENT)).containsExactly(
+                new PopulationBreakdown("continent", "Asia", 6_000L, 1_200L, 4_800L, 20.0, 80.0),
+                new PopulationBreakdown("continent", "Europe", 400L, 100L, 300L, 25.0, 75.0));
+        assertThat(cube.breakdowns(Scope.Level.COUNTRY))
+                .extracting(PopulationBreakdown::name)
+                .containsExactly("China", "Japan", "Spain");
+        assertThatThrownBy(() -> cube.breakdowns(Scope.Level.DISTRICT))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void putCity_updatesOnlyTheAffectedCells() {
+        cube.putCity(1L, "Tokyo", "JPN", "Tokyo-to", 500L);
+        cube.putCity(4L, "Osaka", "JPN", "Osaka", 50L);
+
+        assertThat(cube.breakdowns(Scope.Level.REGION).get(0).populationInCities()).isEqualTo(1_450L);
+        assertThat(cube.population(Scope.district("tokyo-to"))).isEqualTo(500L);
+        assertThat(cube.population(Scope.district("Osaka"))).isEqualTo(50L);
+        assertThat(cube.population(Scope.city("Osaka"))).isEqualTo(50L);
+    }
+
+    @Test
+    void putCountry_movesItsCitiesWithIt() {
+        cube.putCountry("ESP", "Spain", "Asia", "Eastern Asia", 400L);
+
+        assertThat(cube.population(Scope.continent("Europe"))).isNull();
+        assertThat(cube.population(Scope.continent("Asia"))).isEqualTo(6_400L);
+        assertThat(cube.breakdowns(Scope.Level.CONTINENT)).containsExactly(
+                new PopulationBreakdown("continent", "Asia", 6_400L, 1_300L, 5_100L, 20.31, 79.69));
+    }
+
+    @Test
+    void remove_takesRowsOutOfEveryLevel() {
+        cube.removeCity(2L);
+        cube.removeCountry("JPN");
+
+        assertThat(cube.population(Scope.world())).isEqualTo(5_400L);
+        assertThat(cube.population(Scope.country("Japan"))).isNull();
+        assertThat(cube.population(Scope.city("Shanghai"))).isNull();
+        assertThat(cube.population(Scope.district("Shanghai"))).isNull();
+        assertThat(cube.breakdowns(Scope.Level.CONTINENT).get(0).populationInCities()).isZero();
+
+        cube.putCountry("JPN", "Japan", "Asia", "Eastern Asia", 1_000L);
+        assertThat(cube.breakdowns(Scope.Level.COUNTRY).get(1))
+                .isEqualTo(new PopulationBreakdown("country", "Japan", 1_000L, 300L, 700L, 30.0, 70.0));
+    }
+
+    @Test
+    void populationWithin_narrowsToTheWiderScope() {
+        cube.putCity(4L, "Toledo", "ESP", "Castilla-La Mancha", 80L);
+        cube.putCity(5L, "Madrid", "JPN", "Tokyo-to", 5L);
+
+        assertThat(cube.population(Scope.district("Tokyo-to"), Scope.country("japan"))).isEqualTo(305L);
+        assertThat(cube.population(Scope.city("Madrid"), Scope.continent("Asia"))).isEqualTo(5L);
+        assertThat(cube.population(Scope.city("Madrid"), Scope.region("Southern Europe"))).isEqualTo(100L);
+        assertThat(cube.population(Scope.country("Spain"), Scope.continent("Asia"))).isNull();
+        assertThat(cube.population(Scope.region("Eastern Asia"), Scope.continent("Asia"))).isEqualTo(6_000L);
+        assertThat(cube.population(Scope.city("Toledo"), Scope.world())).isEqualTo(80L);
+        assertThatThrownBy(() -> cube.population(Scope.continent("Asia"), Scope.city("Tokyo")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("A continent is not within a city");
+    }
+}
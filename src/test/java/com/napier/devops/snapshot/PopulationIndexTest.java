@@ -0,0 +1,76 @@
+package com.napier.devops.snapshot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PopulationIndex}.
+ */
+class PopulationIndexTest {
+
+    // rows 0..5, already ordered by population; groups by row: 0->1, 1->0, 2->left out, 3->1, 4->0, 5->1
+    private final int[] byPopulation = {4, 0, 5, 2, 1, 3};
+    private final int[] groupOfRow = {1, 0, -1, 1, 0, 1};
+
+    @Test
+    void group_keepsPopulationOrderWithinEachGroup() {
+        PopulationIndex index = PopulationIndex.group(byPopulation, 2, row -> groupOfRow[row]);
+
+        assertThat(rows(index, 0, Integer.MAX_VALUE)).containsExactly(4, 1);
+        assertThat(rows(index, 1, Integer.MAX_VALUE)).containsExactly(0, 5, 3);
+        assertThat(index.size(0)).isEqualTo(2);
+        assertThat(index.size(1)).isEqualTo(3);
+    }
+
+    @Test
+    void forEach_slicesTheLimit() {
+        PopulationIndex index = PopulationIndex.group(byPopulation, 2, row -> groupOfRow[row]);
+
+        assertThat(rows(index, 1, 2)).containsExactly(0, 5);
+        assertThat(rows(index, 1, 0)).isEmpty();
+        assertThat(rows(index, 1, -3)).isEmpty();
+    }
+
+    @Test
+    void forEach_startsFromAPositionInTheGroup() {
+        PopulationIndex index = PopulationIndex.group(byPopulation, 2, row -> groupOfRow[row]);
+        List<Integer> rows = new ArrayList<>();
+
+        index.forEach(1, 1, 5, rows::add);
+        index.forEach(1, 3, 5, rows::add);
+        index.forEach(0, -1, 1, rows::add);
+
+        assertThat(rows).containsExactly(5, 3, 4);
+    }
+
+    @Test
+    void first_binarySearchesForTheFirstAcceptedRow() {
+        PopulationIndex index = PopulationIndex.group(byPopulation, 2, row -> groupOfRow[row]);
+
+        // group 1 holds rows 0, 5, 3
+        assertThat(index.first(1, row -> row != 0)).isEqualTo(1);
+        assertThat(index.first(1, row -> row == 3)).isEqualTo(2);
+        assertThat(index.first(1, row -> true)).isZero();
+        assertThat(index.first(1, row -> false)).isEqualTo(3);
+        assertThat(index.first(-1, row -> true)).isZero();
+    }
+
+    @Test
+    void unknownGroupsAreEmpty() {
+        PopulationIndex index = PopulationIndex.group(byPopulation, 2, row -> groupOfRow[row]);
+
+        assertThat(index.size(-1)).isZero();
+        assertThat(index.size(2)).isZero();
+        assertThat(rows(index, 7, 10)).isEmpty();
+    }
+
+    private static List<Integer> rows(PopulationIndex index, int group, int limit) {
+        List<Integer> rows = new ArrayList<>();
+        index.forEach(group, limit, rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,108 @@
+package com.napier.devops.snapshot;
+
+import com.napier.devops.TestApplication;
+import com.napier.devops.model.CapitalCity;
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.model.CountrySummary;
+import com.napier.devops.paging.Keyset;
+import com.napier.devops.paging.KeysetPage;
+import com.napier.devops.service.CapitalCityService;
+import com.napier.devops.service.CityService;
+import com.napier.devops.service.CountryService;
+import com.napier.devops.service.PopulationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for serving the reports from a snapshot file with the datasource, JPA
+ * and the repositories left out, as {@code --snapshot=<file>} does.
+ */
+@SpringBootTest(classes = TestApplication.class, properties = {
+        "world.snapshot.enabled=true",
+        "spring.autoconfigure.exclude="
+                + "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration"
+})
+@ActiveProfiles("test")
+class SnapshotFileModeTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private CountryService countryService;
+
+    @Autowired
+    private CityService cityService;
+
+    @Autowired
+    private CapitalCityService capitalCityService;
+
+    @Autowired
+    private PopulationService populationService;
+
+    @DynamicPropertySource
+    static void snapshotFile(DynamicPropertyRegistry registry) {
+        try {
+            Path file = Files.createTempFile("world", ".snapshot");
+            file.toFile().deleteOnExit();
+            WorldSnapshotFile.write(WorldSnapshot.builder()
+                    .country("JPN", "Japan", "Asia", "Eastern Asia", 126_714_000L, 1532)
+                    .country("CHN", "China", "Asia", "Eastern Asia", 1_277_558_000L, 1891)
+                    .country("ESP", "Spain", "Europe", "Southern Europe", 39_441_700L, 653)
+                    .city(1532, "Tokyo", "JPN", "Tokyo-to", 7_980_230)
+                    .city(1890, "Shanghai", "CHN", "Shanghai", 9_696_300)
+                    .city(1891, "Peking", "CHN", "Peking", 7_472_000)
+                    .city(653, "Madrid", "ESP", "Madrid", 2_879_052)
+                    .build(), file);
+            registry.add("world.snapshot.file", file::toString);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    void noDatabaseIsConfigured() {
+        assertThat(context.getBeansOfType(DataSource.class)).isEmpty();
+        assertThat(context.getBean(WorldSnapshotSource.class)).isInstanceOf(WorldSnapshotFileSource.class);
+    }
+
+    @Test
+    void reportsAreServedFromTheFile() {
+        assertThat(countryService.getAllCountriesInContinent("Asia"))
+                .extracting(CountrySummary::code)
+                .containsExactly("CHN", "JPN");
+        assertThat(cityService.getTopNCitiesInTheWorld(2))
+                .extracting(CitySummary::name)
+                .containsExactly("Shanghai", "Tokyo");
+        assertThat(capitalCityService.getAllCapitalCitiesByPopulation())
+                .extracting(CapitalCity::getCityName)
+                .containsExactly("Tokyo", "Peking", "Madrid");
+        assertThat(populationService.getWorldPopulation()).isEqualTo(1_443_713_700L);
+    }
+
+    @Test
+    void pagesAreServedFromTheFile() {
+        KeysetPage<CountrySummary> first = countryService.getCountriesInWorldPage(Keyset.FIRST, 2);
+        assertThat(first.items()).extracting(CountrySummary::code).containsExactly("CHN", "JPN");
+
+        KeysetPage<CountrySummary> second = countryService.getCountriesInWorldPage(Keyset.fromToken(first.next()), 2);
+        assertThat(second.items()).extracting(CountrySummary::code).containsExactly("ESP");
+        assertThat(second.next()).isNull();
+    }
+}
@@ -0,0 +1,173 @@
+package com.napier.devops.snapshot;
+
+import com.napier.devops.TestApplication;
+import com.napier.devops.model.CapitalCity;
+import com.napier.devops.model.City;
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.model.Country;
+import com.napier.devops.model.CountrySummary;
+import com.napier.devops.model.PopulationBreakdown;
+import com.napier.devops.repository.CityRepository;
+import com.napier.devops.repository.CountryRepository;
+import com.napier.devops.service.CapitalCityService;
+import com.napier.devops.service.CityService;
+import com.napier.devops.service.CountryService;
+import com.napier.devops.service.PopulationBreakdownService;
+import com.napier.devops.service.PopulationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Integration tests checking that the snapshot services replace the database-backed ones
+ * when {@code world.snapshot.enabled=true}.
+ */
+@SpringBootTest(classes = TestApplication.class, properties = "world.snapshot.enabled=true")
+@ActiveProfiles("test")
+class SnapshotServicesTest {
+
+    @Autowired
+    private CountryService countryService;
+
+    @Autowired
+    private CityService cityService;
+
+    @Autowired
+    private CapitalCityService capitalCityService;
+
+    @Autowired
+    private PopulationService populationService;
+
+    @Autowired
+    private PopulationBreakdownService populationBreakdownService;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private WorldSnapshotHolder snapshots;
+
+    @BeforeEach
+    void setUp() {
+        cityRepository.deleteAll();
+        countryRepository.deleteAll();
+
+        cityRepository.saveAll(List.of(
+                buildCity(1L, "Tokyo", "JPN", "Tokyo-to", 7_980_230),
+                buildCity(2L, "Seoul", "KOR", "Seoul", 9_981_619),
+                buildCity(3L, "Pusan", "KOR", "Pusan", 3_804_522)
+        ));
+        countryRepository.saveAll(List.of(
+                buildCountry("JPN", "Japan", "Asia", "Eastern Asia", 126_714_000L, 1L),
+                buildCountry("KOR", "South Korea", "Asia", "Eastern Asia", 46_844_000L, 2L)
+        ));
+        snapshots.reload();
+    }
+
+    @Test
+    void servicesAreBackedByTheSnapshot() {
+        assertThat(countryService).isInstanceOf(SnapshotCountryService.class);
+        assertThat(cityService).isInstanceOf(SnapshotCityService.class);
+        assertThat(capitalCityService).isInstanceOf(SnapshotCapitalCityService.class);
+        assertThat(populationService).isInstanceOf(SnapshotPopulationService.class);
+    }
+
+    @Test
+    void answersReportsFromTheLoadedRows() {
+        assertThat(countryService.getTopCountriesInContinent("asia", 1))
+                .extracting(CountrySummary::name)
+                .containsExactly("Japan");
+        assertThat(cityService.getAllCitiesInACountry("South Korea"))
+                .extracting(CitySummary::name)
+                .containsExactly("Seoul", "Pusan");
+        assertThat(capitalCityService.getAllCapitalCitiesByPopulation())
+                .extracting(CapitalCity::getCityName)
+                .containsExactly("Seoul", "Tokyo");
+        assertThat(populationService.getRegionPopulation("Eastern Asia")).isEqualTo(173_558_000L);
+    }
+
+    @Test
+    void ignoresSurroundingWhitespaceLikeTheDatabaseServices() {
+        assertThat(countryService.getAllCountriesInContinent(" asia "))
+                .extracting(CountrySummary::name)
+                .containsExactly("Japan", "South Korea");
+        assertThat(populationService.getDistrictPopulation("Pusan ")).isEqualTo(3_804_522L);
+    }
+
+    @Test
+    void refreshIfChanged_reloadsOnlyWhenTheDataChanges() {
+        assertThat(snapshots.refreshIfChanged()).isFalse();
+
+        cityRepository.save(buildCity(4L, "Osaka", "JPN", "Osaka", 10_000_000));
+
+        assertThat(snapshots.refreshIfChanged()).isTrue();
+        assertThat(cityService.getTopNCitiesInACountry("Japan", 1))
+                .extracting(CitySummary::name)
+                .containsExactly("Osaka");
+        assertThat(snapshots.refreshIfChanged()).isFalse();
+    }
+
+    @Test
+    void refreshIfChanged_reloadsWhenOnlyANameChanges() {
+        // neither the row counts nor the population totals change
+        cityRepository.save(buildCity(3L, "Busan", "KOR", "Busan", 3_804_522));
+
+        assertThat(snapshots.refreshIfChanged()).isTrue();
+        assertThat(cityService.getTopNCitiesInACountry("South Korea", 2))
+                .extracting(CitySummary::name)
+                .containsExactly("Seoul", "Busan");
+        assertThat(snapshots.refreshIfChanged()).isFalse();
+    }
+
+    @Test
+    void populationCube_followsCommittedChangesWithoutReloading() {
+        assertThat(populationBreakdownService.getAllByRegion())
+                .extracting(PopulationBreakdown::populationInCities)
+                .containsExactly(21_766_371L);
+
+        cityRepository.save(buildCity(3L, "Pusan", "KOR", "Pusan", 4_000_000));
+        countryRepository.save(buildCountry("KOR", "South Korea", "Asia", "Eastern Asia", 47_000_000L, 2L));
+
+        assertThat(populationBreakdownService.getAllByRegion())
+                .extracting(PopulationBreakdown::totalPopulation, PopulationBreakdown::populationInCities)
+                .containsExactly(tuple(173_714_000L, 21_961_849L));
+        assertThat(populationService.getDistrictPopulation("Pusan")).isEqualTo(4_000_000L);
+        assertThat(populationService.getCountryPopulation("South Korea")).isEqualTo(47_000_000L);
+    }
+
+    @Test
+    void rejectsTheSameLimitsAsTheDatabaseServices() {
+        assertThatThrownBy(() -> capitalCityService.getTopCapitalCitiesInContinent(" ", 3))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> countryService.getTopCountriesInWorld(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private City buildCity(Long id, String name, String countryCode, String district, int population) {
+        City city = new City();
+        city.setId(id);
+        city.setName(name);
+        city.setCountryCode(countryCode);
+        city.setDistrict(district);
+        city.setPopulation(population);
+        return city;
+    }
+
+    private Country buildCountry(String code, String name, String continent, String region,
+                                 long population, Long capital) {
+        Country country = new Country(code, name, continent, region, population);
+        country.setCapital(capital);
+        return country;
+    }
+}
@@ -0,0 +1,108 @@
+package com.napier.devops.snapshot;
+
+import com.napier.devops.model.CapitalCity;
+import com.napier.devops.model.LanguageStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Unit tests for {@link WorldSnapshotFile}.
+ */
+class WorldSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    private final WorldSnapshot snapshot = WorldSnapshot.builder()
+            .country("JPN", "Japan", "Asia", "Eastern Asia", 126_714_000L, 1532)
+            .country("ESP", "Spain", "Europe", "Southern Europe", 39_441_700L, 653)
+            .country("ATA", "Antarctica", "Antarctica", null, 0L, null)
+            .city(1532, "Tokyo", "JPN", "Tokyo-to", 7_980_230)
+            .city(1533, "Jokohama", "JPN", "Kanagawa", 3_339_594)
+            .city(653, "Madrid", "ESP", "Madrid", 2_879_052)
+            .city(654, "Atlantis", "XXX", null, 1)
+            .language("JPN", "Japanese", true, 99.1)
+            .language("ESP", "Spanish", true, 74.4)
+            .language("ESP", "Català", false, 16.9)
+            .build();
+
+    @Test
+    void read_returnsTheSnapshotThatWasWritten() throws IOException {
+        Path file = directory.resolve("world.snapshot");
+        WorldSnapshotFile.write(snapshot, file);
+
+        WorldSnapshot read = WorldSnapshotFile.read(file);
+
+        assertThat(read.countryCount()).isEqualTo(3);
+        assertThat(read.cityCount()).isEqualTo(4);
+        assertThat(read.languageCount()).isEqualTo(3);
+        for (Scope scope : List.of(Scope.world(), Scope.continent("Asia"), Scope.region("Southern Europe"),
+                Scope.country("Japan"), Scope.district("Madrid"))) {
+            assertThat(read.countries(scope, WorldSnapshot.ALL)).isEqualTo(snapshot.countries(scope, WorldSnapshot.ALL));
+            assertThat(read.cities(scope, WorldSnapshot.ALL)).isEqualTo(snapshot.cities(scope, WorldSnapshot.ALL));
+            assertThat(read.populationCube().population(scope)).isEqualTo(snapshot.populationCube().population(scope));
+        }
+        assertThat(read.capitalCities(Scope.world(), WorldSnapshot.ALL))
+                .extracting(CapitalCity::getCityName)
+                .containsExactly("Tokyo", "Madrid");
+        assertThat(read.languageStatistics(List.of("Japanese", "Català")))
+                .extracting(LanguageStats::getLanguage, LanguageStats::getSpeakers)
+                .containsExactlyElementsOf(snapshot.languageStatistics(List.of("Japanese", "Català")).stream()
+                        .map(stats -> tuple(stats.getLanguage(), stats.getSpeakers()))
+                        .toList());
+    }
+
+    @Test
+    void fingerprint_changesWithTheContent() throws IOException {
+        Path file = directory.resolve("world.snapshot");
+        WorldSnapshotFile.write(snapshot, file);
+        String before = WorldSnapshotFile.fingerprint(file);
+
+        WorldSnapshotFile.write(snapshot, file);
+        assertThat(WorldSnapshotFile.fingerprint(file)).isEqualTo(before);
+
+        WorldSnapshotFile.write(WorldSnapshot.builder().country("JPN", "Japan", "Asia", "Eastern Asia", 1L, null).build(), file);
+        assertThat(WorldSnapshotFile.fingerprint(file)).isNotEqualTo(before);
+    }
+
+    @Test
+    void read_rejectsCorruptFiles() throws IOException {
+        Path file = directory.resolve("world.snapshot");
+        WorldSnapshotFile.write(snapshot, file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> WorldSnapshotFile.read(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    @Test
+    void read_rejectsOtherVersionsAndOtherFiles() throws IOException {
+        Path file = directory.resolve("world.snapshot");
+        WorldSnapshotFile.write(snapshot, file);
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putShort(4, (short) (WorldSnapshotFile.VERSION + 1));
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> WorldSnapshotFile.read(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unsupported world snapshot file version 2");
+
+        Path other = Files.writeString(directory.resolve("other.txt"), "not a snapshot");
+        assertThatThrownBy(() -> WorldSnapshotFile.fingerprint(other))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("not a world snapshot file");
+    }
+}
@@ -0,0 +1,181 @@
+package com.napier.devops.snapshot;
+
+import com.napier.devops.model.CapitalCity;
+import com.napier.devops.model.CitySummary;
+import com.napier.devops.model.CountrySummary;
+import com.napier.devops.model.LanguageStats;
+import com.napier.devops.model.PopulationBreakdown;
+import com.napier.devops.paging.Keyset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link WorldSnapshot} built from a small hand-made world.
+ */
+class WorldSnapshotTest {
+
+    private WorldSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = WorldSnapshot.builder()
+                .country("JPN", "Japan", "Asia", "Eastern Asia", 126_714_000L, 1532)
+                .country("CHN", "China", "Asia", "Eastern Asia", 1_277_558_000L, 1891)
+                .country("ESP", "Spain", "Europe", "Southern Europe", 39_441_700L, 653)
+                .city(1532, "Tokyo", "JPN", "Tokyo-to", 7_980_230)
+                .city(1533, "Jokohama", "JPN", "Kanagawa", 3_339_594)
+                .city(1890, "Shanghai", "CHN", "Shanghai", 9_696_300)
+                .city(1891, "Peking", "CHN", "Peking", 7_472_000)
+                .city(653, "Madrid", "ESP", "Madrid", 2_879_052)
+                .language("CHN", "Chinese", true, 92.0)
+                .language("JPN", "Japanese", true, 99.1)
+                .language("ESP", "Spanish", true, 74.4)
+                .build();
+    }
+
+    @Test
+    void countries_areOrderedByPopulationWithinScope() {
+        assertThat(snapshot.countries(Scope.world(), WorldSnapshot.ALL))
+                .extracting(CountrySummary::code)
+                .containsExactly("CHN", "JPN", "ESP");
+        assertThat(snapshot.countries(Scope.continent("asia"), 1))
+                .extracting(CountrySummary::name)
+                .containsExactly("China");
+        assertThat(snapshot.countries(Scope.region("Atlantis"), WorldSnapshot.ALL)).isEmpty();
+    }
+
+    @Test
+    void cities_areFilteredThroughTheirCountry() {
+        assertThat(snapshot.cities(Scope.region("Eastern Asia"), 3))
+                .extracting(CitySummary::name)
+                .containsExactly("Shanghai", "Tokyo", "Peking");
+        assertThat(snapshot.cities(Scope.country("Japan"), WorldSnapshot.ALL))
+                .extracting(CitySummary::name)
+                .containsExactly("Tokyo", "Jokohama");
+        assertThat(snapshot.cities(Scope.district("SHANGHAI"), WorldSnapshot.ALL))
+                .extracting(CitySummary::countryCode)
+                .containsExactly("CHN");
+    }
+
+    @Test
+    void topN_readsOnlyTheScopeSlice() {
+        assertThat(snapshot.cities(Scope.continent("Asia"), 2))
+                .extracting(CitySummary::name)
+                .containsExactly("Shanghai", "Tokyo");
+        assertThat(snapshot.cities(Scope.country("China"), 1))
+                .extracting(CitySummary::name)
+                .containsExactly("Shanghai");
+        assertThat(snapshot.cities(Scope.city("Madrid"), WorldSnapshot.ALL))
+                .extracting(CitySummary::name)
+                .containsExactly("Madrid");
+        assertThat(snapshot.capitalCities(Scope.region("Eastern Asia"), 1))
+                .extracting(CapitalCity::getCityName)
+                .containsExactly("Tokyo");
+        assertThat(snapshot.countries(Scope.world(), 0)).isEmpty();
+        assertThat(snapshot.countries(Scope.district("Madrid"), WorldSnapshot.ALL)).isEmpty();
+    }
+
+    @Test
+    void capitalCities_useTheCapitalCityPopulation() {
+        assertThat(snapshot.capitalCities(Scope.world(), WorldSnapshot.ALL))
+                .extracting(CapitalCity::getCityName)
+                .containsExactly("Tokyo", "Peking", "Madrid");
+        assertThat(snapshot.capitalCities(Scope.continent("Europe"), WorldSnapshot.ALL))
+                .extracting(CapitalCity::getCountryName)
+                .containsExactly("Spain");
+    }
+
+    @Test
+    void population_coversEveryLevel() {
+        PopulationCube cube = snapshot.populationCube();
+
+        assertThat(cube.population(Scope.world())).isEqualTo(1_443_713_700L);
+        assertThat(cube.population(Scope.continent("Asia"))).isEqualTo(1_404_272_000L);
+        assertThat(cube.population(Scope.country("Spain"))).isEqualTo(39_441_700L);
+        assertThat(cube.population(Scope.district("Shanghai"))).isEqualTo(9_696_300L);
+        assertThat(cube.population(Scope.city("Madrid"))).isEqualTo(2_879_052L);
+        assertThat(cube.population(Scope.region("Atlantis"))).isNull();
+    }
+
+    @Test
+    void populationBreakdowns_splitCityAndNonCityPopulation() {
+        List<PopulationBreakdown> continents = snapshot.populationCube().breakdowns(Scope.Level.CONTINENT);
+
+        assertThat(continents).extracting(PopulationBreakdown::name).containsExactly("Asia", "Europe");
+        PopulationBreakdown europe = continents.get(1);
+        assertThat(europe.type()).isEqualTo("continent");
+        assertThat(europe.totalPopulation()).isEqualTo(39_441_700L);
+        assertThat(europe.populationInCities()).isEqualTo(2_879_052L);
+        assertThat(europe.populationNotInCities()).isEqualTo(36_562_648L);
+        assertThat(europe.inCitiesPercentage()).isEqualTo(7.30);
+        assertThat(europe.notInCitiesPercentage()).isEqualTo(92.70);
+    }
+
+    @Test
+    void languageStatistics_skipsLanguagesNobodySpeaks() {
+        List<LanguageStats> stats = snapshot.languageStatistics(List.of("Spanish", "Chinese", "Klingon"));
+
+        assertThat(stats).extracting(LanguageStats::getLanguage).containsExactly("Chinese", "Spanish");
+        assertThat(stats.get(0).getSpeakers()).isEqualTo(1_175_353_360L);
+        assertThat(stats.get(0).getPercentageOfWorldPopulation()).isEqualTo(81.41);
+    }
+
+    @Test
+    void after_continuesFromAKeysetPositionInKeysetOrder() {
+        WorldSnapshot tied = WorldSnapshot.builder()
+                .country("AAA", "A", "Asia", "East", 100L, 1)
+                .country("BBB", "B", "Asia", "East", 100L, 2)
+                .country("CCC", "C", "Asia", "East", 50L, null)
+                .city(1, "One", "AAA", "D", 10)
+                .city(2, "Two", "BBB", "D", 10)
+                .city(3, "Three", "BBB", "D", 20)
+                .build();
+
+        assertThat(tied.countriesAfter(Scope.world(), Keyset.FIRST, 2))
+                .extracting(CountrySummary::code)
+                .containsExactly("BBB", "AAA");
+        assertThat(tied.countriesAfter(Scope.continent("Asia"), new Keyset(100L, "BBB"), 5))
+                .extracting(CountrySummary::code)
+                .containsExactly("AAA", "CCC");
+        assertThat(tied.citiesAfter(Scope.district("D"), new Keyset(20L, "3"), 5))
+                .extracting(CitySummary::id)
+                .containsExactly(2L, 1L);
+        assertThat(tied.capitalCitiesAfter(Scope.world(), Keyset.FIRST, 5))
+                .extracting(CapitalCity::getCityId)
+                .containsExactly(2L, 1L);
+        assertThat(tied.capitalCitiesAfter(Scope.region("East"), new Keyset(10L, "2"), 5))
+                .extracting(CapitalCity::getCityName)
+                .containsExactly("One");
+    }
+
+    @Test
+    void after_walksEveryPageOnceAndPlacesANullCodeLast() {
+        WorldSnapshot.Builder builder = WorldSnapshot.builder()
+                .country(null, "Nowhere", "Asia", "East", 0L, null);
+        for (int i = 0; i < 40; i++) {
+            builder.country(String.format("C%02d", i), "Country " + i, "Asia", "East", 10L * (i % 4), null);
+        }
+        WorldSnapshot many = builder.build();
+
+        List<String> codes = new ArrayList<>();
+        Keyset after = Keyset.FIRST;
+        for (List<CountrySummary> page = many.countriesAfter(Scope.world(), after, 7); !page.isEmpty();
+                page = many.countriesAfter(Scope.world(), after, 7)) {
+            page.forEach(country -> codes.add(country.code()));
+            CountrySummary last = page.get(page.size() - 1);
+            after = new Keyset(last.population(), last.code() == null ? "" : last.code());
+            if (last.code() == null) {
+                break;
+            }
+        }
+
+        assertThat(codes).hasSize(41).doesNotHaveDuplicates();
+        assertThat(codes.subList(0, 3)).containsExactly("C39", "C35", "C31");
+        assertThat(codes.subList(38, 41)).containsExactly("C04", "C00", null);
+    }
+}
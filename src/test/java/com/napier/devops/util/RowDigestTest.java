@@ -0,0 +1,31 @@
+package com.napier.devops.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the RowDigest class.
+ */
+class RowDigestTest {
+
+    @Test
+    void sameValuesDigestAlike() {
+        assertThat(new RowDigest().add("JPN").add(126_714_000L).hex())
+                .isEqualTo(new RowDigest().add("JPN").add("126714000").hex())
+                .hasSize(64);
+    }
+
+    @Test
+    void valuesDoNotRunIntoEachOther() {
+        assertThat(new RowDigest().add("ab").add("c").hex()).isNotEqualTo(new RowDigest().add("a").add("bc").hex());
+        assertThat(new RowDigest().add("").add("x").hex()).isNotEqualTo(new RowDigest().add("x").add("").hex());
+    }
+
+    @Test
+    void nullIsApartFromEveryString() {
+        assertThat(new RowDigest().add((String) null).hex())
+                .isNotEqualTo(new RowDigest().add("null").hex())
+                .isNotEqualTo(new RowDigest().add("").hex());
+    }
+}